@@ -0,0 +1,13 @@
+package br.com.fatec.petfood.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("schedule.audit")
+public class AuditConfig {
+
+    private Integer queueSize;
+
+    private Integer flushSize;
+}
@@ -0,0 +1,30 @@
+package br.com.fatec.petfood.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class ExecutorConfig {
+
+    /*
+     * Pool limitado para as buscas de validação da criação de pedido. Com o pool e a fila cheios a busca roda na própria
+     * thread da requisição, voltando ao comportamento sequencial em vez de recusar o pedido.
+     */
+    @Bean(destroyMethod = "shutdown")
+    ExecutorService requestValidationExecutor(RequestConfig requestConfig) {
+        AtomicInteger threads = new AtomicInteger();
+
+        return new ThreadPoolExecutor(requestConfig.getValidationThreads(), requestConfig.getValidationThreads(), 0L,
+                TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(requestConfig.getValidationQueueSize()), runnable -> {
+            Thread thread = new Thread(runnable, "request-validation-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.fatec.petfood.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("idempotency")
+public class IdempotencyConfig {
+
+    private Integer maxEntries;
+
+    private Integer ttlHours;
+
+    private Integer pendingSeconds;
+
+    private Long waitMillis;
+}
@@ -0,0 +1,46 @@
+package br.com.fatec.petfood.config;
+
+import br.com.fatec.petfood.service.IndexService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.List;
+
+@Configuration
+public class IndexConfig {
+
+    private final IndexService indexService;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private static final Logger logger = LoggerFactory.getLogger(IndexConfig.class);
+    private volatile List<String> indexErrors = List.of();
+
+    public IndexConfig(IndexService indexService, ApplicationEventPublisher applicationEventPublisher) {
+        this.indexService = indexService;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void createIndexes() {
+        logger.info("Starting creation of mongo indexes.");
+
+        indexService.ensureIndexes();
+        indexErrors = indexService.verifyIndexes();
+        indexErrors.forEach(logger::error);
+
+        logger.info("Finishing creation of mongo indexes.");
+    }
+
+    @EventListener
+    public void verifyReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState().equals(ReadinessState.ACCEPTING_TRAFFIC) && !indexErrors.isEmpty()) {
+            logger.error("Application refusing traffic: " + indexErrors.size() + " mongo index(es) missing or divergent.");
+            AvailabilityChangeEvent.publish(applicationEventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        }
+    }
+}
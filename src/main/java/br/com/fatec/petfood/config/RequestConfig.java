@@ -0,0 +1,31 @@
+package br.com.fatec.petfood.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("request")
+public class RequestConfig {
+
+    private Boolean transactional;
+
+    private Boolean async;
+
+    private Integer queueSize;
+
+    private Integer workers;
+
+    private Integer ticketMinutes;
+
+    private Integer batchSize;
+
+    private Integer validationThreads;
+
+    private Integer validationQueueSize;
+
+    private Long validationTimeoutMillis;
+
+    private Integer listPageSize;
+
+    private Integer listMaxPageSize;
+}
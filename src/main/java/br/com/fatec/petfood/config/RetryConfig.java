@@ -0,0 +1,15 @@
+package br.com.fatec.petfood.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("retry")
+public class RetryConfig {
+
+    private Integer maxAttempts;
+
+    private Long backoffMillis;
+
+    private Long maxBackoffMillis;
+}
@@ -12,4 +12,16 @@ public class ScheduleConfig {
     private Integer page;
 
     private Integer size;
+
+    private Boolean drain;
+
+    private Integer batchSize;
+
+    private Integer timeBudgetSeconds;
+
+    private Integer leaseSeconds;
+
+    private Integer lockAtLeastForSeconds;
+
+    private Integer partitions;
 }
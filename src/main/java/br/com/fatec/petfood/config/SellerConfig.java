@@ -0,0 +1,52 @@
+package br.com.fatec.petfood.config;
+
+import br.com.fatec.petfood.model.entity.mongo.SellerEntity;
+import br.com.fatec.petfood.repository.mongo.SellerRepository;
+import br.com.fatec.petfood.service.SellerDirectoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.List;
+
+@Configuration
+public class SellerConfig {
+
+    private final SellerRepository sellerRepository;
+    private final SellerDirectoryService sellerDirectoryService;
+    private static final Logger logger = LoggerFactory.getLogger(SellerConfig.class);
+
+    public SellerConfig(SellerRepository sellerRepository, SellerDirectoryService sellerDirectoryService) {
+        this.sellerRepository = sellerRepository;
+        this.sellerDirectoryService = sellerDirectoryService;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void updateTimeOperations() {
+        try {
+            List<SellerEntity> sellerEntityList = sellerRepository.findAllByWeekTimeOperationsExists(Boolean.FALSE).orElse(List.of());
+
+            if (!sellerEntityList.isEmpty()) {
+                sellerRepository.saveAll(sellerEntityList);
+                logger.info("Updated time operations of " + sellerEntityList.size() + " seller(s).");
+            }
+        } catch (Exception e) {
+            logger.error("Error on update time operations of sellers: " + e.getMessage());
+        }
+
+        this.loadSellerDirectory();
+    }
+
+    /*
+     * Carregado depois da atualização dos horários, já que o diretório filtra os lojistas abertos pelos intervalos gravados.
+     */
+    private void loadSellerDirectory() {
+        try {
+            sellerDirectoryService.load();
+        } catch (Exception e) {
+            logger.error("Error on load seller directory: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.fatec.petfood.config;
+
+import br.com.fatec.petfood.repository.mongo.ProductRepository;
+import br.com.fatec.petfood.repository.mongo.RequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+
+@Configuration
+public class VersionConfig {
+
+    private final ProductRepository productRepository;
+    private final RequestRepository requestRepository;
+    private static final Logger logger = LoggerFactory.getLogger(VersionConfig.class);
+
+    public VersionConfig(ProductRepository productRepository, RequestRepository requestRepository) {
+        this.productRepository = productRepository;
+        this.requestRepository = requestRepository;
+    }
+
+    /*
+     * Documentos gravados antes do versionamento não têm o campo 'version', e o save de uma entidade com versão nula
+     * é tratado como insert (gerando chave duplicada), por isso a versão é inicializada na subida da aplicação.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void updateVersions() {
+        try {
+            Long products = productRepository.updateVersionByVersionNotExists();
+            Long requests = requestRepository.updateVersionByVersionNotExists();
+
+            if (products > 0L || requests > 0L)
+                logger.info("Initialized version of " + products + " product(s) and " + requests + " request(s).");
+        } catch (Exception e) {
+            logger.error("Error on initialize version of products and requests: " + e.getMessage());
+        }
+    }
+}
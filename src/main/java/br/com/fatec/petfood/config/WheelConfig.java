@@ -0,0 +1,15 @@
+package br.com.fatec.petfood.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("schedule.wheel")
+public class WheelConfig {
+
+    private Boolean enabled;
+
+    private Long tickMillis;
+
+    private Integer levels;
+}
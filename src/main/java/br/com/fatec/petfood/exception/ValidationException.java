@@ -0,0 +1,33 @@
+package br.com.fatec.petfood.exception;
+
+import br.com.fatec.petfood.model.generic.ValidationResult;
+import lombok.Getter;
+
+/*
+ * Falha de validação sem stack trace: é só controle de fluxo para devolver 400, então não paga a captura da pilha
+ * a cada pedido recusado.
+ */
+@Getter
+public class ValidationException extends Exception {
+
+    private final ValidationResult validationResult;
+
+    public ValidationException(String message) {
+        this(new ValidationResult(message));
+    }
+
+    public ValidationException(ValidationResult validationResult) {
+        super(validationResult.getMessage(), null, false, false);
+        this.validationResult = validationResult;
+    }
+
+    /*
+     * Corpo da resposta para uma falha de validação: o resultado com a lista de erros quando houver, ou só a mensagem.
+     */
+    public static Object responseBody(Exception e) {
+        if (e instanceof ValidationException && ((ValidationException) e).getValidationResult().hasErrors())
+            return ((ValidationException) e).getValidationResult();
+        else
+            return e.getMessage();
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.fatec.petfood.model.dto;
+
+import lombok.Data;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+@Data
+@RequiredArgsConstructor
+public class ConflictMetricDTO {
+
+    @NonNull
+    private String operation;
+
+    @NonNull
+    private Long attempts;
+
+    @NonNull
+    private Long conflicts;
+
+    @NonNull
+    private Long exhausted;
+
+    @NonNull
+    private Double conflictRate;
+}
@@ -0,0 +1,35 @@
+package br.com.fatec.petfood.model.dto;
+
+import br.com.fatec.petfood.model.generic.PageCursor;
+import lombok.Data;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Data
+@RequiredArgsConstructor
+public class CursorPageDTO<T> {
+
+    @NonNull
+    private List<T> content;
+
+    private String nextCursor;
+
+    /*
+     * Monta a página a partir de uma busca que trouxe até 'size + 1' itens: o item a mais só indica que existe próxima
+     * página, e o cursor aponta para o último item devolvido.
+     */
+    public static <E, T> CursorPageDTO<T> of(List<E> entityList, Integer size, Function<E, T> toReturnDTO,
+                                             Function<E, PageCursor> toPageCursor) {
+        List<E> page = entityList.size() > size ? entityList.subList(0, size) : entityList;
+        CursorPageDTO<T> cursorPageDTO = new CursorPageDTO<>(page.stream().map(toReturnDTO).collect(Collectors.toList()));
+
+        if (entityList.size() > size)
+            cursorPageDTO.setNextCursor(toPageCursor.apply(page.get(page.size() - 1)).encode());
+
+        return cursorPageDTO;
+    }
+}
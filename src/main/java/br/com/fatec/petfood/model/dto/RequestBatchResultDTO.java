@@ -0,0 +1,25 @@
+package br.com.fatec.petfood.model.dto;
+
+import lombok.Data;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@Data
+@RequiredArgsConstructor
+public class RequestBatchResultDTO {
+
+    @NonNull
+    private Integer index;
+
+    @NonNull
+    private Integer httpStatus;
+
+    @NonNull
+    private String message;
+
+    private String requestId;
+
+    private List<String> errors;
+}
@@ -0,0 +1,25 @@
+package br.com.fatec.petfood.model.dto;
+
+import br.com.fatec.petfood.model.enums.TicketStatus;
+import lombok.Data;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.joda.time.DateTime;
+
+@Data
+@RequiredArgsConstructor
+public class RequestTicketDTO {
+
+    @NonNull
+    private String ticket;
+
+    @NonNull
+    private TicketStatus status;
+
+    @NonNull
+    private DateTime lastUpdateDateTime;
+
+    private Integer httpStatus;
+
+    private Object response;
+}
@@ -0,0 +1,28 @@
+package br.com.fatec.petfood.model.dto;
+
+import lombok.Data;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+@Data
+@RequiredArgsConstructor
+public class SearchCacheMetricDTO {
+
+    @NonNull
+    private Integer entries;
+
+    @NonNull
+    private Long hits;
+
+    @NonNull
+    private Long misses;
+
+    @NonNull
+    private Long evictions;
+
+    @NonNull
+    private Long invalidations;
+
+    @NonNull
+    private Double hitRate;
+}
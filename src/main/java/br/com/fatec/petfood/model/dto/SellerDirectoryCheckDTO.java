@@ -0,0 +1,31 @@
+package br.com.fatec.petfood.model.dto;
+
+import lombok.Data;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@Data
+@RequiredArgsConstructor
+public class SellerDirectoryCheckDTO {
+
+    @NonNull
+    private Integer sellers;
+
+    @NonNull
+    private Integer indexedSellers;
+
+    @NonNull
+    private List<String> missingSellers;
+
+    @NonNull
+    private List<String> staleSellers;
+
+    @NonNull
+    private List<String> outdatedSellers;
+
+    public boolean hasDivergences() {
+        return !missingSellers.isEmpty() || !staleSellers.isEmpty() || !outdatedSellers.isEmpty();
+    }
+}
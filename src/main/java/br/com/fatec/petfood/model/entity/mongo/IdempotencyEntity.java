@@ -0,0 +1,30 @@
+package br.com.fatec.petfood.model.entity.mongo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.joda.time.DateTime;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "idempotency")
+public class IdempotencyEntity implements Serializable {
+
+    @Id
+    private String key;
+
+    private String fingerprint;
+
+    private Integer httpStatus;
+
+    private Object response;
+
+    @Indexed(expireAfterSeconds = 0)
+    private DateTime expireAt;
+}
@@ -0,0 +1,26 @@
+package br.com.fatec.petfood.model.entity.mongo;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.joda.time.DateTime;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@Document(collection = "lock")
+public class LockEntity implements Serializable {
+
+    @Id
+    private String name;
+
+    private String owner;
+
+    private Long token;
+
+    @Indexed(expireAfter = "1d")
+    private DateTime expireAt;
+}
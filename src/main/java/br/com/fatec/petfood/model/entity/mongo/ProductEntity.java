@@ -10,12 +10,15 @@ import org.bson.types.ObjectId;
 import org.joda.time.DateTime;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.io.Serializable;
 
 @Data
 @RequiredArgsConstructor
+@CompoundIndex(name = "sellerName_title", def = "{'sellerName': 1, 'title': 1}", unique = true)
 @Document(collection = "product")
 public class ProductEntity implements Serializable {
 
@@ -55,6 +58,11 @@ public class ProductEntity implements Serializable {
 
     private String additionalInfo;
 
+    @Version
+    @JsonIgnore
+    @ApiModelProperty(hidden = true)
+    private Long version;
+
     @CreatedDate
     @JsonIgnore
     @ApiModelProperty(hidden = true)
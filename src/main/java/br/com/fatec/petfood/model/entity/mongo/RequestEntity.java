@@ -11,6 +11,9 @@ import org.bson.types.ObjectId;
 import org.joda.time.DateTime;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.io.Serializable;
@@ -18,6 +21,17 @@ import java.util.List;
 
 @Data
 @RequiredArgsConstructor
+@CompoundIndexes({
+        @CompoundIndex(name = "status_defaultDateTime", def = "{'status': 1, 'defaultDateTime': 1}"),
+        @CompoundIndex(name = "sellerName_defaultDateTime_id", def = "{'sellerName': 1, 'defaultDateTime': -1, '_id': -1}"),
+        @CompoundIndex(name = "userName_defaultDateTime_id", def = "{'userName': 1, 'defaultDateTime': -1, '_id': -1}"),
+        @CompoundIndex(name = "sellerName_userName_defaultDateTime_id",
+                def = "{'sellerName': 1, 'userName': 1, 'defaultDateTime': -1, '_id': -1}"),
+        @CompoundIndex(name = "sellerName_status_defaultDateTime_id",
+                def = "{'sellerName': 1, 'status': 1, 'defaultDateTime': -1, '_id': -1}"),
+        @CompoundIndex(name = "userName_status_defaultDateTime_id",
+                def = "{'userName': 1, 'status': 1, 'defaultDateTime': -1, '_id': -1}")
+})
 @Document(collection = "request")
 public class RequestEntity implements Serializable {
 
@@ -59,10 +73,19 @@ public class RequestEntity implements Serializable {
 
     private Integer rate;
 
+    @Version
+    @JsonIgnore
+    @ApiModelProperty(hidden = true)
+    private Long version;
+
     @CreatedDate
     @JsonIgnore
     @ApiModelProperty(hidden = true)
     private DateTime defaultDateTime;
 
     private DateTime lastUpdateDateTime;
+
+    @JsonIgnore
+    @ApiModelProperty(hidden = true)
+    private ObjectId cancelBatchId;
 }
@@ -8,8 +8,8 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.bson.types.ObjectId;
 import org.joda.time.DateTime;
-import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.io.Serializable;
@@ -25,7 +25,13 @@ public class ScheduleEntity implements Serializable {
     private ObjectId id;
 
     @NonNull
-    private List<RequestEntity> requestEntityList;
+    private List<ObjectId> requestIds;
+
+    @NonNull
+    private Integer requestedCount;
+
+    @NonNull
+    private Integer canceledCount;
 
     @NonNull
     private Status initialStatus;
@@ -33,8 +39,14 @@ public class ScheduleEntity implements Serializable {
     @NonNull
     private Status finalStatus;
 
-    @CreatedDate
+    @NonNull
+    private DateTime startDateTime;
+
+    @NonNull
+    private DateTime finishDateTime;
+
     @JsonIgnore
     @ApiModelProperty(hidden = true)
-    private DateTime defaultDateTime;
+    @Indexed(expireAfter = "30d")
+    private DateTime defaultDateTime = DateTime.now();
 }
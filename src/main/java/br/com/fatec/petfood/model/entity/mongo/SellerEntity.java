@@ -3,6 +3,7 @@ package br.com.fatec.petfood.model.entity.mongo;
 import br.com.fatec.petfood.model.enums.Category;
 import br.com.fatec.petfood.model.enums.CityZone;
 import br.com.fatec.petfood.model.generic.RegistrationInfos;
+import br.com.fatec.petfood.model.generic.TimeOperation;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.Data;
@@ -12,6 +13,9 @@ import org.bson.types.ObjectId;
 import org.joda.time.DateTime;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.io.Serializable;
@@ -20,6 +24,14 @@ import java.util.List;
 
 @Data
 @RequiredArgsConstructor
+@CompoundIndexes({
+        @CompoundIndex(name = "registrationInfos.document", def = "{'registrationInfos.document': 1}", unique = true),
+        @CompoundIndex(name = "categories_cityZone", def = "{'categories': 1, 'cityZone': 1}"),
+        @CompoundIndex(name = "cityZone_weekTimeOperations",
+                def = "{'cityZone': 1, 'weekTimeOperations.initialMinute': 1, 'weekTimeOperations.finalMinute': 1}"),
+        @CompoundIndex(name = "cityZone_weekendTimeOperations",
+                def = "{'cityZone': 1, 'weekendTimeOperations.initialMinute': 1, 'weekendTimeOperations.finalMinute': 1}")
+})
 @Document(collection = "seller")
 public class SellerEntity  implements Serializable {
 
@@ -28,9 +40,11 @@ public class SellerEntity  implements Serializable {
     private ObjectId id;
 
     @NonNull
+    @Indexed(unique = true)
     private String name;
 
     @NonNull
+    @Indexed(unique = true)
     private String email;
 
     @NonNull
@@ -54,6 +68,14 @@ public class SellerEntity  implements Serializable {
     @NonNull
     private LocalTime weekendFinalTimeOperation;
 
+    @JsonIgnore
+    @ApiModelProperty(hidden = true)
+    private List<TimeOperation> weekTimeOperations;
+
+    @JsonIgnore
+    @ApiModelProperty(hidden = true)
+    private List<TimeOperation> weekendTimeOperations;
+
     @NonNull
     private CityZone cityZone;
 
@@ -11,12 +11,15 @@ import org.bson.types.ObjectId;
 import org.joda.time.DateTime;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.io.Serializable;
 import java.util.Date;
 
 @Data
 @RequiredArgsConstructor
+@CompoundIndex(name = "registrationInfos.document", def = "{'registrationInfos.document': 1}", unique = true)
 @Document(collection = "user")
 public class UserEntity implements Serializable {
 
@@ -25,9 +28,11 @@ public class UserEntity implements Serializable {
     private ObjectId id;
 
     @NonNull
+    @Indexed(unique = true)
     private String name;
 
     @NonNull
+    @Indexed(unique = true)
     private String email;
 
     @NonNull
@@ -1,10 +1,31 @@
 package br.com.fatec.petfood.model.enums;
 
+import java.util.List;
+
 public enum Status {
 
     CREATED,
     PROCESSED,
     SHIPPED,
     DELIVERED,
-    CANCELED
+    CANCELED;
+
+    /*
+     * Status a partir dos quais é permitido transitar para este status. Usado como filtro da atualização, para que a
+     * transição seja feita de forma atômica (compare-and-set) na base de dados.
+     */
+    public List<Status> getPreviousStatus() {
+        switch (this) {
+            case PROCESSED:
+                return List.of(CREATED);
+            case SHIPPED:
+                return List.of(PROCESSED);
+            case DELIVERED:
+                return List.of(SHIPPED);
+            case CANCELED:
+                return List.of(CREATED, PROCESSED);
+            default:
+                return List.of();
+        }
+    }
 }
@@ -0,0 +1,8 @@
+package br.com.fatec.petfood.model.enums;
+
+public enum TicketStatus {
+
+    QUEUED,
+    PROCESSING,
+    PROCESSED
+}
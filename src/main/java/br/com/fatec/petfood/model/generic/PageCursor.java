@@ -0,0 +1,37 @@
+package br.com.fatec.petfood.model.generic;
+
+import br.com.fatec.petfood.exception.ValidationException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.bson.types.ObjectId;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/*
+ * Posição de uma paginação por cursor: a chave de ordenação e o id do último item devolvido. O token é opaco para o
+ * cliente, o id em hexadecimal seguido da chave, em base64.
+ */
+@Data
+@AllArgsConstructor
+public class PageCursor {
+
+    private static final Integer ID_LENGTH = 24;
+
+    private String sortKey;
+
+    private ObjectId id;
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((id.toHexString() + sortKey).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String cursor) throws ValidationException {
+        try {
+            String decodedCursor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return new PageCursor(decodedCursor.substring(ID_LENGTH), new ObjectId(decodedCursor.substring(0, ID_LENGTH)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new ValidationException("Cursor da página passado inválido.");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.fatec.petfood.model.generic;
+
+import br.com.fatec.petfood.model.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.joda.time.DateTime;
+
+/*
+ * Filtros opcionais das listagens de pedidos: status e período de criação, com a data inicial inclusiva e a final
+ * exclusiva.
+ */
+@Data
+@AllArgsConstructor
+public class RequestFilter {
+
+    private Status status;
+
+    private DateTime initialDateTime;
+
+    private DateTime finalDateTime;
+}
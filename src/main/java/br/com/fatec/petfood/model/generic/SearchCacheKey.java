@@ -0,0 +1,30 @@
+package br.com.fatec.petfood.model.generic;
+
+import br.com.fatec.petfood.model.enums.Category;
+import br.com.fatec.petfood.model.enums.CityZone;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/*
+ * Parâmetros de uma busca de lojistas abertos: por título de produto ou por categoria, nunca os dois.
+ */
+@Data
+@AllArgsConstructor
+public class SearchCacheKey {
+
+    private String productTitle;
+
+    private Category category;
+
+    private CityZone cityZone;
+
+    private Boolean isWeek;
+
+    private Integer minute;
+
+    private Integer page;
+
+    private Integer size;
+
+    private String cursor;
+}
@@ -0,0 +1,15 @@
+package br.com.fatec.petfood.model.generic;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeOperation {
+
+    private Integer initialMinute;
+
+    private Integer finalMinute;
+}
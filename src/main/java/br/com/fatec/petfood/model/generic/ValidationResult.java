@@ -0,0 +1,29 @@
+package br.com.fatec.petfood.model.generic;
+
+import lombok.Data;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Resultado de uma validação com a mensagem geral e os erros de cada linha, devolvido como corpo da resposta.
+ */
+@Data
+@RequiredArgsConstructor
+public class ValidationResult {
+
+    @NonNull
+    private String message;
+
+    private final List<String> errors = new ArrayList<>();
+
+    public void addError(String error) {
+        errors.add(error);
+    }
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+}
@@ -46,6 +46,7 @@ public interface ProductMapper {
             @Mapping(target = "stock", source = "productUpdateDTO.stock"),
             @Mapping(target = "imageUrl", source = "productUpdateDTO.imageUrl"),
             @Mapping(target = "additionalInfo", source = "productUpdateDTO.additionalInfo"),
+            @Mapping(target = "version", source = "productEntity.version"),
             @Mapping(target = "defaultDateTime", source = "productEntity.defaultDateTime")
     })
     ProductEntity toEntity(ProductUpdateDTO productUpdateDTO, ProductEntity productEntity, Category category);
@@ -63,6 +64,7 @@ public interface ProductMapper {
             @Mapping(target = "stock", source = "stock"),
             @Mapping(target = "imageUrl", source = "productEntity.imageUrl"),
             @Mapping(target = "additionalInfo", source = "productEntity.additionalInfo"),
+            @Mapping(target = "version", source = "productEntity.version"),
             @Mapping(target = "defaultDateTime", source = "productEntity.defaultDateTime")
     })
     ProductEntity toEntity(ProductEntity productEntity, Integer stock);
@@ -0,0 +1,9 @@
+package br.com.fatec.petfood.repository.mongo;
+
+import br.com.fatec.petfood.model.entity.mongo.IdempotencyEntity;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IdempotencyRepository extends MongoRepository<IdempotencyEntity, String> {
+}
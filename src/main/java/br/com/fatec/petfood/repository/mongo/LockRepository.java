@@ -0,0 +1,9 @@
+package br.com.fatec.petfood.repository.mongo;
+
+import br.com.fatec.petfood.model.entity.mongo.LockEntity;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LockRepository extends MongoRepository<LockEntity, String>, LockRepositoryCustom {
+}
@@ -0,0 +1,15 @@
+package br.com.fatec.petfood.repository.mongo;
+
+import br.com.fatec.petfood.model.entity.mongo.LockEntity;
+import org.joda.time.DateTime;
+
+import java.util.Optional;
+
+public interface LockRepositoryCustom {
+
+    Optional<LockEntity> acquire(String name, String owner, DateTime expireAt);
+
+    Boolean renew(String name, String owner, Long token, DateTime expireAt);
+
+    void release(String name, String owner, Long token, DateTime expireAt);
+}
@@ -0,0 +1,53 @@
+package br.com.fatec.petfood.repository.mongo;
+
+import br.com.fatec.petfood.model.entity.mongo.LockEntity;
+import lombok.RequiredArgsConstructor;
+import org.joda.time.DateTime;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class LockRepositoryCustomImpl implements LockRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    /*
+     * Só casa com o lock expirado ou já do mesmo dono; caso contrário o upsert tenta inserir o mesmo _id e falha com
+     * chave duplicada, ou seja, lock não adquirido. O token é incrementado a cada aquisição, assim uma instância cujo
+     * lease expirou e foi tomado por outra não consegue renovar nem liberar o lock da nova dona.
+     */
+    @Override
+    public Optional<LockEntity> acquire(String name, String owner, DateTime expireAt) {
+        Query query = Query.query(Criteria.where("_id").is(name)
+                .orOperator(Criteria.where("expireAt").lte(DateTime.now()), Criteria.where("owner").is(owner)));
+        Update update = new Update().set("owner", owner).set("expireAt", expireAt).inc("token", 1L);
+
+        try {
+            return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), LockEntity.class));
+        } catch (DuplicateKeyException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Boolean renew(String name, String owner, Long token, DateTime expireAt) {
+        Query query = Query.query(Criteria.where("_id").is(name).and("owner").is(owner).and("token").is(token)
+                .and("expireAt").gt(DateTime.now()));
+
+        return mongoTemplate.updateFirst(query, new Update().set("expireAt", expireAt), LockEntity.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public void release(String name, String owner, Long token, DateTime expireAt) {
+        Query query = Query.query(Criteria.where("_id").is(name).and("owner").is(owner).and("token").is(token));
+
+        mongoTemplate.updateFirst(query, new Update().set("expireAt", expireAt), LockEntity.class);
+    }
+}
@@ -6,20 +6,20 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends MongoRepository<ProductEntity, String> {
+public interface ProductRepository extends MongoRepository<ProductEntity, String>, ProductRepositoryCustom {
 
     Optional<ProductEntity> findByTitleAndSellerName(String title, String sellerName);
 
     Optional<List<ProductEntity>> findBySellerName(String sellerName);
 
-    Optional<List<ProductEntity>> findAllBySellerName(String sellerName, Pageable page);
+    Optional<List<ProductEntity>> findAllBySellerNameAndTitleIn(String sellerName, Collection<String> titles);
 
-    @Query("{'title':{$regex:?0, $options:'i'}}")
-    Optional<List<ProductEntity>> findAllByTitleRegex(String title);
+    Optional<List<ProductEntity>> findAllBySellerName(String sellerName, Pageable page);
 
     @Query("{'sellerName':?0, 'title':{$regex:?1, $options:'i'}}")
     Optional<List<ProductEntity>> findAllBySellerNameAndTitleRegex(String sellerName, String title, Pageable page);
@@ -0,0 +1,23 @@
+package br.com.fatec.petfood.repository.mongo;
+
+import br.com.fatec.petfood.model.entity.mongo.ProductEntity;
+import br.com.fatec.petfood.model.generic.PageCursor;
+import br.com.fatec.petfood.model.generic.ProductRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ProductRepositoryCustom {
+
+    List<ProductRequest> decrementStock(List<ProductRequest> products);
+
+    List<ProductRequest> adjustStock(List<ProductRequest> products);
+
+    List<ProductRequest> decrementStockInTransaction(List<ProductRequest> products);
+
+    void incrementStock(List<ProductRequest> products);
+
+    Long updateVersionByVersionNotExists();
+
+    Optional<List<ProductEntity>> findAllBySellerNameAndTitleRegexAfter(String sellerName, String title, PageCursor pageCursor, Integer limit);
+}
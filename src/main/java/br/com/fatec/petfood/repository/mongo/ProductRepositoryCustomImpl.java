@@ -0,0 +1,148 @@
+package br.com.fatec.petfood.repository.mongo;
+
+import br.com.fatec.petfood.model.entity.mongo.ProductEntity;
+import br.com.fatec.petfood.model.generic.PageCursor;
+import br.com.fatec.petfood.model.generic.ProductRequest;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<ProductRequest> decrementStock(List<ProductRequest> products) {
+        return this.adjustStock(products);
+    }
+
+    /*
+     * Quantidade positiva decrementa o estoque com um update por linha condicionado a 'stock >= quantity', sem upsert:
+     * nenhum documento casado indica estoque insuficiente ou produto inexistente. Quantidade negativa devolve o estoque
+     * sem condição, num único bulk.
+     */
+    @Override
+    public List<ProductRequest> adjustStock(List<ProductRequest> products) {
+        List<ProductRequest> failedProducts = new ArrayList<>();
+        List<ProductRequest> releasedProducts = new ArrayList<>();
+
+        for (ProductRequest product : products) {
+            if (product.getQuantity() > 0) {
+                Query query = Query.query(Criteria.where("_id").is(product.getProductId()).and("stock").gte(product.getQuantity()));
+                Update update = new Update().inc("stock", -product.getQuantity()).inc("version", 1L);
+
+                if (mongoTemplate.updateFirst(query, update, ProductEntity.class).getMatchedCount() == 0)
+                    failedProducts.add(product);
+            } else
+                releasedProducts.add(product);
+        }
+
+        if (!releasedProducts.isEmpty()) {
+            BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ProductEntity.class);
+
+            releasedProducts.forEach(product -> bulkOperations.updateOne(
+                    Query.query(Criteria.where("_id").is(product.getProductId())),
+                    new Update().inc("stock", -product.getQuantity()).inc("version", 1L)));
+
+            bulkOperations.execute();
+        }
+
+        return failedProducts;
+    }
+
+    /*
+     * Dentro de uma transação o estoque é decrementado sem condição, num único bulk, e as linhas que deixaram o estoque
+     * negativo são lidas em seguida.
+     * Transações concorrentes no mesmo produto geram conflito de escrita, então a leitura vê apenas o próprio decremento.
+     */
+    @Override
+    public List<ProductRequest> decrementStockInTransaction(List<ProductRequest> products) {
+        List<ProductRequest> failedProducts = new ArrayList<>();
+
+        if (products.isEmpty())
+            return failedProducts;
+
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ProductEntity.class);
+        List<ObjectId> ids = new ArrayList<>();
+
+        products.forEach(product -> {
+            ids.add(product.getProductId());
+            bulkOperations.updateOne(
+                    Query.query(Criteria.where("_id").is(product.getProductId())),
+                    new Update().inc("stock", -product.getQuantity()).inc("version", 1L));
+        });
+
+        bulkOperations.execute();
+
+        Query query = Query.query(Criteria.where("_id").in(ids));
+        query.fields().include("stock");
+
+        Map<ObjectId, Integer> stocks = new HashMap<>();
+        mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(ProductEntity.class))
+                .forEach(document -> stocks.put(document.getObjectId("_id"), document.getInteger("stock")));
+
+        products.forEach(product -> {
+            Integer stock = stocks.get(product.getProductId());
+
+            if (Objects.isNull(stock) || stock < 0)
+                failedProducts.add(product);
+        });
+
+        return failedProducts;
+    }
+
+    @Override
+    public void incrementStock(List<ProductRequest> products) {
+        if (products.isEmpty())
+            return;
+
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ProductEntity.class);
+
+        products.forEach(product -> bulkOperations.updateOne(
+                Query.query(Criteria.where("_id").is(product.getProductId())),
+                new Update().inc("stock", product.getQuantity()).inc("version", 1L)));
+
+        bulkOperations.execute();
+    }
+
+    @Override
+    public Long updateVersionByVersionNotExists() {
+        return mongoTemplate.updateMulti(Query.query(Criteria.where("version").exists(false)), new Update().set("version", 0L),
+                ProductEntity.class).getModifiedCount();
+    }
+
+    /*
+     * Paginação por cursor na ordem do título, que é único por lojista: a página seguinte começa depois do último título
+     * devolvido, sempre pelo índice 'sellerName_title', sem pular documentos.
+     */
+    @Override
+    public Optional<List<ProductEntity>> findAllBySellerNameAndTitleRegexAfter(String sellerName, String title, PageCursor pageCursor,
+                                                                             Integer limit) {
+        Criteria criteria = Criteria.where("sellerName").is(sellerName);
+
+        if (!Objects.isNull(title) && !Objects.isNull(pageCursor))
+            criteria.andOperator(Criteria.where("title").regex(title, "i"), Criteria.where("title").gt(pageCursor.getSortKey()));
+        else if (!Objects.isNull(title))
+            criteria.and("title").regex(title, "i");
+        else if (!Objects.isNull(pageCursor))
+            criteria.and("title").gt(pageCursor.getSortKey());
+
+        Query query = Query.query(criteria).with(Sort.by(Sort.Direction.ASC, "title")).limit(limit);
+
+        return Optional.of(mongoTemplate.find(query, ProductEntity.class));
+    }
+}
@@ -10,17 +10,20 @@ import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface RequestRepository extends MongoRepository<RequestEntity, String> {
+public interface RequestRepository extends MongoRepository<RequestEntity, String>, RequestRepositoryCustom {
 
     Optional<RequestEntity> findById(ObjectId id);
 
-    Optional<List<RequestEntity>> findAllBySellerName(String sellerName);
+    Optional<List<RequestEntity>> findAllByStatusAndDefaultDateTimeIsBefore(Status status, DateTime lastUpdateDateTime, Pageable page);
 
-    Optional<List<RequestEntity>> findAllByUserName(String userName);
+    Stream<RequestEntity> streamAllByStatusAndDefaultDateTimeIsBefore(Status status, DateTime lastUpdateDateTime);
 
-    Optional<List<RequestEntity>> findAllBySellerNameAndUserName(String sellerName, String userName);
+    Stream<RequestEntity> streamAllByStatusAndDefaultDateTimeIsAfter(Status status, DateTime defaultDateTime);
 
-    Optional<List<RequestEntity>> findAllByStatusAndDefaultDateTimeIsBefore(Status status, DateTime lastUpdateDateTime, Pageable page);
+    Optional<List<RequestEntity>> findAllByIdInAndStatus(List<ObjectId> ids, Status status);
+
+    Optional<List<RequestEntity>> findAllByIdInAndCancelBatchId(List<ObjectId> ids, ObjectId cancelBatchId);
 }
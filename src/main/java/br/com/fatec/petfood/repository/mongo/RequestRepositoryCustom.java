@@ -0,0 +1,32 @@
+package br.com.fatec.petfood.repository.mongo;
+
+import br.com.fatec.petfood.model.entity.mongo.RequestEntity;
+import br.com.fatec.petfood.model.enums.Status;
+import br.com.fatec.petfood.model.generic.PageCursor;
+import br.com.fatec.petfood.model.generic.RequestFilter;
+import org.bson.types.ObjectId;
+import org.joda.time.DateTime;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface RequestRepositoryCustom {
+
+    Stream<RequestEntity> streamAllByStatusAndDefaultDateTimeIsBeforeAndPartition(Status status, DateTime lastUpdateDateTime,
+                                                                               Integer partitions, Integer partition);
+
+    Map<Integer, String> insertUnordered(List<RequestEntity> requestEntities);
+
+    Long updateStatusByIdIn(List<ObjectId> ids, Status status, Status newStatus, ObjectId cancelBatchId, DateTime lastUpdateDateTime);
+
+    Optional<RequestEntity> updateStatusById(ObjectId id, List<Status> statuses, Status newStatus, DateTime lastUpdateDateTime);
+
+    Long updateRateById(ObjectId id, Integer rate, DateTime lastUpdateDateTime);
+
+    Long updateVersionByVersionNotExists();
+
+    Optional<List<RequestEntity>> findAllByFilterBefore(String sellerName, String userName, RequestFilter requestFilter,
+                                                        PageCursor pageCursor, Integer limit);
+}
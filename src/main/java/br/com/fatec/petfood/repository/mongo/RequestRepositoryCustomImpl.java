@@ -0,0 +1,162 @@
+package br.com.fatec.petfood.repository.mongo;
+
+import br.com.fatec.petfood.model.entity.mongo.RequestEntity;
+import br.com.fatec.petfood.model.enums.Status;
+import br.com.fatec.petfood.model.generic.PageCursor;
+import br.com.fatec.petfood.model.generic.RequestFilter;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.joda.time.DateTime;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.StreamUtils;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class RequestRepositoryCustomImpl implements RequestRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    /*
+     * Particiona os pedidos pelo resto da divisão do defaultDateTime (em milissegundos) pelo número de partições, para
+     * que cada instância possa drenar uma partição diferente.
+     */
+    @Override
+    public Stream<RequestEntity> streamAllByStatusAndDefaultDateTimeIsBeforeAndPartition(Status status, DateTime lastUpdateDateTime,
+                                                                                      Integer partitions, Integer partition) {
+        Query query = new BasicQuery(new Document("status", status.name())
+                .append("defaultDateTime", new Document("$lt", lastUpdateDateTime.toDate()))
+                .append("$expr", new Document("$eq", List.of(
+                        new Document("$mod", List.of(new Document("$toLong", "$defaultDateTime"), partitions.longValue())),
+                        partition.longValue()))));
+
+        return StreamUtils.createStreamFromIterator(mongoTemplate.stream(query, RequestEntity.class));
+    }
+
+    /*
+     * Insere sem ordem, para que um pedido com erro não impeça a gravação dos demais, e retorna o erro de cada pedido
+     * não gravado pela sua posição na lista. O id e a versão são definidos antes, pois a inserção em bulk não os
+     * devolve para as entidades.
+     */
+    @Override
+    public Map<Integer, String> insertUnordered(List<RequestEntity> requestEntities) {
+        Map<Integer, String> errors = new HashMap<>();
+
+        if (requestEntities.isEmpty())
+            return errors;
+
+        requestEntities.forEach(requestEntity -> {
+            if (Objects.isNull(requestEntity.getId()))
+                requestEntity.setId(new ObjectId());
+
+            if (Objects.isNull(requestEntity.getVersion()))
+                requestEntity.setVersion(0L);
+        });
+
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RequestEntity.class).insert(requestEntities).execute();
+        } catch (BulkOperationException e) {
+            e.getErrors().forEach(error -> errors.put(error.getIndex(), error.getMessage()));
+        }
+
+        return errors;
+    }
+
+    /*
+     * Marca os pedidos atualizados com o identificador do lote, para que quem chamou consiga reler exatamente os
+     * pedidos que este lote alterou (o horário de atualização pode se repetir entre execuções concorrentes).
+     */
+    @Override
+    public Long updateStatusByIdIn(List<ObjectId> ids, Status status, Status newStatus, ObjectId cancelBatchId,
+                                   DateTime lastUpdateDateTime) {
+        if (ids.isEmpty())
+            return 0L;
+
+        Query query = Query.query(Criteria.where("_id").in(ids).and("status").is(status));
+        Update update = new Update().set("status", newStatus).set("cancelBatchId", cancelBatchId)
+                .set("lastUpdateDateTime", lastUpdateDateTime).inc("version", 1L);
+
+        return mongoTemplate.updateMulti(query, update, RequestEntity.class).getModifiedCount();
+    }
+
+    /*
+     * Retorna o documento anterior à atualização (ou vazio caso o pedido não exista ou não esteja em um dos status
+     * esperados), para que quem chamou saiba quais produtos tiveram a reserva de estoque liberada.
+     */
+    @Override
+    public Optional<RequestEntity> updateStatusById(ObjectId id, List<Status> statuses, Status newStatus, DateTime lastUpdateDateTime) {
+        Query query = Query.query(Criteria.where("_id").is(id).and("status").in(statuses));
+        Update update = new Update().set("status", newStatus).set("lastUpdateDateTime", lastUpdateDateTime).inc("version", 1L);
+
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update, RequestEntity.class));
+    }
+
+    @Override
+    public Long updateRateById(ObjectId id, Integer rate, DateTime lastUpdateDateTime) {
+        Query query = Query.query(Criteria.where("_id").is(id));
+        Update update = new Update().set("rate", rate).set("lastUpdateDateTime", lastUpdateDateTime).inc("version", 1L);
+
+        return mongoTemplate.updateFirst(query, update, RequestEntity.class).getMatchedCount();
+    }
+
+    @Override
+    public Long updateVersionByVersionNotExists() {
+        return mongoTemplate.updateMulti(Query.query(Criteria.where("version").exists(false)), new Update().set("version", 0L),
+                RequestEntity.class).getModifiedCount();
+    }
+
+    /*
+     * Paginação por cursor dos pedidos mais recentes para os mais antigos: a página seguinte começa depois do par
+     * (defaultDateTime, _id) do último pedido devolvido, com o id desempatando pedidos criados no mesmo milissegundo.
+     * Status e período entram como filtros de igualdade e de intervalo sobre os índices de nome, status e data.
+     */
+    @Override
+    public Optional<List<RequestEntity>> findAllByFilterBefore(String sellerName, String userName, RequestFilter requestFilter,
+                                                               PageCursor pageCursor, Integer limit) {
+        Criteria criteria = new Criteria();
+
+        if (!Objects.isNull(sellerName))
+            criteria.and("sellerName").is(sellerName);
+
+        if (!Objects.isNull(userName))
+            criteria.and("userName").is(userName);
+
+        if (!Objects.isNull(requestFilter.getStatus()))
+            criteria.and("status").is(requestFilter.getStatus());
+
+        if (!Objects.isNull(requestFilter.getInitialDateTime()) || !Objects.isNull(requestFilter.getFinalDateTime())) {
+            Criteria defaultDateTimeCriteria = criteria.and("defaultDateTime");
+
+            if (!Objects.isNull(requestFilter.getInitialDateTime()))
+                defaultDateTimeCriteria.gte(requestFilter.getInitialDateTime().toDate());
+
+            if (!Objects.isNull(requestFilter.getFinalDateTime()))
+                defaultDateTimeCriteria.lt(requestFilter.getFinalDateTime().toDate());
+        }
+
+        if (!Objects.isNull(pageCursor)) {
+            Date defaultDateTime = new Date(Long.parseLong(pageCursor.getSortKey()));
+
+            criteria.orOperator(Criteria.where("defaultDateTime").lt(defaultDateTime),
+                    Criteria.where("defaultDateTime").is(defaultDateTime).and("_id").lt(pageCursor.getId()));
+        }
+
+        Query query = Query.query(criteria).with(Sort.by(Sort.Direction.DESC, "defaultDateTime", "_id")).limit(limit);
+
+        return Optional.of(mongoTemplate.find(query, RequestEntity.class));
+    }
+}
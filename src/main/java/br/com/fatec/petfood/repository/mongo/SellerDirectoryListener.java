@@ -0,0 +1,41 @@
+package br.com.fatec.petfood.repository.mongo;
+
+import br.com.fatec.petfood.model.entity.mongo.SellerEntity;
+import br.com.fatec.petfood.service.SellerDirectoryService;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/*
+ * Mantém o diretório de lojistas atualizado a cada gravação ou remoção de lojista, venha do serviço ou direto do
+ * repositório. Uma remoção que não seja por id (deleteAll, por exemplo) recarrega o diretório inteiro.
+ */
+@Component
+public class SellerDirectoryListener extends AbstractMongoEventListener<SellerEntity> {
+
+    private final MongoConverter mongoConverter;
+    private final SellerDirectoryService sellerDirectoryService;
+
+    public SellerDirectoryListener(MongoConverter mongoConverter, SellerDirectoryService sellerDirectoryService) {
+        this.mongoConverter = mongoConverter;
+        this.sellerDirectoryService = sellerDirectoryService;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<SellerEntity> event) {
+        sellerDirectoryService.put(mongoConverter.read(SellerEntity.class, event.getDocument()));
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<SellerEntity> event) {
+        Object id = event.getSource().get("_id");
+
+        if (id instanceof ObjectId)
+            sellerDirectoryService.remove((ObjectId) id);
+        else
+            sellerDirectoryService.load();
+    }
+}
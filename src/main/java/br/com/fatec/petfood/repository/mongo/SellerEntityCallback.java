@@ -0,0 +1,45 @@
+package br.com.fatec.petfood.repository.mongo;
+
+import br.com.fatec.petfood.model.entity.mongo.SellerEntity;
+import br.com.fatec.petfood.model.generic.TimeOperation;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Objects;
+
+@Component
+public class SellerEntityCallback implements BeforeConvertCallback<SellerEntity> {
+
+    private static final Integer MINUTES_OF_DAY = 1440;
+
+    @Override
+    public SellerEntity onBeforeConvert(SellerEntity sellerEntity, String collection) {
+        sellerEntity.setWeekTimeOperations(
+                this.toTimeOperations(sellerEntity.getWeekInitialTimeOperation(), sellerEntity.getWeekFinalTimeOperation()));
+        sellerEntity.setWeekendTimeOperations(
+                this.toTimeOperations(sellerEntity.getWeekendInitialTimeOperation(), sellerEntity.getWeekendFinalTimeOperation()));
+
+        return sellerEntity;
+    }
+
+    /*
+     * Horário de funcionamento em minutos do dia, no intervalo [inicial, final). Funcionamento que vira a noite é dividido
+     * em dois intervalos e horários inicial e final iguais significam aberto o dia todo.
+     */
+    private List<TimeOperation> toTimeOperations(LocalTime initialTimeOperation, LocalTime finalTimeOperation) {
+        if (Objects.isNull(initialTimeOperation) || Objects.isNull(finalTimeOperation))
+            return List.of();
+
+        int initialMinute = initialTimeOperation.getHour() * 60 + initialTimeOperation.getMinute();
+        int finalMinute = finalTimeOperation.getHour() * 60 + finalTimeOperation.getMinute();
+
+        if (initialMinute < finalMinute)
+            return List.of(new TimeOperation(initialMinute, finalMinute));
+        else if (initialMinute > finalMinute)
+            return List.of(new TimeOperation(initialMinute, MINUTES_OF_DAY), new TimeOperation(0, finalMinute));
+        else
+            return List.of(new TimeOperation(0, MINUTES_OF_DAY));
+    }
+}
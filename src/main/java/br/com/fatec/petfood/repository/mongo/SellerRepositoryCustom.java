@@ -0,0 +1,14 @@
+package br.com.fatec.petfood.repository.mongo;
+
+import br.com.fatec.petfood.model.entity.mongo.SellerEntity;
+import br.com.fatec.petfood.model.enums.CityZone;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface SellerRepositoryCustom {
+
+    Optional<List<SellerEntity>> findAllOpenByProductTitleAndCityZone(String productTitle, CityZone cityZone, Boolean isWeek,
+                                                                      Integer minute, Pageable page);
+}
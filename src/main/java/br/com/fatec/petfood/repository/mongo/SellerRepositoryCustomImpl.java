@@ -0,0 +1,65 @@
+package br.com.fatec.petfood.repository.mongo;
+
+import br.com.fatec.petfood.model.entity.mongo.ProductEntity;
+import br.com.fatec.petfood.model.entity.mongo.SellerEntity;
+import br.com.fatec.petfood.model.enums.CityZone;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class SellerRepositoryCustomImpl implements SellerRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    /*
+     * Parte da coleção de lojistas, filtrando zona e horário de funcionamento pelos índices cityZone_weekTimeOperations e
+     * cityZone_weekendTimeOperations, e só então verifica, pelo índice sellerName_title, se o lojista tem algum produto
+     * com o título buscado (no máximo um produto, só com o _id, por lojista). A paginação é feita no próprio pipeline.
+     */
+    @Override
+    public Optional<List<SellerEntity>> findAllOpenByProductTitleAndCityZone(String productTitle, CityZone cityZone, Boolean isWeek,
+                                                                             Integer minute, Pageable page) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("cityZone").is(cityZone.name())
+                        .and(this.timeOperationsField(isWeek)).elemMatch(this.openCriteria(minute))),
+                Aggregation.sort(Sort.Direction.ASC, "name"),
+                this.lookupProductByTitle(productTitle),
+                Aggregation.match(Criteria.where("products").ne(List.of())),
+                Aggregation.project().andExclude("products"),
+                Aggregation.skip(page.getOffset()),
+                Aggregation.limit(page.getPageSize())
+        ).withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+        return Optional.of(mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(SellerEntity.class),
+                SellerEntity.class).getMappedResults());
+    }
+
+    private AggregationOperation lookupProductByTitle(String productTitle) {
+        Document match = new Document("$expr", new Document("$eq", List.of("$sellerName", "$$sellerName")))
+                .append("title", new Document("$regex", productTitle).append("$options", "i"));
+
+        return context -> new Document("$lookup", new Document("from", mongoTemplate.getCollectionName(ProductEntity.class))
+                .append("let", new Document("sellerName", "$name"))
+                .append("pipeline", List.of(new Document("$match", match), new Document("$limit", 1),
+                        new Document("$project", new Document("_id", 1))))
+                .append("as", "products"));
+    }
+
+    private String timeOperationsField(Boolean isWeek) {
+        return isWeek ? "weekTimeOperations" : "weekendTimeOperations";
+    }
+
+    private Criteria openCriteria(Integer minute) {
+        return Criteria.where("initialMinute").lte(minute).and("finalMinute").gt(minute);
+    }
+}
@@ -4,6 +4,8 @@ import br.com.fatec.petfood.model.entity.mongo.UserEntity;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,6 +13,8 @@ public interface UserRepository extends MongoRepository<UserEntity, String> {
 
     Optional<UserEntity> findByName(String name);
 
+    Optional<List<UserEntity>> findAllByNameIn(Collection<String> names);
+
     Optional<UserEntity> findByEmail(String email);
 
     @Query("{'registrationInfos.document':?0}")
@@ -0,0 +1,29 @@
+package br.com.fatec.petfood.resource;
+
+import br.com.fatec.petfood.service.IndexService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(value = "/health")
+public class HealthResource {
+
+    private final IndexService indexService;
+
+    @ResponseBody
+    @CrossOrigin(origins = "*")
+    @ResponseStatus(HttpStatus.OK)
+    @GetMapping(value = "/readiness", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getReadiness() {
+        return indexService.getReadiness();
+    }
+}
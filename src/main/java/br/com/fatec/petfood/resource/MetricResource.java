@@ -0,0 +1,49 @@
+package br.com.fatec.petfood.resource;
+
+import br.com.fatec.petfood.service.RetryService;
+import br.com.fatec.petfood.service.SearchCacheService;
+import br.com.fatec.petfood.service.SellerDirectoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(value = "/metric")
+public class MetricResource {
+
+    private final RetryService retryService;
+    private final SearchCacheService searchCacheService;
+    private final SellerDirectoryService sellerDirectoryService;
+
+    @ResponseBody
+    @CrossOrigin(origins = "*")
+    @ResponseStatus(HttpStatus.OK)
+    @GetMapping(value = "/conflict", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getConflictMetrics() {
+        return retryService.getConflictMetrics();
+    }
+
+    @ResponseBody
+    @CrossOrigin(origins = "*")
+    @ResponseStatus(HttpStatus.OK)
+    @GetMapping(value = "/search-cache", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getSearchCacheMetrics() {
+        return searchCacheService.getMetrics();
+    }
+
+    @ResponseBody
+    @CrossOrigin(origins = "*")
+    @ResponseStatus(HttpStatus.OK)
+    @GetMapping(value = "/seller-directory", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getSellerDirectoryConsistency() {
+        return sellerDirectoryService.getConsistency();
+    }
+}
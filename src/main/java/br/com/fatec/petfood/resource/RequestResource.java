@@ -3,6 +3,7 @@ package br.com.fatec.petfood.resource;
 import br.com.fatec.petfood.model.dto.RequestDTO;
 import br.com.fatec.petfood.model.dto.RequestUpdateDTO;
 import br.com.fatec.petfood.model.enums.Status;
+import br.com.fatec.petfood.service.RequestIntakeService;
 import br.com.fatec.petfood.service.RequestService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -14,24 +15,46 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(value = "/request")
 public class RequestResource {
 
     private final RequestService requestService;
+    private final RequestIntakeService requestIntakeService;
 
     @CrossOrigin(origins = "*")
     @ResponseStatus(HttpStatus.OK)
     @PostMapping(value = "/create", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<?> createRequest(@RequestBody RequestDTO requestDTO) {
-        return requestService.createRequest(requestDTO);
+    public ResponseEntity<?> createRequest(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody RequestDTO requestDTO
+    ) {
+        return requestIntakeService.createRequest(requestDTO, idempotencyKey);
+    }
+
+    @CrossOrigin(origins = "*")
+    @ResponseStatus(HttpStatus.OK)
+    @PostMapping(value = "/create/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> createRequests(@RequestBody List<RequestDTO> requestDTOList) {
+        return requestService.createRequests(requestDTOList);
+    }
+
+    @ResponseBody
+    @CrossOrigin(origins = "*")
+    @ResponseStatus(HttpStatus.OK)
+    @GetMapping(value = "/ticket", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> findTicket(@RequestParam(value = "ticket") String ticket) {
+        return requestIntakeService.findTicket(ticket);
     }
 
     @ResponseBody
@@ -46,16 +69,30 @@ public class RequestResource {
     @CrossOrigin(origins = "*")
     @ResponseStatus(HttpStatus.OK)
     @GetMapping(value = "/find/seller", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<?> findRequestBySeller(@RequestParam(value = "sellerName") String sellerName) {
-        return requestService.findRequestBySeller(sellerName);
+    public ResponseEntity<?> findRequestBySeller(
+            @RequestParam(value = "sellerName") String sellerName,
+            @RequestParam(value = "status", required = false) Status status,
+            @RequestParam(value = "initialDate", required = false) String initialDate,
+            @RequestParam(value = "finalDate", required = false) String finalDate,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size
+    ) {
+        return requestService.findRequestBySeller(sellerName, status, initialDate, finalDate, cursor, size);
     }
 
     @ResponseBody
     @CrossOrigin(origins = "*")
     @ResponseStatus(HttpStatus.OK)
     @GetMapping(value = "/find/user", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<?> findRequestByUser(@RequestParam(value = "userName") String userName) {
-        return requestService.findRequestByUser(userName);
+    public ResponseEntity<?> findRequestByUser(
+            @RequestParam(value = "userName") String userName,
+            @RequestParam(value = "status", required = false) Status status,
+            @RequestParam(value = "initialDate", required = false) String initialDate,
+            @RequestParam(value = "finalDate", required = false) String finalDate,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size
+    ) {
+        return requestService.findRequestByUser(userName, status, initialDate, finalDate, cursor, size);
     }
 
     @ResponseBody
@@ -64,9 +101,14 @@ public class RequestResource {
     @GetMapping(value = "/find/seller/user", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> findRequestBySellerAndUser(
             @RequestParam(value = "sellerName") String sellerName,
-            @RequestParam(value = "userName") String userName
+            @RequestParam(value = "userName") String userName,
+            @RequestParam(value = "status", required = false) Status status,
+            @RequestParam(value = "initialDate", required = false) String initialDate,
+            @RequestParam(value = "finalDate", required = false) String finalDate,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size
     ) {
-        return requestService.findRequestBySellerAndUser(sellerName, userName);
+        return requestService.findRequestBySellerAndUser(sellerName, userName, status, initialDate, finalDate, cursor, size);
     }
 
     @CrossOrigin(origins = "*")
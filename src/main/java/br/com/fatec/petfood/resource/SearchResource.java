@@ -15,6 +15,8 @@ import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Objects;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(value = "/search")
@@ -44,10 +46,14 @@ public class SearchResource {
     public ResponseEntity<?> searchSellerProducts(
             @RequestParam(value = "sellerName") String sellerName,
             @RequestParam(value = "productTitle", required = false) String productTitle,
-            @RequestParam(value = "page") Integer page,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "page", required = false) Integer page,
             @RequestParam(value = "size") Integer size
     ) {
-        return searchService.searchSellerProducts(sellerName, productTitle, page, size);
+        if (Objects.isNull(page))
+            return searchService.searchSellerProductsByCursor(sellerName, productTitle, cursor, size);
+        else
+            return searchService.searchSellerProducts(sellerName, productTitle, page, size);
     }
 
     @ResponseBody
@@ -59,9 +65,13 @@ public class SearchResource {
             @RequestParam(value = "cityZone") CityZone cityZone,
             @RequestParam(value = "isWeek") Boolean isWeek,
             @RequestParam(value = "localTime") String localTime,
-            @RequestParam(value = "page") Integer page,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "page", required = false) Integer page,
             @RequestParam(value = "size") Integer size
     ) {
-        return searchService.searchSellerByCategory(category, cityZone, isWeek, localTime, page, size);
+        if (Objects.isNull(page))
+            return searchService.searchSellerByCategoryByCursor(category, cityZone, isWeek, localTime, cursor, size);
+        else
+            return searchService.searchSellerByCategory(category, cityZone, isWeek, localTime, page, size);
     }
 }
@@ -0,0 +1,38 @@
+package br.com.fatec.petfood.schedule;
+
+import br.com.fatec.petfood.service.RequestExpiryService;
+import br.com.fatec.petfood.service.RequestService;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class RequestExpirySchedule {
+
+    private final RequestService requestService;
+    private final RequestExpiryService requestExpiryService;
+    private static final Logger logger = LoggerFactory.getLogger(RequestExpirySchedule.class);
+
+    public RequestExpirySchedule(RequestService requestService, RequestExpiryService requestExpiryService) {
+        this.requestService = requestService;
+        this.requestExpiryService = requestExpiryService;
+    }
+
+    @Scheduled(fixedDelayString = "${schedule.wheel.tickMillis}")
+    public void cancelExpiredRequestSchedule() {
+        List<ObjectId> ids = requestExpiryService.expiredRequests();
+
+        if (!ids.isEmpty()) {
+            try {
+                Long canceledRequests = requestService.cancelExpiredRequests(ids);
+                logger.info("Canceled " + canceledRequests + " expired request(s) on status created.");
+            } catch (Exception e) {
+                logger.error(e.getMessage() + e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.fatec.petfood.schedule;
+
+import br.com.fatec.petfood.service.RequestIntakeService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RequestIntakeSchedule {
+
+    private final RequestIntakeService requestIntakeService;
+
+    public RequestIntakeSchedule(RequestIntakeService requestIntakeService) {
+        this.requestIntakeService = requestIntakeService;
+    }
+
+    @Scheduled(fixedDelayString = "${request.ticketPurgeMillis}")
+    public void purgeTickets() {
+        requestIntakeService.purgeTickets();
+    }
+}
@@ -1,32 +1,95 @@
 package br.com.fatec.petfood.schedule;
 
 import br.com.fatec.petfood.config.ScheduleConfig;
+import br.com.fatec.petfood.config.WheelConfig;
+import br.com.fatec.petfood.service.LockService;
+import br.com.fatec.petfood.service.RequestExpiryService;
 import br.com.fatec.petfood.service.RequestService;
+import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
 @Component
 public class RequestSchedule {
 
+    private final LockService lockService;
+    private final WheelConfig wheelConfig;
     private final RequestService requestService;
+    private final RequestExpiryService requestExpiryService;
     private final ScheduleConfig scheduleConfig;
+    private static final String LOCK_NAME = "requestSchedule-";
     private static final Logger logger = LoggerFactory.getLogger(RequestSchedule.class);
 
-    public RequestSchedule(RequestService requestService, ScheduleConfig scheduleConfig) {
+    public RequestSchedule(LockService lockService, WheelConfig wheelConfig, RequestService requestService,
+                           RequestExpiryService requestExpiryService, ScheduleConfig scheduleConfig) {
+        this.lockService = lockService;
+        this.wheelConfig = wheelConfig;
         this.requestService = requestService;
+        this.requestExpiryService = requestExpiryService;
         this.scheduleConfig = scheduleConfig;
     }
 
+    /*
+     * Com a roda de expiração ligada a varredura continua como rede de segurança: os prazos ficam só na memória da
+     * instância que criou o pedido, então pedidos de uma instância que caiu ou foi removida só são cancelados aqui.
+     */
     @Scheduled(cron = "${schedule.request}")
     public void cancelRequestSchedule() {
+        this.runCancelRequestSchedule();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverRequestSchedule() {
+        if (Boolean.TRUE.equals(wheelConfig.getEnabled())) {
+            logger.info("Starting recovery of requests on status created.");
+
+            try {
+                requestExpiryService.loadPendingRequests();
+            } catch (Exception e) {
+                logger.error("Error on load pending requests: " + e.getMessage());
+            }
+
+            this.runCancelRequestSchedule();
+        }
+    }
+
+    private void runCancelRequestSchedule() {
         logger.info("Starting schedule for cancel request on status created.");
 
-        try {
-            requestService.cancelRequestSchedule(scheduleConfig.getMinutesQuery(), scheduleConfig.getPage(), scheduleConfig.getSize());
-        } catch (Exception e) {
-            logger.error(e.getMessage() + e.getCause());
+        int partitions = Boolean.TRUE.equals(scheduleConfig.getDrain()) ? Math.max(1, scheduleConfig.getPartitions()) : 1;
+        int firstPartition = ThreadLocalRandom.current().nextInt(partitions);
+
+        for (int index = 0; index < partitions; index++) {
+            int partition = (firstPartition + index) % partitions;
+            String lockName = LOCK_NAME + partition;
+            DateTime lockedUntil = DateTime.now().plusSeconds(scheduleConfig.getLockAtLeastForSeconds());
+            Optional<Long> token = lockService.acquireLock(lockName, scheduleConfig.getLeaseSeconds());
+
+            if (token.isEmpty()) {
+                logger.info("Lock " + lockName + " held by another instance, skipping partition.");
+                continue;
+            }
+
+            try {
+                if (Boolean.TRUE.equals(scheduleConfig.getDrain())) {
+                    Long canceledRequests = requestService.drainRequestSchedule(scheduleConfig.getMinutesQuery(),
+                            scheduleConfig.getBatchSize(), scheduleConfig.getTimeBudgetSeconds(), partitions, partition,
+                            () -> lockService.renewLock(lockName, token.get(), scheduleConfig.getLeaseSeconds()));
+                    logger.info("Canceled " + canceledRequests + " request(s) on status created, partition " + partition + ".");
+                } else
+                    requestService.cancelRequestSchedule(scheduleConfig.getMinutesQuery(), scheduleConfig.getPage(), scheduleConfig.getSize());
+            } catch (Exception e) {
+                logger.error(e.getMessage() + e.getCause());
+            } finally {
+                lockService.releaseLock(lockName, token.get(), lockedUntil);
+            }
         }
 
         logger.info("Finishing schedule for cancel request on status created.");
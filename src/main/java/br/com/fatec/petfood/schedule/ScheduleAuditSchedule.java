@@ -0,0 +1,20 @@
+package br.com.fatec.petfood.schedule;
+
+import br.com.fatec.petfood.service.ScheduleAuditService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ScheduleAuditSchedule {
+
+    private final ScheduleAuditService scheduleAuditService;
+
+    public ScheduleAuditSchedule(ScheduleAuditService scheduleAuditService) {
+        this.scheduleAuditService = scheduleAuditService;
+    }
+
+    @Scheduled(fixedDelayString = "${schedule.audit.flushMillis}")
+    public void flushScheduleAudit() {
+        scheduleAuditService.flush();
+    }
+}
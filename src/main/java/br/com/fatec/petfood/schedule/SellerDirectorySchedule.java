@@ -0,0 +1,39 @@
+package br.com.fatec.petfood.schedule;
+
+import br.com.fatec.petfood.model.dto.SellerDirectoryCheckDTO;
+import br.com.fatec.petfood.service.SellerDirectoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SellerDirectorySchedule {
+
+    private final SellerDirectoryService sellerDirectoryService;
+    private static final Logger logger = LoggerFactory.getLogger(SellerDirectorySchedule.class);
+
+    public SellerDirectorySchedule(SellerDirectoryService sellerDirectoryService) {
+        this.sellerDirectoryService = sellerDirectoryService;
+    }
+
+    /*
+     * Gravações feitas por outras instâncias não passam pelos eventos desta, então o diretório é conferido com a coleção
+     * periodicamente e recarregado quando divergir.
+     */
+    @Scheduled(fixedDelayString = "${seller.directoryCheckMillis}", initialDelayString = "${seller.directoryCheckMillis}")
+    public void checkSellerDirectory() {
+        try {
+            SellerDirectoryCheckDTO sellerDirectoryCheckDTO = sellerDirectoryService.checkConsistency();
+
+            if (sellerDirectoryCheckDTO.hasDivergences()) {
+                logger.warn("Seller directory diverged from collection (missing: " + sellerDirectoryCheckDTO.getMissingSellers().size() +
+                        ", stale: " + sellerDirectoryCheckDTO.getStaleSellers().size() + ", outdated: " +
+                        sellerDirectoryCheckDTO.getOutdatedSellers().size() + "), reloading.");
+                sellerDirectoryService.load();
+            }
+        } catch (Exception e) {
+            logger.error("Error on check seller directory: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.fatec.petfood.service;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    ResponseEntity<?> execute(String idempotencyKey, String fingerprint, Supplier<ResponseEntity<?>> action);
+}
@@ -0,0 +1,14 @@
+package br.com.fatec.petfood.service;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+public interface IndexService {
+
+    void ensureIndexes();
+
+    List<String> verifyIndexes();
+
+    ResponseEntity<?> getReadiness();
+}
@@ -0,0 +1,14 @@
+package br.com.fatec.petfood.service;
+
+import org.joda.time.DateTime;
+
+import java.util.Optional;
+
+public interface LockService {
+
+    Optional<Long> acquireLock(String name, Integer leaseSeconds);
+
+    Boolean renewLock(String name, Long token, Integer leaseSeconds);
+
+    void releaseLock(String name, Long token, DateTime lockedUntil);
+}
@@ -3,8 +3,11 @@ package br.com.fatec.petfood.service;
 import br.com.fatec.petfood.model.dto.ProductDTO;
 import br.com.fatec.petfood.model.dto.ProductUpdateDTO;
 import br.com.fatec.petfood.model.enums.Category;
+import br.com.fatec.petfood.model.generic.ProductRequest;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
+
 public interface ProductService {
 
     ResponseEntity<?> createProduct(ProductDTO productDTO, Category category);
@@ -15,7 +18,15 @@ public interface ProductService {
 
     ResponseEntity<?> updateStockProduct(String title, String sellerName, Integer stock);
 
-    void updateStockProductFromRequest(String title, String sellerName, Integer stock);
+    List<ProductRequest> reserveStockProductFromRequest(List<ProductRequest> products);
+
+    List<ProductRequest> reserveStockProductFromRequestInTransaction(List<ProductRequest> products);
+
+    void releaseStockProductFromRequest(List<ProductRequest> products);
+
+    List<ProductRequest> adjustStockProductFromRequest(List<ProductRequest> oldProducts, List<ProductRequest> newProducts);
+
+    void revertStockProductFromRequest(List<ProductRequest> oldProducts, List<ProductRequest> newProducts);
 
     ResponseEntity<?> deleteProduct(String title, String sellerName);
 }
@@ -0,0 +1,17 @@
+package br.com.fatec.petfood.service;
+
+import org.bson.types.ObjectId;
+import org.joda.time.DateTime;
+
+import java.util.List;
+
+public interface RequestExpiryService {
+
+    void scheduleRequest(ObjectId id, DateTime defaultDateTime);
+
+    void cancelRequest(ObjectId id);
+
+    List<ObjectId> expiredRequests();
+
+    void loadPendingRequests();
+}
@@ -0,0 +1,13 @@
+package br.com.fatec.petfood.service;
+
+import br.com.fatec.petfood.model.dto.RequestDTO;
+import org.springframework.http.ResponseEntity;
+
+public interface RequestIntakeService {
+
+    ResponseEntity<?> createRequest(RequestDTO requestDTO, String idempotencyKey);
+
+    ResponseEntity<?> findTicket(String ticket);
+
+    void purgeTickets();
+}
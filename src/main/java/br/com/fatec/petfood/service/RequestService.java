@@ -3,19 +3,26 @@ package br.com.fatec.petfood.service;
 import br.com.fatec.petfood.model.dto.RequestDTO;
 import br.com.fatec.petfood.model.dto.RequestUpdateDTO;
 import br.com.fatec.petfood.model.enums.Status;
+import org.bson.types.ObjectId;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
 public interface RequestService {
 
     ResponseEntity<?> createRequest(RequestDTO requestDTO);
 
+    ResponseEntity<?> createRequests(List<RequestDTO> requestDTOList);
+
     ResponseEntity<?> findRequestById(String id);
 
-    ResponseEntity<?> findRequestBySeller(String sellerName);
+    ResponseEntity<?> findRequestBySeller(String sellerName, Status status, String initialDate, String finalDate, String cursor, Integer size);
 
-    ResponseEntity<?> findRequestByUser(String userName);
+    ResponseEntity<?> findRequestByUser(String userName, Status status, String initialDate, String finalDate, String cursor, Integer size);
 
-    ResponseEntity<?> findRequestBySellerAndUser(String sellerName, String userName);
+    ResponseEntity<?> findRequestBySellerAndUser(String sellerName, String userName, Status status, String initialDate, String finalDate,
+                                                 String cursor, Integer size);
 
     ResponseEntity<?> updateRequest(String id, Status status, RequestUpdateDTO requestUpdateDTO);
 
@@ -26,4 +33,9 @@ public interface RequestService {
     ResponseEntity<?> deleteRequest(String id);
 
     void cancelRequestSchedule(Integer minutesQuery, Integer page, Integer size) throws Exception;
+
+    Long drainRequestSchedule(Integer minutesQuery, Integer batchSize, Integer timeBudgetSeconds, Integer partitions, Integer partition,
+                              BooleanSupplier lease) throws Exception;
+
+    Long cancelExpiredRequests(List<ObjectId> ids) throws Exception;
 }
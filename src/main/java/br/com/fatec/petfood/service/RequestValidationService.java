@@ -1,24 +1,36 @@
 package br.com.fatec.petfood.service;
 
 import br.com.fatec.petfood.model.dto.ProductRequestDTO;
+import br.com.fatec.petfood.model.dto.RequestDTO;
 import br.com.fatec.petfood.model.dto.RequestUpdateDTO;
+import br.com.fatec.petfood.model.entity.mongo.ProductEntity;
 import br.com.fatec.petfood.model.entity.mongo.RequestEntity;
 import br.com.fatec.petfood.model.entity.mongo.SellerEntity;
 import br.com.fatec.petfood.model.entity.mongo.UserEntity;
+import br.com.fatec.petfood.model.enums.Status;
+import br.com.fatec.petfood.model.generic.PageCursor;
 import br.com.fatec.petfood.model.generic.ProductRequest;
+import br.com.fatec.petfood.model.generic.RequestFilter;
+import org.bson.types.ObjectId;
 
 import java.util.List;
+import java.util.Map;
 
 public interface RequestValidationService {
 
     void validateShippingPrice(Double shippingPrice) throws Exception;
 
+    void validateRequestDTO(RequestDTO requestDTO) throws Exception;
+
     SellerEntity validateSellerRequestDTO(String sellerName) throws Exception;
 
     UserEntity validateUserRequestDTO(String userName) throws Exception;
 
     List<ProductRequest> validateProductsRequestDTO(List<ProductRequestDTO> products, String sellerName) throws Exception;
 
+    List<ProductRequest> validateProductsRequestDTO(List<ProductRequestDTO> products, Map<String, ProductEntity> productEntities,
+                                                    Map<ObjectId, Integer> reservedQuantities) throws Exception;
+
     void validateRequestEntityTotalValue(RequestEntity requestEntity) throws Exception;
 
     void validateFindRequestById(String id) throws Exception;
@@ -27,6 +39,10 @@ public interface RequestValidationService {
 
     void validateFindRequestByUser(String userName) throws Exception;
 
+    RequestFilter validateFindRequestFilter(Status status, String initialDate, String finalDate) throws Exception;
+
+    PageCursor validateFindRequestPage(String cursor, Integer size) throws Exception;
+
     List<ProductRequest> validateProductsRequestUpdateDTO(RequestEntity requestEntity, RequestUpdateDTO requestUpdateDTO) throws Exception;
 
     Double validateShippingPriceRequestUpdateDTO(RequestEntity requestEntity, RequestUpdateDTO requestUpdateDTO);
@@ -0,0 +1,12 @@
+package br.com.fatec.petfood.service;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+public interface RetryService {
+
+    <T> T retryOnConflict(String operation, Supplier<T> action);
+
+    ResponseEntity<?> getConflictMetrics();
+}
@@ -0,0 +1,10 @@
+package br.com.fatec.petfood.service;
+
+import br.com.fatec.petfood.model.entity.mongo.ScheduleEntity;
+
+public interface ScheduleAuditService {
+
+    void audit(ScheduleEntity scheduleEntity);
+
+    void flush();
+}
@@ -0,0 +1,18 @@
+package br.com.fatec.petfood.service;
+
+import br.com.fatec.petfood.model.entity.mongo.SellerEntity;
+import br.com.fatec.petfood.model.generic.SearchCacheKey;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+public interface SearchCacheService {
+
+    ResponseEntity<?> getOrSearch(SearchCacheKey searchCacheKey, Supplier<ResponseEntity<?>> search);
+
+    void invalidateProduct(String productTitle);
+
+    void invalidateSeller(SellerEntity sellerEntity);
+
+    ResponseEntity<?> getMetrics();
+}
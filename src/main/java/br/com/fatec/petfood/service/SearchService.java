@@ -11,4 +11,9 @@ public interface SearchService {
     ResponseEntity<?> searchSellerProducts(String sellerName, String productTitle, Integer page, Integer size);
 
     ResponseEntity<?> searchSellerByCategory(Category category, CityZone cityZone, Boolean isWeek, String localTime, Integer page, Integer size);
+
+    ResponseEntity<?> searchSellerProductsByCursor(String sellerName, String productTitle, String cursor, Integer size);
+
+    ResponseEntity<?> searchSellerByCategoryByCursor(Category category, CityZone cityZone, Boolean isWeek, String localTime, String cursor,
+                                                     Integer size);
 }
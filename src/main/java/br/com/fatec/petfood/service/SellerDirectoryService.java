@@ -0,0 +1,32 @@
+package br.com.fatec.petfood.service;
+
+import br.com.fatec.petfood.model.dto.SellerDirectoryCheckDTO;
+import br.com.fatec.petfood.model.entity.mongo.SellerEntity;
+import br.com.fatec.petfood.model.enums.Category;
+import br.com.fatec.petfood.model.enums.CityZone;
+import br.com.fatec.petfood.model.generic.PageCursor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface SellerDirectoryService {
+
+    void load();
+
+    void put(SellerEntity sellerEntity);
+
+    void remove(ObjectId id);
+
+    Optional<List<SellerEntity>> findAllOpenByCategoryAndCityZone(Category category, CityZone cityZone, Boolean isWeek,
+                                                                  Integer minute, Pageable page);
+
+    Optional<List<SellerEntity>> findAllOpenByCategoryAndCityZoneAfter(Category category, CityZone cityZone, Boolean isWeek,
+                                                                       Integer minute, PageCursor pageCursor, Integer limit);
+
+    SellerDirectoryCheckDTO checkConsistency();
+
+    ResponseEntity<?> getConsistency();
+}
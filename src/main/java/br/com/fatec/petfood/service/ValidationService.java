@@ -10,6 +10,7 @@ import br.com.fatec.petfood.model.entity.mongo.SellerEntity;
 import br.com.fatec.petfood.model.entity.mongo.UserEntity;
 import br.com.fatec.petfood.model.enums.Category;
 import br.com.fatec.petfood.model.enums.CityZone;
+import br.com.fatec.petfood.model.generic.PageCursor;
 import br.com.fatec.petfood.model.generic.RegistrationInfos;
 
 import java.util.List;
@@ -35,4 +36,9 @@ public interface ValidationService {
     void validateSearchSellerProducts(String sellerName, Integer page, Integer size) throws Exception;
 
     void validateSearchSellerByCategory(Category category, CityZone cityZone, String localTime, Integer page, Integer size) throws Exception;
+
+    PageCursor validateSearchSellerProductsByCursor(String sellerName, String cursor, Integer size) throws Exception;
+
+    PageCursor validateSearchSellerByCategoryByCursor(Category category, CityZone cityZone, String localTime, String cursor,
+                                                      Integer size) throws Exception;
 }
@@ -0,0 +1,202 @@
+package br.com.fatec.petfood.service.impl;
+
+import br.com.fatec.petfood.config.IdempotencyConfig;
+import br.com.fatec.petfood.model.entity.mongo.IdempotencyEntity;
+import br.com.fatec.petfood.repository.mongo.IdempotencyRepository;
+import br.com.fatec.petfood.service.IdempotencyService;
+import br.com.fatec.petfood.utils.ValidateUtils;
+import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private final Long waitMillis;
+    private final Integer ttlHours;
+    private final Integer pendingSeconds;
+    private final ValidateUtils validateUtils;
+    private final IdempotencyRepository idempotencyRepository;
+    private final Map<String, IdempotencyEntity> idempotencyCache;
+    private final Map<String, CompletableFuture<IdempotencyEntity>> runningRequests = new ConcurrentHashMap<>();
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyServiceImpl.class);
+
+    public IdempotencyServiceImpl(ValidateUtils validateUtils, IdempotencyRepository idempotencyRepository,
+                                  IdempotencyConfig idempotencyConfig) {
+        this.validateUtils = validateUtils;
+        this.idempotencyRepository = idempotencyRepository;
+        this.waitMillis = idempotencyConfig.getWaitMillis();
+        this.ttlHours = idempotencyConfig.getTtlHours();
+        this.pendingSeconds = idempotencyConfig.getPendingSeconds();
+        this.idempotencyCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyEntity> eldest) {
+                return size() > idempotencyConfig.getMaxEntries();
+            }
+        });
+    }
+
+    /*
+     * A resposta de uma chave já processada é devolvida do LRU ou da coleção, sem executar a ação novamente. Requisições
+     * concorrentes com a mesma chave aguardam a primeira na mesma instância; entre instâncias, o documento pendente
+     * gravado antes da execução faz o papel de trava. Respostas 5xx não são guardadas, para que o cliente possa tentar de novo.
+     * Entradas do LRU vencidas são descartadas, acompanhando o índice TTL da coleção.
+     */
+    @Override
+    public ResponseEntity<?> execute(String idempotencyKey, String fingerprint, Supplier<ResponseEntity<?>> action) {
+        if (!validateUtils.isNotNullAndNotEmpty(idempotencyKey))
+            return action.get();
+
+        String fingerprintHash = this.hash(fingerprint);
+        IdempotencyEntity idempotencyEntity = idempotencyCache.get(idempotencyKey);
+
+        if (!Objects.isNull(idempotencyEntity) && this.isExpired(idempotencyEntity))
+            idempotencyCache.remove(idempotencyKey, idempotencyEntity);
+        else if (!Objects.isNull(idempotencyEntity))
+            return this.replay(idempotencyEntity, fingerprintHash);
+
+        CompletableFuture<IdempotencyEntity> request = new CompletableFuture<>();
+        CompletableFuture<IdempotencyEntity> runningRequest = runningRequests.putIfAbsent(idempotencyKey, request);
+
+        if (!Objects.isNull(runningRequest)) {
+            try {
+                return this.replay(runningRequest.get(waitMillis, TimeUnit.MILLISECONDS), fingerprintHash);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return this.inProgress();
+            } catch (Exception e) {
+                return this.inProgress();
+            }
+        }
+
+        try {
+            idempotencyEntity = this.executeOnce(idempotencyKey, fingerprintHash, action);
+            request.complete(idempotencyEntity);
+        } catch (RuntimeException e) {
+            request.completeExceptionally(e);
+            throw e;
+        } finally {
+            runningRequests.remove(idempotencyKey, request);
+        }
+
+        return this.replay(idempotencyEntity, fingerprintHash);
+    }
+
+    private Boolean isExpired(IdempotencyEntity idempotencyEntity) {
+        return !Objects.isNull(idempotencyEntity.getExpireAt()) && !idempotencyEntity.getExpireAt().isAfterNow();
+    }
+
+    private IdempotencyEntity executeOnce(String idempotencyKey, String fingerprintHash, Supplier<ResponseEntity<?>> action) {
+        try {
+            idempotencyRepository.insert(new IdempotencyEntity(idempotencyKey, fingerprintHash, null, null,
+                    DateTime.now().plusSeconds(pendingSeconds)));
+        } catch (DuplicateKeyException e) {
+            return this.awaitCompleted(idempotencyKey, fingerprintHash);
+        } catch (Exception e) {
+            return new IdempotencyEntity(idempotencyKey, fingerprintHash, HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    "Erro ao registrar Idempotency-Key na base de dados: " + e.getMessage(), null);
+        }
+
+        ResponseEntity<?> response;
+
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            this.deleteQuietly(idempotencyKey);
+            throw e;
+        }
+
+        IdempotencyEntity idempotencyEntity = new IdempotencyEntity(idempotencyKey, fingerprintHash, response.getStatusCodeValue(),
+                response.getBody(), DateTime.now().plusHours(ttlHours));
+
+        if (response.getStatusCode().is5xxServerError())
+            this.deleteQuietly(idempotencyKey);
+        else {
+            try {
+                idempotencyRepository.save(idempotencyEntity);
+            } catch (Exception e) {
+                logger.error("Error on save response of idempotency key " + idempotencyKey + ": " + e.getMessage());
+            }
+
+            idempotencyCache.put(idempotencyKey, idempotencyEntity);
+        }
+
+        return idempotencyEntity;
+    }
+
+    private IdempotencyEntity awaitCompleted(String idempotencyKey, String fingerprintHash) {
+        long deadline = System.currentTimeMillis() + waitMillis;
+
+        while (System.currentTimeMillis() < deadline) {
+            Optional<IdempotencyEntity> idempotencyEntity = idempotencyRepository.findById(idempotencyKey);
+
+            if (idempotencyEntity.isEmpty())
+                break;
+
+            if (!Objects.isNull(idempotencyEntity.get().getHttpStatus())) {
+                idempotencyCache.put(idempotencyKey, idempotencyEntity.get());
+                return idempotencyEntity.get();
+            }
+
+            try {
+                Thread.sleep(50L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        return new IdempotencyEntity(idempotencyKey, fingerprintHash, HttpStatus.CONFLICT.value(),
+                "Pedido com a mesma Idempotency-Key em processamento, tente novamente.", null);
+    }
+
+    private ResponseEntity<?> replay(IdempotencyEntity idempotencyEntity, String fingerprintHash) {
+        if (!idempotencyEntity.getFingerprint().equals(fingerprintHash))
+            return new ResponseEntity<>("Idempotency-Key já utilizada com outro pedido.", HttpStatus.UNPROCESSABLE_ENTITY);
+        else
+            return new ResponseEntity<>(idempotencyEntity.getResponse(), HttpStatus.valueOf(idempotencyEntity.getHttpStatus()));
+    }
+
+    private ResponseEntity<?> inProgress() {
+        return new ResponseEntity<>("Pedido com a mesma Idempotency-Key em processamento, tente novamente.", HttpStatus.CONFLICT);
+    }
+
+    private void deleteQuietly(String idempotencyKey) {
+        try {
+            idempotencyRepository.deleteById(idempotencyKey);
+        } catch (Exception e) {
+            logger.error("Error on delete idempotency key " + idempotencyKey + ": " + e.getMessage());
+        }
+    }
+
+    private String hash(String fingerprint) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(String.valueOf(fingerprint).getBytes(StandardCharsets.UTF_8));
+            StringBuilder hash = new StringBuilder();
+
+            for (byte b : digest)
+                hash.append(String.format("%02x", b));
+
+            return hash.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package br.com.fatec.petfood.service.impl;
+
+import br.com.fatec.petfood.service.IndexService;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver.IndexDefinitionHolder;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+@Service
+@RequiredArgsConstructor
+public class IndexServiceImpl implements IndexService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationAvailability applicationAvailability;
+    private final MongoMappingContext mongoMappingContext;
+    private static final Logger logger = LoggerFactory.getLogger(IndexServiceImpl.class);
+
+    @Override
+    public void ensureIndexes() {
+        this.indexDefinitions().forEach(indexDefinition -> {
+            try {
+                mongoTemplate.indexOps(indexDefinition.getCollection()).ensureIndex(indexDefinition);
+            } catch (Exception e) {
+                logger.error("Erro ao criar índice " + this.indexName(indexDefinition) + " na coleção " +
+                        indexDefinition.getCollection() + ": " + e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public List<String> verifyIndexes() {
+        List<String> indexErrors = new ArrayList<>();
+
+        this.indexDefinitions().forEach(indexDefinition -> {
+            String indexName = this.indexName(indexDefinition);
+            Optional<IndexInfo> indexInfo = mongoTemplate.indexOps(indexDefinition.getCollection()).getIndexInfo().stream()
+                    .filter(info -> info.getName().equals(indexName))
+                    .findFirst();
+
+            if (indexInfo.isEmpty())
+                indexErrors.add("Índice " + indexName + " não encontrado na coleção " + indexDefinition.getCollection() + ".");
+            else if (!this.matches(indexDefinition, indexInfo.get()))
+                indexErrors.add("Índice " + indexName + " da coleção " + indexDefinition.getCollection() +
+                        " diverge da definição esperada: " + indexInfo.get());
+        });
+
+        return indexErrors;
+    }
+
+    /*
+     * Estado de prontidão para a sonda do balanceador de carga: a aplicação passa a recusar tráfego quando algum índice
+     * está ausente ou divergente na subida (ver IndexConfig).
+     */
+    @Override
+    public ResponseEntity<?> getReadiness() {
+        ReadinessState readinessState = applicationAvailability.getReadinessState();
+
+        if (readinessState.equals(ReadinessState.ACCEPTING_TRAFFIC))
+            return new ResponseEntity<>(readinessState.toString(), HttpStatus.OK);
+        else
+            return new ResponseEntity<>(readinessState.toString(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private List<IndexDefinitionHolder> indexDefinitions() {
+        List<IndexDefinitionHolder> indexDefinitions = new ArrayList<>();
+        MongoPersistentEntityIndexResolver indexResolver = new MongoPersistentEntityIndexResolver(mongoMappingContext);
+
+        for (MongoPersistentEntity<?> entity : mongoMappingContext.getPersistentEntities()) {
+            if (entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class))
+                indexDefinitions.addAll(indexResolver.resolveIndexForEntity(entity));
+        }
+
+        return indexDefinitions;
+    }
+
+    private Boolean matches(IndexDefinitionHolder indexDefinition, IndexInfo indexInfo) {
+        Document indexKeys = indexDefinition.getIndexKeys();
+        Document indexOptions = indexDefinition.getIndexOptions();
+        List<IndexField> indexFields = indexInfo.getIndexFields();
+
+        if (indexKeys.size() != indexFields.size())
+            return Boolean.FALSE;
+
+        int position = 0;
+
+        for (Map.Entry<String, Object> indexKey : indexKeys.entrySet()) {
+            IndexField indexField = indexFields.get(position++);
+            Sort.Direction direction = ((Number) indexKey.getValue()).intValue() < 0 ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+            if (!indexField.getKey().equals(indexKey.getKey()) || !direction.equals(indexField.getDirection()))
+                return Boolean.FALSE;
+        }
+
+        if (indexOptions.getBoolean("unique", false) != indexInfo.isUnique())
+            return Boolean.FALSE;
+
+        if (indexOptions.getBoolean("sparse", false) != indexInfo.isSparse())
+            return Boolean.FALSE;
+
+        Object expireAfterSeconds = indexOptions.get("expireAfterSeconds");
+        Optional<Duration> expireAfter = indexInfo.getExpireAfter();
+
+        if (Objects.isNull(expireAfterSeconds))
+            return expireAfter.isEmpty();
+        else
+            return expireAfter.isPresent() && expireAfter.get().getSeconds() == ((Number) expireAfterSeconds).longValue();
+    }
+
+    private String indexName(IndexDefinitionHolder indexDefinition) {
+        String name = indexDefinition.getIndexOptions().getString("name");
+
+        if (!Objects.isNull(name))
+            return name;
+
+        StringJoiner defaultName = new StringJoiner("_");
+        indexDefinition.getIndexKeys().forEach((key, direction) -> defaultName.add(key).add(String.valueOf(direction)));
+
+        return defaultName.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.fatec.petfood.service.impl;
+
+import br.com.fatec.petfood.model.entity.mongo.LockEntity;
+import br.com.fatec.petfood.repository.mongo.LockRepository;
+import br.com.fatec.petfood.service.LockService;
+import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class LockServiceImpl implements LockService {
+
+    private final String owner;
+    private final LockRepository lockRepository;
+    private static final Logger logger = LoggerFactory.getLogger(LockServiceImpl.class);
+
+    public LockServiceImpl(LockRepository lockRepository) {
+        this.lockRepository = lockRepository;
+        this.owner = this.hostName() + ":" + UUID.randomUUID();
+    }
+
+    @Override
+    public Optional<Long> acquireLock(String name, Integer leaseSeconds) {
+        try {
+            return lockRepository.acquire(name, owner, DateTime.now().plusSeconds(leaseSeconds)).map(LockEntity::getToken);
+        } catch (Exception e) {
+            logger.error("Error on acquire lock " + name + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Boolean renewLock(String name, Long token, Integer leaseSeconds) {
+        try {
+            return lockRepository.renew(name, owner, token, DateTime.now().plusSeconds(leaseSeconds));
+        } catch (Exception e) {
+            logger.error("Error on renew lock " + name + ": " + e.getMessage());
+            return Boolean.FALSE;
+        }
+    }
+
+    /*
+     * O lock continua valendo até lockedUntil mesmo que a execução termine antes, para que outra instância com o
+     * relógio um pouco adiantado não rode o mesmo ciclo do schedule logo em seguida.
+     */
+    @Override
+    public void releaseLock(String name, Long token, DateTime lockedUntil) {
+        try {
+            lockRepository.release(name, owner, token, lockedUntil.isAfterNow() ? lockedUntil : DateTime.now());
+        } catch (Exception e) {
+            logger.error("Error on release lock " + name + ": " + e.getMessage());
+        }
+    }
+
+    private String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
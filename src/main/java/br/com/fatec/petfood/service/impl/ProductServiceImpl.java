@@ -6,15 +6,22 @@ import br.com.fatec.petfood.model.dto.ProductUpdateDTO;
 import br.com.fatec.petfood.model.entity.mongo.ProductEntity;
 import br.com.fatec.petfood.model.entity.mongo.SellerEntity;
 import br.com.fatec.petfood.model.enums.Category;
+import br.com.fatec.petfood.model.generic.ProductRequest;
 import br.com.fatec.petfood.model.mapper.ProductMapper;
 import br.com.fatec.petfood.repository.mongo.ProductRepository;
 import br.com.fatec.petfood.service.ProductService;
+import br.com.fatec.petfood.service.RetryService;
+import br.com.fatec.petfood.service.SearchCacheService;
 import br.com.fatec.petfood.service.ValidationService;
+import br.com.fatec.petfood.utils.ProductRequestDiff;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -22,8 +29,10 @@ import java.util.Optional;
 public class ProductServiceImpl implements ProductService {
 
     private final ProductMapper productMapper;
+    private final RetryService retryService;
     private final ProductRepository productRepository;
     private final ValidationService validationService;
+    private final SearchCacheService searchCacheService;
 
     @Override
     public ResponseEntity<?> createProduct(ProductDTO productDTO, Category category) {
@@ -40,6 +49,7 @@ public class ProductServiceImpl implements ProductService {
 
             try {
                 productRepository.save(productEntity);
+                searchCacheService.invalidateProduct(productEntity.getTitle());
                 return new ResponseEntity<>("Produto cadastrado com sucesso.", HttpStatus.CREATED);
             } catch (Exception e) {
                 return new ResponseEntity<>("Erro ao gravar produto na base de dados: " + e.getMessage(),
@@ -72,70 +82,70 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public ResponseEntity<?> updateProduct(String title, String sellerName, ProductUpdateDTO productUpdateDTO, Category category) {
-        Optional<ProductEntity> productEntity = productRepository.findByTitleAndSellerName(title, sellerName);
-
-        if (productEntity.isPresent()) {
-            try {
-                validationService.validateProductUpdateDTO(productUpdateDTO, category);
-            } catch (Exception e) {
-                return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
-            }
-
-            try {
-                ProductEntity productUpdateEntity = productMapper.toEntity(productUpdateDTO, productEntity.get(), category);
-
-                try {
-                    productRepository.save(productUpdateEntity);
-                    return new ResponseEntity<>("Produto atualizado com sucesso.", HttpStatus.OK);
-                } catch (Exception e) {
-                    return new ResponseEntity<>("Erro ao atualizar produto na base de dados: " + e.getMessage(),
-                            HttpStatus.INTERNAL_SERVER_ERROR);
-                }
-            } catch (Exception e) {
-                return new ResponseEntity<>("Erro no mapeamento para atualização do produto: " + e.getMessage(),
-                        HttpStatus.INTERNAL_SERVER_ERROR);
-            }
-        } else
-            return new ResponseEntity<>("Produto não encontrado.", HttpStatus.BAD_REQUEST);
+        try {
+            return retryService.retryOnConflict("updateProduct", () ->
+                    this.updateProductVersioned(title, sellerName, productUpdateDTO, category));
+        } catch (OptimisticLockingFailureException e) {
+            return new ResponseEntity<>("Produto alterado concorrentemente, tente novamente.", HttpStatus.CONFLICT);
+        }
     }
 
     @Override
     public ResponseEntity<?> updateStockProduct(String title, String sellerName, Integer stock) {
-        Optional<ProductEntity> productEntity = productRepository.findByTitleAndSellerName(title, sellerName);
+        try {
+            return retryService.retryOnConflict("updateStockProduct", () ->
+                    this.updateStockProductVersioned(title, sellerName, stock));
+        } catch (OptimisticLockingFailureException e) {
+            return new ResponseEntity<>("Estoque do produto alterado concorrentemente, tente novamente.", HttpStatus.CONFLICT);
+        }
+    }
 
-        if (productEntity.isPresent()) {
-            try {
-                validationService.validateProductStockUpdate(stock);
-            } catch (Exception e) {
-                return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
-            }
+    @Override
+    public List<ProductRequest> reserveStockProductFromRequest(List<ProductRequest> products) {
+        return productRepository.decrementStock(products);
+    }
 
-            try {
-                ProductEntity productUpdateEntity = productMapper.toEntity(productEntity.get(), stock);
-
-                try {
-                    productRepository.save(productUpdateEntity);
-                    return new ResponseEntity<>("Estoque do produto atualizado com sucesso.", HttpStatus.OK);
-                } catch (Exception e) {
-                    return new ResponseEntity<>("Erro ao atualizar estoque do produto na base de dados: " + e.getMessage(),
-                            HttpStatus.INTERNAL_SERVER_ERROR);
-                }
-            } catch (Exception e) {
-                return new ResponseEntity<>("Erro no mapeamento para atualização de estoque do produto: " + e.getMessage(),
-                        HttpStatus.INTERNAL_SERVER_ERROR);
-            }
-        } else
-            return new ResponseEntity<>("Produto não encontrado.", HttpStatus.BAD_REQUEST);
+    @Override
+    public List<ProductRequest> reserveStockProductFromRequestInTransaction(List<ProductRequest> products) {
+        return productRepository.decrementStockInTransaction(products);
     }
 
     @Override
-    public void updateStockProductFromRequest(String title, String sellerName, Integer stock) {
-        Optional<ProductEntity> productEntity = productRepository.findByTitleAndSellerName(title, sellerName);
+    public void releaseStockProductFromRequest(List<ProductRequest> products) {
+        productRepository.incrementStock(products);
+    }
 
-        if (productEntity.isPresent()) {
-            ProductEntity productUpdateEntity = productMapper.toEntity(productEntity.get(), (productEntity.get().getStock() - stock));
-            productRepository.save(productUpdateEntity);
+    /*
+     * Aplica apenas a diferença líquida entre as linhas antigas e novas do pedido, em um único bulk. Se alguma linha
+     * ficar sem estoque as demais são desfeitas com $inc incondicional (o estoque já foi reservado por esta chamada,
+     * então a devolução não pode depender de estoque disponível), para que a edição do pedido seja tudo ou nada.
+     */
+    @Override
+    public List<ProductRequest> adjustStockProductFromRequest(List<ProductRequest> oldProducts, List<ProductRequest> newProducts) {
+        List<ProductRequest> products = ProductRequestDiff.delta(oldProducts, newProducts);
+        List<ProductRequest> failedProducts = productRepository.adjustStock(products);
+
+        if (!failedProducts.isEmpty()) {
+            List<ProductRequest> adjustedProducts = new ArrayList<>();
+
+            products.forEach(product -> {
+                if (failedProducts.stream().noneMatch(failedProduct -> failedProduct == product))
+                    adjustedProducts.add(product);
+            });
+
+            productRepository.incrementStock(adjustedProducts);
         }
+
+        return failedProducts;
+    }
+
+    /*
+     * Desfaz um adjustStockProductFromRequest já aplicado com as mesmas listas, devolvendo a diferença com $inc
+     * incondicional em vez da atualização condicionada ao estoque disponível.
+     */
+    @Override
+    public void revertStockProductFromRequest(List<ProductRequest> oldProducts, List<ProductRequest> newProducts) {
+        productRepository.incrementStock(ProductRequestDiff.delta(oldProducts, newProducts));
     }
 
     @Override
@@ -147,6 +157,7 @@ public class ProductServiceImpl implements ProductService {
 
             try {
                 productRepository.delete(product);
+                searchCacheService.invalidateProduct(product.getTitle());
                 return new ResponseEntity<>("Produto deletado com sucesso.", HttpStatus.OK);
             } catch (Exception e) {
                 return new ResponseEntity<>("Erro ao deletar produto na base de dados: " + e.getMessage(),
@@ -155,4 +166,67 @@ public class ProductServiceImpl implements ProductService {
         } else
             return new ResponseEntity<>("Produto não encontrado.", HttpStatus.BAD_REQUEST);
     }
+
+    private ResponseEntity<?> updateProductVersioned(String title, String sellerName, ProductUpdateDTO productUpdateDTO,
+                                                     Category category) {
+        ProductEntity productUpdateEntity;
+        Optional<ProductEntity> productEntity = productRepository.findByTitleAndSellerName(title, sellerName);
+
+        if (productEntity.isEmpty())
+            return new ResponseEntity<>("Produto não encontrado.", HttpStatus.BAD_REQUEST);
+
+        try {
+            validationService.validateProductUpdateDTO(productUpdateDTO, category);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+
+        try {
+            productUpdateEntity = productMapper.toEntity(productUpdateDTO, productEntity.get(), category);
+        } catch (Exception e) {
+            return new ResponseEntity<>("Erro no mapeamento para atualização do produto: " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        try {
+            productRepository.save(productUpdateEntity);
+            return new ResponseEntity<>("Produto atualizado com sucesso.", HttpStatus.OK);
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
+        } catch (Exception e) {
+            return new ResponseEntity<>("Erro ao atualizar produto na base de dados: " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private ResponseEntity<?> updateStockProductVersioned(String title, String sellerName, Integer stock) {
+        ProductEntity productUpdateEntity;
+        Optional<ProductEntity> productEntity = productRepository.findByTitleAndSellerName(title, sellerName);
+
+        if (productEntity.isEmpty())
+            return new ResponseEntity<>("Produto não encontrado.", HttpStatus.BAD_REQUEST);
+
+        try {
+            validationService.validateProductStockUpdate(stock);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+
+        try {
+            productUpdateEntity = productMapper.toEntity(productEntity.get(), stock);
+        } catch (Exception e) {
+            return new ResponseEntity<>("Erro no mapeamento para atualização de estoque do produto: " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        try {
+            productRepository.save(productUpdateEntity);
+            return new ResponseEntity<>("Estoque do produto atualizado com sucesso.", HttpStatus.OK);
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
+        } catch (Exception e) {
+            return new ResponseEntity<>("Erro ao atualizar estoque do produto na base de dados: " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
 }
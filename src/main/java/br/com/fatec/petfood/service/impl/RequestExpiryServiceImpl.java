@@ -0,0 +1,57 @@
+package br.com.fatec.petfood.service.impl;
+
+import br.com.fatec.petfood.config.ScheduleConfig;
+import br.com.fatec.petfood.config.WheelConfig;
+import br.com.fatec.petfood.model.entity.mongo.RequestEntity;
+import br.com.fatec.petfood.model.enums.Status;
+import br.com.fatec.petfood.repository.mongo.RequestRepository;
+import br.com.fatec.petfood.service.RequestExpiryService;
+import br.com.fatec.petfood.utils.TimerWheel;
+import org.bson.types.ObjectId;
+import org.joda.time.DateTime;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+@Service
+public class RequestExpiryServiceImpl implements RequestExpiryService {
+
+    private final Boolean enabled;
+    private final Integer minutesQuery;
+    private final RequestRepository requestRepository;
+    private final TimerWheel<ObjectId> timerWheel;
+
+    public RequestExpiryServiceImpl(RequestRepository requestRepository, ScheduleConfig scheduleConfig, WheelConfig wheelConfig) {
+        this.requestRepository = requestRepository;
+        this.minutesQuery = scheduleConfig.getMinutesQuery();
+        this.enabled = Boolean.TRUE.equals(wheelConfig.getEnabled());
+        this.timerWheel = new TimerWheel<>(wheelConfig.getTickMillis(), wheelConfig.getLevels(), System.currentTimeMillis());
+    }
+
+    @Override
+    public void scheduleRequest(ObjectId id, DateTime defaultDateTime) {
+        if (enabled && !Objects.isNull(id) && !Objects.isNull(defaultDateTime))
+            timerWheel.schedule(id, defaultDateTime.plusMinutes(minutesQuery).getMillis());
+    }
+
+    @Override
+    public void cancelRequest(ObjectId id) {
+        if (enabled && !Objects.isNull(id))
+            timerWheel.cancel(id);
+    }
+
+    @Override
+    public List<ObjectId> expiredRequests() {
+        return timerWheel.advance(System.currentTimeMillis());
+    }
+
+    @Override
+    public void loadPendingRequests() {
+        try (Stream<RequestEntity> requestEntityStream = requestRepository.streamAllByStatusAndDefaultDateTimeIsAfter(
+                Status.CREATED, DateTime.now().minusMinutes(minutesQuery))) {
+            requestEntityStream.forEach(requestEntity -> this.scheduleRequest(requestEntity.getId(), requestEntity.getDefaultDateTime()));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package br.com.fatec.petfood.service.impl;
+
+import br.com.fatec.petfood.config.RequestConfig;
+import br.com.fatec.petfood.exception.ValidationException;
+import br.com.fatec.petfood.model.dto.RequestDTO;
+import br.com.fatec.petfood.model.dto.RequestTicketDTO;
+import br.com.fatec.petfood.model.enums.TicketStatus;
+import br.com.fatec.petfood.service.IdempotencyService;
+import br.com.fatec.petfood.service.RequestIntakeService;
+import br.com.fatec.petfood.service.RequestService;
+import br.com.fatec.petfood.service.RequestValidationService;
+import br.com.fatec.petfood.utils.ValidateUtils;
+import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class RequestIntakeServiceImpl implements RequestIntakeService {
+
+    private final Boolean async;
+    private final Integer ticketMinutes;
+    private final ValidateUtils validateUtils;
+    private final RequestService requestService;
+    private final IdempotencyService idempotencyService;
+    private final ThreadPoolExecutor threadPoolExecutor;
+    private final RequestValidationService requestValidationService;
+    private final Map<String, RequestTicketDTO> tickets = new ConcurrentHashMap<>();
+    private static final Logger logger = LoggerFactory.getLogger(RequestIntakeServiceImpl.class);
+
+    public RequestIntakeServiceImpl(ValidateUtils validateUtils, RequestService requestService, IdempotencyService idempotencyService,
+                                    RequestValidationService requestValidationService, RequestConfig requestConfig) {
+        AtomicInteger workers = new AtomicInteger();
+        this.validateUtils = validateUtils;
+        this.requestService = requestService;
+        this.idempotencyService = idempotencyService;
+        this.requestValidationService = requestValidationService;
+        this.async = Boolean.TRUE.equals(requestConfig.getAsync());
+        this.ticketMinutes = requestConfig.getTicketMinutes();
+        this.threadPoolExecutor = new ThreadPoolExecutor(requestConfig.getWorkers(), requestConfig.getWorkers(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(requestConfig.getQueueSize()),
+                runnable -> new Thread(runnable, "request-intake-" + workers.incrementAndGet()));
+    }
+
+    @Override
+    public ResponseEntity<?> createRequest(RequestDTO requestDTO, String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, String.valueOf(requestDTO), () -> this.submitRequest(requestDTO));
+    }
+
+    @Override
+    public ResponseEntity<?> findTicket(String ticket) {
+        if (!validateUtils.isNotNullAndNotEmpty(ticket))
+            return new ResponseEntity<>("Ticket do pedido passado inválido(vazio ou nulo).", HttpStatus.BAD_REQUEST);
+
+        RequestTicketDTO requestTicketDTO = tickets.get(ticket);
+
+        if (Objects.isNull(requestTicketDTO))
+            return new ResponseEntity<>("Ticket de pedido não encontrado com o ticket passado.", HttpStatus.BAD_REQUEST);
+        else
+            return new ResponseEntity<>(requestTicketDTO, HttpStatus.OK);
+    }
+
+    @Override
+    public void purgeTickets() {
+        DateTime expiredDateTime = DateTime.now().minusMinutes(ticketMinutes);
+
+        tickets.values().removeIf(requestTicketDTO -> requestTicketDTO.getStatus().equals(TicketStatus.PROCESSED) &&
+                requestTicketDTO.getLastUpdateDateTime().isBefore(expiredDateTime));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        threadPoolExecutor.shutdown();
+
+        if (!threadPoolExecutor.awaitTermination(30L, TimeUnit.SECONDS))
+            logger.warn("Request intake stopped with " + threadPoolExecutor.getQueue().size() + " request(s) still queued.");
+    }
+
+    /*
+     * No modo assíncrono só o formato do pedido é validado na thread da requisição: o pedido entra na fila limitada
+     * e é gravado pelos workers, e o resultado é consultado pelo ticket. Com a fila cheia o pedido é recusado na hora.
+     */
+    private ResponseEntity<?> submitRequest(RequestDTO requestDTO) {
+        if (!async)
+            return requestService.createRequest(requestDTO);
+
+        try {
+            requestValidationService.validateRequestDTO(requestDTO);
+        } catch (Exception e) {
+            return new ResponseEntity<>(ValidationException.responseBody(e), HttpStatus.BAD_REQUEST);
+        }
+
+        String ticket = UUID.randomUUID().toString();
+        RequestTicketDTO requestTicketDTO = new RequestTicketDTO(ticket, TicketStatus.QUEUED, DateTime.now());
+        tickets.put(ticket, requestTicketDTO);
+
+        try {
+            threadPoolExecutor.execute(() -> this.processRequest(ticket, requestDTO));
+        } catch (RejectedExecutionException e) {
+            tickets.remove(ticket);
+            return new ResponseEntity<>("Fila de pedidos cheia, tente novamente mais tarde.", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        return new ResponseEntity<>(requestTicketDTO, HttpStatus.ACCEPTED);
+    }
+
+    private void processRequest(String ticket, RequestDTO requestDTO) {
+        tickets.put(ticket, new RequestTicketDTO(ticket, TicketStatus.PROCESSING, DateTime.now()));
+        RequestTicketDTO requestTicketDTO;
+
+        try {
+            ResponseEntity<?> response = requestService.createRequest(requestDTO);
+            requestTicketDTO = new RequestTicketDTO(ticket, TicketStatus.PROCESSED, DateTime.now());
+            requestTicketDTO.setHttpStatus(response.getStatusCodeValue());
+            requestTicketDTO.setResponse(response.getBody());
+        } catch (Exception e) {
+            logger.error("Error on process request of ticket " + ticket + ": " + e.getMessage());
+            requestTicketDTO = new RequestTicketDTO(ticket, TicketStatus.PROCESSED, DateTime.now());
+            requestTicketDTO.setHttpStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            requestTicketDTO.setResponse("Erro ao processar pedido: " + e.getMessage());
+        }
+
+        tickets.put(ticket, requestTicketDTO);
+    }
+}
@@ -1,41 +1,85 @@
 package br.com.fatec.petfood.service.impl;
 
+import br.com.fatec.petfood.config.RequestConfig;
+import br.com.fatec.petfood.exception.ValidationException;
+import br.com.fatec.petfood.model.dto.CursorPageDTO;
+import br.com.fatec.petfood.model.dto.RequestBatchResultDTO;
 import br.com.fatec.petfood.model.dto.RequestDTO;
 import br.com.fatec.petfood.model.dto.RequestReturnDTO;
 import br.com.fatec.petfood.model.dto.RequestUpdateDTO;
+import br.com.fatec.petfood.model.entity.mongo.ProductEntity;
 import br.com.fatec.petfood.model.entity.mongo.RequestEntity;
 import br.com.fatec.petfood.model.entity.mongo.ScheduleEntity;
 import br.com.fatec.petfood.model.entity.mongo.SellerEntity;
 import br.com.fatec.petfood.model.entity.mongo.UserEntity;
 import br.com.fatec.petfood.model.enums.Status;
+import br.com.fatec.petfood.model.generic.PageCursor;
 import br.com.fatec.petfood.model.generic.ProductRequest;
+import br.com.fatec.petfood.model.generic.RequestFilter;
 import br.com.fatec.petfood.model.mapper.RequestMapper;
+import br.com.fatec.petfood.repository.mongo.ProductRepository;
 import br.com.fatec.petfood.repository.mongo.RequestRepository;
-import br.com.fatec.petfood.repository.mongo.ScheduleRepository;
+import br.com.fatec.petfood.repository.mongo.SellerRepository;
+import br.com.fatec.petfood.repository.mongo.UserRepository;
 import br.com.fatec.petfood.service.ProductService;
+import br.com.fatec.petfood.service.RequestExpiryService;
 import br.com.fatec.petfood.service.RequestService;
 import br.com.fatec.petfood.service.RequestValidationService;
+import br.com.fatec.petfood.service.RetryService;
+import br.com.fatec.petfood.service.ScheduleAuditService;
+import br.com.fatec.petfood.utils.ProductRequestDiff;
 import lombok.RequiredArgsConstructor;
 import org.bson.types.ObjectId;
 import org.joda.time.DateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class RequestServiceImpl implements RequestService {
 
+    private final RequestConfig requestConfig;
     private final RequestMapper requestMapper;
     private final ProductService productService;
+    private final RetryService retryService;
+    private final UserRepository userRepository;
+    private final SellerRepository sellerRepository;
+    private final ProductRepository productRepository;
     private final RequestRepository requestRepository;
-    private final ScheduleRepository scheduleRepository;
+    private final ScheduleAuditService scheduleAuditService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService requestValidationExecutor;
+    private final RequestExpiryService requestExpiryService;
     private final RequestValidationService requestValidationService;
+    private static final Logger logger = LoggerFactory.getLogger(RequestServiceImpl.class);
 
     @Override
     public ResponseEntity<?> createRequest(RequestDTO requestDTO) {
@@ -49,24 +93,29 @@ public class RequestServiceImpl implements RequestService {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
 
-        try {
-            sellerEntity = requestValidationService.validateSellerRequestDTO(requestDTO.getSellerName());
-        } catch (Exception e) {
-            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
-        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(requestConfig.getValidationTimeoutMillis());
+        CompletableFuture<SellerEntity> sellerValidation = this.validateAsync(() ->
+                requestValidationService.validateSellerRequestDTO(requestDTO.getSellerName()));
+        CompletableFuture<UserEntity> userValidation = this.validateAsync(() ->
+                requestValidationService.validateUserRequestDTO(requestDTO.getUserName()));
+        CompletableFuture<List<ProductRequest>> productsValidation = this.validateAsync(() ->
+                requestValidationService.validateProductsRequestDTO(requestDTO.getProducts(), requestDTO.getSellerName()));
 
-        try {
-            userEntity = requestValidationService.validateUserRequestDTO(requestDTO.getUserName());
-        } catch (Exception e) {
-            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
-        }
+        List<CompletableFuture<?>> validations = List.of(sellerValidation, userValidation, productsValidation);
 
         try {
-            productRequests = requestValidationService.validateProductsRequestDTO(requestDTO.getProducts(), requestDTO.getSellerName());
+            this.awaitValidations(validations, deadline);
+        } catch (TimeoutException e) {
+            validations.forEach(validation -> validation.cancel(false));
+            return new ResponseEntity<>("Tempo limite excedido na validação do pedido, tente novamente.", HttpStatus.SERVICE_UNAVAILABLE);
         } catch (Exception e) {
-            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+            return new ResponseEntity<>(ValidationException.responseBody(e), HttpStatus.BAD_REQUEST);
         }
 
+        sellerEntity = sellerValidation.join();
+        userEntity = userValidation.join();
+        productRequests = productsValidation.join();
+
         try {
             RequestEntity requestEntity = requestMapper.toEntity(sellerEntity.getId(), sellerEntity.getName(), userEntity.getId(),
                     userEntity.getName(), productRequests, requestDTO.getShippingPrice(), Status.CREATED);
@@ -77,20 +126,31 @@ public class RequestServiceImpl implements RequestService {
                 return new ResponseEntity<>(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
             }
 
+            if (Boolean.TRUE.equals(requestConfig.getTransactional()))
+                return this.createRequestTransactional(requestEntity);
+
+            List<ProductRequest> failedProducts;
+
             try {
-                requestRepository.save(requestEntity);
+                failedProducts = productService.reserveStockProductFromRequest(requestEntity.getProducts());
+            } catch (Exception e) {
+                return new ResponseEntity<>("Erro ao atualizar estoque dos produtos do pedido na base de dados: " + e.getMessage(),
+                        HttpStatus.INTERNAL_SERVER_ERROR);
+            }
 
-                try {
-                    this.updateStockProduct(requestEntity.getSellerName(), requestEntity.getProducts());
-                } catch (Exception e) {
-                    requestRepository.delete(requestEntity);
-                    return new ResponseEntity<>("Erro ao atualizar estoque dos produtos do pedido na base de dados: " + e.getMessage(),
-                            HttpStatus.INTERNAL_SERVER_ERROR);
-                }
+            if (!failedProducts.isEmpty()) {
+                this.releaseStockProductFromRequest(requestEntity, this.reservedProducts(requestEntity.getProducts(), failedProducts));
+                return new ResponseEntity<>("Produto(s) sem estoque necessário para realização do pedido: " +
+                        this.productTitles(failedProducts), HttpStatus.BAD_REQUEST);
+            }
 
+            try {
+                requestRepository.save(requestEntity);
+                requestExpiryService.scheduleRequest(requestEntity.getId(), requestEntity.getDefaultDateTime());
                 return new ResponseEntity<>("Pedido registrado com sucesso. Id do pedido: " + requestEntity.getId().toString(),
                         HttpStatus.CREATED);
             } catch (Exception e) {
+                this.releaseStockProductFromRequest(requestEntity, requestEntity.getProducts());
                 return new ResponseEntity<>("Erro ao gravar pedido na base de dados: " + e.getMessage(),
                         HttpStatus.INTERNAL_SERVER_ERROR);
             }
@@ -100,6 +160,70 @@ public class RequestServiceImpl implements RequestService {
         }
     }
 
+    /*
+     * Lojistas, usuários e produtos distintos do lote são buscados uma única vez, o estoque é reservado com um bulk pelo
+     * total de cada produto e os pedidos aceitos são inseridos de uma vez. O resultado de cada pedido vem na posição dele.
+     */
+    @Override
+    public ResponseEntity<?> createRequests(List<RequestDTO> requestDTOList) {
+        if (Objects.isNull(requestDTOList) || requestDTOList.isEmpty() || requestDTOList.size() > requestConfig.getBatchSize())
+            return new ResponseEntity<>("Lista de pedidos passada inválida(vazia, nula ou com mais de " + requestConfig.getBatchSize() +
+                    " pedidos).", HttpStatus.BAD_REQUEST);
+
+        Map<String, UserEntity> userEntities;
+        Map<String, SellerEntity> sellerEntities;
+        Map<String, Map<String, ProductEntity>> productEntities;
+
+        try {
+            userEntities = this.findUsers(requestDTOList);
+            sellerEntities = this.findSellers(requestDTOList);
+            productEntities = this.findProducts(requestDTOList, sellerEntities);
+        } catch (Exception e) {
+            return new ResponseEntity<>("Erro ao buscar lojistas, usuários e produtos dos pedidos na base de dados: " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        RequestBatchResultDTO[] results = new RequestBatchResultDTO[requestDTOList.size()];
+        Map<Integer, RequestEntity> requestEntities = new LinkedHashMap<>();
+        Map<ObjectId, Integer> reservedQuantities = new HashMap<>();
+
+        for (int index = 0; index < requestDTOList.size(); index++) {
+            RequestDTO requestDTO = requestDTOList.get(index);
+            List<ProductRequest> productRequests;
+
+            try {
+                productRequests = this.validateBatchRequest(requestDTO, sellerEntities, userEntities,
+                        productEntities.getOrDefault(requestDTO.getSellerName(), Map.of()), reservedQuantities);
+            } catch (Exception e) {
+                results[index] = new RequestBatchResultDTO(index, HttpStatus.BAD_REQUEST.value(), e.getMessage());
+
+                if (e instanceof ValidationException)
+                    results[index].setErrors(((ValidationException) e).getValidationResult().getErrors());
+
+                continue;
+            }
+
+            try {
+                SellerEntity sellerEntity = sellerEntities.get(requestDTO.getSellerName());
+                UserEntity userEntity = userEntities.get(requestDTO.getUserName());
+                RequestEntity requestEntity = requestMapper.toEntity(sellerEntity.getId(), sellerEntity.getName(), userEntity.getId(),
+                        userEntity.getName(), productRequests, requestDTO.getShippingPrice(), Status.CREATED);
+                requestValidationService.validateRequestEntityTotalValue(requestEntity);
+
+                requestEntities.put(index, requestEntity);
+                productRequests.forEach(product -> reservedQuantities.merge(product.getProductId(), -product.getQuantity(), Integer::sum));
+            } catch (Exception e) {
+                results[index] = new RequestBatchResultDTO(index, HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                        "Erro no mapeamento para criação do pedido: " + e.getMessage());
+            }
+        }
+
+        if (!requestEntities.isEmpty())
+            this.saveBatchRequests(requestEntities, results);
+
+        return new ResponseEntity<>(Arrays.asList(results), HttpStatus.OK);
+    }
+
     @Override
     public ResponseEntity<?> findRequestById(String id) {
         ObjectId objectId;
@@ -133,81 +257,68 @@ public class RequestServiceImpl implements RequestService {
                     HttpStatus.BAD_REQUEST);
     }
 
+    /*
+     * Listagens paginadas por cursor, dos pedidos mais recentes para os mais antigos, com filtro opcional de status e
+     * período de criação. Sem tamanho de página é usado o padrão, e tamanhos acima do máximo são limitados.
+     */
     @Override
-    public ResponseEntity<?> findRequestBySeller(String sellerName) {
+    public ResponseEntity<?> findRequestBySeller(String sellerName, Status status, String initialDate, String finalDate, String cursor,
+                                                 Integer size) {
+        RequestFilter requestFilter;
+        PageCursor pageCursor;
+
         try {
             requestValidationService.validateFindRequestBySeller(sellerName);
+            requestFilter = requestValidationService.validateFindRequestFilter(status, initialDate, finalDate);
+            pageCursor = requestValidationService.validateFindRequestPage(cursor, size);
         } catch (Exception e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
 
-        Optional<List<RequestEntity>> optionalRequestEntityList = requestRepository.findAllBySellerName(sellerName);
-
-        if (optionalRequestEntityList.isPresent()) {
-            List<RequestEntity> requestEntityList = optionalRequestEntityList.get();
-
-            if (!requestEntityList.isEmpty())
-                return this.findReturn(requestEntityList);
-            else
-                return new ResponseEntity<>("Pedido(s) não encontrado(s) com o nome de lojista passado.",
-                        HttpStatus.BAD_REQUEST);
-        } else
-            return new ResponseEntity<>("Pedido(s) não encontrado(s) com o nome de lojista passado.",
-                    HttpStatus.BAD_REQUEST);
+        return this.findPageReturn(sellerName, null, requestFilter, pageCursor, size,
+                "Pedido(s) não encontrado(s) com o nome de lojista passado.");
     }
 
     @Override
-    public ResponseEntity<?> findRequestByUser(String userName) {
+    public ResponseEntity<?> findRequestByUser(String userName, Status status, String initialDate, String finalDate, String cursor,
+                                               Integer size) {
+        RequestFilter requestFilter;
+        PageCursor pageCursor;
+
         try {
             requestValidationService.validateFindRequestByUser(userName);
+            requestFilter = requestValidationService.validateFindRequestFilter(status, initialDate, finalDate);
+            pageCursor = requestValidationService.validateFindRequestPage(cursor, size);
         } catch (Exception e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
 
-        Optional<List<RequestEntity>> optionalRequestEntityList = requestRepository.findAllByUserName(userName);
-
-        if (optionalRequestEntityList.isPresent()) {
-            List<RequestEntity> requestEntityList = optionalRequestEntityList.get();
-
-            if (!requestEntityList.isEmpty())
-                return this.findReturn(requestEntityList);
-            else
-                return new ResponseEntity<>("Pedido(s) não encontrado(s) com o nome de usuário passado.",
-                        HttpStatus.BAD_REQUEST);
-        } else
-            return new ResponseEntity<>("Pedido(s) não encontrado(s) com o nome de usuário passado.",
-                    HttpStatus.BAD_REQUEST);
+        return this.findPageReturn(null, userName, requestFilter, pageCursor, size,
+                "Pedido(s) não encontrado(s) com o nome de usuário passado.");
     }
 
     @Override
-    public ResponseEntity<?> findRequestBySellerAndUser(String sellerName, String userName) {
+    public ResponseEntity<?> findRequestBySellerAndUser(String sellerName, String userName, Status status, String initialDate,
+                                                        String finalDate, String cursor, Integer size) {
+        RequestFilter requestFilter;
+        PageCursor pageCursor;
+
         try {
             requestValidationService.validateFindRequestBySeller(sellerName);
             requestValidationService.validateFindRequestByUser(userName);
+            requestFilter = requestValidationService.validateFindRequestFilter(status, initialDate, finalDate);
+            pageCursor = requestValidationService.validateFindRequestPage(cursor, size);
         } catch (Exception e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
 
-        Optional<List<RequestEntity>> optionalRequestEntityList = requestRepository.findAllBySellerNameAndUserName(sellerName, userName);
-
-        if (optionalRequestEntityList.isPresent()) {
-            List<RequestEntity> requestEntityList = optionalRequestEntityList.get();
-
-            if (!requestEntityList.isEmpty())
-                return this.findReturn(requestEntityList);
-            else
-                return new ResponseEntity<>("Pedido(s) não encontrado(s) com os nomes de lojista e de usuário passados.",
-                        HttpStatus.BAD_REQUEST);
-        } else
-            return new ResponseEntity<>("Pedido(s) não encontrado(s) com os nomes de lojista e de usuário passados.",
-                    HttpStatus.BAD_REQUEST);
+        return this.findPageReturn(sellerName, userName, requestFilter, pageCursor, size,
+                "Pedido(s) não encontrado(s) com os nomes de lojista e de usuário passados.");
     }
 
     @Override
     public ResponseEntity<?> updateRequest(String id, Status status, RequestUpdateDTO requestUpdateDTO) {
         ObjectId objectId;
-        Double shippingPrice;
-        List<ProductRequest> productRequests;
 
         try {
             requestValidationService.validateFindRequestById(id);
@@ -221,41 +332,17 @@ public class RequestServiceImpl implements RequestService {
             return new ResponseEntity<>("Id do pedido passado inválido.", HttpStatus.BAD_REQUEST);
         }
 
-        Optional<RequestEntity> optionalRequestEntity = requestRepository.findById(objectId);
-
-        if (optionalRequestEntity.isPresent()) {
-            RequestEntity requestEntity = optionalRequestEntity.get();
-
-            try {
-                productRequests = requestValidationService.validateProductsRequestUpdateDTO(requestEntity, requestUpdateDTO);
-            } catch (Exception e) {
-                return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
-            }
-
-            shippingPrice = requestValidationService.validateShippingPriceRequestUpdateDTO(requestEntity, requestUpdateDTO);
-
-            try {
-                RequestEntity requestUpdateEntity = requestMapper.toEntity(requestEntity, productRequests, shippingPrice, status);
-
-                try {
-                    requestRepository.save(requestUpdateEntity);
-                    return new ResponseEntity<>("Pedido atualizado com sucesso.", HttpStatus.OK);
-                } catch (Exception e) {
-                    return new ResponseEntity<>("Erro ao atualizar pedido na base de dados: " + e.getMessage(),
-                            HttpStatus.INTERNAL_SERVER_ERROR);
-                }
-            } catch (Exception e) {
-                return new ResponseEntity<>("Erro no mapeamento para atualização de pedido: " + e.getMessage(),
-                        HttpStatus.INTERNAL_SERVER_ERROR);
-            }
-        } else
-            return new ResponseEntity<>("Pedido não encontrado com o id de pedido passado.",
-                    HttpStatus.BAD_REQUEST);
+        try {
+            return retryService.retryOnConflict("updateRequest", () -> this.updateRequestVersioned(objectId, status, requestUpdateDTO));
+        } catch (OptimisticLockingFailureException e) {
+            return new ResponseEntity<>("Pedido alterado concorrentemente, tente novamente.", HttpStatus.CONFLICT);
+        }
     }
 
     @Override
     public ResponseEntity<?> updateStatusRequest(String id, Status status) {
         ObjectId objectId;
+        Optional<RequestEntity> optionalRequestEntity;
 
         try {
             requestValidationService.validateFindRequestById(id);
@@ -269,40 +356,37 @@ public class RequestServiceImpl implements RequestService {
             return new ResponseEntity<>("Id do pedido passado inválido.", HttpStatus.BAD_REQUEST);
         }
 
-        Optional<RequestEntity> optionalRequestEntity = requestRepository.findById(objectId);
+        try {
+            optionalRequestEntity = requestRepository.updateStatusById(objectId, status.getPreviousStatus(), status, DateTime.now());
+        } catch (Exception e) {
+            return new ResponseEntity<>("Erro ao atualizar status do pedido na base de dados: " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
 
         if (optionalRequestEntity.isPresent()) {
             RequestEntity requestEntity = optionalRequestEntity.get();
+            requestExpiryService.cancelRequest(requestEntity.getId());
 
-            try {
-
-                if (status.equals(Status.CANCELED)) {
-                    try {
-                        requestEntity.getProducts().forEach(productRequest ->
-                                productRequest.setQuantity(productRequest.getQuantity() * -1));
-                        this.updateStockProduct(requestEntity.getSellerName(), requestEntity.getProducts());
-                    } catch (Exception e) {
-                        return new ResponseEntity<>("Erro ao atualizar estoque dos produtos do pedido na base de dados: " + e.getMessage(),
-                                HttpStatus.INTERNAL_SERVER_ERROR);
-                    }
-                }
-
-                RequestEntity requestUpdateEntity = requestMapper.toEntity(requestEntity, status);
-
+            if (status.equals(Status.CANCELED)) {
                 try {
-                    requestRepository.save(requestUpdateEntity);
-                    return new ResponseEntity<>("Status do pedido atualizado com sucesso.", HttpStatus.OK);
+                    productService.releaseStockProductFromRequest(requestEntity.getProducts());
                 } catch (Exception e) {
-                    return new ResponseEntity<>("Erro ao atualizar status do pedido na base de dados: " + e.getMessage(),
+                    return new ResponseEntity<>("Erro ao atualizar estoque dos produtos do pedido na base de dados: " + e.getMessage(),
                             HttpStatus.INTERNAL_SERVER_ERROR);
                 }
-            } catch (Exception e) {
-                return new ResponseEntity<>("Erro no mapeamento para atualização de status do pedido: " + e.getMessage(),
-                        HttpStatus.INTERNAL_SERVER_ERROR);
             }
-        } else
-            return new ResponseEntity<>("Pedido não encontrado com o id de pedido passado.",
-                    HttpStatus.BAD_REQUEST);
+
+            return new ResponseEntity<>("Status do pedido atualizado com sucesso.", HttpStatus.OK);
+        } else {
+            optionalRequestEntity = requestRepository.findById(objectId);
+
+            if (optionalRequestEntity.isPresent())
+                return new ResponseEntity<>("Transição de status do pedido inválida: de " + optionalRequestEntity.get().getStatus() +
+                        " para " + status + ".", HttpStatus.BAD_REQUEST);
+            else
+                return new ResponseEntity<>("Pedido não encontrado com o id de pedido passado.",
+                        HttpStatus.BAD_REQUEST);
+        }
     }
 
     @Override
@@ -321,28 +405,16 @@ public class RequestServiceImpl implements RequestService {
             return new ResponseEntity<>("Id do pedido passado inválido.", HttpStatus.BAD_REQUEST);
         }
 
-        Optional<RequestEntity> optionalRequestEntity = requestRepository.findById(objectId);
-
-        if (optionalRequestEntity.isPresent()) {
-            RequestEntity requestEntity = optionalRequestEntity.get();
-
-            try {
-                RequestEntity requestUpdateEntity = requestMapper.toEntity(requestEntity, rate);
-
-                try {
-                    requestRepository.save(requestUpdateEntity);
-                    return new ResponseEntity<>("Pedido avaliado com sucesso.", HttpStatus.OK);
-                } catch (Exception e) {
-                    return new ResponseEntity<>("Erro ao avaliar pedido na base de dados: " + e.getMessage(),
-                            HttpStatus.INTERNAL_SERVER_ERROR);
-                }
-            } catch (Exception e) {
-                return new ResponseEntity<>("Erro no mapeamento para avaliação do pedido: " + e.getMessage(),
-                        HttpStatus.INTERNAL_SERVER_ERROR);
-            }
-        } else
-            return new ResponseEntity<>("Pedido não encontrado com o id de pedido passado.",
-                    HttpStatus.BAD_REQUEST);
+        try {
+            if (requestRepository.updateRateById(objectId, rate, DateTime.now()) > 0L)
+                return new ResponseEntity<>("Pedido avaliado com sucesso.", HttpStatus.OK);
+            else
+                return new ResponseEntity<>("Pedido não encontrado com o id de pedido passado.",
+                        HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>("Erro ao avaliar pedido na base de dados: " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
     }
 
     @Override
@@ -368,9 +440,7 @@ public class RequestServiceImpl implements RequestService {
 
             if (!requestEntity.getStatus().equals(Status.CANCELED)) {
                 try {
-                    requestEntity.getProducts().forEach(productRequest ->
-                            productRequest.setQuantity(productRequest.getQuantity() * -1));
-                    this.updateStockProduct(requestEntity.getSellerName(), requestEntity.getProducts());
+                    productService.releaseStockProductFromRequest(requestEntity.getProducts());
                 } catch (Exception e) {
                     return new ResponseEntity<>("Erro ao atualizar estoque dos produtos do pedido na base de dados: " + e.getMessage(),
                             HttpStatus.INTERNAL_SERVER_ERROR);
@@ -379,6 +449,7 @@ public class RequestServiceImpl implements RequestService {
 
             try {
                 requestRepository.delete(requestEntity);
+                requestExpiryService.cancelRequest(requestEntity.getId());
                 return new ResponseEntity<>("Pedido deletado com sucesso.", HttpStatus.OK);
             } catch (Exception e) {
                 return new ResponseEntity<>("Erro ao deletar pedido na base de dados: " + e.getMessage(),
@@ -398,32 +469,462 @@ public class RequestServiceImpl implements RequestService {
             try {
                 List<RequestEntity> requestEntityList = optionalRequestEntityList.get();
 
-                if (!requestEntityList.isEmpty()) {
-                    ScheduleEntity scheduleEntity = new ScheduleEntity(requestEntityList, Status.CREATED, Status.CANCELED);
-                    requestEntityList.forEach(requestEntity -> {
-                        requestEntity.setStatus(Status.CANCELED);
-                        requestEntity.setLastUpdateDateTime(DateTime.now());
-                    });
-                    requestRepository.saveAll(requestEntityList);
-                    scheduleRepository.save(scheduleEntity);
-                }
+                if (!requestEntityList.isEmpty())
+                    this.cancelRequests(requestEntityList);
             } catch (Exception e) {
                 throw new Exception("Erro ao executar schedule para cancelamento de pedidos: " + e.getMessage() + e.getCause());
             }
         }
     }
 
-    private void updateStockProduct(String sellerName, List<ProductRequest> products) {
-        products.forEach(product ->
-                this.productService.updateStockProductFromRequest(product.getTitle(), sellerName, product.getQuantity()));
+    @Override
+    public Long drainRequestSchedule(Integer minutesQuery, Integer batchSize, Integer timeBudgetSeconds, Integer partitions, Integer partition,
+                                     BooleanSupplier lease) throws Exception {
+        long canceledRequests = 0L;
+        boolean leaseHeld = true;
+        DateTime deadline = DateTime.now().plusSeconds(timeBudgetSeconds);
+        DateTime expiredDateTime = DateTime.now().minusMinutes(minutesQuery);
+
+        try (Stream<RequestEntity> requestEntityStream = partitions > 1 ?
+                requestRepository.streamAllByStatusAndDefaultDateTimeIsBeforeAndPartition(Status.CREATED, expiredDateTime, partitions, partition) :
+                requestRepository.streamAllByStatusAndDefaultDateTimeIsBefore(Status.CREATED, expiredDateTime)) {
+            Iterator<RequestEntity> requestEntityIterator = requestEntityStream.iterator();
+            List<RequestEntity> requestEntityList = new ArrayList<>(batchSize);
+
+            while (leaseHeld && requestEntityIterator.hasNext() && DateTime.now().isBefore(deadline)) {
+                requestEntityList.add(requestEntityIterator.next());
+
+                if (requestEntityList.size() >= batchSize) {
+                    canceledRequests += this.cancelRequests(requestEntityList);
+                    requestEntityList = new ArrayList<>(batchSize);
+                    leaseHeld = lease.getAsBoolean();
+                }
+            }
+
+            if (leaseHeld && !requestEntityList.isEmpty())
+                canceledRequests += this.cancelRequests(requestEntityList);
+        } catch (Exception e) {
+            throw new Exception("Erro ao executar schedule para cancelamento de pedidos: " + e.getMessage() + e.getCause());
+        }
+
+        return canceledRequests;
+    }
+
+    @Override
+    public Long cancelExpiredRequests(List<ObjectId> ids) throws Exception {
+        try {
+            List<RequestEntity> requestEntityList = requestRepository.findAllByIdInAndStatus(ids, Status.CREATED).orElse(List.of());
+
+            if (requestEntityList.isEmpty())
+                return 0L;
+            else
+                return this.cancelRequests(requestEntityList);
+        } catch (Exception e) {
+            throw new Exception("Erro ao cancelar pedidos expirados: " + e.getMessage() + e.getCause());
+        }
+    }
+
+    /*
+     * Reserva de estoque e gravação do pedido na mesma transação: se alguma linha ficar sem estoque ou qualquer escrita
+     * falhar nada é aplicado. Conflito de escrita com outra transação reexecuta a transação inteira.
+     */
+    private ResponseEntity<?> createRequestTransactional(RequestEntity requestEntity) {
+        List<ProductRequest> failedProducts;
+
+        try {
+            failedProducts = retryService.retryOnConflict("createRequest", () -> transactionTemplate.execute(status -> {
+                List<ProductRequest> failedStockProducts =
+                        productService.reserveStockProductFromRequestInTransaction(requestEntity.getProducts());
+
+                if (failedStockProducts.isEmpty())
+                    requestRepository.insert(requestEntity);
+                else
+                    status.setRollbackOnly();
+
+                return failedStockProducts;
+            }));
+        } catch (Exception e) {
+            return new ResponseEntity<>("Erro ao gravar pedido na base de dados: " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        if (!failedProducts.isEmpty())
+            return new ResponseEntity<>("Produto(s) sem estoque necessário para realização do pedido: " +
+                    this.productTitles(failedProducts), HttpStatus.BAD_REQUEST);
+
+        requestExpiryService.scheduleRequest(requestEntity.getId(), requestEntity.getDefaultDateTime());
+        return new ResponseEntity<>("Pedido registrado com sucesso. Id do pedido: " + requestEntity.getId().toString(),
+                HttpStatus.CREATED);
+    }
+
+    private ResponseEntity<?> updateRequestVersioned(ObjectId objectId, Status status, RequestUpdateDTO requestUpdateDTO) {
+        Double shippingPrice;
+        RequestEntity requestUpdateEntity;
+        List<ProductRequest> productRequests;
+        Optional<RequestEntity> optionalRequestEntity = requestRepository.findById(objectId);
+
+        if (optionalRequestEntity.isEmpty())
+            return new ResponseEntity<>("Pedido não encontrado com o id de pedido passado.",
+                    HttpStatus.BAD_REQUEST);
+
+        RequestEntity requestEntity = optionalRequestEntity.get();
+
+        try {
+            productRequests = requestValidationService.validateProductsRequestUpdateDTO(requestEntity, requestUpdateDTO);
+        } catch (Exception e) {
+            return new ResponseEntity<>(ValidationException.responseBody(e), HttpStatus.BAD_REQUEST);
+        }
+
+        shippingPrice = requestValidationService.validateShippingPriceRequestUpdateDTO(requestEntity, requestUpdateDTO);
+
+        try {
+            requestUpdateEntity = requestMapper.toEntity(requestEntity, productRequests, shippingPrice, status);
+        } catch (Exception e) {
+            return new ResponseEntity<>("Erro no mapeamento para atualização de pedido: " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        List<ProductRequest> failedProducts;
+        List<ProductRequest> reservedProducts = this.reservedProducts(requestEntity);
+        List<ProductRequest> reservedUpdateProducts = this.reservedProducts(requestUpdateEntity);
+
+        try {
+            failedProducts = productService.adjustStockProductFromRequest(reservedProducts, reservedUpdateProducts);
+        } catch (Exception e) {
+            return new ResponseEntity<>("Erro ao atualizar estoque dos produtos do pedido na base de dados: " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        if (!failedProducts.isEmpty())
+            return new ResponseEntity<>("Produto(s) sem estoque necessário para atualização do pedido: " +
+                    this.productTitles(failedProducts), HttpStatus.BAD_REQUEST);
+
+        try {
+            requestRepository.save(requestUpdateEntity);
+        } catch (OptimisticLockingFailureException e) {
+            this.revertStockProductFromRequest(requestEntity, reservedProducts, reservedUpdateProducts);
+            throw e;
+        } catch (Exception e) {
+            this.revertStockProductFromRequest(requestEntity, reservedProducts, reservedUpdateProducts);
+            return new ResponseEntity<>("Erro ao atualizar pedido na base de dados: " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        if (Status.CREATED.equals(requestEntity.getStatus()) && !Status.CREATED.equals(requestUpdateEntity.getStatus()))
+            requestExpiryService.cancelRequest(requestEntity.getId());
+
+        return new ResponseEntity<>("Pedido atualizado com sucesso.", HttpStatus.OK);
+    }
+
+    private void releaseStockProductFromRequest(RequestEntity requestEntity, List<ProductRequest> products) {
+        try {
+            productService.releaseStockProductFromRequest(products);
+        } catch (Exception e) {
+            logger.error("Error on release stock of request from user " + requestEntity.getUserName() + " to seller " +
+                    requestEntity.getSellerName() + " products " + products + ": " + e.getMessage());
+        }
+    }
+
+    private void revertStockProductFromRequest(RequestEntity requestEntity, List<ProductRequest> reservedProducts,
+                                               List<ProductRequest> reservedUpdateProducts) {
+        try {
+            productService.revertStockProductFromRequest(reservedProducts, reservedUpdateProducts);
+        } catch (Exception e) {
+            logger.error("Error on revert stock of request " + requestEntity.getId() + " products " +
+                    ProductRequestDiff.delta(reservedProducts, reservedUpdateProducts) + ": " + e.getMessage());
+        }
+    }
+
+    /*
+     * As buscas de lojista, usuário e produtos são independentes e rodam em paralelo. A primeira que falhar, em qualquer
+     * ordem, cancela as demais ainda não iniciadas; entre as que já falharam, o erro devolvido é o da primeira na ordem
+     * da validação sequencial (lojista, usuário, produtos).
+     */
+    private <T> CompletableFuture<T> validateAsync(Callable<T> validation) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        requestValidationExecutor.execute(() -> {
+            if (!future.isDone()) {
+                try {
+                    future.complete(validation.call());
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+
+        return future;
+    }
+
+    private void awaitValidations(List<CompletableFuture<?>> validations, long deadline) throws Exception {
+        CompletableFuture<Object> firstFailure = new CompletableFuture<>();
+        validations.forEach(validation -> validation.whenComplete((result, e) -> {
+            if (!Objects.isNull(e))
+                firstFailure.completeExceptionally(e);
+        }));
+
+        try {
+            CompletableFuture.anyOf(CompletableFuture.allOf(validations.toArray(new CompletableFuture<?>[0])), firstFailure)
+                    .get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            validations.forEach(validation -> validation.cancel(false));
+
+            for (CompletableFuture<?> validation : validations) {
+                if (validation.isCompletedExceptionally() && !validation.isCancelled()) {
+                    try {
+                        validation.join();
+                    } catch (CompletionException completionException) {
+                        if (completionException.getCause() instanceof Exception)
+                            throw (Exception) completionException.getCause();
+                    }
+                }
+            }
+
+            if (e.getCause() instanceof Exception)
+                throw (Exception) e.getCause();
+            else
+                throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException();
+        }
+    }
+
+    private List<ProductRequest> validateBatchRequest(RequestDTO requestDTO, Map<String, SellerEntity> sellerEntities,
+                                                      Map<String, UserEntity> userEntities, Map<String, ProductEntity> productEntities,
+                                                      Map<ObjectId, Integer> reservedQuantities) throws Exception {
+        requestValidationService.validateShippingPrice(requestDTO.getShippingPrice());
+        requestValidationService.validateFindRequestBySeller(requestDTO.getSellerName());
+
+        if (!sellerEntities.containsKey(requestDTO.getSellerName()))
+            throw new ValidationException("Lojista não encontrado com o nome passado.");
+
+        requestValidationService.validateFindRequestByUser(requestDTO.getUserName());
+
+        if (!userEntities.containsKey(requestDTO.getUserName()))
+            throw new ValidationException("Usuário não encontrado com o nome passado.");
+
+        return requestValidationService.validateProductsRequestDTO(requestDTO.getProducts(), productEntities, reservedQuantities);
+    }
+
+    /*
+     * A reserva é feita pelo total de cada produto no lote: se o total de um produto não couber no estoque, todos os
+     * pedidos do lote com esse produto são recusados e as demais linhas reservadas para eles são devolvidas. Da mesma
+     * forma, só os pedidos que não foram gravados têm o estoque devolvido.
+     */
+    private void saveBatchRequests(Map<Integer, RequestEntity> requestEntities, RequestBatchResultDTO[] results) {
+        List<ProductRequest> products = new ArrayList<>();
+        requestEntities.values().forEach(requestEntity -> products.addAll(requestEntity.getProducts()));
+
+        List<ProductRequest> failedProducts;
+
+        try {
+            failedProducts = productService.reserveStockProductFromRequest(ProductRequestDiff.delta(List.of(), products));
+        } catch (Exception e) {
+            requestEntities.keySet().forEach(index -> results[index] = new RequestBatchResultDTO(index,
+                    HttpStatus.INTERNAL_SERVER_ERROR.value(), "Erro ao atualizar estoque dos produtos do pedido na base de dados: " +
+                    e.getMessage()));
+            return;
+        }
+
+        if (!failedProducts.isEmpty()) {
+            Set<ObjectId> failedIds = new HashSet<>();
+            List<ProductRequest> releasedProducts = new ArrayList<>();
+            failedProducts.forEach(product -> failedIds.add(product.getProductId()));
+
+            requestEntities.entrySet().removeIf(entry -> {
+                List<ProductRequest> failedRequestProducts = new ArrayList<>();
+
+                entry.getValue().getProducts().forEach(product -> {
+                    if (failedIds.contains(product.getProductId()))
+                        failedRequestProducts.add(product);
+                });
+
+                if (failedRequestProducts.isEmpty())
+                    return false;
+
+                entry.getValue().getProducts().forEach(product -> {
+                    if (!failedIds.contains(product.getProductId()))
+                        releasedProducts.add(product);
+                });
+
+                results[entry.getKey()] = new RequestBatchResultDTO(entry.getKey(), HttpStatus.BAD_REQUEST.value(),
+                        "Produto(s) sem estoque necessário para realização do pedido: " + this.productTitles(failedRequestProducts));
+                return true;
+            });
+
+            if (!releasedProducts.isEmpty())
+                productService.releaseStockProductFromRequest(ProductRequestDiff.delta(List.of(), releasedProducts));
+        }
+
+        if (requestEntities.isEmpty())
+            return;
+
+        Map<Integer, String> insertErrors;
+        List<Integer> indexes = new ArrayList<>(requestEntities.keySet());
+
+        try {
+            insertErrors = requestRepository.insertUnordered(new ArrayList<>(requestEntities.values()));
+        } catch (Exception e) {
+            List<ProductRequest> reservedProducts = new ArrayList<>();
+            requestEntities.values().forEach(requestEntity -> reservedProducts.addAll(requestEntity.getProducts()));
+            productService.releaseStockProductFromRequest(ProductRequestDiff.delta(List.of(), reservedProducts));
+
+            requestEntities.keySet().forEach(index -> results[index] = new RequestBatchResultDTO(index,
+                    HttpStatus.INTERNAL_SERVER_ERROR.value(), "Erro ao gravar pedido na base de dados: " + e.getMessage()));
+            return;
+        }
+
+        if (!insertErrors.isEmpty()) {
+            List<ProductRequest> releasedProducts = new ArrayList<>();
+
+            insertErrors.forEach((position, message) -> {
+                Integer index = indexes.get(position);
+                releasedProducts.addAll(requestEntities.remove(index).getProducts());
+                results[index] = new RequestBatchResultDTO(index, HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                        "Erro ao gravar pedido na base de dados: " + message);
+            });
+
+            productService.releaseStockProductFromRequest(ProductRequestDiff.delta(List.of(), releasedProducts));
+        }
+
+        requestEntities.forEach((index, requestEntity) -> {
+            requestExpiryService.scheduleRequest(requestEntity.getId(), requestEntity.getDefaultDateTime());
+            results[index] = new RequestBatchResultDTO(index, HttpStatus.CREATED.value(),
+                    "Pedido registrado com sucesso. Id do pedido: " + requestEntity.getId().toString());
+            results[index].setRequestId(requestEntity.getId().toString());
+        });
+    }
+
+    private Map<String, UserEntity> findUsers(List<RequestDTO> requestDTOList) {
+        Set<String> names = new HashSet<>();
+        Map<String, UserEntity> userEntities = new HashMap<>();
+        requestDTOList.forEach(requestDTO -> {
+            if (!Objects.isNull(requestDTO.getUserName()))
+                names.add(requestDTO.getUserName());
+        });
+
+        if (!names.isEmpty())
+            userRepository.findAllByNameIn(names).ifPresent(userEntityList ->
+                    userEntityList.forEach(userEntity -> userEntities.put(userEntity.getName(), userEntity)));
+
+        return userEntities;
+    }
+
+    private Map<String, SellerEntity> findSellers(List<RequestDTO> requestDTOList) {
+        Set<String> names = new HashSet<>();
+        Map<String, SellerEntity> sellerEntities = new HashMap<>();
+        requestDTOList.forEach(requestDTO -> {
+            if (!Objects.isNull(requestDTO.getSellerName()))
+                names.add(requestDTO.getSellerName());
+        });
+
+        if (!names.isEmpty())
+            sellerRepository.findAllByNameIn(names).ifPresent(sellerEntityList ->
+                    sellerEntityList.forEach(sellerEntity -> sellerEntities.put(sellerEntity.getName(), sellerEntity)));
+
+        return sellerEntities;
+    }
+
+    private Map<String, Map<String, ProductEntity>> findProducts(List<RequestDTO> requestDTOList, Map<String, SellerEntity> sellerEntities) {
+        Map<String, Set<String>> titles = new HashMap<>();
+        Map<String, Map<String, ProductEntity>> productEntities = new HashMap<>();
+
+        requestDTOList.forEach(requestDTO -> {
+            if (sellerEntities.containsKey(requestDTO.getSellerName()) && !Objects.isNull(requestDTO.getProducts()))
+                requestDTO.getProducts().forEach(product -> {
+                    if (!Objects.isNull(product.getTitle()))
+                        titles.computeIfAbsent(requestDTO.getSellerName(), sellerName -> new HashSet<>()).add(product.getTitle());
+                });
+        });
+
+        titles.forEach((sellerName, sellerTitles) -> {
+            Map<String, ProductEntity> sellerProductEntities = productEntities.computeIfAbsent(sellerName, name -> new HashMap<>());
+
+            productRepository.findAllBySellerNameAndTitleIn(sellerName, sellerTitles).ifPresent(productEntityList ->
+                    productEntityList.forEach(productEntity -> sellerProductEntities.put(productEntity.getTitle(), productEntity)));
+        });
+
+        return productEntities;
+    }
+
+    private Long cancelRequests(List<RequestEntity> requestEntityList) {
+        List<ObjectId> ids = new ArrayList<>();
+        ObjectId cancelBatchId = new ObjectId();
+        DateTime lastUpdateDateTime = DateTime.now();
+        requestEntityList.forEach(requestEntity -> ids.add(requestEntity.getId()));
+
+        Long canceledRequests = requestRepository.updateStatusByIdIn(ids, Status.CREATED, Status.CANCELED, cancelBatchId,
+                lastUpdateDateTime);
+        List<RequestEntity> canceledRequestEntityList = requestEntityList;
+
+        if (canceledRequests == 0L)
+            canceledRequestEntityList = List.of();
+        else if (canceledRequests < requestEntityList.size())
+            canceledRequestEntityList = requestRepository.findAllByIdInAndCancelBatchId(ids, cancelBatchId).orElse(List.of());
+
+        if (!canceledRequestEntityList.isEmpty())
+            productService.releaseStockProductFromRequest(this.sumProducts(canceledRequestEntityList));
+
+        List<ObjectId> canceledIds = new ArrayList<>();
+        canceledRequestEntityList.forEach(requestEntity -> canceledIds.add(requestEntity.getId()));
+        scheduleAuditService.audit(new ScheduleEntity(canceledIds, requestEntityList.size(), canceledIds.size(),
+                Status.CREATED, Status.CANCELED, lastUpdateDateTime, DateTime.now()));
+
+        return canceledRequests;
     }
 
-    private ResponseEntity<?> findReturn(List<RequestEntity> requestEntityList) {
-        List<RequestReturnDTO> requestReturnDTOList = new ArrayList<>();
+    private List<ProductRequest> sumProducts(List<RequestEntity> requestEntityList) {
+        Map<ObjectId, ProductRequest> products = new HashMap<>();
+
+        requestEntityList.forEach(requestEntity -> requestEntity.getProducts().forEach(product ->
+                products.merge(product.getProductId(),
+                        new ProductRequest(product.getProductId(), product.getTitle(), null, null, product.getQuantity()),
+                        (sum, productRequest) -> {
+                            sum.setQuantity(sum.getQuantity() + productRequest.getQuantity());
+                            return sum;
+                        })));
+
+        return new ArrayList<>(products.values());
+    }
+
+    private List<ProductRequest> reservedProducts(RequestEntity requestEntity) {
+        if (requestEntity.getStatus().equals(Status.CANCELED))
+            return List.of();
+        else
+            return requestEntity.getProducts();
+    }
+
+    private List<ProductRequest> reservedProducts(List<ProductRequest> products, List<ProductRequest> failedProducts) {
+        List<ProductRequest> reservedProducts = new ArrayList<>();
+
+        products.forEach(product -> {
+            if (failedProducts.stream().noneMatch(failedProduct -> failedProduct == product))
+                reservedProducts.add(product);
+        });
+
+        return reservedProducts;
+    }
+
+    private String productTitles(List<ProductRequest> products) {
+        StringJoiner productTitles = new StringJoiner(", ", "[", "]");
+        products.forEach(product -> productTitles.add(product.getTitle()));
+
+        return productTitles.toString();
+    }
+
+    private ResponseEntity<?> findPageReturn(String sellerName, String userName, RequestFilter requestFilter, PageCursor pageCursor,
+                                             Integer size, String notFoundMessage) {
+        Integer pageSize = Objects.isNull(size) ? requestConfig.getListPageSize() : Math.min(size, requestConfig.getListMaxPageSize());
+        List<RequestEntity> requestEntityList = requestRepository.findAllByFilterBefore(sellerName, userName, requestFilter,
+                pageCursor, pageSize + 1).orElse(List.of());
+
+        if (requestEntityList.isEmpty())
+            return new ResponseEntity<>(notFoundMessage, HttpStatus.BAD_REQUEST);
 
         try {
-            requestEntityList.forEach(requestEntity -> requestReturnDTOList.add(requestMapper.toReturnDTO(requestEntity)));
-            return new ResponseEntity<>(requestReturnDTOList, HttpStatus.OK);
+            return new ResponseEntity<>(CursorPageDTO.of(requestEntityList, pageSize, requestMapper::toReturnDTO, requestEntity ->
+                    new PageCursor(String.valueOf(requestEntity.getDefaultDateTime().getMillis()), requestEntity.getId())), HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>("Erro no mapeamento para busca de pedido(s): " + e.getMessage(),
                     HttpStatus.INTERNAL_SERVER_ERROR);
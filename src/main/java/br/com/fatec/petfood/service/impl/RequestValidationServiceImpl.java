@@ -1,12 +1,18 @@
 package br.com.fatec.petfood.service.impl;
 
+import br.com.fatec.petfood.exception.ValidationException;
 import br.com.fatec.petfood.model.dto.ProductRequestDTO;
+import br.com.fatec.petfood.model.dto.RequestDTO;
 import br.com.fatec.petfood.model.dto.RequestUpdateDTO;
 import br.com.fatec.petfood.model.entity.mongo.ProductEntity;
 import br.com.fatec.petfood.model.entity.mongo.RequestEntity;
 import br.com.fatec.petfood.model.entity.mongo.SellerEntity;
 import br.com.fatec.petfood.model.entity.mongo.UserEntity;
+import br.com.fatec.petfood.model.enums.Status;
+import br.com.fatec.petfood.model.generic.PageCursor;
 import br.com.fatec.petfood.model.generic.ProductRequest;
+import br.com.fatec.petfood.model.generic.RequestFilter;
+import br.com.fatec.petfood.model.generic.ValidationResult;
 import br.com.fatec.petfood.model.mapper.ProductMapper;
 import br.com.fatec.petfood.repository.mongo.ProductRepository;
 import br.com.fatec.petfood.repository.mongo.SellerRepository;
@@ -14,12 +20,18 @@ import br.com.fatec.petfood.repository.mongo.UserRepository;
 import br.com.fatec.petfood.service.RequestValidationService;
 import br.com.fatec.petfood.utils.ValidateUtils;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.joda.time.DateTime;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -30,14 +42,39 @@ public class RequestValidationServiceImpl implements RequestValidationService {
     private final UserRepository userRepository;
     private final SellerRepository sellerRepository;
     private final ProductRepository productRepository;
-    private String errors;
 
     @Override
     public void validateShippingPrice(Double shippingPrice) throws Exception {
         if (Objects.isNull(shippingPrice))
-            throw new Exception("Valor de frete passado inválido(vazio ou nulo).");
+            throw new ValidationException("Valor de frete passado inválido(vazio ou nulo).");
         else if (shippingPrice < 0.0)
-            throw new Exception("Valor de frete passado inválido(menor que zero).");
+            throw new ValidationException("Valor de frete passado inválido(menor que zero).");
+    }
+
+    /*
+     * Validação apenas do formato do pedido, sem acesso à base, usada antes de enfileirar o pedido na criação assíncrona.
+     * Todos os campos inválidos são devolvidos juntos na lista de erros.
+     */
+    @Override
+    public void validateRequestDTO(RequestDTO requestDTO) throws Exception {
+        ValidationResult validationResult = new ValidationResult("Pedido passado inválido.");
+
+        if (Objects.isNull(requestDTO.getShippingPrice()))
+            validationResult.addError("Valor de frete passado inválido(vazio ou nulo).");
+        else if (requestDTO.getShippingPrice() < 0.0)
+            validationResult.addError("Valor de frete passado inválido(menor que zero).");
+
+        if (!validateUtils.isNotNullAndNotEmpty(requestDTO.getSellerName()))
+            validationResult.addError("Nome do lojista passado inválido(vazio ou nulo).");
+
+        if (!validateUtils.isNotNullAndNotEmpty(requestDTO.getUserName()))
+            validationResult.addError("Nome do usuário passado inválido(vazio ou nulo).");
+
+        if (Objects.isNull(requestDTO.getProducts()) || requestDTO.getProducts().isEmpty())
+            validationResult.addError("Lista de produtos atrelados ao pedido passada inválida(vazia ou nula).");
+
+        if (validationResult.hasErrors())
+            throw new ValidationException(validationResult);
     }
 
     @Override
@@ -49,7 +86,7 @@ public class RequestValidationServiceImpl implements RequestValidationService {
         if (sellerEntity.isPresent()) {
             return sellerEntity.get();
         } else
-            throw new Exception("Lojista não encontrado com o nome passado.");
+            throw new ValidationException("Lojista não encontrado com o nome passado.");
     }
 
     @Override
@@ -61,76 +98,87 @@ public class RequestValidationServiceImpl implements RequestValidationService {
         if (userEntity.isPresent()) {
             return userEntity.get();
         } else
-            throw new Exception("Usuário não encontrado com o nome passado.");
+            throw new ValidationException("Usuário não encontrado com o nome passado.");
     }
 
     @Override
     public List<ProductRequest> validateProductsRequestDTO(List<ProductRequestDTO> products, String sellerName) throws Exception {
+        return this.validateProducts(products, sellerName, Map.of());
+    }
+
+    /*
+     * Usada na criação em lote, com os produtos já buscados uma única vez para todos os pedidos do lote. As quantidades
+     * já aceitas em pedidos anteriores do mesmo lote entram como reserva negativa.
+     */
+    @Override
+    public List<ProductRequest> validateProductsRequestDTO(List<ProductRequestDTO> products, Map<String, ProductEntity> productEntities,
+                                                           Map<ObjectId, Integer> reservedQuantities) throws Exception {
+        return this.validateProducts(products, productEntities, reservedQuantities);
+    }
+
+    private List<ProductRequest> validateProducts(List<ProductRequestDTO> products, String sellerName,
+                                                  Map<ObjectId, Integer> reservedQuantities) throws Exception {
+        return this.validateProducts(products, Objects.isNull(products) ? Map.of() : this.findProductsByTitle(products, sellerName),
+                reservedQuantities);
+    }
+
+    private List<ProductRequest> validateProducts(List<ProductRequestDTO> products, Map<String, ProductEntity> productEntities,
+                                                  Map<ObjectId, Integer> reservedQuantities) throws Exception {
         if (Objects.isNull(products))
-            throw new Exception("Lista de produtos atrelados ao pedido passada inválida(vazia ou nula).");
+            throw new ValidationException("Lista de produtos atrelados ao pedido passada inválida(vazia ou nula).");
 
         if (products.isEmpty())
-            throw new Exception("Lista de produtos atrelados ao pedido passada inválida(vazia ou nula).");
+            throw new ValidationException("Lista de produtos atrelados ao pedido passada inválida(vazia ou nula).");
 
         List<ProductRequest> productRequests = new ArrayList<>();
-        List<String> productErrors = new ArrayList<>();
+        ValidationResult validationResult = new ValidationResult("Produto(s) inválido(s).");
 
-        products.forEach(product -> {
+        for (ProductRequestDTO product : products) {
             if (!Objects.isNull(product.getQuantity())) {
                 if (product.getQuantity() > 0) {
-                    Optional<ProductEntity> optionalProductEntity = productRepository.findByTitleAndSellerName(product.getTitle(), sellerName);
+                    ProductEntity productEntity = productEntities.get(product.getTitle());
 
-                    if (optionalProductEntity.isPresent()) {
-                        ProductEntity productEntity = optionalProductEntity.get();
+                    if (!Objects.isNull(productEntity)) {
+                        Integer stock = productEntity.getStock() + reservedQuantities.getOrDefault(productEntity.getId(), 0);
 
-                        if (productEntity.getStock() == 0 || productEntity.getStock() < product.getQuantity()) {
-                            productErrors.add(" [Produto com o título: {" + product.getTitle() +
+                        if (stock == 0 || stock < product.getQuantity()) {
+                            validationResult.addError("Produto com o título: {" + product.getTitle() +
                                     "} não tem estoque necessário. Estoque solicitado: {" + product.getQuantity() +
-                                    "}, estoque atual: {" + productEntity.getStock() + "}] ");
+                                    "}, estoque atual: {" + stock + "}.");
                         } else {
                             ProductRequest productRequest = productMapper.toProductRequest(productEntity, product.getQuantity());
                             productRequests.add(productRequest);
                         }
                     } else
-                        productErrors.add(" [Produto com o título: {" + product.getTitle() + "} não encontrado para o lojista passado.] ");
+                        validationResult.addError("Produto com o título: {" + product.getTitle() + "} não encontrado para o lojista passado.");
                 } else
-                    productErrors.add(" [Produto com o título: {" + product.getTitle() + "} passado com estoque inválido(menor ou igual a 0).] ");
-            } else
-                productErrors.add(" [Produto com o título: {" + product.getTitle() + "} passado com estoque inválido(vazio ou nulo).] ");
-        });
-
-        if (productRequests.isEmpty())
-            if (!productErrors.isEmpty()) {
-                this.errors = "";
-
-                productErrors.forEach(error -> errors = errors.concat(error));
-
-                throw new Exception("Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido): " + errors);
+                    validationResult.addError("Produto com o título: {" + product.getTitle() + "} passado com estoque inválido(menor ou igual a 0).");
             } else
-                throw new Exception("Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido).");
-        else if (!productErrors.isEmpty()) {
-            this.errors = "";
+                validationResult.addError("Produto com o título: {" + product.getTitle() + "} passado com estoque inválido(vazio ou nulo).");
+        }
 
-            productErrors.forEach(error -> errors = errors.concat(error));
-
-            throw new Exception("Produto(s) inválido(s): " + errors);
-        } else
+        if (productRequests.isEmpty()) {
+            validationResult.setMessage("Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido).");
+            throw new ValidationException(validationResult);
+        } else if (validationResult.hasErrors())
+            throw new ValidationException(validationResult);
+        else
             return productRequests;
     }
 
     @Override
     public void validateRequestEntityTotalValue(RequestEntity requestEntity) throws Exception {
         if (Objects.isNull(requestEntity.getTotalValue()))
-            throw new Exception("Erro no mapeamento para criação do pedido: Valor total não mapeado.");
+            throw new ValidationException("Erro no mapeamento para criação do pedido: Valor total não mapeado.");
 
         if (requestEntity.getTotalValue() <= 0.0)
-            throw new Exception("Erro no mapeamento para criação do pedido: Valor total inválido(menor ou igual a zero).");
+            throw new ValidationException("Erro no mapeamento para criação do pedido: Valor total inválido(menor ou igual a zero).");
     }
 
     @Override
     public void validateFindRequestById(String id) throws Exception {
         if (!validateUtils.isNotNullAndNotEmpty(id))
-            throw new Exception("Id do pedido passado inválido(vazio ou nulo).");
+            throw new ValidationException("Id do pedido passado inválido(vazio ou nulo).");
     }
 
     @Override
@@ -143,6 +191,39 @@ public class RequestValidationServiceImpl implements RequestValidationService {
         this.genericValidateUser(userName);
     }
 
+    @Override
+    public RequestFilter validateFindRequestFilter(Status status, String initialDate, String finalDate) throws Exception {
+        DateTime initialDateTime = this.parseDate(initialDate, "Data inicial passada inválida.");
+        DateTime finalDateTime = this.parseDate(finalDate, "Data final passada inválida.");
+
+        if (!Objects.isNull(initialDateTime) && !Objects.isNull(finalDateTime) && initialDateTime.isAfter(finalDateTime))
+            throw new ValidationException("Período passado inválido(data inicial depois da data final).");
+
+        return new RequestFilter(status, initialDateTime, this.endOfPeriod(finalDate, finalDateTime));
+    }
+
+    /*
+     * Sem cursor é a primeira página, com os pedidos mais recentes. Sem tamanho é usado o tamanho padrão da listagem.
+     */
+    @Override
+    public PageCursor validateFindRequestPage(String cursor, Integer size) throws Exception {
+        if (!Objects.isNull(size) && size <= 0)
+            throw new ValidationException("Tamanho da página passado inválido(menor ou igual a 0).");
+
+        if (!validateUtils.isNotNullAndNotEmpty(cursor))
+            return null;
+
+        PageCursor pageCursor = PageCursor.decode(cursor);
+
+        try {
+            Long.parseLong(pageCursor.getSortKey());
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Cursor da página passado inválido.");
+        }
+
+        return pageCursor;
+    }
+
     @Override
     public List<ProductRequest> validateProductsRequestUpdateDTO(RequestEntity requestEntity, RequestUpdateDTO requestUpdateDTO)
             throws Exception {
@@ -151,7 +232,8 @@ public class RequestValidationServiceImpl implements RequestValidationService {
         else if (requestUpdateDTO.getProducts().isEmpty())
             return requestEntity.getProducts();
         else
-            return this.validateProductsRequestDTO(requestUpdateDTO.getProducts(), requestEntity.getSellerName());
+            return this.validateProducts(requestUpdateDTO.getProducts(), requestEntity.getSellerName(),
+                    this.reservedQuantities(requestEntity));
     }
 
     @Override
@@ -164,13 +246,65 @@ public class RequestValidationServiceImpl implements RequestValidationService {
             return requestUpdateDTO.getShippingPrice();
     }
 
+    /*
+     * Quantidades já reservadas pelo próprio pedido contam como estoque disponível na edição, já que só a diferença
+     * entre as linhas antigas e novas é reservada.
+     */
+    private Map<ObjectId, Integer> reservedQuantities(RequestEntity requestEntity) {
+        Map<ObjectId, Integer> reservedQuantities = new HashMap<>();
+
+        if (!requestEntity.getStatus().equals(Status.CANCELED))
+            requestEntity.getProducts().forEach(product ->
+                    reservedQuantities.merge(product.getProductId(), product.getQuantity(), Integer::sum));
+
+        return reservedQuantities;
+    }
+
+    private Map<String, ProductEntity> findProductsByTitle(List<ProductRequestDTO> products, String sellerName) {
+        Set<String> titles = new HashSet<>();
+        Map<String, ProductEntity> productEntities = new HashMap<>();
+
+        products.forEach(product -> {
+            if (!Objects.isNull(product.getQuantity()) && product.getQuantity() > 0 && !Objects.isNull(product.getTitle()))
+                titles.add(product.getTitle());
+        });
+
+        if (!titles.isEmpty())
+            productRepository.findAllBySellerNameAndTitleIn(sellerName, titles).ifPresent(productEntityList ->
+                    productEntityList.forEach(productEntity -> productEntities.put(productEntity.getTitle(), productEntity)));
+
+        return productEntities;
+    }
+
+    private DateTime parseDate(String date, String message) throws Exception {
+        if (!validateUtils.isNotNullAndNotEmpty(date))
+            return null;
+
+        try {
+            return DateTime.parse(date);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(message + " Favor passar no formato ISO 8601: 'AAAA-MM-DD' ou 'AAAA-MM-DDTHH:MM:SS'.");
+        }
+    }
+
+    /*
+     * O fim do período é exclusivo: uma data sem horário inclui o dia inteiro, então o limite é o início do dia
+     * seguinte; com horário o limite é o milissegundo seguinte, que é a precisão das datas na base.
+     */
+    private DateTime endOfPeriod(String date, DateTime dateTime) {
+        if (Objects.isNull(dateTime))
+            return null;
+
+        return date.contains("T") ? dateTime.plusMillis(1) : dateTime.plusDays(1).withTimeAtStartOfDay();
+    }
+
     private void genericValidateSeller(String sellerName) throws Exception {
         if (!validateUtils.isNotNullAndNotEmpty(sellerName))
-            throw new Exception("Nome do lojista passado inválido(vazio ou nulo).");
+            throw new ValidationException("Nome do lojista passado inválido(vazio ou nulo).");
     }
 
     private void genericValidateUser(String userName) throws Exception {
         if (!validateUtils.isNotNullAndNotEmpty(userName))
-            throw new Exception("Nome do usuário passado inválido(vazio ou nulo).");
+            throw new ValidationException("Nome do usuário passado inválido(vazio ou nulo).");
     }
 }
@@ -0,0 +1,103 @@
+package br.com.fatec.petfood.service.impl;
+
+import br.com.fatec.petfood.config.RetryConfig;
+import br.com.fatec.petfood.model.dto.ConflictMetricDTO;
+import br.com.fatec.petfood.service.RetryService;
+import com.mongodb.MongoException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Service
+public class RetryServiceImpl implements RetryService {
+
+    private final RetryConfig retryConfig;
+    private final Map<String, LongAdder[]> conflictMetrics = new ConcurrentHashMap<>();
+    private static final Logger logger = LoggerFactory.getLogger(RetryServiceImpl.class);
+
+    public RetryServiceImpl(RetryConfig retryConfig) {
+        this.retryConfig = retryConfig;
+    }
+
+    /*
+     * Reexecuta a operação inteira (leitura, alteração e save condicionado à versão) enquanto houver conflito de
+     * versão, com backoff exponencial e jitter para que as tentativas concorrentes não colidam novamente.
+     */
+    @Override
+    public <T> T retryOnConflict(String operation, Supplier<T> action) {
+        LongAdder[] metrics = conflictMetrics.computeIfAbsent(operation,
+                key -> new LongAdder[]{new LongAdder(), new LongAdder(), new LongAdder()});
+        long backoffMillis = retryConfig.getBackoffMillis();
+
+        for (int attempt = 1; ; attempt++) {
+            metrics[0].increment();
+
+            try {
+                return action.get();
+            } catch (RuntimeException e) {
+                if (!this.isConflict(e))
+                    throw e;
+
+                metrics[1].increment();
+
+                if (attempt >= retryConfig.getMaxAttempts()) {
+                    metrics[2].increment();
+                    logger.warn("Conflict on " + operation + " not resolved after " + attempt + " attempt(s).");
+                    throw e;
+                }
+
+                try {
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(backoffMillis + 1));
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+
+                backoffMillis = Math.min(backoffMillis * 2, retryConfig.getMaxBackoffMillis());
+            }
+        }
+    }
+
+    /*
+     * Além do conflito de versão, conflitos de escrita entre transações do Mongo vêm marcados com o rótulo
+     * 'TransientTransactionError' e também podem ser reexecutados por inteiro.
+     */
+    private boolean isConflict(RuntimeException e) {
+        if (e instanceof OptimisticLockingFailureException)
+            return true;
+
+        for (Throwable cause = e; !Objects.isNull(cause); cause = cause.getCause())
+            if (cause instanceof MongoException &&
+                    ((MongoException) cause).hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL))
+                return true;
+
+        return false;
+    }
+
+    @Override
+    public ResponseEntity<?> getConflictMetrics() {
+        List<ConflictMetricDTO> conflictMetricDTOList = new ArrayList<>();
+
+        conflictMetrics.forEach((operation, metrics) -> {
+            long attempts = metrics[0].sum();
+            long conflicts = metrics[1].sum();
+
+            conflictMetricDTOList.add(new ConflictMetricDTO(operation, attempts, conflicts, metrics[2].sum(),
+                    attempts == 0L ? 0.0 : (double) conflicts / attempts));
+        });
+
+        return new ResponseEntity<>(conflictMetricDTOList, HttpStatus.OK);
+    }
+}
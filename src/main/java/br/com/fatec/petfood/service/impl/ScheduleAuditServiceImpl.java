@@ -0,0 +1,52 @@
+package br.com.fatec.petfood.service.impl;
+
+import br.com.fatec.petfood.config.AuditConfig;
+import br.com.fatec.petfood.model.entity.mongo.ScheduleEntity;
+import br.com.fatec.petfood.repository.mongo.ScheduleRepository;
+import br.com.fatec.petfood.service.ScheduleAuditService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+@Service
+public class ScheduleAuditServiceImpl implements ScheduleAuditService {
+
+    private final Integer flushSize;
+    private final ScheduleRepository scheduleRepository;
+    private final BlockingQueue<ScheduleEntity> scheduleEntityQueue;
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleAuditServiceImpl.class);
+
+    public ScheduleAuditServiceImpl(ScheduleRepository scheduleRepository, AuditConfig auditConfig) {
+        this.scheduleRepository = scheduleRepository;
+        this.flushSize = auditConfig.getFlushSize();
+        this.scheduleEntityQueue = new ArrayBlockingQueue<>(auditConfig.getQueueSize());
+    }
+
+    @Override
+    public void audit(ScheduleEntity scheduleEntity) {
+        if (!scheduleEntityQueue.offer(scheduleEntity))
+            logger.warn("Audit queue full, discarding schedule audit of " + scheduleEntity.getRequestIds().size() + " request(s).");
+    }
+
+    @Override
+    @PreDestroy
+    public synchronized void flush() {
+        List<ScheduleEntity> scheduleEntityList = new ArrayList<>(flushSize);
+
+        while (scheduleEntityQueue.drainTo(scheduleEntityList, flushSize) > 0) {
+            try {
+                scheduleRepository.insert(scheduleEntityList);
+            } catch (Exception e) {
+                logger.error("Error on save " + scheduleEntityList.size() + " schedule audit(s): " + e.getMessage());
+            }
+
+            scheduleEntityList = new ArrayList<>(flushSize);
+        }
+    }
+}
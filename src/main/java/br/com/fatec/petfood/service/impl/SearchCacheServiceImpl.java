@@ -0,0 +1,167 @@
+package br.com.fatec.petfood.service.impl;
+
+import br.com.fatec.petfood.config.SearchConfig;
+import br.com.fatec.petfood.model.dto.SearchCacheMetricDTO;
+import br.com.fatec.petfood.model.entity.mongo.SellerEntity;
+import br.com.fatec.petfood.model.generic.SearchCacheKey;
+import br.com.fatec.petfood.service.SearchCacheService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+@Service
+public class SearchCacheServiceImpl implements SearchCacheService {
+
+    private final Long ttlNanos;
+    private final Map<SearchCacheKey, SearchCacheEntry> searchCache;
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public SearchCacheServiceImpl(SearchConfig searchConfig) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(searchConfig.getCacheTtlSeconds());
+        this.searchCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SearchCacheKey, SearchCacheEntry> eldest) {
+                if (size() > searchConfig.getCacheMaxEntries()) {
+                    evictions.increment();
+                    return true;
+                } else
+                    return false;
+            }
+        };
+    }
+
+    /*
+     * Respostas 5xx não são guardadas. Uma busca que cruzou com uma invalidação também não, para não gravar no cache
+     * um resultado lido antes da escrita que o invalidou.
+     */
+    @Override
+    public ResponseEntity<?> getOrSearch(SearchCacheKey searchCacheKey, Supplier<ResponseEntity<?>> search) {
+        long now = System.nanoTime();
+
+        synchronized (searchCache) {
+            SearchCacheEntry searchCacheEntry = searchCache.get(searchCacheKey);
+
+            if (!Objects.isNull(searchCacheEntry)) {
+                if (now - searchCacheEntry.expireAt < 0L) {
+                    hits.increment();
+                    return searchCacheEntry.response;
+                }
+
+                searchCache.remove(searchCacheKey);
+                evictions.increment();
+            }
+        }
+
+        misses.increment();
+        long searchGeneration = generation.get();
+        ResponseEntity<?> response = search.get();
+
+        if (!response.getStatusCode().is5xxServerError()) {
+            synchronized (searchCache) {
+                if (generation.get() == searchGeneration)
+                    searchCache.put(searchCacheKey, new SearchCacheEntry(response, System.nanoTime() + ttlNanos,
+                            this.titlePattern(searchCacheKey.getProductTitle())));
+            }
+        }
+
+        return response;
+    }
+
+    /*
+     * A busca por produto agrupa os lojistas pelo título, então só a criação ou remoção de um produto cujo título casa
+     * com o termo buscado muda a resposta. A busca por categoria não olha os produtos.
+     */
+    @Override
+    public void invalidateProduct(String productTitle) {
+        generation.incrementAndGet();
+
+        synchronized (searchCache) {
+            searchCache.entrySet().removeIf(entry -> {
+                boolean invalidated = !Objects.isNull(entry.getKey().getProductTitle()) &&
+                        (Objects.isNull(entry.getValue().titlePattern) || Objects.isNull(productTitle) ||
+                                entry.getValue().titlePattern.matcher(productTitle).find());
+
+                if (invalidated)
+                    invalidations.increment();
+
+                return invalidated;
+            });
+        }
+    }
+
+    /*
+     * Chamado com o lojista antes e depois da escrita: só as buscas da zona dele, e na busca por categoria só as das
+     * categorias dele, podem conter ou passar a conter o lojista.
+     */
+    @Override
+    public void invalidateSeller(SellerEntity sellerEntity) {
+        generation.incrementAndGet();
+
+        synchronized (searchCache) {
+            searchCache.entrySet().removeIf(entry -> {
+                SearchCacheKey searchCacheKey = entry.getKey();
+                boolean invalidated = (Objects.isNull(sellerEntity.getCityZone()) ||
+                        sellerEntity.getCityZone().equals(searchCacheKey.getCityZone())) &&
+                        (Objects.isNull(searchCacheKey.getCategory()) || Objects.isNull(sellerEntity.getCategories()) ||
+                                sellerEntity.getCategories().contains(searchCacheKey.getCategory()));
+
+                if (invalidated)
+                    invalidations.increment();
+
+                return invalidated;
+            });
+        }
+    }
+
+    @Override
+    public ResponseEntity<?> getMetrics() {
+        int entries;
+        long searchHits = hits.sum();
+        long searchMisses = misses.sum();
+
+        synchronized (searchCache) {
+            entries = searchCache.size();
+        }
+
+        return new ResponseEntity<>(new SearchCacheMetricDTO(entries, searchHits, searchMisses, evictions.sum(), invalidations.sum(),
+                searchHits + searchMisses == 0L ? 0.0 : (double) searchHits / (searchHits + searchMisses)), HttpStatus.OK);
+    }
+
+    private Pattern titlePattern(String productTitle) {
+        if (Objects.isNull(productTitle))
+            return null;
+
+        try {
+            return Pattern.compile(productTitle, Pattern.CASE_INSENSITIVE);
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+    }
+
+    private static class SearchCacheEntry {
+
+        private final ResponseEntity<?> response;
+        private final long expireAt;
+        private final Pattern titlePattern;
+
+        private SearchCacheEntry(ResponseEntity<?> response, long expireAt, Pattern titlePattern) {
+            this.response = response;
+            this.expireAt = expireAt;
+            this.titlePattern = titlePattern;
+        }
+    }
+}
@@ -1,16 +1,21 @@
 package br.com.fatec.petfood.service.impl;
 
+import br.com.fatec.petfood.model.dto.CursorPageDTO;
 import br.com.fatec.petfood.model.dto.ProductReturnDTO;
 import br.com.fatec.petfood.model.dto.SellerReturnDTO;
 import br.com.fatec.petfood.model.entity.mongo.ProductEntity;
 import br.com.fatec.petfood.model.entity.mongo.SellerEntity;
 import br.com.fatec.petfood.model.enums.Category;
 import br.com.fatec.petfood.model.enums.CityZone;
+import br.com.fatec.petfood.model.generic.PageCursor;
+import br.com.fatec.petfood.model.generic.SearchCacheKey;
 import br.com.fatec.petfood.model.mapper.ProductMapper;
 import br.com.fatec.petfood.model.mapper.SellerMapper;
 import br.com.fatec.petfood.repository.mongo.ProductRepository;
 import br.com.fatec.petfood.repository.mongo.SellerRepository;
+import br.com.fatec.petfood.service.SearchCacheService;
 import br.com.fatec.petfood.service.SearchService;
+import br.com.fatec.petfood.service.SellerDirectoryService;
 import br.com.fatec.petfood.service.ValidationService;
 import br.com.fatec.petfood.utils.ValidateUtils;
 import lombok.RequiredArgsConstructor;
@@ -34,6 +39,8 @@ public class SearchServiceImpl implements SearchService {
     private final SellerRepository sellerRepository;
     private final ProductRepository productRepository;
     private final ValidationService validationService;
+    private final SearchCacheService searchCacheService;
+    private final SellerDirectoryService sellerDirectoryService;
 
     @Override
     public ResponseEntity<?> searchSeller(String productTitle, CityZone cityZone, Boolean isWeek, String localTime, Integer page, Integer size) {
@@ -43,51 +50,11 @@ public class SearchServiceImpl implements SearchService {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
 
-        LocalTime parsedLocalTime = LocalTime.parse(localTime);
-        Optional<List<ProductEntity>> optionalProductEntityList = productRepository.findAllByTitleRegex(productTitle);
-
-        if (optionalProductEntityList.isPresent()) {
-            List<ProductEntity> productEntityList = optionalProductEntityList.get();
-
-            if (!productEntityList.isEmpty()) {
-                List<String> sellerNames = new ArrayList<>();
-                productEntityList.forEach(productEntity -> sellerNames.add(productEntity.getSellerName()));
-                Optional<List<SellerEntity>> optionalSellerEntityList = sellerRepository.findAllByNameInAndCityZone(sellerNames, cityZone, PageRequest.of(page, size));
-
-                if (optionalSellerEntityList.isPresent()) {
-                    List<SellerEntity> sellerEntityList = optionalSellerEntityList.get();
-
-                    if (!sellerEntityList.isEmpty()) {
-                        List<SellerReturnDTO> sellerReturnDTOList = new ArrayList<>();
-
-                        try {
-                            if (!isWeek) {
-                                sellerEntityList.forEach(sellerEntity -> {
-                                    if (this.validateTimeOperation(
-                                            parsedLocalTime, sellerEntity.getWeekendInitialTimeOperation(), sellerEntity.getWeekendFinalTimeOperation()))
-                                        sellerReturnDTOList.add(sellerMapper.toReturnDTO(sellerEntity));
-                                });
-                            } else {
-                                sellerEntityList.forEach(sellerEntity -> {
-                                    if (this.validateTimeOperation(
-                                            parsedLocalTime, sellerEntity.getWeekInitialTimeOperation(), sellerEntity.getWeekFinalTimeOperation()))
-                                        sellerReturnDTOList.add(sellerMapper.toReturnDTO(sellerEntity));
-                                });
-                            }
-
-                            return new ResponseEntity<>(sellerReturnDTOList, HttpStatus.OK);
-                        } catch (Exception e) {
-                            return new ResponseEntity<>("Erro no mapeamento para retorno do lojista: " + e.getMessage(),
-                                    HttpStatus.INTERNAL_SERVER_ERROR);
-                        }
-                    } else
-                        return new ResponseEntity<>("Nenhum lojista encontrado que tenha essa produto no catálogo.", HttpStatus.BAD_REQUEST);
-                } else
-                    return new ResponseEntity<>("Nenhum lojista encontrado que tenha essa produto no catálogo.", HttpStatus.BAD_REQUEST);
-            } else
-                return new ResponseEntity<>("Nenhum lojista encontrado que tenha essa produto no catálogo.", HttpStatus.BAD_REQUEST);
-        } else
-            return new ResponseEntity<>("Nenhum lojista encontrado que tenha essa produto no catálogo.", HttpStatus.BAD_REQUEST);
+        Integer minute = this.minuteOfDay(LocalTime.parse(localTime));
+
+        return searchCacheService.getOrSearch(new SearchCacheKey(productTitle, null, cityZone, isWeek, minute, page, size, null),
+                () -> this.returnSellers(sellerRepository.findAllOpenByProductTitleAndCityZone(productTitle, cityZone, isWeek, minute,
+                        PageRequest.of(page, size)), "Nenhum lojista encontrado que tenha essa produto no catálogo."));
     }
 
     @Override
@@ -151,9 +118,62 @@ public class SearchServiceImpl implements SearchService {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
 
-        LocalTime parsedLocalTime = LocalTime.parse(localTime);
-        Optional<List<SellerEntity>> optionalSellerEntityList = sellerRepository.findAllByCategoryAndCityZone(category, cityZone, PageRequest.of(page, size));
+        Integer minute = this.minuteOfDay(LocalTime.parse(localTime));
+
+        return searchCacheService.getOrSearch(new SearchCacheKey(null, category, cityZone, isWeek, minute, page, size, null),
+                () -> this.returnSellers(sellerDirectoryService.findAllOpenByCategoryAndCityZone(category, cityZone, isWeek, minute,
+                        PageRequest.of(page, size)), "Nenhum lojista encontrado que tenha essa categoria cadastrada."));
+    }
+
+    /*
+     * Paginação por cursor: cada página traz o cursor da próxima, sem 'skip' na consulta. A paginação por página e
+     * tamanho continua nos métodos acima só por compatibilidade.
+     */
+    @Override
+    public ResponseEntity<?> searchSellerProductsByCursor(String sellerName, String productTitle, String cursor, Integer size) {
+        PageCursor pageCursor;
+
+        try {
+            pageCursor = validationService.validateSearchSellerProductsByCursor(sellerName, cursor, size);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+
+        Boolean hasTitle = validateUtils.isNotNullAndNotEmpty(productTitle);
+        List<ProductEntity> productEntityList = productRepository.findAllBySellerNameAndTitleRegexAfter(sellerName,
+                hasTitle ? productTitle : null, pageCursor, size + 1).orElse(List.of());
+
+        if (productEntityList.isEmpty())
+            return new ResponseEntity<>(hasTitle ? "Nenhum produto encontrado com título passado, cadastrado para o lojista passado." :
+                    "Nenhum produto cadastrado para o lojista passado.", HttpStatus.BAD_REQUEST);
+
+        try {
+            return new ResponseEntity<>(CursorPageDTO.of(productEntityList, size, productMapper::toReturnDTO,
+                    productEntity -> new PageCursor(productEntity.getTitle(), productEntity.getId())), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>("Erro no mapeamento para retorno do produto: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Override
+    public ResponseEntity<?> searchSellerByCategoryByCursor(Category category, CityZone cityZone, Boolean isWeek, String localTime,
+                                                            String cursor, Integer size) {
+        PageCursor pageCursor;
+
+        try {
+            pageCursor = validationService.validateSearchSellerByCategoryByCursor(category, cityZone, localTime, cursor, size);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+
+        Integer minute = this.minuteOfDay(LocalTime.parse(localTime));
+
+        return searchCacheService.getOrSearch(new SearchCacheKey(null, category, cityZone, isWeek, minute, null, size, cursor),
+                () -> this.returnSellerPage(sellerDirectoryService.findAllOpenByCategoryAndCityZoneAfter(category, cityZone, isWeek,
+                        minute, pageCursor, size + 1), size, "Nenhum lojista encontrado que tenha essa categoria cadastrada."));
+    }
 
+    private ResponseEntity<?> returnSellers(Optional<List<SellerEntity>> optionalSellerEntityList, String notFoundMessage) {
         if (optionalSellerEntityList.isPresent()) {
             List<SellerEntity> sellerEntityList = optionalSellerEntityList.get();
 
@@ -161,48 +181,33 @@ public class SearchServiceImpl implements SearchService {
                 List<SellerReturnDTO> sellerReturnDTOList = new ArrayList<>();
 
                 try {
-                    if (!isWeek) {
-                        sellerEntityList.forEach(sellerEntity -> {
-                            if (this.validateTimeOperation(
-                                    parsedLocalTime, sellerEntity.getWeekendInitialTimeOperation(), sellerEntity.getWeekendFinalTimeOperation()))
-                                sellerReturnDTOList.add(sellerMapper.toReturnDTO(sellerEntity));
-                        });
-                    } else {
-                        sellerEntityList.forEach(sellerEntity -> {
-                            if (this.validateTimeOperation(
-                                    parsedLocalTime, sellerEntity.getWeekInitialTimeOperation(), sellerEntity.getWeekFinalTimeOperation()))
-                                sellerReturnDTOList.add(sellerMapper.toReturnDTO(sellerEntity));
-                        });
-                    }
-
+                    sellerEntityList.forEach(sellerEntity -> sellerReturnDTOList.add(sellerMapper.toReturnDTO(sellerEntity)));
                     return new ResponseEntity<>(sellerReturnDTOList, HttpStatus.OK);
                 } catch (Exception e) {
                     return new ResponseEntity<>("Erro no mapeamento para retorno do lojista: " + e.getMessage(),
                             HttpStatus.INTERNAL_SERVER_ERROR);
                 }
             } else
-                return new ResponseEntity<>("Nenhum lojista encontrado que tenha essa categoria cadastrada.", HttpStatus.BAD_REQUEST);
+                return new ResponseEntity<>(notFoundMessage, HttpStatus.BAD_REQUEST);
         } else
-            return new ResponseEntity<>("Nenhum lojista encontrado que tenha essa categoria cadastrada.", HttpStatus.BAD_REQUEST);
+            return new ResponseEntity<>(notFoundMessage, HttpStatus.BAD_REQUEST);
     }
 
-    private Boolean validateTimeOperation(LocalTime now, LocalTime initialTimeOperation, LocalTime finalTimeOperation) {
-        int result = finalTimeOperation.getHour() - initialTimeOperation.getHour();
-
-        if (result > 0) {
-            if (now.getHour() >= initialTimeOperation.getHour() && now.getHour() < finalTimeOperation.getHour())
-                return Boolean.TRUE;
-            else
-                return Boolean.FALSE;
-        } else if (result < 0) {
-            if (now.getHour() >= initialTimeOperation.getHour()) {
-                return Boolean.TRUE;
-            } else if (now.getHour() < finalTimeOperation.getHour()) {
-                return Boolean.TRUE;
-            } else {
-                return Boolean.FALSE;
-            }
-        } else
-            return Boolean.TRUE;
+    private ResponseEntity<?> returnSellerPage(Optional<List<SellerEntity>> optionalSellerEntityList, Integer size, String notFoundMessage) {
+        List<SellerEntity> sellerEntityList = optionalSellerEntityList.orElse(List.of());
+
+        if (sellerEntityList.isEmpty())
+            return new ResponseEntity<>(notFoundMessage, HttpStatus.BAD_REQUEST);
+
+        try {
+            return new ResponseEntity<>(CursorPageDTO.of(sellerEntityList, size, sellerMapper::toReturnDTO,
+                    sellerEntity -> new PageCursor(sellerEntity.getName(), sellerEntity.getId())), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>("Erro no mapeamento para retorno do lojista: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private Integer minuteOfDay(LocalTime localTime) {
+        return localTime.getHour() * 60 + localTime.getMinute();
     }
 }
@@ -0,0 +1,320 @@
+package br.com.fatec.petfood.service.impl;
+
+import br.com.fatec.petfood.model.dto.SellerDirectoryCheckDTO;
+import br.com.fatec.petfood.model.entity.mongo.SellerEntity;
+import br.com.fatec.petfood.model.enums.Category;
+import br.com.fatec.petfood.model.enums.CityZone;
+import br.com.fatec.petfood.model.generic.PageCursor;
+import br.com.fatec.petfood.model.generic.TimeOperation;
+import br.com.fatec.petfood.repository.mongo.SellerRepository;
+import br.com.fatec.petfood.service.SellerDirectoryService;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/*
+ * Diretório de lojistas em memória: cada lojista ocupa uma posição e, para cada zona e categoria (pelos ordinais dos
+ * enums), um BitSet marca as posições dos lojistas daquela zona com aquela categoria. Os horários de funcionamento são
+ * compilados da mesma forma, um BitSet por minuto do dia da semana e do final de semana com os lojistas abertos nele.
+ * Posições liberadas são reaproveitadas.
+ */
+@Service
+@RequiredArgsConstructor
+public class SellerDirectoryServiceImpl implements SellerDirectoryService {
+
+    private final SellerRepository sellerRepository;
+    private final List<SellerEntity> sellers = new ArrayList<>();
+    private final Map<ObjectId, Integer> positions = new HashMap<>();
+    private final BitSet freePositions = new BitSet();
+    private final BitSet[][] index = this.newIndex(CityZone.values().length, Category.values().length);
+    private final BitSet[][] openSellers = this.newIndex(2, MINUTES_OF_DAY);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<ObjectId, SellerEntity> pendingChanges;
+    private static final Integer MINUTES_OF_DAY = 1440;
+    private static final Comparator<String> NAME_ORDER = Comparator.nullsLast(Comparator.naturalOrder());
+    private static final Logger logger = LoggerFactory.getLogger(SellerDirectoryServiceImpl.class);
+
+    /*
+     * A leitura da coleção acontece fora do lock, então as alterações recebidas enquanto ela roda são guardadas (a
+     * última de cada lojista, vazia quando removido) e reaplicadas sobre o resultado da leitura, que pode não tê-las.
+     */
+    @Override
+    public synchronized void load() {
+        List<SellerEntity> sellerEntityList;
+
+        lock.writeLock().lock();
+
+        try {
+            pendingChanges = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            sellerEntityList = sellerRepository.findAll();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            throw e;
+        }
+
+        lock.writeLock().lock();
+
+        try {
+            sellers.clear();
+            positions.clear();
+            freePositions.clear();
+
+            for (BitSet[][] table : List.of(index, openSellers))
+                for (BitSet[] bitSets : table)
+                    for (BitSet bitSet : bitSets)
+                        bitSet.clear();
+
+            sellerEntityList.forEach(this::index);
+
+            pendingChanges.forEach((id, sellerEntity) -> {
+                this.unindex(id);
+
+                if (Objects.nonNull(sellerEntity))
+                    this.index(sellerEntity);
+            });
+
+            pendingChanges = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        logger.info("Loaded " + sellerEntityList.size() + " seller(s) into seller directory.");
+    }
+
+    @Override
+    public void put(SellerEntity sellerEntity) {
+        if (Objects.isNull(sellerEntity.getId()))
+            return;
+
+        lock.writeLock().lock();
+
+        try {
+            if (Objects.nonNull(pendingChanges))
+                pendingChanges.put(sellerEntity.getId(), sellerEntity);
+
+            this.unindex(sellerEntity.getId());
+            this.index(sellerEntity);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(ObjectId id) {
+        lock.writeLock().lock();
+
+        try {
+            if (Objects.nonNull(pendingChanges))
+                pendingChanges.put(id, null);
+
+            this.unindex(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Mesmo filtro da consulta na base, resolvido só em memória: os candidatos são o AND entre os lojistas da zona e
+     * categoria e os abertos no minuto passado. A ordem é pelo nome, para que a paginação seja estável.
+     */
+    @Override
+    public Optional<List<SellerEntity>> findAllOpenByCategoryAndCityZone(Category category, CityZone cityZone, Boolean isWeek,
+                                                                         Integer minute, Pageable page) {
+        List<SellerEntity> sellerEntityList = this.findOpenSellers(category, cityZone, isWeek, minute);
+
+        int fromIndex = (int) Math.min(page.getOffset(), sellerEntityList.size());
+        int toIndex = Math.min(fromIndex + page.getPageSize(), sellerEntityList.size());
+
+        return Optional.of(new ArrayList<>(sellerEntityList.subList(fromIndex, toIndex)));
+    }
+
+    /*
+     * Paginação por cursor na mesma ordem: a página seguinte começa depois do par (nome, id) do último lojista devolvido,
+     * então lojistas abertos ou fechados entre uma página e outra não deslocam os resultados.
+     */
+    @Override
+    public Optional<List<SellerEntity>> findAllOpenByCategoryAndCityZoneAfter(Category category, CityZone cityZone, Boolean isWeek,
+                                                                              Integer minute, PageCursor pageCursor, Integer limit) {
+        return Optional.of(this.findOpenSellers(category, cityZone, isWeek, minute).stream()
+                .filter(sellerEntity -> Objects.isNull(pageCursor) || this.isAfter(sellerEntity, pageCursor))
+                .limit(limit)
+                .collect(Collectors.toList()));
+    }
+
+    /*
+     * Compara o diretório com a coleção: lojistas que faltam no diretório, que não existem mais na coleção e que estão
+     * com zona, categorias ou horários diferentes.
+     */
+    @Override
+    public SellerDirectoryCheckDTO checkConsistency() {
+        List<SellerEntity> sellerEntityList = sellerRepository.findAll();
+        List<String> missingSellers = new ArrayList<>();
+        List<String> staleSellers = new ArrayList<>();
+        List<String> outdatedSellers = new ArrayList<>();
+        int indexedSellers;
+
+        lock.readLock().lock();
+
+        try {
+            Map<ObjectId, SellerEntity> collectionSellers = new HashMap<>();
+            indexedSellers = positions.size();
+
+            for (SellerEntity sellerEntity : sellerEntityList) {
+                collectionSellers.put(sellerEntity.getId(), sellerEntity);
+                Integer position = positions.get(sellerEntity.getId());
+
+                if (Objects.isNull(position))
+                    missingSellers.add(sellerEntity.getName());
+                else if (!this.isSameIndexedSeller(sellers.get(position), sellerEntity))
+                    outdatedSellers.add(sellerEntity.getName());
+            }
+
+            positions.forEach((id, position) -> {
+                if (!collectionSellers.containsKey(id))
+                    staleSellers.add(sellers.get(position).getName());
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return new SellerDirectoryCheckDTO(sellerEntityList.size(), indexedSellers, missingSellers, staleSellers, outdatedSellers);
+    }
+
+    @Override
+    public ResponseEntity<?> getConsistency() {
+        try {
+            return new ResponseEntity<>(this.checkConsistency(), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>("Erro ao verificar diretório de lojistas: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private void index(SellerEntity sellerEntity) {
+        int position = freePositions.isEmpty() ? sellers.size() : freePositions.nextSetBit(0);
+
+        if (position == sellers.size())
+            sellers.add(sellerEntity);
+        else {
+            sellers.set(position, sellerEntity);
+            freePositions.clear(position);
+        }
+
+        positions.put(sellerEntity.getId(), position);
+        this.setPosition(sellerEntity, position);
+    }
+
+    private void unindex(ObjectId id) {
+        Integer position = positions.remove(id);
+
+        if (Objects.isNull(position))
+            return;
+
+        for (BitSet[][] table : List.of(index, openSellers))
+            for (BitSet[] bitSets : table)
+                for (BitSet bitSet : bitSets)
+                    bitSet.clear(position);
+
+        sellers.set(position, null);
+        freePositions.set(position);
+    }
+
+    /*
+     * Marca a posição do lojista nos BitSets da zona e categorias e nos minutos em que ele está aberto. A remoção limpa
+     * a posição em todos os BitSets, sem depender do estado da entidade guardada.
+     */
+    private void setPosition(SellerEntity sellerEntity, int position) {
+        if (!Objects.isNull(sellerEntity.getCityZone()) && !Objects.isNull(sellerEntity.getCategories()))
+            sellerEntity.getCategories().stream().filter(Objects::nonNull).forEach(category ->
+                    index[sellerEntity.getCityZone().ordinal()][category.ordinal()].set(position));
+
+        this.setOpenMinutes(openSellers[this.weekPart(true)], sellerEntity.getWeekTimeOperations(), position);
+        this.setOpenMinutes(openSellers[this.weekPart(false)], sellerEntity.getWeekendTimeOperations(), position);
+    }
+
+    private void setOpenMinutes(BitSet[] openSellersByMinute, List<TimeOperation> timeOperations, int position) {
+        if (Objects.isNull(timeOperations))
+            return;
+
+        for (TimeOperation timeOperation : timeOperations)
+            for (int minute = Math.max(0, timeOperation.getInitialMinute());
+                 minute < Math.min(MINUTES_OF_DAY, timeOperation.getFinalMinute()); minute++)
+                openSellersByMinute[minute].set(position);
+    }
+
+    private List<SellerEntity> findOpenSellers(Category category, CityZone cityZone, Boolean isWeek, Integer minute) {
+        List<SellerEntity> sellerEntityList = new ArrayList<>();
+
+        lock.readLock().lock();
+
+        try {
+            BitSet candidates = (BitSet) index[cityZone.ordinal()][category.ordinal()].clone();
+            candidates.and(openSellers[this.weekPart(isWeek)][minute]);
+
+            for (int position = candidates.nextSetBit(0); position >= 0; position = candidates.nextSetBit(position + 1))
+                sellerEntityList.add(sellers.get(position));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        sellerEntityList.sort(Comparator.comparing(SellerEntity::getName, NAME_ORDER).thenComparing(SellerEntity::getId));
+
+        return sellerEntityList;
+    }
+
+    private boolean isAfter(SellerEntity sellerEntity, PageCursor pageCursor) {
+        int nameComparison = NAME_ORDER.compare(sellerEntity.getName(), pageCursor.getSortKey());
+
+        return nameComparison > 0 || (nameComparison == 0 && sellerEntity.getId().compareTo(pageCursor.getId()) > 0);
+    }
+
+    private int weekPart(Boolean isWeek) {
+        return isWeek ? 0 : 1;
+    }
+
+    private boolean isSameIndexedSeller(SellerEntity indexedSeller, SellerEntity sellerEntity) {
+        return Objects.equals(indexedSeller.getName(), sellerEntity.getName()) &&
+                Objects.equals(indexedSeller.getCityZone(), sellerEntity.getCityZone()) &&
+                Objects.equals(indexedSeller.getCategories(), sellerEntity.getCategories()) &&
+                Objects.equals(indexedSeller.getWeekTimeOperations(), sellerEntity.getWeekTimeOperations()) &&
+                Objects.equals(indexedSeller.getWeekendTimeOperations(), sellerEntity.getWeekendTimeOperations());
+    }
+
+    private BitSet[][] newIndex(int rows, int columns) {
+        BitSet[][] newIndex = new BitSet[rows][columns];
+
+        for (BitSet[] bitSets : newIndex)
+            for (int column = 0; column < columns; column++)
+                bitSets[column] = new BitSet();
+
+        return newIndex;
+    }
+}
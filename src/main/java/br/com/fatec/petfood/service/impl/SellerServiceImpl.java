@@ -9,6 +9,7 @@ import br.com.fatec.petfood.model.enums.CityZone;
 import br.com.fatec.petfood.model.generic.RegistrationInfos;
 import br.com.fatec.petfood.model.mapper.SellerMapper;
 import br.com.fatec.petfood.repository.mongo.SellerRepository;
+import br.com.fatec.petfood.service.SearchCacheService;
 import br.com.fatec.petfood.service.SellerService;
 import br.com.fatec.petfood.service.ValidationService;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +29,7 @@ public class SellerServiceImpl implements SellerService {
     private final SellerMapper sellerMapper;
     private final SellerRepository sellerRepository;
     private final ValidationService validationService;
+    private final SearchCacheService searchCacheService;
 
     @Override
     public ResponseEntity<?> createSeller(SellerDTO sellerDTO, CityZone cityZone, List<Category> categories) {
@@ -52,6 +54,7 @@ public class SellerServiceImpl implements SellerService {
 
                 try {
                     sellerRepository.save(seller);
+                    searchCacheService.invalidateSeller(seller);
                     return new ResponseEntity<>("Lojista cadastrado com sucesso.", HttpStatus.CREATED);
                 } catch (Exception e) {
                     return new ResponseEntity<>("Erro ao gravar lojista na base de dados: " + e.getMessage(),
@@ -122,6 +125,8 @@ public class SellerServiceImpl implements SellerService {
 
                     try {
                         sellerRepository.save(updateSellerEntity);
+                        searchCacheService.invalidateSeller(sellerEntity);
+                        searchCacheService.invalidateSeller(updateSellerEntity);
                         return new ResponseEntity<>("Lojista atualizado com sucesso.", HttpStatus.OK);
                     } catch (Exception e) {
                         return new ResponseEntity<>("Erro ao atualizar lojista na base de dados: " + e.getMessage(),
@@ -147,6 +152,7 @@ public class SellerServiceImpl implements SellerService {
 
             try {
                 sellerRepository.delete(sellerEntity);
+                searchCacheService.invalidateSeller(sellerEntity);
                 return new ResponseEntity<>("Lojista deletado com sucesso.", HttpStatus.OK);
             } catch (Exception e) {
                 return new ResponseEntity<>("Erro ao deletar lojista na base de dados: " + e.getMessage(),
@@ -1,5 +1,6 @@
 package br.com.fatec.petfood.service.impl;
 
+import br.com.fatec.petfood.exception.ValidationException;
 import br.com.fatec.petfood.model.dto.ProductDTO;
 import br.com.fatec.petfood.model.dto.ProductUpdateDTO;
 import br.com.fatec.petfood.model.dto.SellerDTO;
@@ -10,6 +11,7 @@ import br.com.fatec.petfood.model.entity.mongo.SellerEntity;
 import br.com.fatec.petfood.model.entity.mongo.UserEntity;
 import br.com.fatec.petfood.model.enums.Category;
 import br.com.fatec.petfood.model.enums.CityZone;
+import br.com.fatec.petfood.model.generic.PageCursor;
 import br.com.fatec.petfood.model.generic.RegistrationInfos;
 import br.com.fatec.petfood.repository.mongo.ProductRepository;
 import br.com.fatec.petfood.repository.mongo.SellerRepository;
@@ -37,22 +39,22 @@ public class ValidationServiceImpl implements ValidationService {
     @Override
     public void validateUserDTO(UserDTO userDTO, CityZone cityZone) throws Exception {
         if (!validateUtils.isNotNullAndNotEmpty(userDTO.getName()))
-            throw new Exception("Nome passado inválido(vazio ou nulo).");
+            throw new ValidationException("Nome passado inválido(vazio ou nulo).");
 
         if (userRepository.findByName(userDTO.getName()).isPresent())
-            throw new Exception("Usuário já existe com o nome passado.");
+            throw new ValidationException("Usuário já existe com o nome passado.");
 
         if (!validateUtils.isNotNullAndNotEmpty(userDTO.getEmail()))
-            throw new Exception("Email passado inválido(vazio ou nulo).");
+            throw new ValidationException("Email passado inválido(vazio ou nulo).");
 
         if (userRepository.findByEmail(userDTO.getEmail()).isPresent())
-            throw new Exception("Usuário já existe com o email passado.");
+            throw new ValidationException("Usuário já existe com o email passado.");
 
         if (!validateUtils.isNotNullAndNotEmpty(userDTO.getRegistrationInfos().getDocument()))
-            throw new Exception("CPF passado inválido(vazio ou nulo).");
+            throw new ValidationException("CPF passado inválido(vazio ou nulo).");
 
         if (userRepository.findByDocument(userDTO.getRegistrationInfos().getDocument()).isPresent())
-            throw new Exception("Usuário já existe com o CPF passado.");
+            throw new ValidationException("Usuário já existe com o CPF passado.");
 
         this.genericUserValidate(userDTO.getRegistrationInfos(), userDTO.getPassword(), userDTO.getBirthdayDate(), cityZone);
     }
@@ -60,19 +62,19 @@ public class ValidationServiceImpl implements ValidationService {
     @Override
     public RegistrationInfos validateUserUpdateDTO(UserEntity userEntity, UserUpdateDTO userUpdateDTO, CityZone cityZone) throws Exception {
         if (!validateUtils.isNotNullAndNotEmpty(userUpdateDTO.getName()))
-            throw new Exception("Nome passado inválido(vazio ou nulo).");
+            throw new ValidationException("Nome passado inválido(vazio ou nulo).");
 
         if (!userEntity.getName().equals(userUpdateDTO.getName())) {
             if (userRepository.findByName(userUpdateDTO.getName()).isPresent())
-                throw new Exception("Usuário já existe com o novo nome passado.");
+                throw new ValidationException("Usuário já existe com o novo nome passado.");
         }
 
         if (!validateUtils.isNotNullAndNotEmpty(userUpdateDTO.getEmail()))
-            throw new Exception("Email passado inválido(vazio ou nulo).");
+            throw new ValidationException("Email passado inválido(vazio ou nulo).");
 
         if (!userEntity.getEmail().equals(userUpdateDTO.getEmail())) {
             if (userRepository.findByEmail(userUpdateDTO.getEmail()).isPresent())
-                throw new Exception("Usuário já existe com o novo email passado.");
+                throw new ValidationException("Usuário já existe com o novo email passado.");
         }
 
         RegistrationInfos registrationInfos = new RegistrationInfos(
@@ -92,22 +94,22 @@ public class ValidationServiceImpl implements ValidationService {
     @Override
     public void validateSellerDTO(SellerDTO sellerDTO, CityZone cityZone, List<Category> categories) throws Exception {
         if (!validateUtils.isNotNullAndNotEmpty(sellerDTO.getName()))
-            throw new Exception("Nome passado inválido(vazio ou nulo).");
+            throw new ValidationException("Nome passado inválido(vazio ou nulo).");
 
         if (sellerRepository.findByName(sellerDTO.getName()).isPresent())
-            throw new Exception("Lojista já existe com o nome passado.");
+            throw new ValidationException("Lojista já existe com o nome passado.");
 
         if (!validateUtils.isNotNullAndNotEmpty(sellerDTO.getEmail()))
-            throw new Exception("Email passado inválido(vazio ou nulo).");
+            throw new ValidationException("Email passado inválido(vazio ou nulo).");
 
         if (sellerRepository.findByEmail(sellerDTO.getEmail()).isPresent())
-            throw new Exception("Lojista já existe com o email passado.");
+            throw new ValidationException("Lojista já existe com o email passado.");
 
         if (!validateUtils.isNotNullAndNotEmpty(sellerDTO.getRegistrationInfos().getDocument()))
-            throw new Exception("CNPJ passado inválido(vazio ou nulo).");
+            throw new ValidationException("CNPJ passado inválido(vazio ou nulo).");
 
         if (sellerRepository.findByDocument(sellerDTO.getRegistrationInfos().getDocument()).isPresent())
-            throw new Exception("Lojista já existe com o CNPJ passado.");
+            throw new ValidationException("Lojista já existe com o CNPJ passado.");
 
         this.genericSellerValidate(sellerDTO.getPassword(), sellerDTO.getRegistrationInfos(), sellerDTO.getImageUrl(),
                 sellerDTO.getWeekInitialTimeOperation(), sellerDTO.getWeekFinalTimeOperation(),
@@ -118,19 +120,19 @@ public class ValidationServiceImpl implements ValidationService {
     public RegistrationInfos validateSellerUpdateDTO(SellerEntity sellerEntity, SellerUpdateDTO sellerUpdateDTO,
                                         CityZone cityZone, List<Category> categories) throws Exception {
         if (!validateUtils.isNotNullAndNotEmpty(sellerUpdateDTO.getName()))
-            throw new Exception("Nome passado inválido(vazio ou nulo).");
+            throw new ValidationException("Nome passado inválido(vazio ou nulo).");
 
         if (!sellerEntity.getName().equals(sellerUpdateDTO.getName())) {
             if (sellerRepository.findByName(sellerUpdateDTO.getName()).isPresent())
-                throw new Exception("Lojista já existe com o novo nome passado.");
+                throw new ValidationException("Lojista já existe com o novo nome passado.");
         }
 
         if (!validateUtils.isNotNullAndNotEmpty(sellerUpdateDTO.getEmail()))
-            throw new Exception("Email passado inválido(vazio ou nulo).");
+            throw new ValidationException("Email passado inválido(vazio ou nulo).");
 
         if (!sellerEntity.getEmail().equals(sellerUpdateDTO.getEmail())) {
             if (sellerRepository.findByEmail(sellerUpdateDTO.getEmail()).isPresent())
-                throw new Exception("Lojista já existe com o novo email passado.");
+                throw new ValidationException("Lojista já existe com o novo email passado.");
         }
 
         RegistrationInfos registrationInfos = new RegistrationInfos(
@@ -155,7 +157,7 @@ public class ValidationServiceImpl implements ValidationService {
         SellerEntity sellerEntity;
 
         if (!validateUtils.isNotNullAndNotEmpty(productDTO.getSellerName()))
-            throw new Exception("Nome do lojista passado inválido(vazio ou nulo).");
+            throw new ValidationException("Nome do lojista passado inválido(vazio ou nulo).");
 
         try {
             optionalSellerEntity = sellerRepository.findByName(productDTO.getSellerName());
@@ -166,14 +168,14 @@ public class ValidationServiceImpl implements ValidationService {
         if (optionalSellerEntity.isPresent()) {
             sellerEntity = optionalSellerEntity.get();
         } else {
-            throw new Exception("Lojista não encontrado com o nome passado.");
+            throw new ValidationException("Lojista não encontrado com o nome passado.");
         }
 
         if (!validateUtils.isNotNullAndNotEmpty(productDTO.getTitle()))
-            throw new Exception("Título passado inválido(vazio ou nulo).");
+            throw new ValidationException("Título passado inválido(vazio ou nulo).");
 
         if (productRepository.findByTitleAndSellerName(productDTO.getTitle(), sellerEntity.getName()).isPresent())
-            throw new Exception("Título passado já cadastrado para o lojista passado.");
+            throw new ValidationException("Título passado já cadastrado para o lojista passado.");
 
         this.genericProductValidate(
                 productDTO.getDescription(), productDTO.getBrand(), category, productDTO.getPricePromotion(),
@@ -200,7 +202,7 @@ public class ValidationServiceImpl implements ValidationService {
     @Override
     public void validateSearchSeller(String productTitle, CityZone cityZone, String localTime, Integer page, Integer size) throws Exception {
         if (!validateUtils.isNotNullAndNotEmpty(productTitle))
-            throw new Exception("Nome do produto passado inválido(vazio ou nulo).");
+            throw new ValidationException("Nome do produto passado inválido(vazio ou nulo).");
 
         this.genericSearchValidate(cityZone, localTime, page, size);
     }
@@ -208,7 +210,7 @@ public class ValidationServiceImpl implements ValidationService {
     @Override
     public void validateSearchSellerProducts(String sellerName, Integer page, Integer size) throws Exception {
         if (!validateUtils.isNotNullAndNotEmpty(sellerName))
-            throw new Exception("Nome do lojista passado inválido(vazio ou nulo).");
+            throw new ValidationException("Nome do lojista passado inválido(vazio ou nulo).");
 
         this.genericPageAndSizeValidate(page, size);
     }
@@ -216,41 +218,60 @@ public class ValidationServiceImpl implements ValidationService {
     @Override
     public void validateSearchSellerByCategory(Category category, CityZone cityZone, String localTime, Integer page, Integer size) throws Exception {
         if (Objects.isNull(category))
-            throw new Exception("Categoria passada inválida(vazia ou nula).");
+            throw new ValidationException("Categoria passada inválida(vazia ou nula).");
 
         this.genericSearchValidate(cityZone, localTime, page, size);
     }
 
+    @Override
+    public PageCursor validateSearchSellerProductsByCursor(String sellerName, String cursor, Integer size) throws Exception {
+        if (!validateUtils.isNotNullAndNotEmpty(sellerName))
+            throw new ValidationException("Nome do lojista passado inválido(vazio ou nulo).");
+
+        return this.genericCursorAndSizeValidate(cursor, size);
+    }
+
+    @Override
+    public PageCursor validateSearchSellerByCategoryByCursor(Category category, CityZone cityZone, String localTime, String cursor,
+                                                             Integer size) throws Exception {
+        if (Objects.isNull(category))
+            throw new ValidationException("Categoria passada inválida(vazia ou nula).");
+
+        this.genericCityZoneAndLocalTimeValidate(cityZone, localTime);
+
+        return this.genericCursorAndSizeValidate(cursor, size);
+    }
+
     private void genericValidate(String password, RegistrationInfos registrationInfos, CityZone cityZone) throws Exception {
         if (!validateUtils.isNotNullAndNotEmpty(password))
-            throw new Exception("Senha passada inválida(vazia ou nula).");
+            throw new ValidationException("Senha passada inválida(vazia ou nula).");
 
         if (!validateUtils.isNotNullAndNotEmpty(registrationInfos.getCellPhone()))
-            throw new Exception("Celular passado inválido(vazio ou nulo).");
+            throw new ValidationException("Celular passado inválido(vazio ou nulo).");
 
         if (!validateUtils.isNotNullAndNotEmpty(registrationInfos.getAddress()))
-            throw new Exception("Endereço passado inválido(vazio ou nulo).");
+            throw new ValidationException("Endereço passado inválido(vazio ou nulo).");
 
         if (Objects.isNull(registrationInfos.getNumberAddress()))
-            throw new Exception("Número do endereço passado inválido(vazio ou nulo).");
+            throw new ValidationException("Número do endereço passado inválido(vazio ou nulo).");
         else if (registrationInfos.getNumberAddress().equals(0))
-            throw new Exception("Número do endereço passado inválido(igual a 0).");
+            throw new ValidationException("Número do endereço passado inválido(igual a 0).");
 
         if (!validateUtils.isNotNullAndNotEmpty(registrationInfos.getCep()))
-            throw new Exception("Cep passado inválido(vazio ou nulo).");
+            throw new ValidationException("Cep passado inválido(vazio ou nulo).");
 
         if (!validateUtils.isNotNullAndNotEmpty(registrationInfos.getCity()))
-            throw new Exception("Cidade passada inválida(vazia ou nula).");
+            throw new ValidationException("Cidade passada inválida(vazia ou nula).");
 
         if (Objects.isNull(cityZone))
-            throw new Exception("Zona da cidade passada inválida(vazia ou nula).");
+            throw new ValidationException("Zona da cidade passada inválida(vazia ou nula).");
     }
 
     private void genericUserValidate(
             RegistrationInfos registrationInfos, String password, Date birthdayDate, CityZone cityZone
     ) throws Exception {
         if (Objects.isNull(birthdayDate))
-            throw new Exception("Data de Nascimento passada inválida(vazia ou nula).");
+            throw new ValidationException("Data de Nascimento passada inválida(vazia ou nula).");
 
         this.genericValidate(password, registrationInfos, cityZone);
     }
@@ -263,111 +284,127 @@ public class ValidationServiceImpl implements ValidationService {
         this.genericValidate(password, registrationInfos, cityZone);
 
         if (!validateUtils.isNotNullAndNotEmpty(imageUrl))
-            throw new Exception("Url da imagem passada inválida(vazia ou nula).");
+            throw new ValidationException("Url da imagem passada inválida(vazia ou nula).");
 
         if (!validateUtils.isNotNullAndNotEmpty(weekInitialTimeOperation))
-            throw new Exception("Horário inicial de funcionamento durante a semana passado inválido(vazio ou nulo).");
+            throw new ValidationException("Horário inicial de funcionamento durante a semana passado inválido(vazio ou nulo).");
         else {
             try {
                 LocalTime.parse(weekInitialTimeOperation);
             } catch (Exception e) {
-                throw new Exception("Horário inicial de funcionamento durante a semana passado inválido. Favor passar no seguinte formato: 'HH:MM'.");
+                throw new ValidationException("Horário inicial de funcionamento durante a semana passado inválido. Favor passar no seguinte formato: 'HH:MM'.");
             }
         }
 
         if (!validateUtils.isNotNullAndNotEmpty(weekFinalTimeOperation))
-            throw new Exception("Horário final de funcionamento durante a semana passado inválido(vazio ou nulo).");
+            throw new ValidationException("Horário final de funcionamento durante a semana passado inválido(vazio ou nulo).");
         else {
             try {
                 LocalTime.parse(weekInitialTimeOperation);
             } catch (Exception e) {
-                throw new Exception("Horário final de funcionamento durante a semana passado inválido. Favor passar no seguinte formato: 'HH:MM'.");
+                throw new ValidationException("Horário final de funcionamento durante a semana passado inválido. Favor passar no seguinte formato: 'HH:MM'.");
             }
         }
 
         if (!validateUtils.isNotNullAndNotEmpty(weekendInitialTimeOperation))
-            throw new Exception("Horário inicial de funcionamento durante o final de semana passado inválido(vazio ou nulo).");
+            throw new ValidationException("Horário inicial de funcionamento durante o final de semana passado inválido(vazio ou nulo).");
         else {
             try {
                 LocalTime.parse(weekInitialTimeOperation);
             } catch (Exception e) {
-                throw new Exception("Horário inicial de funcionamento durante o final de semana passado inválido. Favor passar no seguinte formato: 'HH:MM'.");
+                throw new ValidationException("Horário inicial de funcionamento durante o final de semana passado inválido. Favor passar no seguinte formato: 'HH:MM'.");
             }
         }
 
         if (!validateUtils.isNotNullAndNotEmpty(weekendFinalTimeOperation))
-            throw new Exception("Horário final de funcionamento durante o final de semana passado inválido(vazio ou nulo).");
+            throw new ValidationException("Horário final de funcionamento durante o final de semana passado inválido(vazio ou nulo).");
         else {
             try {
                 LocalTime.parse(weekInitialTimeOperation);
             } catch (Exception e) {
-                throw new Exception("Horário final de funcionamento durante o final de semana passado inválido. Favor passar no seguinte formato: 'HH:MM'.");
+                throw new ValidationException("Horário final de funcionamento durante o final de semana passado inválido. Favor passar no seguinte formato: 'HH:MM'.");
             }
         }
 
         if (Objects.isNull(categories))
-            throw new Exception("Categoria passada inválida(vazia ou nula).");
+            throw new ValidationException("Categoria passada inválida(vazia ou nula).");
         else if (categories.isEmpty())
-            throw new Exception("Categoria passada inválida(vazia ou nula).");
+            throw new ValidationException("Categoria passada inválida(vazia ou nula).");
     }
 
     private void genericProductValidate(
             String description, String brand, Category category, Double pricePromotion, Double price, Integer stock, String imageUrl
     ) throws Exception {
         if (!validateUtils.isNotNullAndNotEmpty(description))
-            throw new Exception("Descrição passado inválido(vazio ou nulo).");
+            throw new ValidationException("Descrição passado inválido(vazio ou nulo).");
 
         if (!validateUtils.isNotNullAndNotEmpty(brand))
-            throw new Exception("Marca passada inválida(vazia ou nula).");
+            throw new ValidationException("Marca passada inválida(vazia ou nula).");
 
         if (Objects.isNull(category))
-            throw new Exception("Categoria passada inválida(vazia ou nula).");
+            throw new ValidationException("Categoria passada inválida(vazia ou nula).");
 
         if (Objects.isNull(pricePromotion))
-            throw new Exception("Preço de promoção passado inválido(vazio ou nulo).");
+            throw new ValidationException("Preço de promoção passado inválido(vazio ou nulo).");
         else if (pricePromotion <= 0.0)
-            throw new Exception("Preço de promoção passado inválido(menor ou igual a 0).");
+            throw new ValidationException("Preço de promoção passado inválido(menor ou igual a 0).");
 
         if (Objects.isNull(price))
-            throw new Exception("Preço passado inválido(vazio ou nulo).");
+            throw new ValidationException("Preço passado inválido(vazio ou nulo).");
         else if (price <= 0.0)
-            throw new Exception("Preço passado inválido(menor ou igual a 0).");
+            throw new ValidationException("Preço passado inválido(menor ou igual a 0).");
 
         this.genericProductStockValidate(stock);
 
         if (!validateUtils.isNotNullAndNotEmpty(imageUrl))
-            throw new Exception("Url da imagem passada inválida(vazia ou nula).");
+            throw new ValidationException("Url da imagem passada inválida(vazia ou nula).");
     }
 
     private void genericProductStockValidate(Integer stock) throws Exception {
         if (Objects.isNull(stock))
-            throw new Exception("Estoque passado inválido(vazio ou nulo).");
+            throw new ValidationException("Estoque passado inválido(vazio ou nulo).");
         else if (stock <= 0)
-            throw new Exception("Estoque passado inválido(menor ou igual a 0).");
+            throw new ValidationException("Estoque passado inválido(menor ou igual a 0).");
     }
 
     private void genericSearchValidate(CityZone cityZone, String localTime, Integer page, Integer size) throws Exception {
+        this.genericCityZoneAndLocalTimeValidate(cityZone, localTime);
+        this.genericPageAndSizeValidate(page, size);
+    }
+
+    private void genericCityZoneAndLocalTimeValidate(CityZone cityZone, String localTime) throws Exception {
         if (Objects.isNull(cityZone))
-            throw new Exception("Zona da cidade passada inválida(vazia ou nula).");
+            throw new ValidationException("Zona da cidade passada inválida(vazia ou nula).");
 
         if (!validateUtils.isNotNullAndNotEmpty(localTime))
-            throw new Exception("Horário passado inválido(vazio ou nulo).");
+            throw new ValidationException("Horário passado inválido(vazio ou nulo).");
         else {
             try {
                 LocalTime.parse(localTime);
             } catch (Exception e) {
-                throw new Exception("Horário passado inválido. Favor passar no seguinte formato: 'HH:MM'.");
+                throw new ValidationException("Horário passado inválido. Favor passar no seguinte formato: 'HH:MM'.");
             }
         }
-
-        this.genericPageAndSizeValidate(page, size);
     }
 
     private void genericPageAndSizeValidate(Integer page, Integer size) throws Exception {
         if (Objects.isNull(page))
-            throw new Exception("Página passada inválida(vazia ou nula).");
+            throw new ValidationException("Página passada inválida(vazia ou nula).");
 
         if (Objects.isNull(size))
-            throw new Exception("Tamanho da página passado inválido(vazio ou nulo).");
+            throw new ValidationException("Tamanho da página passado inválido(vazio ou nulo).");
+    }
+
+    /*
+     * Sem cursor é a primeira página. O tamanho precisa ser positivo, já que a busca traz um item a mais para saber se
+     * existe próxima página.
+     */
+    private PageCursor genericCursorAndSizeValidate(String cursor, Integer size) throws Exception {
+        if (Objects.isNull(size))
+            throw new ValidationException("Tamanho da página passado inválido(vazio ou nulo).");
+        else if (size <= 0)
+            throw new ValidationException("Tamanho da página passado inválido(menor ou igual a 0).");
+
+        return validateUtils.isNotNullAndNotEmpty(cursor) ? PageCursor.decode(cursor) : null;
     }
 }
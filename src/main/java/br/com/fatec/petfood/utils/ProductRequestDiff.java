@@ -0,0 +1,42 @@
+package br.com.fatec.petfood.utils;
+
+import br.com.fatec.petfood.model.generic.ProductRequest;
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class ProductRequestDiff {
+
+    private ProductRequestDiff() {
+    }
+
+    /*
+     * Diferença líquida por produto entre as linhas antigas e as novas de um pedido: quantidade positiva é estoque a
+     * reservar e negativa é estoque a liberar. Produtos sem diferença ficam de fora da lista.
+     */
+    public static List<ProductRequest> delta(List<ProductRequest> oldProducts, List<ProductRequest> newProducts) {
+        Map<ObjectId, ProductRequest> deltas = new LinkedHashMap<>();
+        List<ProductRequest> productRequests = new ArrayList<>();
+
+        newProducts.forEach(product -> merge(deltas, product, product.getQuantity()));
+        oldProducts.forEach(product -> merge(deltas, product, -product.getQuantity()));
+
+        deltas.values().forEach(productRequest -> {
+            if (productRequest.getQuantity() != 0)
+                productRequests.add(productRequest);
+        });
+
+        return productRequests;
+    }
+
+    private static void merge(Map<ObjectId, ProductRequest> deltas, ProductRequest product, Integer quantity) {
+        deltas.merge(product.getProductId(), new ProductRequest(product.getProductId(), product.getTitle(), null, null, quantity),
+                (sum, productRequest) -> {
+                    sum.setQuantity(sum.getQuantity() + productRequest.getQuantity());
+                    return sum;
+                });
+    }
+}
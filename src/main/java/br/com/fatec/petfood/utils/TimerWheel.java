@@ -0,0 +1,130 @@
+package br.com.fatec.petfood.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Timer wheel hierárquico: cada nível tem 64 posições e cada posição de um nível cobre 64 ticks do nível anterior.
+ * Prazos distantes ficam nos níveis de cima e descem de nível conforme o tempo avança, então agendar, cancelar e avançar
+ * um tick custam O(1) independente da quantidade de prazos pendentes.
+ */
+public class TimerWheel<K> {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private final long tickMillis;
+    private final List<List<Set<K>>> wheels;
+    private final Map<K, Long> deadlines = new HashMap<>();
+    private final Map<K, Set<K>> buckets = new HashMap<>();
+    private final List<K> expired = new ArrayList<>();
+    private long currentTick;
+
+    public TimerWheel(long tickMillis, int levels, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = nowMillis / tickMillis;
+        this.wheels = new ArrayList<>(levels);
+
+        for (int level = 0; level < levels; level++) {
+            List<Set<K>> wheel = new ArrayList<>(WHEEL_SIZE);
+
+            for (int slot = 0; slot < WHEEL_SIZE; slot++)
+                wheel.add(new HashSet<>());
+
+            wheels.add(wheel);
+        }
+    }
+
+    public synchronized void schedule(K key, long deadlineMillis) {
+        this.remove(key);
+        deadlines.put(key, deadlineMillis);
+        this.place(key, this.tick(deadlineMillis));
+    }
+
+    public synchronized void cancel(K key) {
+        this.remove(key);
+    }
+
+    public synchronized List<K> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+
+        while (currentTick < targetTick) {
+            currentTick++;
+
+            for (int level = 1; level < wheels.size(); level++) {
+                if ((currentTick & ((1L << (WHEEL_BITS * level)) - 1)) != 0)
+                    break;
+
+                this.cascade(wheels.get(level).get((int) ((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK)));
+            }
+
+            this.expire(wheels.get(0).get((int) (currentTick & WHEEL_MASK)));
+        }
+
+        List<K> expiredKeys = new ArrayList<>(expired);
+        expired.clear();
+
+        return expiredKeys;
+    }
+
+    public synchronized int size() {
+        return deadlines.size();
+    }
+
+    private long tick(long deadlineMillis) {
+        return (deadlineMillis + tickMillis - 1) / tickMillis;
+    }
+
+    private void place(K key, long tick) {
+        long delta = tick - currentTick;
+
+        if (delta <= 0) {
+            deadlines.remove(key);
+            expired.add(key);
+            return;
+        }
+
+        int level = 0;
+
+        while (level < wheels.size() - 1 && delta >= (1L << (WHEEL_BITS * (level + 1))))
+            level++;
+
+        Set<K> bucket = wheels.get(level).get((int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK));
+        bucket.add(key);
+        buckets.put(key, bucket);
+    }
+
+    private void cascade(Set<K> bucket) {
+        List<K> keys = new ArrayList<>(bucket);
+        bucket.clear();
+
+        keys.forEach(key -> {
+            buckets.remove(key);
+            this.place(key, this.tick(deadlines.get(key)));
+        });
+    }
+
+    private void expire(Set<K> bucket) {
+        bucket.forEach(key -> {
+            buckets.remove(key);
+            deadlines.remove(key);
+            expired.add(key);
+        });
+        bucket.clear();
+    }
+
+    private void remove(K key) {
+        Set<K> bucket = buckets.remove(key);
+
+        if (bucket != null)
+            bucket.remove(key);
+
+        deadlines.remove(key);
+        expired.remove(key);
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.fatec.petfood.integration.service;
+
+import br.com.fatec.petfood.integration.IntegrationTest;
+import br.com.fatec.petfood.model.entity.mongo.ProductEntity;
+import br.com.fatec.petfood.service.IndexService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+public class IndexServiceTest extends IntegrationTest {
+
+    @Autowired
+    private IndexService indexService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Test
+    public void shouldVerifyIndexesWithSuccess() {
+        indexService.ensureIndexes();
+
+        Assertions.assertTrue(indexService.verifyIndexes().isEmpty());
+    }
+
+    @Test
+    public void shouldRefuseTrafficOnReadinessWhenRefusingTraffic() {
+        Assertions.assertEquals(indexService.getReadiness().getStatusCode(), HttpStatus.OK);
+
+        AvailabilityChangeEvent.publish(applicationEventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        ResponseEntity<?> response = indexService.getReadiness();
+        AvailabilityChangeEvent.publish(applicationEventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.SERVICE_UNAVAILABLE);
+        Assertions.assertEquals(response.getBody(), ReadinessState.REFUSING_TRAFFIC.toString());
+    }
+
+    @Test
+    public void shouldReportAndRecreateMissingIndex() {
+        indexService.ensureIndexes();
+        mongoTemplate.indexOps(ProductEntity.class).dropIndex("sellerName_title");
+
+        List<String> indexErrors = indexService.verifyIndexes();
+
+        Assertions.assertEquals(1, indexErrors.size());
+        Assertions.assertTrue(indexErrors.get(0).contains("sellerName_title"));
+
+        indexService.ensureIndexes();
+
+        Assertions.assertTrue(indexService.verifyIndexes().isEmpty());
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.fatec.petfood.integration.service;
+
+import br.com.fatec.petfood.integration.IntegrationTest;
+import br.com.fatec.petfood.model.entity.mongo.LockEntity;
+import br.com.fatec.petfood.repository.mongo.LockRepository;
+import br.com.fatec.petfood.service.LockService;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Optional;
+
+public class LockServiceTest extends IntegrationTest {
+
+    @Autowired
+    private LockService lockService;
+
+    @Autowired
+    private LockRepository lockRepository;
+
+    private final String lockName = "lockServiceTest";
+
+    @BeforeEach
+    public void setup() {
+        lockRepository.deleteAll();
+    }
+
+    @Test
+    public void shouldAcquireLockOnlyOnceWhileLeaseIsValid() {
+        Optional<Long> token = lockService.acquireLock(lockName, 60);
+
+        Assertions.assertTrue(token.isPresent());
+        Assertions.assertTrue(lockRepository.acquire(lockName, "otherInstance", DateTime.now().plusSeconds(60)).isEmpty());
+        Assertions.assertTrue(lockService.renewLock(lockName, token.get(), 60));
+    }
+
+    @Test
+    public void shouldAcquireReleasedLockWithNewToken() {
+        Optional<Long> token = lockService.acquireLock(lockName, 60);
+
+        Assertions.assertTrue(token.isPresent());
+
+        lockService.releaseLock(lockName, token.get(), DateTime.now());
+        Optional<LockEntity> lockEntity = lockRepository.acquire(lockName, "otherInstance", DateTime.now().plusSeconds(60));
+
+        Assertions.assertTrue(lockEntity.isPresent());
+        Assertions.assertEquals(token.get() + 1, lockEntity.get().getToken());
+        Assertions.assertFalse(lockService.renewLock(lockName, token.get(), 60));
+    }
+
+    @Test
+    public void shouldHoldReleasedLockUntilLockedUntil() {
+        Optional<Long> token = lockService.acquireLock(lockName, 60);
+
+        Assertions.assertTrue(token.isPresent());
+
+        lockService.releaseLock(lockName, token.get(), DateTime.now().plusSeconds(30));
+
+        Assertions.assertTrue(lockRepository.acquire(lockName, "otherInstance", DateTime.now().plusSeconds(60)).isEmpty());
+    }
+}
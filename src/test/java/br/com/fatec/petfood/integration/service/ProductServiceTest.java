@@ -4,15 +4,20 @@ import br.com.fatec.petfood.integration.IntegrationTest;
 import br.com.fatec.petfood.model.dto.ProductDTO;
 import br.com.fatec.petfood.model.dto.ProductUpdateDTO;
 import br.com.fatec.petfood.model.dto.SellerDTO;
+import br.com.fatec.petfood.model.entity.mongo.ProductEntity;
 import br.com.fatec.petfood.model.enums.Category;
 import br.com.fatec.petfood.model.enums.CityZone;
+import br.com.fatec.petfood.model.generic.ProductRequest;
+import br.com.fatec.petfood.repository.mongo.ProductRepository;
 import br.com.fatec.petfood.service.ProductService;
 import br.com.fatec.petfood.service.SellerService;
 import io.github.benas.randombeans.api.EnhancedRandom;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -27,6 +32,9 @@ public class ProductServiceTest extends IntegrationTest {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private ProductRepository productRepository;
+
     private final SellerDTO sellerDTO = EnhancedRandom.random(SellerDTO.class);
     private final ProductDTO productDTO = EnhancedRandom.random(ProductDTO.class);
     private final List<Category> categories = Arrays.asList(Category.FOOD, Category.OTHERS);
@@ -167,6 +175,35 @@ public class ProductServiceTest extends IntegrationTest {
         Assertions.assertEquals(updateResponse.getBody(), "Estoque do produto atualizado com sucesso.");
     }
 
+    @Test
+    public void shouldRejectStaleVersionOnSaveProduct() {
+        ResponseEntity<?> sellerResponse = sellerService.createSeller(sellerDTO, CityZone.EAST, categories);
+
+        Assertions.assertEquals(sellerResponse.getStatusCode(), HttpStatus.CREATED);
+
+        ResponseEntity<?> response = productService.createProduct(productDTO, Category.FOOD);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.CREATED);
+
+        ProductEntity firstProductEntity = productRepository.findByTitleAndSellerName(productDTO.getTitle(), productDTO.getSellerName())
+                .orElseThrow();
+        ProductEntity secondProductEntity = productRepository.findByTitleAndSellerName(productDTO.getTitle(), productDTO.getSellerName())
+                .orElseThrow();
+
+        firstProductEntity.setStock(20);
+        productRepository.save(firstProductEntity);
+        secondProductEntity.setStock(30);
+
+        Assertions.assertThrows(OptimisticLockingFailureException.class, () -> productRepository.save(secondProductEntity));
+
+        ResponseEntity<?> updateResponse = productService
+                .updateStockProduct(productDTO.getTitle(), productDTO.getSellerName(), 50);
+
+        Assertions.assertEquals(updateResponse.getStatusCode(), HttpStatus.OK);
+        productRepository.findByTitleAndSellerName(productDTO.getTitle(), productDTO.getSellerName())
+                .ifPresent(productEntity -> Assertions.assertEquals(productEntity.getStock(), 50));
+    }
+
     @Test
     public void shouldNotFindProductToUpdateStock() {
         ResponseEntity<?> response = productService
@@ -177,7 +214,7 @@ public class ProductServiceTest extends IntegrationTest {
     }
 
     @Test
-    public void shouldUpdateStockProductFromRequestWithSuccess() {
+    public void shouldReserveAndReleaseStockProductFromRequestWithSuccess() {
         ResponseEntity<?> sellerResponse = sellerService.createSeller(sellerDTO, CityZone.EAST, categories);
 
         Assertions.assertEquals(sellerResponse.getStatusCode(), HttpStatus.CREATED);
@@ -188,16 +225,29 @@ public class ProductServiceTest extends IntegrationTest {
         Assertions.assertEquals(response.getStatusCode(), HttpStatus.CREATED);
         Assertions.assertEquals(response.getBody(), "Produto cadastrado com sucesso.");
 
-        Assertions.assertDoesNotThrow(() ->
-                productService.updateStockProductFromRequest(productDTO.getTitle(), productDTO.getSellerName(), 50));
+        ProductEntity productEntity = productRepository.findByTitleAndSellerName(productDTO.getTitle(), productDTO.getSellerName()).get();
+        ProductRequest firstProduct = new ProductRequest(productEntity.getId(), productEntity.getTitle(), 9.99, 9.99, 3);
+        ProductRequest secondProduct = new ProductRequest(productEntity.getId(), productEntity.getTitle(), 9.99, 9.99, 3);
+
+        List<ProductRequest> failedProducts = productService.reserveStockProductFromRequest(List.of(firstProduct, secondProduct));
+
+        Assertions.assertEquals(failedProducts.size(), 1);
+        Assertions.assertEquals(productRepository.findById(productEntity.getId().toString()).get().getStock(), 2);
+
+        productService.releaseStockProductFromRequest(List.of(failedProducts.get(0) == firstProduct ? secondProduct : firstProduct));
+
+        Assertions.assertEquals(productRepository.findById(productEntity.getId().toString()).get().getStock(), 5);
     }
 
     @Test
-    public void shouldNotFindProductToUpdateStockFromRequest() {
-        productService.updateStockProductFromRequest(productDTO.getTitle(), productDTO.getSellerName(), 10);
+    public void shouldNotReserveStockFromRequestForNotFoundProduct() {
+        ObjectId productId = new ObjectId();
+        ProductRequest product = new ProductRequest(productId, productDTO.getTitle(), 9.99, 9.99, 1);
+
+        List<ProductRequest> failedProducts = productService.reserveStockProductFromRequest(List.of(product));
 
-        Assertions.assertDoesNotThrow(() ->
-                productService.updateStockProductFromRequest(productDTO.getTitle(), productDTO.getSellerName(), 50));
+        Assertions.assertEquals(failedProducts, List.of(product));
+        Assertions.assertFalse(productRepository.findById(productId.toString()).isPresent());
     }
 
     @Test
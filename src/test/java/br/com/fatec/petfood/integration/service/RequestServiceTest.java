@@ -1,7 +1,9 @@
 package br.com.fatec.petfood.integration.service;
 
 import br.com.fatec.petfood.integration.IntegrationTest;
+import br.com.fatec.petfood.model.dto.CursorPageDTO;
 import br.com.fatec.petfood.model.dto.ProductRequestDTO;
+import br.com.fatec.petfood.model.dto.RequestBatchResultDTO;
 import br.com.fatec.petfood.model.dto.RequestDTO;
 import br.com.fatec.petfood.model.dto.RequestUpdateDTO;
 import br.com.fatec.petfood.model.entity.mongo.ProductEntity;
@@ -9,22 +11,30 @@ import br.com.fatec.petfood.model.entity.mongo.RequestEntity;
 import br.com.fatec.petfood.model.entity.mongo.SellerEntity;
 import br.com.fatec.petfood.model.entity.mongo.UserEntity;
 import br.com.fatec.petfood.model.enums.Status;
+import br.com.fatec.petfood.model.generic.ProductRequest;
+import br.com.fatec.petfood.model.generic.ValidationResult;
+import br.com.fatec.petfood.model.mapper.RequestMapper;
 import br.com.fatec.petfood.repository.mongo.ProductRepository;
 import br.com.fatec.petfood.repository.mongo.RequestRepository;
 import br.com.fatec.petfood.repository.mongo.ScheduleRepository;
 import br.com.fatec.petfood.repository.mongo.SellerRepository;
 import br.com.fatec.petfood.repository.mongo.UserRepository;
 import br.com.fatec.petfood.service.RequestService;
+import br.com.fatec.petfood.service.ScheduleAuditService;
 import io.github.benas.randombeans.api.EnhancedRandom;
 import org.bson.types.ObjectId;
 import org.joda.time.DateTime;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,6 +43,9 @@ public class RequestServiceTest extends IntegrationTest {
     @Autowired
     private RequestService requestService;
 
+    @Autowired
+    private RequestMapper requestMapper;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -42,17 +55,23 @@ public class RequestServiceTest extends IntegrationTest {
     @Autowired
     private RequestRepository requestRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     @Autowired
     private ScheduleRepository scheduleRepository;
 
+    @Autowired
+    private ScheduleAuditService scheduleAuditService;
+
     @Autowired
     private ProductRepository productRepository;
 
     private final RequestDTO requestDTO = EnhancedRandom.random(RequestDTO.class);
     private final UserEntity userEntity = EnhancedRandom.random(UserEntity.class);
     private final SellerEntity sellerEntity = EnhancedRandom.random(SellerEntity.class);
-    private final ProductEntity firstProductEntity = EnhancedRandom.random(ProductEntity.class);
-    private final ProductEntity secondProductEntity = EnhancedRandom.random(ProductEntity.class);
+    private final ProductEntity firstProductEntity = EnhancedRandom.random(ProductEntity.class, "version");
+    private final ProductEntity secondProductEntity = EnhancedRandom.random(ProductEntity.class, "version");
     private final RequestUpdateDTO requestUpdateDTO = EnhancedRandom.random(RequestUpdateDTO.class);
 
     @Test
@@ -82,7 +101,7 @@ public class RequestServiceTest extends IntegrationTest {
 
         Assertions.assertEquals(response.getStatusCode(), HttpStatus.CREATED);
 
-        Optional<List<RequestEntity>> optionalRequestEntityList = requestRepository.findAllBySellerName(sellerEntity.getName());
+        Optional<List<RequestEntity>> optionalRequestEntityList = this.findAllBySellerName(sellerEntity.getName());
 
         if (optionalRequestEntityList.isPresent()) {
             RequestEntity requestEntity = optionalRequestEntityList.get().get(0);
@@ -178,8 +197,10 @@ public class RequestServiceTest extends IntegrationTest {
         ResponseEntity<?> notExistsResponse = requestService.createRequest(requestDTO);
 
         Assertions.assertEquals(notExistsResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
-        Assertions.assertEquals(notExistsResponse.getBody(), "Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido):  [Produto com o título: {"
-                + notExistsProductRequestDTO.getTitle() + "} não encontrado para o lojista passado.] ");
+        Assertions.assertEquals(((ValidationResult) notExistsResponse.getBody()).getMessage(),
+                "Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido).");
+        Assertions.assertEquals(((ValidationResult) notExistsResponse.getBody()).getErrors(), List.of("Produto com o título: {"
+                + notExistsProductRequestDTO.getTitle() + "} não encontrado para o lojista passado."));
 
         final ProductRequestDTO nullStockProductRequestDTO = new ProductRequestDTO(firstProductEntity.getTitle(), null);
         requestDTO.setProducts(List.of(nullStockProductRequestDTO));
@@ -187,8 +208,10 @@ public class RequestServiceTest extends IntegrationTest {
         ResponseEntity<?> nullStockResponse = requestService.createRequest(requestDTO);
 
         Assertions.assertEquals(nullStockResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
-        Assertions.assertEquals(nullStockResponse.getBody(), "Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido):  [Produto com o título: {"
-                + nullStockProductRequestDTO.getTitle() + "} passado com estoque inválido(vazio ou nulo).] ");
+        Assertions.assertEquals(((ValidationResult) nullStockResponse.getBody()).getMessage(),
+                "Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido).");
+        Assertions.assertEquals(((ValidationResult) nullStockResponse.getBody()).getErrors(), List.of("Produto com o título: {"
+                + nullStockProductRequestDTO.getTitle() + "} passado com estoque inválido(vazio ou nulo)."));
 
         final ProductRequestDTO negativeStockProductRequestDTO = new ProductRequestDTO(firstProductEntity.getTitle(), -1);
         requestDTO.setProducts(List.of(negativeStockProductRequestDTO));
@@ -196,8 +219,10 @@ public class RequestServiceTest extends IntegrationTest {
         ResponseEntity<?> negativeStockResponse = requestService.createRequest(requestDTO);
 
         Assertions.assertEquals(negativeStockResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
-        Assertions.assertEquals(negativeStockResponse.getBody(), "Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido):  [Produto com o título: {"
-                + negativeStockProductRequestDTO.getTitle() + "} passado com estoque inválido(menor ou igual a 0).] ");
+        Assertions.assertEquals(((ValidationResult) negativeStockResponse.getBody()).getMessage(),
+                "Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido).");
+        Assertions.assertEquals(((ValidationResult) negativeStockResponse.getBody()).getErrors(), List.of("Produto com o título: {"
+                + negativeStockProductRequestDTO.getTitle() + "} passado com estoque inválido(menor ou igual a 0)."));
 
         firstProductEntity.setStock(5);
         firstProductEntity.setPrice(9.99);
@@ -211,9 +236,45 @@ public class RequestServiceTest extends IntegrationTest {
         ResponseEntity<?> invalidStockResponse = requestService.createRequest(requestDTO);
 
         Assertions.assertEquals(invalidStockResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
-        Assertions.assertEquals(invalidStockResponse.getBody(), "Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido):  [Produto com o título: {"
+        Assertions.assertEquals(((ValidationResult) invalidStockResponse.getBody()).getMessage(),
+                "Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido).");
+        Assertions.assertEquals(((ValidationResult) invalidStockResponse.getBody()).getErrors(), List.of("Produto com o título: {"
                 + invalidStockProductRequestDTO.getTitle() + "} não tem estoque necessário. Estoque solicitado: {" + invalidStockProductRequestDTO.getQuantity() +
-                "}, estoque atual: {" + firstProductEntity.getStock() + "}] ");
+                "}, estoque atual: {" + firstProductEntity.getStock() + "}."));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldCreateRequestsInBatchWithSuccess() {
+        userRepository.save(userEntity);
+        sellerRepository.save(sellerEntity);
+        firstProductEntity.setStock(5);
+        firstProductEntity.setPrice(9.99);
+        firstProductEntity.setPricePromotion(9.99);
+        firstProductEntity.setSellerId(sellerEntity.getId());
+        firstProductEntity.setSellerName(sellerEntity.getName());
+        productRepository.save(firstProductEntity);
+        final ProductRequestDTO productRequestDTO = new ProductRequestDTO(firstProductEntity.getTitle(), 2);
+        final RequestDTO firstRequestDTO = new RequestDTO(sellerEntity.getName(), userEntity.getName(), List.of(productRequestDTO), 9.99);
+        final RequestDTO secondRequestDTO = new RequestDTO(sellerEntity.getName(), userEntity.getName(), List.of(productRequestDTO), 9.99);
+        final RequestDTO thirdRequestDTO = new RequestDTO(sellerEntity.getName(), userEntity.getName(), List.of(productRequestDTO), 9.99);
+        final RequestDTO invalidRequestDTO = new RequestDTO("invalidSeller", userEntity.getName(), List.of(productRequestDTO), 9.99);
+
+        ResponseEntity<?> response = requestService.createRequests(List.of(firstRequestDTO, secondRequestDTO, thirdRequestDTO,
+                invalidRequestDTO));
+        List<RequestBatchResultDTO> results = (List<RequestBatchResultDTO>) response.getBody();
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.OK);
+        Assertions.assertNotNull(results);
+        Assertions.assertEquals(HttpStatus.CREATED.value(), results.get(0).getHttpStatus());
+        Assertions.assertEquals(HttpStatus.CREATED.value(), results.get(1).getHttpStatus());
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST.value(), results.get(2).getHttpStatus());
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST.value(), results.get(3).getHttpStatus());
+        Assertions.assertEquals("Lojista não encontrado com o nome passado.", results.get(3).getMessage());
+        Assertions.assertEquals(2, this.findAllBySellerName(sellerEntity.getName()).orElse(List.of()).size());
+
+        productRepository.findById(firstProductEntity.getId().toString())
+                .ifPresent(productEntity -> Assertions.assertEquals(productEntity.getStock(), 1));
     }
 
     @Test
@@ -240,11 +301,11 @@ public class RequestServiceTest extends IntegrationTest {
         requestDTO.setProducts(List.of(firstProductRequestDTO, secondProductRequestDTO));
         requestService.createRequest(requestDTO);
 
-        ResponseEntity<?> sellerResponse = requestService.findRequestBySeller(sellerEntity.getName());
+        ResponseEntity<?> sellerResponse = requestService.findRequestBySeller(sellerEntity.getName(), null, null, null, null, null);
 
         Assertions.assertEquals(sellerResponse.getStatusCode(), HttpStatus.OK);
 
-        Optional<List<RequestEntity>> optionalRequestEntityList = requestRepository.findAllBySellerName(sellerEntity.getName());
+        Optional<List<RequestEntity>> optionalRequestEntityList = this.findAllBySellerName(sellerEntity.getName());
 
         if (optionalRequestEntityList.isPresent()) {
             ResponseEntity<?> idResponse = requestService.findRequestById(optionalRequestEntityList.get().get(0).getId().toString());
@@ -252,16 +313,114 @@ public class RequestServiceTest extends IntegrationTest {
             Assertions.assertEquals(idResponse.getStatusCode(), HttpStatus.OK);
         }
 
-        ResponseEntity<?> userResponse = requestService.findRequestByUser(userEntity.getName());
+        ResponseEntity<?> userResponse = requestService.findRequestByUser(userEntity.getName(), null, null, null, null, null);
 
         Assertions.assertEquals(userResponse.getStatusCode(), HttpStatus.OK);
 
         ResponseEntity<?> sellerAndUserResponse =
-                requestService.findRequestBySellerAndUser(sellerEntity.getName(), userEntity.getName());
+                requestService.findRequestBySellerAndUser(sellerEntity.getName(), userEntity.getName(), null, null, null, null, null);
 
         Assertions.assertEquals(sellerAndUserResponse.getStatusCode(), HttpStatus.OK);
     }
 
+    @Test
+    public void shouldFindRequestBySellerAndUserByCursorWithSuccess() {
+        for (int i = 0; i < 3; i++) {
+            RequestEntity requestEntity = EnhancedRandom.random(RequestEntity.class, "version");
+            requestEntity.setSellerName(sellerEntity.getName());
+            requestEntity.setUserName(userEntity.getName());
+            requestRepository.save(requestEntity);
+        }
+
+        List<Object> expectedRequests = new ArrayList<>();
+        this.findAllBySellerName(sellerEntity.getName()).orElseThrow().stream()
+                .sorted(Comparator.comparing(RequestEntity::getDefaultDateTime).thenComparing(RequestEntity::getId).reversed())
+                .forEach(requestEntity -> expectedRequests.add(requestMapper.toReturnDTO(requestEntity)));
+
+        ResponseEntity<?> firstResponse = requestService.findRequestBySellerAndUser(sellerEntity.getName(), userEntity.getName(), null,
+                null, null, null, 2);
+
+        Assertions.assertEquals(firstResponse.getStatusCode(), HttpStatus.OK);
+        CursorPageDTO<?> firstPage = (CursorPageDTO<?>) firstResponse.getBody();
+        Assertions.assertEquals(expectedRequests.subList(0, 2), firstPage.getContent());
+        Assertions.assertNotNull(firstPage.getNextCursor());
+
+        ResponseEntity<?> secondResponse = requestService.findRequestBySeller(sellerEntity.getName(), null, null, null,
+                firstPage.getNextCursor(), 2);
+
+        Assertions.assertEquals(secondResponse.getStatusCode(), HttpStatus.OK);
+        CursorPageDTO<?> secondPage = (CursorPageDTO<?>) secondResponse.getBody();
+        Assertions.assertEquals(expectedRequests.subList(2, 3), secondPage.getContent());
+        Assertions.assertNull(secondPage.getNextCursor());
+
+        ResponseEntity<?> invalidSizeResponse = requestService.findRequestByUser(userEntity.getName(), null, null, null, null, 0);
+
+        Assertions.assertEquals(invalidSizeResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
+        Assertions.assertEquals(invalidSizeResponse.getBody(), "Tamanho da página passado inválido(menor ou igual a 0).");
+    }
+
+    @Test
+    public void shouldFindRequestBySellerWithStatusAndDateFilters() {
+        for (Status status : List.of(Status.CREATED, Status.CANCELED, Status.CREATED)) {
+            RequestEntity requestEntity = EnhancedRandom.random(RequestEntity.class, "version");
+            requestEntity.setSellerName(sellerEntity.getName());
+            requestEntity.setStatus(status);
+            requestRepository.save(requestEntity);
+        }
+
+        ResponseEntity<?> createdResponse = requestService.findRequestBySeller(sellerEntity.getName(), Status.CREATED, null, null, null, null);
+
+        Assertions.assertEquals(createdResponse.getStatusCode(), HttpStatus.OK);
+        Assertions.assertEquals(2, ((CursorPageDTO<?>) createdResponse.getBody()).getContent().size());
+
+        ResponseEntity<?> periodResponse = requestService.findRequestBySeller(sellerEntity.getName(), null,
+                DateTime.now().minusDays(1).toString(), DateTime.now().plusDays(1).toString(), null, null);
+
+        Assertions.assertEquals(periodResponse.getStatusCode(), HttpStatus.OK);
+        Assertions.assertEquals(3, ((CursorPageDTO<?>) periodResponse.getBody()).getContent().size());
+
+        ResponseEntity<?> futureResponse = requestService.findRequestBySeller(sellerEntity.getName(), null,
+                DateTime.now().plusDays(1).toString(), null, null, null);
+
+        Assertions.assertEquals(futureResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
+        Assertions.assertEquals(futureResponse.getBody(), "Pedido(s) não encontrado(s) com o nome de lojista passado.");
+
+        ResponseEntity<?> invalidPeriodResponse = requestService.findRequestBySeller(sellerEntity.getName(), null,
+                DateTime.now().toString(), DateTime.now().minusDays(1).toString(), null, null);
+
+        Assertions.assertEquals(invalidPeriodResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
+        Assertions.assertEquals(invalidPeriodResponse.getBody(), "Período passado inválido(data inicial depois da data final).");
+
+        ResponseEntity<?> invalidDateResponse = requestService.findRequestBySeller(sellerEntity.getName(), null, "AAAAA", null, null, null);
+
+        Assertions.assertEquals(invalidDateResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
+        Assertions.assertEquals(invalidDateResponse.getBody(),
+                "Data inicial passada inválida. Favor passar no formato ISO 8601: 'AAAA-MM-DD' ou 'AAAA-MM-DDTHH:MM:SS'.");
+    }
+
+    @Test
+    public void shouldFindRequestBySellerOnSingleDayPeriod() {
+        for (DateTime defaultDateTime : List.of(new DateTime(2021, 3, 9, 23, 59), new DateTime(2021, 3, 10, 0, 0),
+                new DateTime(2021, 3, 10, 15, 0), new DateTime(2021, 3, 11, 0, 0))) {
+            RequestEntity requestEntity = EnhancedRandom.random(RequestEntity.class, "version");
+            requestEntity.setSellerName(sellerEntity.getName());
+            requestEntity.setDefaultDateTime(defaultDateTime);
+            requestRepository.save(requestEntity);
+        }
+
+        ResponseEntity<?> dayResponse = requestService.findRequestBySeller(sellerEntity.getName(), null, "2021-03-10", "2021-03-10",
+                null, null);
+
+        Assertions.assertEquals(dayResponse.getStatusCode(), HttpStatus.OK);
+        Assertions.assertEquals(2, ((CursorPageDTO<?>) dayResponse.getBody()).getContent().size());
+
+        ResponseEntity<?> instantResponse = requestService.findRequestBySeller(sellerEntity.getName(), null, "2021-03-10T15:00:00",
+                "2021-03-10T15:00:00", null, null);
+
+        Assertions.assertEquals(instantResponse.getStatusCode(), HttpStatus.OK);
+        Assertions.assertEquals(1, ((CursorPageDTO<?>) instantResponse.getBody()).getContent().size());
+    }
+
     @Test
     public void shouldResponseBadRequestWithInvalidParamsOnFindByIdOrSellerOrUser() {
         ResponseEntity<?> nullIdResponse = requestService.findRequestById(null);
@@ -279,22 +438,22 @@ public class RequestServiceTest extends IntegrationTest {
         Assertions.assertEquals(invalidIdResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
         Assertions.assertEquals(invalidIdResponse.getBody(), "Id do pedido passado inválido.");
 
-        ResponseEntity<?> nullSellerResponse = requestService.findRequestBySeller(null);
+        ResponseEntity<?> nullSellerResponse = requestService.findRequestBySeller(null, null, null, null, null, null);
 
         Assertions.assertEquals(nullSellerResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
         Assertions.assertEquals(nullSellerResponse.getBody(), "Nome do lojista passado inválido(vazio ou nulo).");
 
-        ResponseEntity<?> emptySellerResponse = requestService.findRequestBySeller("");
+        ResponseEntity<?> emptySellerResponse = requestService.findRequestBySeller("", null, null, null, null, null);
 
         Assertions.assertEquals(emptySellerResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
         Assertions.assertEquals(emptySellerResponse.getBody(), "Nome do lojista passado inválido(vazio ou nulo).");
 
-        ResponseEntity<?> nullUserResponse = requestService.findRequestByUser(null);
+        ResponseEntity<?> nullUserResponse = requestService.findRequestByUser(null, null, null, null, null, null);
 
         Assertions.assertEquals(nullUserResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
         Assertions.assertEquals(nullUserResponse.getBody(), "Nome do usuário passado inválido(vazio ou nulo).");
 
-        ResponseEntity<?> emptyUserResponse = requestService.findRequestByUser("");
+        ResponseEntity<?> emptyUserResponse = requestService.findRequestByUser("", null, null, null, null, null);
 
         Assertions.assertEquals(emptyUserResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
         Assertions.assertEquals(emptyUserResponse.getBody(), "Nome do usuário passado inválido(vazio ou nulo).");
@@ -303,25 +462,25 @@ public class RequestServiceTest extends IntegrationTest {
     @Test
     public void shouldResponseBadRequestWithInvalidParamsOnFindBySellerAndUser() {
         ResponseEntity<?> nullSellerResponse =
-                requestService.findRequestBySellerAndUser(null, userEntity.getName());
+                requestService.findRequestBySellerAndUser(null, userEntity.getName(), null, null, null, null, null);
 
         Assertions.assertEquals(nullSellerResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
         Assertions.assertEquals(nullSellerResponse.getBody(), "Nome do lojista passado inválido(vazio ou nulo).");
 
         ResponseEntity<?> emptySellerResponse =
-                requestService.findRequestBySellerAndUser("", userEntity.getName());
+                requestService.findRequestBySellerAndUser("", userEntity.getName(), null, null, null, null, null);
 
         Assertions.assertEquals(emptySellerResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
         Assertions.assertEquals(emptySellerResponse.getBody(), "Nome do lojista passado inválido(vazio ou nulo).");
 
         ResponseEntity<?> nullUserResponse =
-                requestService.findRequestBySellerAndUser(sellerEntity.getName(), null);
+                requestService.findRequestBySellerAndUser(sellerEntity.getName(), null, null, null, null, null, null);
 
         Assertions.assertEquals(nullUserResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
         Assertions.assertEquals(nullUserResponse.getBody(), "Nome do usuário passado inválido(vazio ou nulo).");
 
         ResponseEntity<?> emptyUserResponse =
-                requestService.findRequestBySellerAndUser(sellerEntity.getName(), "");
+                requestService.findRequestBySellerAndUser(sellerEntity.getName(), "", null, null, null, null, null);
 
         Assertions.assertEquals(emptyUserResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
         Assertions.assertEquals(emptyUserResponse.getBody(), "Nome do usuário passado inválido(vazio ou nulo).");
@@ -334,18 +493,18 @@ public class RequestServiceTest extends IntegrationTest {
         Assertions.assertEquals(idResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
         Assertions.assertEquals(idResponse.getBody(), "Pedido não encontrado com o id de pedido passado.");
 
-        ResponseEntity<?> sellerResponse = requestService.findRequestBySeller(sellerEntity.getName());
+        ResponseEntity<?> sellerResponse = requestService.findRequestBySeller(sellerEntity.getName(), null, null, null, null, null);
 
         Assertions.assertEquals(sellerResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
         Assertions.assertEquals(sellerResponse.getBody(), "Pedido(s) não encontrado(s) com o nome de lojista passado.");
 
-        ResponseEntity<?> userResponse = requestService.findRequestByUser(userEntity.getName());
+        ResponseEntity<?> userResponse = requestService.findRequestByUser(userEntity.getName(), null, null, null, null, null);
 
         Assertions.assertEquals(userResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
         Assertions.assertEquals(userResponse.getBody(), "Pedido(s) não encontrado(s) com o nome de usuário passado.");
 
         ResponseEntity<?> sellerAndUserResponse =
-                requestService.findRequestBySellerAndUser(sellerEntity.getName(), userEntity.getName());
+                requestService.findRequestBySellerAndUser(sellerEntity.getName(), userEntity.getName(), null, null, null, null, null);
 
         Assertions.assertEquals(sellerAndUserResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
         Assertions.assertEquals(sellerAndUserResponse.getBody(),
@@ -380,7 +539,7 @@ public class RequestServiceTest extends IntegrationTest {
 
         Assertions.assertEquals(createResponse.getStatusCode(), HttpStatus.CREATED);
 
-        Optional<List<RequestEntity>> optionalRequestEntityList = requestRepository.findAllBySellerName(sellerEntity.getName());
+        Optional<List<RequestEntity>> optionalRequestEntityList = this.findAllBySellerName(sellerEntity.getName());
 
         if (optionalRequestEntityList.isPresent()) {
             RequestEntity requestEntity = optionalRequestEntityList.get().get(0);
@@ -399,7 +558,7 @@ public class RequestServiceTest extends IntegrationTest {
             Assertions.assertEquals(updateResponse.getBody(), "Pedido atualizado com sucesso.");
         }
 
-        optionalRequestEntityList = requestRepository.findAllBySellerName(sellerEntity.getName());
+        optionalRequestEntityList = this.findAllBySellerName(sellerEntity.getName());
 
         if (optionalRequestEntityList.isPresent()) {
             RequestEntity requestEntity = optionalRequestEntityList.get().get(0);
@@ -408,6 +567,12 @@ public class RequestServiceTest extends IntegrationTest {
             Assertions.assertEquals(requestEntity.getShippingPrice(), 0.00);
             Assertions.assertEquals(requestEntity.getStatus(), Status.PROCESSED);
         }
+
+        productRepository.findById(firstProductEntity.getId().toString())
+                .ifPresent(productEntity -> Assertions.assertEquals(productEntity.getStock(), 5));
+
+        productRepository.findById(secondProductEntity.getId().toString())
+                .ifPresent(productEntity -> Assertions.assertEquals(productEntity.getStock(), 5));
     }
 
     @Test
@@ -438,7 +603,7 @@ public class RequestServiceTest extends IntegrationTest {
 
         Assertions.assertEquals(createResponse.getStatusCode(), HttpStatus.CREATED);
 
-        Optional<List<RequestEntity>> optionalRequestEntityList = requestRepository.findAllBySellerName(sellerEntity.getName());
+        Optional<List<RequestEntity>> optionalRequestEntityList = this.findAllBySellerName(sellerEntity.getName());
 
         if (optionalRequestEntityList.isPresent()) {
             RequestEntity requestEntity = optionalRequestEntityList.get().get(0);
@@ -454,7 +619,7 @@ public class RequestServiceTest extends IntegrationTest {
             Assertions.assertEquals(updateResponse.getBody(), "Pedido atualizado com sucesso.");
         }
 
-        optionalRequestEntityList = requestRepository.findAllBySellerName(sellerEntity.getName());
+        optionalRequestEntityList = this.findAllBySellerName(sellerEntity.getName());
 
         if (optionalRequestEntityList.isPresent()) {
             RequestEntity requestEntity = optionalRequestEntityList.get().get(0);
@@ -462,6 +627,12 @@ public class RequestServiceTest extends IntegrationTest {
             Assertions.assertEquals(requestEntity.getProducts().get(1).getQuantity(), 1);
             Assertions.assertEquals(requestEntity.getStatus(), Status.PROCESSED);
         }
+
+        productRepository.findById(firstProductEntity.getId().toString())
+                .ifPresent(productEntity -> Assertions.assertEquals(productEntity.getStock(), 4));
+
+        productRepository.findById(secondProductEntity.getId().toString())
+                .ifPresent(productEntity -> Assertions.assertEquals(productEntity.getStock(), 4));
     }
 
     @Test
@@ -509,7 +680,7 @@ public class RequestServiceTest extends IntegrationTest {
 
         Assertions.assertEquals(createResponse.getStatusCode(), HttpStatus.CREATED);
 
-        Optional<List<RequestEntity>> optionalRequestEntityList = requestRepository.findAllBySellerName(sellerEntity.getName());
+        Optional<List<RequestEntity>> optionalRequestEntityList = this.findAllBySellerName(sellerEntity.getName());
 
         if (optionalRequestEntityList.isPresent()) {
             RequestEntity requestEntity = optionalRequestEntityList.get().get(0);
@@ -523,7 +694,7 @@ public class RequestServiceTest extends IntegrationTest {
             Assertions.assertEquals(updateResponse.getBody(), "Status do pedido atualizado com sucesso.");
         }
 
-        optionalRequestEntityList = requestRepository.findAllBySellerName(sellerEntity.getName());
+        optionalRequestEntityList = this.findAllBySellerName(sellerEntity.getName());
 
         if (optionalRequestEntityList.isPresent()) {
             RequestEntity requestEntity = optionalRequestEntityList.get().get(0);
@@ -559,7 +730,7 @@ public class RequestServiceTest extends IntegrationTest {
 
         Assertions.assertEquals(createResponse.getStatusCode(), HttpStatus.CREATED);
 
-        Optional<List<RequestEntity>> optionalRequestEntityList = requestRepository.findAllBySellerName(sellerEntity.getName());
+        Optional<List<RequestEntity>> optionalRequestEntityList = this.findAllBySellerName(sellerEntity.getName());
 
         if (optionalRequestEntityList.isPresent()) {
             RequestEntity requestEntity = optionalRequestEntityList.get().get(0);
@@ -579,7 +750,7 @@ public class RequestServiceTest extends IntegrationTest {
             Assertions.assertEquals(updateResponse.getBody(), "Status do pedido atualizado com sucesso.");
         }
 
-        optionalRequestEntityList = requestRepository.findAllBySellerName(sellerEntity.getName());
+        optionalRequestEntityList = this.findAllBySellerName(sellerEntity.getName());
 
         if (optionalRequestEntityList.isPresent()) {
             RequestEntity requestEntity = optionalRequestEntityList.get().get(0);
@@ -609,6 +780,21 @@ public class RequestServiceTest extends IntegrationTest {
         Assertions.assertEquals(updateResponse.getBody(), "Pedido não encontrado com o id de pedido passado.");
     }
 
+    @Test
+    public void shouldNotUpdateStatusOfCanceledRequest() {
+        RequestEntity requestEntity = EnhancedRandom.random(RequestEntity.class, "version");
+        requestEntity.setStatus(Status.CANCELED);
+        requestRepository.save(requestEntity);
+
+        ResponseEntity<?> updateResponse = requestService.updateStatusRequest(requestEntity.getId().toString(), Status.PROCESSED);
+
+        Assertions.assertEquals(updateResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
+        Assertions.assertEquals(updateResponse.getBody(), "Transição de status do pedido inválida: de CANCELED para PROCESSED.");
+
+        requestRepository.findById(requestEntity.getId())
+                .ifPresent(requestEntityReturn -> Assertions.assertEquals(requestEntityReturn.getStatus(), Status.CANCELED));
+    }
+
     @Test
     public void shouldRateRequestWithSuccess() {
         ObjectId objectId;
@@ -637,7 +823,7 @@ public class RequestServiceTest extends IntegrationTest {
 
         Assertions.assertEquals(createResponse.getStatusCode(), HttpStatus.CREATED);
 
-        Optional<List<RequestEntity>> optionalRequestEntityList = requestRepository.findAllBySellerName(sellerEntity.getName());
+        Optional<List<RequestEntity>> optionalRequestEntityList = this.findAllBySellerName(sellerEntity.getName());
 
         if (optionalRequestEntityList.isPresent()) {
             RequestEntity requestEntity = optionalRequestEntityList.get().get(0);
@@ -651,7 +837,7 @@ public class RequestServiceTest extends IntegrationTest {
             Assertions.assertEquals(updateResponse.getBody(), "Pedido avaliado com sucesso.");
         }
 
-        optionalRequestEntityList = requestRepository.findAllBySellerName(sellerEntity.getName());
+        optionalRequestEntityList = this.findAllBySellerName(sellerEntity.getName());
 
         if (optionalRequestEntityList.isPresent()) {
             RequestEntity requestEntity = optionalRequestEntityList.get().get(0);
@@ -702,7 +888,7 @@ public class RequestServiceTest extends IntegrationTest {
 
         Assertions.assertEquals(response.getStatusCode(), HttpStatus.CREATED);
 
-        Optional<List<RequestEntity>> optionalRequestEntityList = requestRepository.findAllBySellerName(sellerEntity.getName());
+        Optional<List<RequestEntity>> optionalRequestEntityList = this.findAllBySellerName(sellerEntity.getName());
 
         if (optionalRequestEntityList.isPresent()) {
             RequestEntity requestEntity = optionalRequestEntityList.get().get(0);
@@ -755,7 +941,7 @@ public class RequestServiceTest extends IntegrationTest {
 
         Assertions.assertEquals(response.getStatusCode(), HttpStatus.CREATED);
 
-        Optional<List<RequestEntity>> optionalRequestEntityList = requestRepository.findAllBySellerName(sellerEntity.getName());
+        Optional<List<RequestEntity>> optionalRequestEntityList = this.findAllBySellerName(sellerEntity.getName());
 
         if (optionalRequestEntityList.isPresent()) {
             RequestEntity requestEntity = optionalRequestEntityList.get().get(0);
@@ -802,13 +988,14 @@ public class RequestServiceTest extends IntegrationTest {
 
     @Test
     public void shouldCancelRequestScheduleWithSuccess() {
-        RequestEntity requestEntity = EnhancedRandom.random(RequestEntity.class);
+        RequestEntity requestEntity = EnhancedRandom.random(RequestEntity.class, "version");
         requestEntity.setStatus(Status.CREATED);
         requestEntity.setDefaultDateTime(DateTime.now().minusMinutes(40));
         requestRepository.save(requestEntity);
         scheduleRepository.deleteAll();
 
         Assertions.assertDoesNotThrow(() -> requestService.cancelRequestSchedule(15, 0, 100));
+        scheduleAuditService.flush();
         Assertions.assertEquals(scheduleRepository.findAll().size(), 1);
 
         Optional<RequestEntity> optionalRequestEntity = requestRepository.findById(requestEntity.getId());
@@ -825,4 +1012,48 @@ public class RequestServiceTest extends IntegrationTest {
 
         Assertions.assertDoesNotThrow(() -> requestService.cancelRequestSchedule(15, 0, 100));
     }
+
+    @Test
+    public void shouldDrainRequestScheduleWithSuccess() {
+        requestRepository.deleteAll();
+        scheduleRepository.deleteAll();
+        List<RequestEntity> requestEntityList = EnhancedRandom.randomListOf(5, RequestEntity.class, "version");
+        requestEntityList.forEach(requestEntity -> {
+            requestEntity.setStatus(Status.CREATED);
+            requestEntity.setDefaultDateTime(DateTime.now().minusMinutes(40));
+        });
+        requestRepository.saveAll(requestEntityList);
+
+        Long canceledRequests = Assertions.assertDoesNotThrow(() -> requestService.drainRequestSchedule(15, 2, 60, 1, 0, () -> true));
+
+        scheduleAuditService.flush();
+        Assertions.assertEquals(5L, canceledRequests);
+        Assertions.assertEquals(3, scheduleRepository.findAll().size());
+        scheduleRepository.findAll().forEach(scheduleEntity ->
+                Assertions.assertEquals(scheduleEntity.getRequestedCount(), scheduleEntity.getCanceledCount()));
+        requestRepository.findAll().forEach(requestEntity -> Assertions.assertEquals(Status.CANCELED, requestEntity.getStatus()));
+    }
+
+    @Test
+    public void shouldReleaseStockOnDrainRequestSchedule() {
+        requestRepository.deleteAll();
+        ProductEntity productEntity = EnhancedRandom.random(ProductEntity.class, "version");
+        productEntity.setStock(5);
+        productRepository.save(productEntity);
+        List<RequestEntity> requestEntityList = EnhancedRandom.randomListOf(2, RequestEntity.class, "version");
+        requestEntityList.forEach(requestEntity -> {
+            requestEntity.setStatus(Status.CREATED);
+            requestEntity.setDefaultDateTime(DateTime.now().minusMinutes(40));
+            requestEntity.setProducts(List.of(new ProductRequest(productEntity.getId(), productEntity.getTitle(),
+                    productEntity.getPricePromotion(), productEntity.getPrice(), 2)));
+        });
+        requestRepository.saveAll(requestEntityList);
+
+        Assertions.assertDoesNotThrow(() -> requestService.drainRequestSchedule(15, 100, 60, 1, 0, () -> true));
+        Assertions.assertEquals(9, productRepository.findById(productEntity.getId().toString()).orElseThrow().getStock());
+    }
+
+    private Optional<List<RequestEntity>> findAllBySellerName(String sellerName) {
+        return Optional.of(mongoTemplate.find(Query.query(Criteria.where("sellerName").is(sellerName)), RequestEntity.class));
+    }
 }
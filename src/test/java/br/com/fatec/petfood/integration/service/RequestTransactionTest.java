@@ -0,0 +1,223 @@
+package br.com.fatec.petfood.integration.service;
+
+import br.com.fatec.petfood.config.RequestConfig;
+import br.com.fatec.petfood.integration.IntegrationTest;
+import br.com.fatec.petfood.model.dto.ProductRequestDTO;
+import br.com.fatec.petfood.model.dto.RequestDTO;
+import br.com.fatec.petfood.model.entity.mongo.ProductEntity;
+import br.com.fatec.petfood.model.entity.mongo.RequestEntity;
+import br.com.fatec.petfood.model.entity.mongo.SellerEntity;
+import br.com.fatec.petfood.model.entity.mongo.UserEntity;
+import br.com.fatec.petfood.model.generic.ProductRequest;
+import br.com.fatec.petfood.repository.mongo.ProductRepository;
+import br.com.fatec.petfood.repository.mongo.SellerRepository;
+import br.com.fatec.petfood.repository.mongo.UserRepository;
+import br.com.fatec.petfood.service.ProductService;
+import br.com.fatec.petfood.service.RequestService;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.connection.ServerDescription;
+import io.github.benas.randombeans.api.EnhancedRandom;
+import org.bson.Document;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@TestPropertySource(properties = {
+        "spring.data.mongodb.port=0",
+        "spring.mongodb.embedded.version=4.0.2",
+        "spring.mongodb.embedded.storage.repl-set-name=rs0",
+        "request.transactional=true",
+        "retry.maxAttempts=20"
+})
+public class RequestTransactionTest extends IntegrationTest {
+
+    @Autowired
+    private RequestConfig requestConfig;
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SellerRepository sellerRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final UserEntity userEntity = EnhancedRandom.random(UserEntity.class);
+    private final SellerEntity sellerEntity = EnhancedRandom.random(SellerEntity.class);
+    private final ProductEntity firstProductEntity = EnhancedRandom.random(ProductEntity.class, "version");
+    private final ProductEntity secondProductEntity = EnhancedRandom.random(ProductEntity.class, "version");
+    private static final Logger logger = LoggerFactory.getLogger(RequestTransactionTest.class);
+
+    /*
+     * O mongo embarcado sobe com '--replSet' mas sem iniciar o replica set, e transações exigem um primário. A iniciação
+     * acontece na criação do contexto, antes dos listeners que criam índices e coleções na subida da aplicação.
+     */
+    @TestConfiguration
+    static class ReplicaSetConfig {
+
+        ReplicaSetConfig(MongoClient mongoClient, @Value("${local.mongo.port}") Integer port) throws InterruptedException {
+            try {
+                mongoClient.getDatabase("admin").runCommand(new Document("replSetInitiate", new Document("_id", "rs0")
+                        .append("members", List.of(new Document("_id", 0).append("host", "localhost:" + port)))));
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() != 23)
+                    throw e;
+            }
+
+            long deadline = System.currentTimeMillis() + 30000L;
+
+            while (mongoClient.getClusterDescription().getServerDescriptions().stream().noneMatch(ServerDescription::isPrimary)) {
+                if (System.currentTimeMillis() > deadline)
+                    throw new IllegalStateException("Replica set not initiated after 30 seconds.");
+
+                Thread.sleep(100L);
+            }
+        }
+    }
+
+    @Test
+    public void shouldCreateRequestInTransactionWithSuccess() {
+        this.saveSellerUserAndProducts(5);
+
+        ResponseEntity<?> response = requestService.createRequest(this.requestDTO(1));
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.CREATED);
+        Assertions.assertEquals(1, this.findAllBySellerName(sellerEntity.getName()).orElse(List.of()).size());
+        Assertions.assertEquals(productRepository.findById(firstProductEntity.getId().toString()).orElseThrow().getStock(), 4);
+        Assertions.assertEquals(productRepository.findById(secondProductEntity.getId().toString()).orElseThrow().getStock(), 4);
+    }
+
+    @Test
+    public void shouldRollbackStockReservationWithoutStockInTransaction() {
+        this.saveSellerUserAndProducts(5);
+
+        List<ProductRequest> products = List.of(
+                new ProductRequest(firstProductEntity.getId(), firstProductEntity.getTitle(), null, null, 1),
+                new ProductRequest(secondProductEntity.getId(), secondProductEntity.getTitle(), null, null, 6));
+
+        List<ProductRequest> failedProducts = transactionTemplate.execute(status -> {
+            List<ProductRequest> failedStockProducts = productService.reserveStockProductFromRequestInTransaction(products);
+            status.setRollbackOnly();
+            return failedStockProducts;
+        });
+
+        Assertions.assertEquals(List.of(products.get(1)), failedProducts);
+
+        Assertions.assertEquals(productRepository.findById(firstProductEntity.getId().toString()).orElseThrow().getStock(), 5);
+        Assertions.assertEquals(productRepository.findById(secondProductEntity.getId().toString()).orElseThrow().getStock(), 5);
+    }
+
+    @Test
+    public void shouldNotOversellConcurrentRequestsInTransaction() throws Exception {
+        this.saveSellerUserAndProducts(3);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(6);
+        List<Callable<ResponseEntity<?>>> requests = new ArrayList<>();
+
+        for (int i = 0; i < 6; i++)
+            requests.add(() -> requestService.createRequest(this.requestDTO(1)));
+
+        int createdRequests = 0;
+
+        try {
+            for (Future<ResponseEntity<?>> response : executorService.invokeAll(requests))
+                if (response.get().getStatusCode().equals(HttpStatus.CREATED))
+                    createdRequests++;
+        } finally {
+            executorService.shutdown();
+        }
+
+        Assertions.assertEquals(3, createdRequests);
+        Assertions.assertEquals(3, this.findAllBySellerName(sellerEntity.getName()).orElse(List.of()).size());
+        Assertions.assertEquals(productRepository.findById(firstProductEntity.getId().toString()).orElseThrow().getStock(), 0);
+    }
+
+    /*
+     * Comparativo de vazão entre a criação de pedidos transacional e a atual, executado apenas com -Dbenchmark=true.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void benchmarkTransactionalCreateRequest() {
+        int requests = 500;
+        this.saveSellerUserAndProducts(requests * 4);
+
+        try {
+            for (Boolean transactional : List.of(false, true, false, true)) {
+                requestConfig.setTransactional(transactional);
+                long start = System.nanoTime();
+
+                for (int i = 0; i < requests; i++)
+                    Assertions.assertEquals(requestService.createRequest(this.requestDTO(1)).getStatusCode(), HttpStatus.CREATED);
+
+                long elapsedNanos = System.nanoTime() - start;
+                logger.info("createRequest transactional=" + transactional + ": " + requests + " request(s) in " +
+                        elapsedNanos / 1000000L + " ms (" + String.format("%.1f", requests * 1e9 / elapsedNanos) + " requests/s).");
+            }
+        } finally {
+            requestConfig.setTransactional(true);
+        }
+    }
+
+    private void saveSellerUserAndProducts(Integer stock) {
+        userRepository.save(userEntity);
+        sellerRepository.save(sellerEntity);
+
+        for (ProductEntity productEntity : List.of(firstProductEntity, secondProductEntity)) {
+            productEntity.setStock(stock);
+            productEntity.setPrice(9.99);
+            productEntity.setPricePromotion(9.99);
+            productEntity.setSellerId(sellerEntity.getId());
+            productEntity.setSellerName(sellerEntity.getName());
+            productRepository.save(productEntity);
+        }
+    }
+
+    private RequestDTO requestDTO(Integer quantity) {
+        RequestDTO requestDTO = EnhancedRandom.random(RequestDTO.class);
+        requestDTO.setShippingPrice(9.99);
+        requestDTO.setUserName(userEntity.getName());
+        requestDTO.setSellerName(sellerEntity.getName());
+        requestDTO.setProducts(List.of(new ProductRequestDTO(firstProductEntity.getTitle(), quantity),
+                new ProductRequestDTO(secondProductEntity.getTitle(), quantity)));
+
+        return requestDTO;
+    }
+
+    private Optional<List<RequestEntity>> findAllBySellerName(String sellerName) {
+        return Optional.of(mongoTemplate.find(Query.query(Criteria.where("sellerName").is(sellerName)), RequestEntity.class));
+    }
+}
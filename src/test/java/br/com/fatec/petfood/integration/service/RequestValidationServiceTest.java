@@ -1,5 +1,6 @@
 package br.com.fatec.petfood.integration.service;
 
+import br.com.fatec.petfood.exception.ValidationException;
 import br.com.fatec.petfood.integration.IntegrationTest;
 import br.com.fatec.petfood.model.dto.ProductRequestDTO;
 import br.com.fatec.petfood.model.dto.RequestUpdateDTO;
@@ -36,8 +37,8 @@ public class RequestValidationServiceTest extends IntegrationTest {
 
     private final UserEntity userEntity = EnhancedRandom.random(UserEntity.class);
     private final SellerEntity sellerEntity = EnhancedRandom.random(SellerEntity.class);
-    private final ProductEntity productEntity = EnhancedRandom.random(ProductEntity.class);
-    private final RequestEntity requestEntity = EnhancedRandom.random(RequestEntity.class);
+    private final ProductEntity productEntity = EnhancedRandom.random(ProductEntity.class, "version");
+    private final RequestEntity requestEntity = EnhancedRandom.random(RequestEntity.class, "version");
     private final RequestUpdateDTO requestUpdateDTO = EnhancedRandom.random(RequestUpdateDTO.class);
 
     @Test
@@ -141,8 +142,10 @@ public class RequestValidationServiceTest extends IntegrationTest {
         try {
             requestValidationServiceImpl.validateProductsRequestDTO(List.of(productRequestDTO), productEntity.getSellerName());
         } catch (Exception e) {
-            Assertions.assertEquals("Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido):  [Produto com o título: {"
-                    + productRequestDTO.getTitle() + "} passado com estoque inválido(vazio ou nulo).] ", e.getMessage());
+            Assertions.assertEquals("Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido).", e.getMessage());
+            Assertions.assertEquals(List.of("Produto com o título: {"
+                    + productRequestDTO.getTitle() + "} passado com estoque inválido(vazio ou nulo)."),
+                    ((ValidationException) e).getValidationResult().getErrors());
         }
     }
 
@@ -153,8 +156,10 @@ public class RequestValidationServiceTest extends IntegrationTest {
         try {
             requestValidationServiceImpl.validateProductsRequestDTO(List.of(productRequestDTO), productEntity.getSellerName());
         } catch (Exception e) {
-            Assertions.assertEquals("Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido):  [Produto com o título: {"
-                    + productRequestDTO.getTitle() + "} passado com estoque inválido(menor ou igual a 0).] ", e.getMessage());
+            Assertions.assertEquals("Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido).", e.getMessage());
+            Assertions.assertEquals(List.of("Produto com o título: {"
+                    + productRequestDTO.getTitle() + "} passado com estoque inválido(menor ou igual a 0)."),
+                    ((ValidationException) e).getValidationResult().getErrors());
         }
     }
 
@@ -167,9 +172,11 @@ public class RequestValidationServiceTest extends IntegrationTest {
         try {
             requestValidationServiceImpl.validateProductsRequestDTO(List.of(productRequestDTO), productEntity.getSellerName());
         } catch (Exception e) {
-            Assertions.assertEquals("Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido):  [Produto com o título: {"
+            Assertions.assertEquals("Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido).", e.getMessage());
+            Assertions.assertEquals(List.of("Produto com o título: {"
                     + productRequestDTO.getTitle() + "} não tem estoque necessário. Estoque solicitado: {" + productRequestDTO.getQuantity() + "}, estoque atual: {"
-                    + productEntity.getStock() + "}] ", e.getMessage());
+                    + productEntity.getStock() + "}."),
+                    ((ValidationException) e).getValidationResult().getErrors());
         }
     }
 
@@ -180,8 +187,10 @@ public class RequestValidationServiceTest extends IntegrationTest {
         try {
             requestValidationServiceImpl.validateProductsRequestDTO(List.of(productRequestDTO), productEntity.getSellerName());
         } catch (Exception e) {
-            Assertions.assertEquals("Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido):  [Produto com o título: {"
-                    + productRequestDTO.getTitle() + "} não encontrado para o lojista passado.] ", e.getMessage());
+            Assertions.assertEquals("Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido).", e.getMessage());
+            Assertions.assertEquals(List.of("Produto com o título: {"
+                    + productRequestDTO.getTitle() + "} não encontrado para o lojista passado."),
+                    ((ValidationException) e).getValidationResult().getErrors());
         }
     }
 
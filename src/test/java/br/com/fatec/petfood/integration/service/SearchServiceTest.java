@@ -1,6 +1,7 @@
 package br.com.fatec.petfood.integration.service;
 
 import br.com.fatec.petfood.integration.IntegrationTest;
+import br.com.fatec.petfood.model.dto.CursorPageDTO;
 import br.com.fatec.petfood.model.dto.ProductReturnDTO;
 import br.com.fatec.petfood.model.dto.SellerReturnDTO;
 import br.com.fatec.petfood.model.entity.mongo.ProductEntity;
@@ -19,10 +20,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
 
 import java.time.LocalTime;
 import java.util.List;
 
+/*
+ * Os cenários gravam lojistas e produtos direto pelos repositórios, sem passar pela invalidação do cache de busca.
+ */
+@TestPropertySource(properties = "search.cacheTtlSeconds=0")
 public class SearchServiceTest extends IntegrationTest {
 
     @Autowired
@@ -46,11 +52,13 @@ public class SearchServiceTest extends IntegrationTest {
     private ProductReturnDTO firstProductReturnDTO;
     private final SellerEntity firstSellerEntity = EnhancedRandom.random(SellerEntity.class);
     private final SellerEntity secondSellerEntity = EnhancedRandom.random(SellerEntity.class);
-    private final ProductEntity firstProductEntity = EnhancedRandom.random(ProductEntity.class);
-    private final ProductEntity secondProductEntity = EnhancedRandom.random(ProductEntity.class);
+    private final ProductEntity firstProductEntity = EnhancedRandom.random(ProductEntity.class, "version");
+    private final ProductEntity secondProductEntity = EnhancedRandom.random(ProductEntity.class, "version");
 
     @BeforeEach
     public void setup() {
+        firstSellerEntity.setName("A" + firstSellerEntity.getName());
+        secondSellerEntity.setName("B" + secondSellerEntity.getName());
         firstSellerEntity.setWeekInitialTimeOperation(LocalTime.parse("10:00"));
         firstSellerEntity.setWeekFinalTimeOperation(LocalTime.parse("16:00"));
         firstSellerEntity.setCityZone(CityZone.EAST);
@@ -177,6 +185,38 @@ public class SearchServiceTest extends IntegrationTest {
         Assertions.assertEquals(response.getBody(), productReturnDTOList);
     }
 
+    @Test
+    public void shouldSearchSellerProductsByCursorWithSuccess() {
+        firstProductEntity.setTitle("Ração1");
+        secondProductEntity.setTitle("Ração2");
+        firstProductEntity.setSellerName(firstSellerEntity.getName());
+        secondProductEntity.setSellerName(firstSellerEntity.getName());
+        sellerRepository.save(firstSellerEntity);
+        productRepository.save(firstProductEntity);
+        productRepository.save(secondProductEntity);
+
+        ResponseEntity<?> firstResponse = searchService.searchSellerProductsByCursor(firstSellerEntity.getName(), "raç", null, 1);
+
+        Assertions.assertEquals(firstResponse.getStatusCode(), HttpStatus.OK);
+        CursorPageDTO<?> firstPage = (CursorPageDTO<?>) firstResponse.getBody();
+        Assertions.assertEquals(List.of(productMapper.toReturnDTO(firstProductEntity)), firstPage.getContent());
+        Assertions.assertNotNull(firstPage.getNextCursor());
+
+        ResponseEntity<?> secondResponse = searchService.searchSellerProductsByCursor(firstSellerEntity.getName(), "raç",
+                firstPage.getNextCursor(), 1);
+
+        Assertions.assertEquals(secondResponse.getStatusCode(), HttpStatus.OK);
+        CursorPageDTO<?> secondPage = (CursorPageDTO<?>) secondResponse.getBody();
+        Assertions.assertEquals(List.of(productMapper.toReturnDTO(secondProductEntity)), secondPage.getContent());
+        Assertions.assertNull(secondPage.getNextCursor());
+
+        ResponseEntity<?> invalidCursorResponse = searchService.searchSellerProductsByCursor(firstSellerEntity.getName(), "raç",
+                "AAAAA", 1);
+
+        Assertions.assertEquals(invalidCursorResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
+        Assertions.assertEquals(invalidCursorResponse.getBody(), "Cursor da página passado inválido.");
+    }
+
     @Test
     public void shouldNotFindSearchSellerProductsWithoutProductTitle() {
         sellerRepository.deleteAll();
@@ -251,4 +291,21 @@ public class SearchServiceTest extends IntegrationTest {
         Assertions.assertEquals(response.getStatusCode(), HttpStatus.BAD_REQUEST);
         Assertions.assertEquals(response.getBody(), "Nenhum lojista encontrado que tenha essa categoria cadastrada.");
     }
+
+    @Test
+    public void shouldNotReturnClosedSellersInSearchSellerByCategory() {
+        sellerRepository.deleteAll();
+        secondSellerEntity.setWeekInitialTimeOperation(LocalTime.parse("20:00"));
+        secondSellerEntity.setWeekFinalTimeOperation(LocalTime.parse("06:00"));
+        firstSellerEntity.setCategories(List.of(Category.FOOD));
+        secondSellerEntity.setCategories(List.of(Category.FOOD));
+        sellerRepository.save(secondSellerEntity);
+        sellerRepository.save(firstSellerEntity);
+        List<SellerReturnDTO> sellerReturnDTOList = List.of(sellerMapper.toReturnDTO(firstSellerEntity));
+
+        ResponseEntity<?> response = searchService.searchSellerByCategory(Category.FOOD, CityZone.EAST, Boolean.TRUE, localTime, 0, 1);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.OK);
+        Assertions.assertEquals(response.getBody(), sellerReturnDTOList);
+    }
 }
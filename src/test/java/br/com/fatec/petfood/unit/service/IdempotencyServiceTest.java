@@ -0,0 +1,163 @@
+package br.com.fatec.petfood.unit.service;
+
+import br.com.fatec.petfood.config.IdempotencyConfig;
+import br.com.fatec.petfood.model.entity.mongo.IdempotencyEntity;
+import br.com.fatec.petfood.repository.mongo.IdempotencyRepository;
+import br.com.fatec.petfood.service.impl.IdempotencyServiceImpl;
+import br.com.fatec.petfood.unit.UnitTest;
+import br.com.fatec.petfood.utils.ValidateUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class IdempotencyServiceTest extends UnitTest {
+
+    @Mock
+    private IdempotencyRepository idempotencyRepository;
+
+    private IdempotencyServiceImpl idempotencyServiceImpl;
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private final Supplier<ResponseEntity<?>> createRequest = () -> {
+        executions.incrementAndGet();
+        return new ResponseEntity<>("Pedido registrado com sucesso.", HttpStatus.CREATED);
+    };
+
+    @BeforeEach
+    public void setup() {
+        idempotencyServiceImpl = new IdempotencyServiceImpl(new ValidateUtils(), idempotencyRepository, this.idempotencyConfig());
+    }
+
+    @Test
+    public void shouldExecuteWithoutIdempotencyKey() {
+        ResponseEntity<?> response = idempotencyServiceImpl.execute(null, "request", createRequest);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.CREATED);
+        Assertions.assertEquals(1, executions.get());
+        Mockito.verifyNoInteractions(idempotencyRepository);
+    }
+
+    @Test
+    public void shouldReplayResponseOfProcessedIdempotencyKey() {
+        ResponseEntity<?> firstResponse = idempotencyServiceImpl.execute("key", "request", createRequest);
+        ResponseEntity<?> secondResponse = idempotencyServiceImpl.execute("key", "request", createRequest);
+
+        Assertions.assertEquals(firstResponse.getStatusCode(), HttpStatus.CREATED);
+        Assertions.assertEquals(secondResponse.getStatusCode(), HttpStatus.CREATED);
+        Assertions.assertEquals(firstResponse.getBody(), secondResponse.getBody());
+        Assertions.assertEquals(1, executions.get());
+        Mockito.verify(idempotencyRepository, Mockito.times(1)).insert(Mockito.any(IdempotencyEntity.class));
+        Mockito.verify(idempotencyRepository, Mockito.times(1)).save(Mockito.any(IdempotencyEntity.class));
+    }
+
+    @Test
+    public void shouldExecuteAgainWhenCachedIdempotencyKeyExpired() {
+        IdempotencyConfig idempotencyConfig = this.idempotencyConfig();
+        idempotencyConfig.setTtlHours(0);
+        idempotencyServiceImpl = new IdempotencyServiceImpl(new ValidateUtils(), idempotencyRepository, idempotencyConfig);
+
+        idempotencyServiceImpl.execute("key", "request", createRequest);
+        ResponseEntity<?> response = idempotencyServiceImpl.execute("key", "request", createRequest);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.CREATED);
+        Assertions.assertEquals(2, executions.get());
+        Mockito.verify(idempotencyRepository, Mockito.times(2)).insert(Mockito.any(IdempotencyEntity.class));
+    }
+
+    @Test
+    public void shouldResponseUnprocessableEntityOnIdempotencyKeyReusedWithOtherRequest() {
+        idempotencyServiceImpl.execute("key", "request", createRequest);
+
+        ResponseEntity<?> response = idempotencyServiceImpl.execute("key", "otherRequest", createRequest);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.UNPROCESSABLE_ENTITY);
+        Assertions.assertEquals(response.getBody(), "Idempotency-Key já utilizada com outro pedido.");
+        Assertions.assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void shouldNotStoreServerErrorResponse() {
+        Supplier<ResponseEntity<?>> failedRequest = () -> {
+            executions.incrementAndGet();
+            return new ResponseEntity<>("Erro ao gravar pedido na base de dados: ", HttpStatus.INTERNAL_SERVER_ERROR);
+        };
+
+        idempotencyServiceImpl.execute("key", "request", failedRequest);
+        ResponseEntity<?> response = idempotencyServiceImpl.execute("key", "request", createRequest);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.CREATED);
+        Assertions.assertEquals(2, executions.get());
+        Mockito.verify(idempotencyRepository, Mockito.times(1)).deleteById("key");
+    }
+
+    @Test
+    public void shouldReplayResponseStoredByOtherInstance() {
+        ArgumentCaptor<IdempotencyEntity> idempotencyEntity = ArgumentCaptor.forClass(IdempotencyEntity.class);
+        idempotencyServiceImpl.execute("key", "request", createRequest);
+        IdempotencyServiceImpl otherInstance = new IdempotencyServiceImpl(new ValidateUtils(), idempotencyRepository,
+                this.idempotencyConfig());
+
+        Mockito.verify(idempotencyRepository).save(idempotencyEntity.capture());
+        Mockito.when(idempotencyRepository.insert(Mockito.any(IdempotencyEntity.class))).thenThrow(new DuplicateKeyException(""));
+        Mockito.when(idempotencyRepository.findById("key")).thenReturn(Optional.of(idempotencyEntity.getValue()));
+
+        ResponseEntity<?> response = otherInstance.execute("key", "request", createRequest);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.CREATED);
+        Assertions.assertEquals(response.getBody(), "Pedido registrado com sucesso.");
+        Assertions.assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void shouldWaitForRunningRequestWithSameIdempotencyKey() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<ResponseEntity<?>> slowRequest = () -> {
+            started.countDown();
+
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            return createRequest.get();
+        };
+
+        CompletableFuture<ResponseEntity<?>> firstResponse =
+                CompletableFuture.supplyAsync(() -> idempotencyServiceImpl.execute("key", "request", slowRequest));
+        Assertions.assertTrue(started.await(5L, TimeUnit.SECONDS));
+        CompletableFuture<ResponseEntity<?>> secondResponse =
+                CompletableFuture.supplyAsync(() -> idempotencyServiceImpl.execute("key", "request", slowRequest));
+
+        release.countDown();
+
+        Assertions.assertEquals(firstResponse.get(5L, TimeUnit.SECONDS).getStatusCode(), HttpStatus.CREATED);
+        Assertions.assertEquals(secondResponse.get(5L, TimeUnit.SECONDS).getStatusCode(), HttpStatus.CREATED);
+        Assertions.assertEquals(1, executions.get());
+    }
+
+    private IdempotencyConfig idempotencyConfig() {
+        IdempotencyConfig idempotencyConfig = new IdempotencyConfig();
+        idempotencyConfig.setMaxEntries(10);
+        idempotencyConfig.setTtlHours(24);
+        idempotencyConfig.setPendingSeconds(60);
+        idempotencyConfig.setWaitMillis(5000L);
+
+        return idempotencyConfig;
+    }
+}
@@ -6,22 +6,30 @@ import br.com.fatec.petfood.model.dto.ProductUpdateDTO;
 import br.com.fatec.petfood.model.entity.mongo.ProductEntity;
 import br.com.fatec.petfood.model.entity.mongo.SellerEntity;
 import br.com.fatec.petfood.model.enums.Category;
+import br.com.fatec.petfood.model.generic.ProductRequest;
 import br.com.fatec.petfood.model.mapper.ProductMapper;
 import br.com.fatec.petfood.repository.mongo.ProductRepository;
+import br.com.fatec.petfood.service.RetryService;
+import br.com.fatec.petfood.service.SearchCacheService;
 import br.com.fatec.petfood.service.ValidationService;
 import br.com.fatec.petfood.service.impl.ProductServiceImpl;
 import br.com.fatec.petfood.unit.UnitTest;
 import io.github.benas.randombeans.api.EnhancedRandom;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.eq;
 
@@ -30,12 +38,18 @@ public class ProductServiceTest extends UnitTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private RetryService retryService;
+
     @Mock
     private ProductRepository productRepository;
 
     @Mock
     private ValidationService validationService;
 
+    @Mock
+    private SearchCacheService searchCacheService;
+
     @InjectMocks
     private ProductServiceImpl productServiceImpl;
 
@@ -45,6 +59,12 @@ public class ProductServiceTest extends UnitTest {
     private final ProductReturnDTO productReturnDTO = EnhancedRandom.random(ProductReturnDTO.class);
     private final ProductUpdateDTO productUpdateDTO = EnhancedRandom.random(ProductUpdateDTO.class);
 
+    @BeforeEach
+    public void setup() {
+        Mockito.lenient().when(retryService.retryOnConflict(Mockito.anyString(), Mockito.any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+    }
+
     @Test
     public void shouldCreateProductWithSuccess() throws Exception {
         Mockito.when(validationService.validateProductDTO(eq(productDTO), eq(Category.FOOD))).thenReturn(sellerEntity);
@@ -56,6 +76,7 @@ public class ProductServiceTest extends UnitTest {
 
         Assertions.assertEquals(response.getStatusCode(), HttpStatus.CREATED);
         Assertions.assertEquals(response.getBody(), "Produto cadastrado com sucesso.");
+        Mockito.verify(searchCacheService, Mockito.times(1)).invalidateProduct(productEntity.getTitle());
     }
 
     @Test
@@ -231,6 +252,19 @@ public class ProductServiceTest extends UnitTest {
         Assertions.assertEquals(response.getBody(), "Erro ao atualizar estoque do produto na base de dados: ");
     }
 
+    @Test
+    public void shouldResponseConflictWithVersionConflictOnUpdateStockProduct() {
+        Mockito.when(productRepository.findByTitleAndSellerName(eq(productEntity.getTitle()), eq(productEntity.getSellerName())))
+                .thenReturn(Optional.of(productEntity));
+        Mockito.when(productMapper.toEntity(eq(productEntity), eq(10))).thenReturn(productEntity);
+        Mockito.when(productRepository.save(eq(productEntity))).thenThrow(new OptimisticLockingFailureException(""));
+
+        ResponseEntity<?> response = productServiceImpl.updateStockProduct(productEntity.getTitle(), productEntity.getSellerName(), 10);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.CONFLICT);
+        Assertions.assertEquals(response.getBody(), "Estoque do produto alterado concorrentemente, tente novamente.");
+    }
+
     @Test
     public void shouldUpdateStockProductFromRequestWithSuccess() {
         Mockito.when(productRepository.findByTitleAndSellerName(eq(productEntity.getTitle()), eq(productEntity.getSellerName())))
@@ -264,6 +298,52 @@ public class ProductServiceTest extends UnitTest {
         Mockito.verify(productRepository, Mockito.never()).save(eq(productEntity));
     }
 
+    @Test
+    public void shouldAdjustOnlyNetDeltaOfStockProductFromRequest() {
+        ObjectId productId = new ObjectId();
+        List<ProductRequest> oldProducts = List.of(new ProductRequest(productId, productEntity.getTitle(), 9.99, 9.99, 3));
+        List<ProductRequest> newProducts = List.of(new ProductRequest(productId, productEntity.getTitle(), 9.99, 9.99, 5));
+        List<ProductRequest> deltas = List.of(new ProductRequest(productId, productEntity.getTitle(), null, null, 2));
+
+        Mockito.when(productRepository.adjustStock(eq(deltas))).thenReturn(List.of());
+
+        Assertions.assertTrue(productServiceImpl.adjustStockProductFromRequest(oldProducts, newProducts).isEmpty());
+        Mockito.verify(productRepository, Mockito.times(1)).adjustStock(Mockito.anyList());
+    }
+
+    @Test
+    public void shouldUndoAdjustedStockWhenOneProductFromRequestFails() {
+        ObjectId firstProductId = new ObjectId();
+        ObjectId secondProductId = new ObjectId();
+        List<ProductRequest> newProducts = List.of(
+                new ProductRequest(firstProductId, "first", 9.99, 9.99, 2),
+                new ProductRequest(secondProductId, "second", 9.99, 9.99, 1));
+        List<ProductRequest> deltas = List.of(
+                new ProductRequest(firstProductId, "first", null, null, 2),
+                new ProductRequest(secondProductId, "second", null, null, 1));
+
+        Mockito.when(productRepository.adjustStock(eq(deltas))).thenAnswer(invocation ->
+                List.of(invocation.<List<ProductRequest>>getArgument(0).get(1)));
+
+        List<ProductRequest> failedProducts = productServiceImpl.adjustStockProductFromRequest(List.of(), newProducts);
+
+        Assertions.assertEquals(List.of(new ProductRequest(secondProductId, "second", null, null, 1)), failedProducts);
+        Mockito.verify(productRepository, Mockito.times(1)).adjustStock(Mockito.anyList());
+        Mockito.verify(productRepository).incrementStock(eq(List.of(new ProductRequest(firstProductId, "first", null, null, 2))));
+    }
+
+    @Test
+    public void shouldRevertAdjustedStockProductFromRequest() {
+        ObjectId productId = new ObjectId();
+        List<ProductRequest> oldProducts = List.of(new ProductRequest(productId, productEntity.getTitle(), 9.99, 9.99, 3));
+        List<ProductRequest> newProducts = List.of(new ProductRequest(productId, productEntity.getTitle(), 9.99, 9.99, 5));
+
+        productServiceImpl.revertStockProductFromRequest(oldProducts, newProducts);
+
+        Mockito.verify(productRepository).incrementStock(eq(List.of(new ProductRequest(productId, productEntity.getTitle(), null, null, 2))));
+        Mockito.verify(productRepository, Mockito.never()).adjustStock(Mockito.anyList());
+    }
+
     @Test
     public void shouldDeleteProductWithSuccess() {
         Mockito.when(productRepository.findByTitleAndSellerName(eq(productDTO.getTitle()), eq(productDTO.getSellerName())))
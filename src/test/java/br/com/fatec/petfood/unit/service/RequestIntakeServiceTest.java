@@ -0,0 +1,152 @@
+package br.com.fatec.petfood.unit.service;
+
+import br.com.fatec.petfood.config.RequestConfig;
+import br.com.fatec.petfood.model.dto.RequestDTO;
+import br.com.fatec.petfood.model.dto.RequestTicketDTO;
+import br.com.fatec.petfood.model.enums.TicketStatus;
+import br.com.fatec.petfood.service.IdempotencyService;
+import br.com.fatec.petfood.service.RequestService;
+import br.com.fatec.petfood.service.RequestValidationService;
+import br.com.fatec.petfood.service.impl.RequestIntakeServiceImpl;
+import br.com.fatec.petfood.unit.UnitTest;
+import br.com.fatec.petfood.utils.ValidateUtils;
+import io.github.benas.randombeans.api.EnhancedRandom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+public class RequestIntakeServiceTest extends UnitTest {
+
+    @Mock
+    private RequestService requestService;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private RequestValidationService requestValidationService;
+
+    private RequestIntakeServiceImpl requestIntakeServiceImpl;
+
+    private final RequestDTO requestDTO = EnhancedRandom.random(RequestDTO.class);
+
+    @BeforeEach
+    public void setup() {
+        Mockito.lenient().when(idempotencyService.execute(Mockito.any(), Mockito.anyString(), Mockito.any()))
+                .thenAnswer(invocation -> invocation.<Supplier<ResponseEntity<?>>>getArgument(2).get());
+    }
+
+    @AfterEach
+    public void shutdown() throws InterruptedException {
+        if (requestIntakeServiceImpl != null)
+            requestIntakeServiceImpl.shutdown();
+    }
+
+    @Test
+    public void shouldCreateRequestSynchronouslyWhenAsyncIsDisabled() {
+        requestIntakeServiceImpl = this.requestIntakeService(false, 1, 1);
+
+        Mockito.doReturn(new ResponseEntity<>("Pedido registrado com sucesso.", HttpStatus.CREATED))
+                .when(requestService).createRequest(requestDTO);
+
+        ResponseEntity<?> response = requestIntakeServiceImpl.createRequest(requestDTO, null);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.CREATED);
+        Mockito.verifyNoInteractions(requestValidationService);
+    }
+
+    @Test
+    public void shouldQueueRequestAndProcessTicket() throws Exception {
+        requestIntakeServiceImpl = this.requestIntakeService(true, 1, 10);
+
+        Mockito.doReturn(new ResponseEntity<>("Pedido registrado com sucesso.", HttpStatus.CREATED))
+                .when(requestService).createRequest(requestDTO);
+
+        ResponseEntity<?> response = requestIntakeServiceImpl.createRequest(requestDTO, null);
+        RequestTicketDTO requestTicketDTO = (RequestTicketDTO) response.getBody();
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.ACCEPTED);
+        Assertions.assertNotNull(requestTicketDTO);
+
+        RequestTicketDTO processedTicketDTO = this.awaitProcessed(requestTicketDTO.getTicket());
+
+        Assertions.assertEquals(HttpStatus.CREATED.value(), processedTicketDTO.getHttpStatus());
+        Assertions.assertEquals("Pedido registrado com sucesso.", processedTicketDTO.getResponse());
+    }
+
+    @Test
+    public void shouldResponseBadRequestOnInvalidRequestShape() throws Exception {
+        requestIntakeServiceImpl = this.requestIntakeService(true, 1, 10);
+
+        Mockito.doThrow(new Exception("Valor de frete passado inválido(vazio ou nulo)."))
+                .when(requestValidationService).validateRequestDTO(requestDTO);
+
+        ResponseEntity<?> response = requestIntakeServiceImpl.createRequest(requestDTO, null);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.BAD_REQUEST);
+        Assertions.assertEquals(response.getBody(), "Valor de frete passado inválido(vazio ou nulo).");
+        Mockito.verifyNoInteractions(requestService);
+    }
+
+    @Test
+    public void shouldResponseServiceUnavailableWhenQueueIsFull() {
+        requestIntakeServiceImpl = this.requestIntakeService(true, 1, 1);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Mockito.doAnswer(invocation -> {
+            latch.await();
+            return new ResponseEntity<>("Pedido registrado com sucesso.", HttpStatus.CREATED);
+        }).when(requestService).createRequest(requestDTO);
+
+        Assertions.assertEquals(requestIntakeServiceImpl.createRequest(requestDTO, null).getStatusCode(), HttpStatus.ACCEPTED);
+        Assertions.assertEquals(requestIntakeServiceImpl.createRequest(requestDTO, null).getStatusCode(), HttpStatus.ACCEPTED);
+
+        ResponseEntity<?> response = requestIntakeServiceImpl.createRequest(requestDTO, null);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.SERVICE_UNAVAILABLE);
+        Assertions.assertEquals(response.getBody(), "Fila de pedidos cheia, tente novamente mais tarde.");
+
+        latch.countDown();
+    }
+
+    @Test
+    public void shouldResponseBadRequestOnNotFoundTicket() {
+        requestIntakeServiceImpl = this.requestIntakeService(true, 1, 1);
+
+        ResponseEntity<?> response = requestIntakeServiceImpl.findTicket("ticket");
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.BAD_REQUEST);
+        Assertions.assertEquals(response.getBody(), "Ticket de pedido não encontrado com o ticket passado.");
+    }
+
+    private RequestIntakeServiceImpl requestIntakeService(Boolean async, Integer workers, Integer queueSize) {
+        RequestConfig requestConfig = new RequestConfig();
+        requestConfig.setAsync(async);
+        requestConfig.setWorkers(workers);
+        requestConfig.setQueueSize(queueSize);
+        requestConfig.setTicketMinutes(30);
+
+        return new RequestIntakeServiceImpl(new ValidateUtils(), requestService, idempotencyService, requestValidationService, requestConfig);
+    }
+
+    private RequestTicketDTO awaitProcessed(String ticket) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            RequestTicketDTO requestTicketDTO = (RequestTicketDTO) requestIntakeServiceImpl.findTicket(ticket).getBody();
+
+            if (requestTicketDTO != null && requestTicketDTO.getStatus().equals(TicketStatus.PROCESSED))
+                return requestTicketDTO;
+
+            Thread.sleep(50L);
+        }
+
+        return Assertions.fail("Ticket não processado.");
+    }
+}
@@ -1,6 +1,9 @@
 package br.com.fatec.petfood.unit.service;
 
+import br.com.fatec.petfood.config.RequestConfig;
+import br.com.fatec.petfood.model.dto.CursorPageDTO;
 import br.com.fatec.petfood.model.dto.ProductRequestDTO;
+import br.com.fatec.petfood.model.dto.RequestBatchResultDTO;
 import br.com.fatec.petfood.model.dto.RequestDTO;
 import br.com.fatec.petfood.model.dto.RequestReturnDTO;
 import br.com.fatec.petfood.model.dto.RequestUpdateDTO;
@@ -9,11 +12,18 @@ import br.com.fatec.petfood.model.entity.mongo.ScheduleEntity;
 import br.com.fatec.petfood.model.entity.mongo.SellerEntity;
 import br.com.fatec.petfood.model.entity.mongo.UserEntity;
 import br.com.fatec.petfood.model.enums.Status;
+import br.com.fatec.petfood.model.generic.PageCursor;
 import br.com.fatec.petfood.model.generic.ProductRequest;
+import br.com.fatec.petfood.model.generic.RequestFilter;
 import br.com.fatec.petfood.model.mapper.RequestMapper;
+import br.com.fatec.petfood.repository.mongo.ProductRepository;
 import br.com.fatec.petfood.repository.mongo.RequestRepository;
-import br.com.fatec.petfood.repository.mongo.ScheduleRepository;
+import br.com.fatec.petfood.repository.mongo.SellerRepository;
+import br.com.fatec.petfood.repository.mongo.UserRepository;
 import br.com.fatec.petfood.service.ProductService;
+import br.com.fatec.petfood.service.RequestExpiryService;
+import br.com.fatec.petfood.service.RetryService;
+import br.com.fatec.petfood.service.ScheduleAuditService;
 import br.com.fatec.petfood.service.impl.RequestServiceImpl;
 import br.com.fatec.petfood.service.impl.RequestValidationServiceImpl;
 import br.com.fatec.petfood.unit.UnitTest;
@@ -21,34 +31,69 @@ import io.github.benas.randombeans.api.EnhancedRandom;
 import org.bson.types.ObjectId;
 import org.joda.time.DateTime;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.eq;
 
 public class RequestServiceTest extends UnitTest {
 
+    @Mock
+    private RequestConfig requestConfig;
+
     @Mock
     private RequestMapper requestMapper;
 
     @Mock
     private ProductService productService;
 
+    @Mock
+    private RetryService retryService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SellerRepository sellerRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
     @Mock
     private RequestRepository requestRepository;
 
     @Mock
-    private ScheduleRepository scheduleRepository;
+    private ScheduleAuditService scheduleAuditService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ExecutorService requestValidationExecutor;
+
+    @Mock
+    private RequestExpiryService requestExpiryService;
 
     @Mock
     private RequestValidationServiceImpl requestValidationServiceImpl;
@@ -68,6 +113,18 @@ public class RequestServiceTest extends UnitTest {
     private final ProductRequestDTO secondProductRequestDTO = EnhancedRandom.random(ProductRequestDTO.class);
     private final List<ProductRequest> productRequestList = List.of(firstProductRequest, secondProductRequest);
     private final List<ProductRequestDTO> productRequestDTOList = List.of(firstProductRequestDTO, secondProductRequestDTO);
+    private final SimpleTransactionStatus transactionStatus = new SimpleTransactionStatus();
+
+    @BeforeEach
+    public void setup() {
+        Mockito.lenient().when(retryService.retryOnConflict(Mockito.anyString(), Mockito.any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        Mockito.lenient().when(requestConfig.getValidationTimeoutMillis()).thenReturn(1000L);
+        Mockito.lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(requestValidationExecutor).execute(Mockito.any());
+    }
 
     @Test
     public void shouldCreateRequestWithSuccess() throws Exception {
@@ -130,6 +187,70 @@ public class RequestServiceTest extends UnitTest {
         Assertions.assertEquals(response.getStatusCode(), HttpStatus.BAD_REQUEST);
     }
 
+    @Test
+    public void shouldSkipPendingValidationsAfterFirstFailureOnCreateRequest() throws Exception {
+        AtomicInteger validations = new AtomicInteger();
+        List<Runnable> pendingValidations = new ArrayList<>();
+
+        Mockito.doAnswer(invocation -> {
+            if (validations.getAndIncrement() == 0)
+                invocation.<Runnable>getArgument(0).run();
+            else
+                pendingValidations.add(invocation.getArgument(0));
+
+            return null;
+        }).when(requestValidationExecutor).execute(Mockito.any());
+        Mockito.when(requestValidationServiceImpl.validateSellerRequestDTO(Mockito.anyString()))
+                .thenThrow(new Exception("Lojista não encontrado com o nome passado."));
+
+        ResponseEntity<?> response = requestServiceImpl.createRequest(requestDTO);
+        pendingValidations.forEach(Runnable::run);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.BAD_REQUEST);
+        Assertions.assertEquals(response.getBody(), "Lojista não encontrado com o nome passado.");
+        Assertions.assertEquals(2, pendingValidations.size());
+        Mockito.verify(requestValidationServiceImpl, Mockito.never()).validateUserRequestDTO(Mockito.anyString());
+        Mockito.verify(requestValidationServiceImpl, Mockito.never()).validateProductsRequestDTO(Mockito.any(), Mockito.anyString());
+    }
+
+    @Test
+    public void shouldCancelPendingValidationsOnFirstFailureInAnyOrderOnCreateRequest() throws Exception {
+        AtomicInteger validations = new AtomicInteger();
+        List<Runnable> pendingValidations = new ArrayList<>();
+
+        Mockito.doAnswer(invocation -> {
+            if (validations.getAndIncrement() == 1)
+                invocation.<Runnable>getArgument(0).run();
+            else
+                pendingValidations.add(invocation.getArgument(0));
+
+            return null;
+        }).when(requestValidationExecutor).execute(Mockito.any());
+        Mockito.when(requestValidationServiceImpl.validateUserRequestDTO(Mockito.anyString()))
+                .thenThrow(new Exception("Usuário não encontrado com o nome passado."));
+
+        ResponseEntity<?> response = requestServiceImpl.createRequest(requestDTO);
+        pendingValidations.forEach(Runnable::run);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.BAD_REQUEST);
+        Assertions.assertEquals(response.getBody(), "Usuário não encontrado com o nome passado.");
+        Assertions.assertEquals(2, pendingValidations.size());
+        Mockito.verify(requestValidationServiceImpl, Mockito.never()).validateSellerRequestDTO(Mockito.anyString());
+        Mockito.verify(requestValidationServiceImpl, Mockito.never()).validateProductsRequestDTO(Mockito.any(), Mockito.anyString());
+    }
+
+    @Test
+    public void shouldResponseServiceUnavailableOnValidationTimeoutWhenCreateRequest() throws Exception {
+        Mockito.when(requestConfig.getValidationTimeoutMillis()).thenReturn(10L);
+        Mockito.doNothing().when(requestValidationExecutor).execute(Mockito.any());
+
+        ResponseEntity<?> response = requestServiceImpl.createRequest(requestDTO);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.SERVICE_UNAVAILABLE);
+        Assertions.assertEquals(response.getBody(), "Tempo limite excedido na validação do pedido, tente novamente.");
+        Mockito.verify(requestValidationServiceImpl, Mockito.never()).validateSellerRequestDTO(Mockito.anyString());
+    }
+
     @Test
     public void shouldResponseInternalServerErrorWithMapperWhenCreateRequest() throws Exception {
         requestDTO.setProducts(productRequestDTOList);
@@ -195,15 +316,238 @@ public class RequestServiceTest extends UnitTest {
                 .thenReturn(productRequestList);
         Mockito.when(requestMapper.toEntity(sellerEntity.getId(), sellerEntity.getName(), userEntity.getId(), userEntity.getName(),
                 productRequestList, requestDTO.getShippingPrice(), Status.CREATED)).thenReturn(requestEntity);
-        Mockito.when(requestRepository.save(requestEntity)).thenReturn(requestEntity);
-        Mockito.doThrow(new DataIntegrityViolationException("")).when(productService)
-                .updateStockProductFromRequest(eq(requestEntity.getProducts().get(0).getTitle()),
-                        eq(requestEntity.getSellerName()), eq(requestEntity.getProducts().get(0).getQuantity()));
+        Mockito.when(productService.reserveStockProductFromRequest(eq(requestEntity.getProducts())))
+                .thenThrow(new DataIntegrityViolationException(""));
 
         ResponseEntity<?> response = requestServiceImpl.createRequest(requestDTO);
 
         Assertions.assertEquals(response.getStatusCode(), HttpStatus.INTERNAL_SERVER_ERROR);
         Assertions.assertEquals(response.getBody(), "Erro ao atualizar estoque dos produtos do pedido na base de dados: ");
+        Mockito.verify(requestRepository, Mockito.never()).save(requestEntity);
+    }
+
+    @Test
+    public void shouldResponseBadRequestAndReleaseReservedProductsWhenStockReservationFailsOnCreateRequest() throws Exception {
+        requestDTO.setProducts(productRequestDTOList);
+        requestEntity.setProducts(productRequestList);
+
+        Mockito.when(requestValidationServiceImpl.validateSellerRequestDTO(Mockito.anyString())).thenReturn(sellerEntity);
+        Mockito.when(requestValidationServiceImpl.validateUserRequestDTO(Mockito.anyString())).thenReturn(userEntity);
+        Mockito.when(requestValidationServiceImpl.validateProductsRequestDTO(eq(productRequestDTOList), Mockito.anyString()))
+                .thenReturn(productRequestList);
+        Mockito.when(requestMapper.toEntity(sellerEntity.getId(), sellerEntity.getName(), userEntity.getId(), userEntity.getName(),
+                productRequestList, requestDTO.getShippingPrice(), Status.CREATED)).thenReturn(requestEntity);
+        Mockito.when(productService.reserveStockProductFromRequest(eq(productRequestList))).thenReturn(List.of(secondProductRequest));
+
+        ResponseEntity<?> response = requestServiceImpl.createRequest(requestDTO);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.BAD_REQUEST);
+        Assertions.assertEquals(response.getBody(), "Produto(s) sem estoque necessário para realização do pedido: ["
+                + secondProductRequest.getTitle() + "]");
+        Mockito.verify(productService, Mockito.times(1)).releaseStockProductFromRequest(eq(List.of(firstProductRequest)));
+        Mockito.verify(requestRepository, Mockito.never()).save(requestEntity);
+    }
+
+    @Test
+    public void shouldKeepBadRequestWhenReleaseFailsOnCreateRequest() throws Exception {
+        requestDTO.setProducts(productRequestDTOList);
+        requestEntity.setProducts(productRequestList);
+
+        Mockito.when(requestValidationServiceImpl.validateSellerRequestDTO(Mockito.anyString())).thenReturn(sellerEntity);
+        Mockito.when(requestValidationServiceImpl.validateUserRequestDTO(Mockito.anyString())).thenReturn(userEntity);
+        Mockito.when(requestValidationServiceImpl.validateProductsRequestDTO(eq(productRequestDTOList), Mockito.anyString()))
+                .thenReturn(productRequestList);
+        Mockito.when(requestMapper.toEntity(sellerEntity.getId(), sellerEntity.getName(), userEntity.getId(), userEntity.getName(),
+                productRequestList, requestDTO.getShippingPrice(), Status.CREATED)).thenReturn(requestEntity);
+        Mockito.when(productService.reserveStockProductFromRequest(eq(productRequestList))).thenReturn(List.of(secondProductRequest));
+        Mockito.doThrow(new DataIntegrityViolationException("")).when(productService).releaseStockProductFromRequest(Mockito.anyList());
+
+        ResponseEntity<?> response = requestServiceImpl.createRequest(requestDTO);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.BAD_REQUEST);
+        Assertions.assertEquals(response.getBody(), "Produto(s) sem estoque necessário para realização do pedido: ["
+                + secondProductRequest.getTitle() + "]");
+    }
+
+    @Test
+    public void shouldReleaseReservedProductsWhenSaveFailsOnCreateRequest() throws Exception {
+        requestDTO.setProducts(productRequestDTOList);
+
+        Mockito.when(requestValidationServiceImpl.validateSellerRequestDTO(Mockito.anyString())).thenReturn(sellerEntity);
+        Mockito.when(requestValidationServiceImpl.validateUserRequestDTO(Mockito.anyString())).thenReturn(userEntity);
+        Mockito.when(requestValidationServiceImpl.validateProductsRequestDTO(eq(productRequestDTOList), Mockito.anyString()))
+                .thenReturn(productRequestList);
+        Mockito.when(requestMapper.toEntity(sellerEntity.getId(), sellerEntity.getName(), userEntity.getId(), userEntity.getName(),
+                productRequestList, requestDTO.getShippingPrice(), Status.CREATED)).thenReturn(requestEntity);
+        Mockito.when(requestRepository.save(requestEntity)).thenThrow(new DataIntegrityViolationException(""));
+
+        ResponseEntity<?> response = requestServiceImpl.createRequest(requestDTO);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.INTERNAL_SERVER_ERROR);
+        Mockito.verify(productService, Mockito.times(1)).releaseStockProductFromRequest(eq(requestEntity.getProducts()));
+    }
+
+    @Test
+    public void shouldCreateRequestInTransactionWithSuccess() throws Exception {
+        requestDTO.setProducts(productRequestDTOList);
+        requestEntity.setProducts(productRequestList);
+
+        Mockito.when(requestConfig.getTransactional()).thenReturn(true);
+        Mockito.when(transactionTemplate.execute(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(transactionStatus));
+        Mockito.when(requestValidationServiceImpl.validateSellerRequestDTO(Mockito.anyString())).thenReturn(sellerEntity);
+        Mockito.when(requestValidationServiceImpl.validateUserRequestDTO(Mockito.anyString())).thenReturn(userEntity);
+        Mockito.when(requestValidationServiceImpl.validateProductsRequestDTO(eq(productRequestDTOList), Mockito.anyString()))
+                .thenReturn(productRequestList);
+        Mockito.when(requestMapper.toEntity(sellerEntity.getId(), sellerEntity.getName(), userEntity.getId(), userEntity.getName(),
+                productRequestList, requestDTO.getShippingPrice(), Status.CREATED)).thenReturn(requestEntity);
+        Mockito.when(productService.reserveStockProductFromRequestInTransaction(eq(productRequestList))).thenReturn(List.of());
+
+        ResponseEntity<?> response = requestServiceImpl.createRequest(requestDTO);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.CREATED);
+        Assertions.assertEquals(response.getBody(), "Pedido registrado com sucesso. Id do pedido: "
+                + requestEntity.getId().toString());
+        Assertions.assertFalse(transactionStatus.isRollbackOnly());
+        Mockito.verify(requestRepository, Mockito.times(1)).insert(requestEntity);
+        Mockito.verify(productService, Mockito.never()).reserveStockProductFromRequest(Mockito.any());
+        Mockito.verify(requestExpiryService, Mockito.times(1)).scheduleRequest(requestEntity.getId(), requestEntity.getDefaultDateTime());
+    }
+
+    @Test
+    public void shouldRollbackTransactionWhenStockReservationFailsOnCreateRequest() throws Exception {
+        requestDTO.setProducts(productRequestDTOList);
+        requestEntity.setProducts(productRequestList);
+
+        Mockito.when(requestConfig.getTransactional()).thenReturn(true);
+        Mockito.when(transactionTemplate.execute(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(transactionStatus));
+        Mockito.when(requestValidationServiceImpl.validateSellerRequestDTO(Mockito.anyString())).thenReturn(sellerEntity);
+        Mockito.when(requestValidationServiceImpl.validateUserRequestDTO(Mockito.anyString())).thenReturn(userEntity);
+        Mockito.when(requestValidationServiceImpl.validateProductsRequestDTO(eq(productRequestDTOList), Mockito.anyString()))
+                .thenReturn(productRequestList);
+        Mockito.when(requestMapper.toEntity(sellerEntity.getId(), sellerEntity.getName(), userEntity.getId(), userEntity.getName(),
+                productRequestList, requestDTO.getShippingPrice(), Status.CREATED)).thenReturn(requestEntity);
+        Mockito.when(productService.reserveStockProductFromRequestInTransaction(eq(productRequestList)))
+                .thenReturn(List.of(secondProductRequest));
+
+        ResponseEntity<?> response = requestServiceImpl.createRequest(requestDTO);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.BAD_REQUEST);
+        Assertions.assertEquals(response.getBody(), "Produto(s) sem estoque necessário para realização do pedido: ["
+                + secondProductRequest.getTitle() + "]");
+        Assertions.assertTrue(transactionStatus.isRollbackOnly());
+        Mockito.verify(requestRepository, Mockito.never()).insert(requestEntity);
+        Mockito.verify(productService, Mockito.never()).releaseStockProductFromRequest(Mockito.any());
+        Mockito.verify(requestExpiryService, Mockito.never()).scheduleRequest(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void shouldResponseInternalServerErrorWithDataBaseWhenCreateRequestInTransaction() throws Exception {
+        requestDTO.setProducts(productRequestDTOList);
+
+        Mockito.when(requestConfig.getTransactional()).thenReturn(true);
+        Mockito.when(transactionTemplate.execute(Mockito.any())).thenThrow(new DataIntegrityViolationException(""));
+        Mockito.when(requestValidationServiceImpl.validateSellerRequestDTO(Mockito.anyString())).thenReturn(sellerEntity);
+        Mockito.when(requestValidationServiceImpl.validateUserRequestDTO(Mockito.anyString())).thenReturn(userEntity);
+        Mockito.when(requestValidationServiceImpl.validateProductsRequestDTO(eq(productRequestDTOList), Mockito.anyString()))
+                .thenReturn(productRequestList);
+        Mockito.when(requestMapper.toEntity(sellerEntity.getId(), sellerEntity.getName(), userEntity.getId(), userEntity.getName(),
+                productRequestList, requestDTO.getShippingPrice(), Status.CREATED)).thenReturn(requestEntity);
+
+        ResponseEntity<?> response = requestServiceImpl.createRequest(requestDTO);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.INTERNAL_SERVER_ERROR);
+        Assertions.assertEquals(response.getBody(), "Erro ao gravar pedido na base de dados: ");
+        Mockito.verify(productService, Mockito.never()).releaseStockProductFromRequest(Mockito.any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldRejectOnlyBatchRequestsWithProductWithoutStock() throws Exception {
+        RequestDTO firstRequestDTO = new RequestDTO(sellerEntity.getName(), userEntity.getName(), List.of(firstProductRequestDTO), 9.99);
+        RequestDTO secondRequestDTO = new RequestDTO(sellerEntity.getName(), userEntity.getName(), List.of(secondProductRequestDTO), 9.99);
+        RequestEntity secondRequestEntity = EnhancedRandom.random(RequestEntity.class);
+        requestEntity.setProducts(List.of(firstProductRequest));
+        secondRequestEntity.setProducts(List.of(secondProductRequest));
+
+        Mockito.when(requestConfig.getBatchSize()).thenReturn(10);
+        Mockito.when(sellerRepository.findAllByNameIn(Set.of(sellerEntity.getName()))).thenReturn(Optional.of(List.of(sellerEntity)));
+        Mockito.when(userRepository.findAllByNameIn(Set.of(userEntity.getName()))).thenReturn(Optional.of(List.of(userEntity)));
+        Mockito.when(productRepository.findAllBySellerNameAndTitleIn(eq(sellerEntity.getName()), Mockito.anyCollection()))
+                .thenReturn(Optional.of(List.of()));
+        Mockito.when(requestValidationServiceImpl.validateProductsRequestDTO(eq(List.of(firstProductRequestDTO)), Mockito.anyMap(),
+                Mockito.anyMap())).thenReturn(List.of(firstProductRequest));
+        Mockito.when(requestValidationServiceImpl.validateProductsRequestDTO(eq(List.of(secondProductRequestDTO)), Mockito.anyMap(),
+                Mockito.anyMap())).thenReturn(List.of(secondProductRequest));
+        Mockito.when(requestMapper.toEntity(sellerEntity.getId(), sellerEntity.getName(), userEntity.getId(), userEntity.getName(),
+                List.of(firstProductRequest), 9.99, Status.CREATED)).thenReturn(requestEntity);
+        Mockito.when(requestMapper.toEntity(sellerEntity.getId(), sellerEntity.getName(), userEntity.getId(), userEntity.getName(),
+                List.of(secondProductRequest), 9.99, Status.CREATED)).thenReturn(secondRequestEntity);
+        Mockito.when(productService.reserveStockProductFromRequest(Mockito.anyList())).thenReturn(List.of(secondProductRequest));
+
+        ResponseEntity<?> response = requestServiceImpl.createRequests(List.of(firstRequestDTO, secondRequestDTO));
+        List<RequestBatchResultDTO> results = (List<RequestBatchResultDTO>) response.getBody();
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.OK);
+        Assertions.assertNotNull(results);
+        Assertions.assertEquals(HttpStatus.CREATED.value(), results.get(0).getHttpStatus());
+        Assertions.assertEquals(requestEntity.getId().toString(), results.get(0).getRequestId());
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST.value(), results.get(1).getHttpStatus());
+        Assertions.assertEquals("Produto(s) sem estoque necessário para realização do pedido: [" + secondProductRequest.getTitle() + "]",
+                results.get(1).getMessage());
+        Mockito.verify(requestRepository, Mockito.times(1)).insertUnordered(eq(List.of(requestEntity)));
+        Mockito.verify(productService, Mockito.never()).releaseStockProductFromRequest(Mockito.any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldReleaseStockOnlyForBatchRequestsNotInserted() throws Exception {
+        RequestDTO firstRequestDTO = new RequestDTO(sellerEntity.getName(), userEntity.getName(), List.of(firstProductRequestDTO), 9.99);
+        RequestDTO secondRequestDTO = new RequestDTO(sellerEntity.getName(), userEntity.getName(), List.of(secondProductRequestDTO), 9.99);
+        RequestEntity secondRequestEntity = EnhancedRandom.random(RequestEntity.class);
+        requestEntity.setProducts(List.of(firstProductRequest));
+        secondRequestEntity.setProducts(List.of(secondProductRequest));
+
+        Mockito.when(requestConfig.getBatchSize()).thenReturn(10);
+        Mockito.when(sellerRepository.findAllByNameIn(Set.of(sellerEntity.getName()))).thenReturn(Optional.of(List.of(sellerEntity)));
+        Mockito.when(userRepository.findAllByNameIn(Set.of(userEntity.getName()))).thenReturn(Optional.of(List.of(userEntity)));
+        Mockito.when(productRepository.findAllBySellerNameAndTitleIn(eq(sellerEntity.getName()), Mockito.anyCollection()))
+                .thenReturn(Optional.of(List.of()));
+        Mockito.when(requestValidationServiceImpl.validateProductsRequestDTO(eq(List.of(firstProductRequestDTO)), Mockito.anyMap(),
+                Mockito.anyMap())).thenReturn(List.of(firstProductRequest));
+        Mockito.when(requestValidationServiceImpl.validateProductsRequestDTO(eq(List.of(secondProductRequestDTO)), Mockito.anyMap(),
+                Mockito.anyMap())).thenReturn(List.of(secondProductRequest));
+        Mockito.when(requestMapper.toEntity(sellerEntity.getId(), sellerEntity.getName(), userEntity.getId(), userEntity.getName(),
+                List.of(firstProductRequest), 9.99, Status.CREATED)).thenReturn(requestEntity);
+        Mockito.when(requestMapper.toEntity(sellerEntity.getId(), sellerEntity.getName(), userEntity.getId(), userEntity.getName(),
+                List.of(secondProductRequest), 9.99, Status.CREATED)).thenReturn(secondRequestEntity);
+        Mockito.when(productService.reserveStockProductFromRequest(Mockito.anyList())).thenReturn(List.of());
+        Mockito.when(requestRepository.insertUnordered(eq(List.of(requestEntity, secondRequestEntity))))
+                .thenReturn(Map.of(1, "duplicate key"));
+
+        ResponseEntity<?> response = requestServiceImpl.createRequests(List.of(firstRequestDTO, secondRequestDTO));
+        List<RequestBatchResultDTO> results = (List<RequestBatchResultDTO>) response.getBody();
+
+        Assertions.assertNotNull(results);
+        Assertions.assertEquals(HttpStatus.CREATED.value(), results.get(0).getHttpStatus());
+        Assertions.assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), results.get(1).getHttpStatus());
+        Assertions.assertEquals("Erro ao gravar pedido na base de dados: duplicate key", results.get(1).getMessage());
+        Mockito.verify(productService).releaseStockProductFromRequest(eq(List.of(new ProductRequest(secondProductRequest.getProductId(),
+                secondProductRequest.getTitle(), null, null, secondProductRequest.getQuantity()))));
+        Mockito.verify(requestExpiryService).scheduleRequest(eq(requestEntity.getId()), eq(requestEntity.getDefaultDateTime()));
+        Mockito.verify(requestExpiryService, Mockito.never()).scheduleRequest(eq(secondRequestEntity.getId()), Mockito.any());
+    }
+
+    @Test
+    public void shouldResponseBadRequestOnEmptyBatchRequests() {
+        Mockito.when(requestConfig.getBatchSize()).thenReturn(10);
+
+        ResponseEntity<?> response = requestServiceImpl.createRequests(List.of());
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.BAD_REQUEST);
+        Assertions.assertEquals(response.getBody(), "Lista de pedidos passada inválida(vazia, nula ou com mais de 10 pedidos).");
+        Mockito.verifyNoInteractions(sellerRepository, userRepository, productRepository, requestRepository);
     }
 
     @Test
@@ -251,13 +595,35 @@ public class RequestServiceTest extends UnitTest {
 
     @Test
     public void shouldFindBySellerWithSuccess() {
-        Mockito.when(requestRepository.findAllBySellerName(Mockito.anyString())).thenReturn(Optional.of(List.of(requestEntity)));
+        Mockito.when(requestConfig.getListPageSize()).thenReturn(50);
+        Mockito.when(requestRepository.findAllByFilterBefore(Mockito.anyString(), Mockito.isNull(), Mockito.any(), Mockito.any(),
+                Mockito.anyInt()))
+                .thenReturn(Optional.of(List.of(requestEntity)));
         Mockito.when(requestMapper.toReturnDTO(eq(requestEntity))).thenReturn(requestReturnDTO);
 
-        ResponseEntity<?> response = requestServiceImpl.findRequestBySeller(sellerEntity.getName());
+        ResponseEntity<?> response = requestServiceImpl.findRequestBySeller(sellerEntity.getName(), null, null, null, null, null);
 
         Assertions.assertEquals(response.getStatusCode(), HttpStatus.OK);
-        Assertions.assertEquals(response.getBody(), List.of(requestReturnDTO));
+        Assertions.assertEquals(response.getBody(), new CursorPageDTO<>(List.of(requestReturnDTO)));
+    }
+
+    @Test
+    public void shouldFindBySellerWithFilterAndMaxPageSize() throws Exception {
+        RequestFilter requestFilter = new RequestFilter(Status.CREATED, null, null);
+        Mockito.when(requestConfig.getListMaxPageSize()).thenReturn(2);
+        Mockito.when(requestValidationServiceImpl.validateFindRequestFilter(eq(Status.CREATED), Mockito.isNull(), Mockito.isNull()))
+                .thenReturn(requestFilter);
+        Mockito.when(requestRepository.findAllByFilterBefore(eq(sellerEntity.getName()), Mockito.isNull(), eq(requestFilter),
+                Mockito.isNull(), eq(3))).thenReturn(Optional.of(List.of(requestEntity, requestEntity, requestEntity)));
+        Mockito.when(requestMapper.toReturnDTO(eq(requestEntity))).thenReturn(requestReturnDTO);
+
+        ResponseEntity<?> response = requestServiceImpl.findRequestBySeller(sellerEntity.getName(), Status.CREATED, null, null, null, 100);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.OK);
+        CursorPageDTO<?> cursorPageDTO = (CursorPageDTO<?>) response.getBody();
+        Assertions.assertEquals(List.of(requestReturnDTO, requestReturnDTO), cursorPageDTO.getContent());
+        Assertions.assertEquals(new PageCursor(String.valueOf(requestEntity.getDefaultDateTime().getMillis()), requestEntity.getId()).encode(),
+                cursorPageDTO.getNextCursor());
     }
 
     @Test
@@ -265,7 +631,7 @@ public class RequestServiceTest extends UnitTest {
         Mockito.doThrow(new Exception("Nome do lojista passado inválido(vazio ou nulo)."))
                 .when(requestValidationServiceImpl).validateFindRequestBySeller(sellerEntity.getName());
 
-        ResponseEntity<?> response = requestServiceImpl.findRequestBySeller(sellerEntity.getName());
+        ResponseEntity<?> response = requestServiceImpl.findRequestBySeller(sellerEntity.getName(), null, null, null, null, null);
 
         Assertions.assertEquals(response.getStatusCode(), HttpStatus.BAD_REQUEST);
         Assertions.assertEquals(response.getBody(), "Nome do lojista passado inválido(vazio ou nulo).");
@@ -273,16 +639,21 @@ public class RequestServiceTest extends UnitTest {
 
     @Test
     public void shouldNotFindBySeller() {
-        Mockito.when(requestRepository.findAllBySellerName(Mockito.anyString())).thenReturn(Optional.empty());
+        Mockito.when(requestConfig.getListPageSize()).thenReturn(50);
+        Mockito.when(requestRepository.findAllByFilterBefore(Mockito.anyString(), Mockito.isNull(), Mockito.any(), Mockito.any(),
+                Mockito.anyInt()))
+                .thenReturn(Optional.empty());
 
-        ResponseEntity<?> response = requestServiceImpl.findRequestBySeller(sellerEntity.getName());
+        ResponseEntity<?> response = requestServiceImpl.findRequestBySeller(sellerEntity.getName(), null, null, null, null, null);
 
         Assertions.assertEquals(response.getStatusCode(), HttpStatus.BAD_REQUEST);
         Assertions.assertEquals(response.getBody(), "Pedido(s) não encontrado(s) com o nome de lojista passado.");
 
-        Mockito.when(requestRepository.findAllBySellerName(Mockito.anyString())).thenReturn(Optional.of(new ArrayList<>()));
+        Mockito.when(requestRepository.findAllByFilterBefore(Mockito.anyString(), Mockito.isNull(), Mockito.any(), Mockito.any(),
+                Mockito.anyInt()))
+                .thenReturn(Optional.of(new ArrayList<>()));
 
-        ResponseEntity<?> listResponse = requestServiceImpl.findRequestBySeller(sellerEntity.getName());
+        ResponseEntity<?> listResponse = requestServiceImpl.findRequestBySeller(sellerEntity.getName(), null, null, null, null, null);
 
         Assertions.assertEquals(listResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
         Assertions.assertEquals(listResponse.getBody(), "Pedido(s) não encontrado(s) com o nome de lojista passado.");
@@ -290,10 +661,13 @@ public class RequestServiceTest extends UnitTest {
 
     @Test
     public void shouldResponseInternalServerErrorWithMapperOnFindBySeller() {
-        Mockito.when(requestRepository.findAllBySellerName(Mockito.anyString())).thenReturn(Optional.of(List.of(requestEntity)));
+        Mockito.when(requestConfig.getListPageSize()).thenReturn(50);
+        Mockito.when(requestRepository.findAllByFilterBefore(Mockito.anyString(), Mockito.isNull(), Mockito.any(), Mockito.any(),
+                Mockito.anyInt()))
+                .thenReturn(Optional.of(List.of(requestEntity)));
         Mockito.when(requestMapper.toReturnDTO(eq(requestEntity))).thenThrow(new NullPointerException());
 
-        ResponseEntity<?> response = requestServiceImpl.findRequestBySeller(sellerEntity.getName());
+        ResponseEntity<?> response = requestServiceImpl.findRequestBySeller(sellerEntity.getName(), null, null, null, null, null);
 
         Assertions.assertEquals(response.getStatusCode(), HttpStatus.INTERNAL_SERVER_ERROR);
         Assertions.assertEquals(response.getBody(), "Erro no mapeamento para busca de pedido(s): null");
@@ -301,13 +675,16 @@ public class RequestServiceTest extends UnitTest {
 
     @Test
     public void shouldFindByUserWithSuccess() {
-        Mockito.when(requestRepository.findAllByUserName(Mockito.anyString())).thenReturn(Optional.of(List.of(requestEntity)));
+        Mockito.when(requestConfig.getListPageSize()).thenReturn(50);
+        Mockito.when(requestRepository.findAllByFilterBefore(Mockito.isNull(), Mockito.anyString(), Mockito.any(), Mockito.any(),
+                Mockito.anyInt()))
+                .thenReturn(Optional.of(List.of(requestEntity)));
         Mockito.when(requestMapper.toReturnDTO(eq(requestEntity))).thenReturn(requestReturnDTO);
 
-        ResponseEntity<?> response = requestServiceImpl.findRequestByUser(userEntity.getName());
+        ResponseEntity<?> response = requestServiceImpl.findRequestByUser(userEntity.getName(), null, null, null, null, null);
 
         Assertions.assertEquals(response.getStatusCode(), HttpStatus.OK);
-        Assertions.assertEquals(response.getBody(), List.of(requestReturnDTO));
+        Assertions.assertEquals(response.getBody(), new CursorPageDTO<>(List.of(requestReturnDTO)));
     }
 
     @Test
@@ -315,7 +692,7 @@ public class RequestServiceTest extends UnitTest {
         Mockito.doThrow(new Exception("Nome do usuário passado inválido(vazio ou nulo)."))
                 .when(requestValidationServiceImpl).validateFindRequestByUser(userEntity.getName());
 
-        ResponseEntity<?> response = requestServiceImpl.findRequestByUser(userEntity.getName());
+        ResponseEntity<?> response = requestServiceImpl.findRequestByUser(userEntity.getName(), null, null, null, null, null);
 
         Assertions.assertEquals(response.getStatusCode(), HttpStatus.BAD_REQUEST);
         Assertions.assertEquals(response.getBody(), "Nome do usuário passado inválido(vazio ou nulo).");
@@ -323,16 +700,21 @@ public class RequestServiceTest extends UnitTest {
 
     @Test
     public void shouldNotFindByUser() {
-        Mockito.when(requestRepository.findAllByUserName(Mockito.anyString())).thenReturn(Optional.empty());
+        Mockito.when(requestConfig.getListPageSize()).thenReturn(50);
+        Mockito.when(requestRepository.findAllByFilterBefore(Mockito.isNull(), Mockito.anyString(), Mockito.any(), Mockito.any(),
+                Mockito.anyInt()))
+                .thenReturn(Optional.empty());
 
-        ResponseEntity<?> response = requestServiceImpl.findRequestByUser(userEntity.getName());
+        ResponseEntity<?> response = requestServiceImpl.findRequestByUser(userEntity.getName(), null, null, null, null, null);
 
         Assertions.assertEquals(response.getStatusCode(), HttpStatus.BAD_REQUEST);
         Assertions.assertEquals(response.getBody(), "Pedido(s) não encontrado(s) com o nome de usuário passado.");
 
-        Mockito.when(requestRepository.findAllByUserName(Mockito.anyString())).thenReturn(Optional.of(new ArrayList<>()));
+        Mockito.when(requestRepository.findAllByFilterBefore(Mockito.isNull(), Mockito.anyString(), Mockito.any(), Mockito.any(),
+                Mockito.anyInt()))
+                .thenReturn(Optional.of(new ArrayList<>()));
 
-        ResponseEntity<?> listResponse = requestServiceImpl.findRequestByUser(userEntity.getName());
+        ResponseEntity<?> listResponse = requestServiceImpl.findRequestByUser(userEntity.getName(), null, null, null, null, null);
 
         Assertions.assertEquals(listResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
         Assertions.assertEquals(listResponse.getBody(), "Pedido(s) não encontrado(s) com o nome de usuário passado.");
@@ -340,10 +722,13 @@ public class RequestServiceTest extends UnitTest {
 
     @Test
     public void shouldResponseInternalServerErrorWithMapperOnFindByUser() {
-        Mockito.when(requestRepository.findAllByUserName(Mockito.anyString())).thenReturn(Optional.of(List.of(requestEntity)));
+        Mockito.when(requestConfig.getListPageSize()).thenReturn(50);
+        Mockito.when(requestRepository.findAllByFilterBefore(Mockito.isNull(), Mockito.anyString(), Mockito.any(), Mockito.any(),
+                Mockito.anyInt()))
+                .thenReturn(Optional.of(List.of(requestEntity)));
         Mockito.when(requestMapper.toReturnDTO(eq(requestEntity))).thenThrow(new NullPointerException());
 
-        ResponseEntity<?> response = requestServiceImpl.findRequestByUser(userEntity.getName());
+        ResponseEntity<?> response = requestServiceImpl.findRequestByUser(userEntity.getName(), null, null, null, null, null);
 
         Assertions.assertEquals(response.getStatusCode(), HttpStatus.INTERNAL_SERVER_ERROR);
         Assertions.assertEquals(response.getBody(), "Erro no mapeamento para busca de pedido(s): null");
@@ -351,14 +736,17 @@ public class RequestServiceTest extends UnitTest {
 
     @Test
     public void shouldFindBySellerAndUserWithSuccess() {
-        Mockito.when(requestRepository.findAllBySellerNameAndUserName(Mockito.anyString(), Mockito.anyString()))
+        Mockito.when(requestConfig.getListPageSize()).thenReturn(50);
+        Mockito.when(requestRepository.findAllByFilterBefore(Mockito.anyString(), Mockito.anyString(), Mockito.any(), Mockito.any(),
+                Mockito.anyInt()))
                 .thenReturn(Optional.of(List.of(requestEntity)));
         Mockito.when(requestMapper.toReturnDTO(eq(requestEntity))).thenReturn(requestReturnDTO);
 
-        ResponseEntity<?> response = requestServiceImpl.findRequestBySellerAndUser(sellerEntity.getName(), userEntity.getName());
+        ResponseEntity<?> response = requestServiceImpl.findRequestBySellerAndUser(sellerEntity.getName(), userEntity.getName(),
+                null, null, null, null, null);
 
         Assertions.assertEquals(response.getStatusCode(), HttpStatus.OK);
-        Assertions.assertEquals(response.getBody(), List.of(requestReturnDTO));
+        Assertions.assertEquals(response.getBody(), new CursorPageDTO<>(List.of(requestReturnDTO)));
     }
 
     @Test
@@ -366,7 +754,8 @@ public class RequestServiceTest extends UnitTest {
         Mockito.doThrow(new Exception("Nome do lojista passado inválido(vazio ou nulo)."))
                 .when(requestValidationServiceImpl).validateFindRequestBySeller(sellerEntity.getName());
 
-        ResponseEntity<?> response = requestServiceImpl.findRequestBySellerAndUser(sellerEntity.getName(), userEntity.getName());
+        ResponseEntity<?> response = requestServiceImpl.findRequestBySellerAndUser(sellerEntity.getName(), userEntity.getName(),
+                null, null, null, null, null);
 
         Assertions.assertEquals(response.getStatusCode(), HttpStatus.BAD_REQUEST);
         Assertions.assertEquals(response.getBody(), "Nome do lojista passado inválido(vazio ou nulo).");
@@ -374,19 +763,24 @@ public class RequestServiceTest extends UnitTest {
 
     @Test
     public void shouldNotFindBySellerAndUser() {
-        Mockito.when(requestRepository.findAllBySellerNameAndUserName(Mockito.anyString(), Mockito.anyString()))
+        Mockito.when(requestConfig.getListPageSize()).thenReturn(50);
+        Mockito.when(requestRepository.findAllByFilterBefore(Mockito.anyString(), Mockito.anyString(), Mockito.any(), Mockito.any(),
+                Mockito.anyInt()))
                 .thenReturn(Optional.empty());
 
-        ResponseEntity<?> response = requestServiceImpl.findRequestBySellerAndUser(sellerEntity.getName(), userEntity.getName());
+        ResponseEntity<?> response = requestServiceImpl.findRequestBySellerAndUser(sellerEntity.getName(), userEntity.getName(),
+                null, null, null, null, null);
 
         Assertions.assertEquals(response.getStatusCode(), HttpStatus.BAD_REQUEST);
         Assertions.assertEquals(response.getBody(),
                 "Pedido(s) não encontrado(s) com os nomes de lojista e de usuário passados.");
 
-        Mockito.when(requestRepository.findAllBySellerNameAndUserName(Mockito.anyString(), Mockito.anyString()))
+        Mockito.when(requestRepository.findAllByFilterBefore(Mockito.anyString(), Mockito.anyString(), Mockito.any(), Mockito.any(),
+                Mockito.anyInt()))
                 .thenReturn(Optional.of(new ArrayList<>()));
 
-        ResponseEntity<?> listResponse = requestServiceImpl.findRequestBySellerAndUser(sellerEntity.getName(), userEntity.getName());
+        ResponseEntity<?> listResponse = requestServiceImpl.findRequestBySellerAndUser(sellerEntity.getName(), userEntity.getName(),
+                null, null, null, null, null);
 
         Assertions.assertEquals(listResponse.getStatusCode(), HttpStatus.BAD_REQUEST);
         Assertions.assertEquals(listResponse.getBody(),
@@ -395,11 +789,14 @@ public class RequestServiceTest extends UnitTest {
 
     @Test
     public void shouldResponseInternalServerErrorWithMapperOnFindBySellerAndUser() {
-        Mockito.when(requestRepository.findAllBySellerNameAndUserName(Mockito.anyString(), Mockito.anyString()))
+        Mockito.when(requestConfig.getListPageSize()).thenReturn(50);
+        Mockito.when(requestRepository.findAllByFilterBefore(Mockito.anyString(), Mockito.anyString(), Mockito.any(), Mockito.any(),
+                Mockito.anyInt()))
                 .thenReturn(Optional.of(List.of(requestEntity)));
         Mockito.when(requestMapper.toReturnDTO(eq(requestEntity))).thenThrow(new NullPointerException());
 
-        ResponseEntity<?> response = requestServiceImpl.findRequestBySellerAndUser(sellerEntity.getName(), userEntity.getName());
+        ResponseEntity<?> response = requestServiceImpl.findRequestBySellerAndUser(sellerEntity.getName(), userEntity.getName(),
+                null, null, null, null, null);
 
         Assertions.assertEquals(response.getStatusCode(), HttpStatus.INTERNAL_SERVER_ERROR);
         Assertions.assertEquals(response.getBody(), "Erro no mapeamento para busca de pedido(s): null");
@@ -424,6 +821,28 @@ public class RequestServiceTest extends UnitTest {
         Assertions.assertEquals(response.getBody(), "Pedido atualizado com sucesso.");
     }
 
+    @Test
+    public void shouldCancelExpiryWhenRequestUpdateLeavesCreated() throws Exception {
+        ObjectId objectId = new ObjectId();
+        RequestEntity requestUpdateEntity = EnhancedRandom.random(RequestEntity.class);
+        requestEntity.setStatus(Status.CREATED);
+        requestUpdateEntity.setStatus(Status.PROCESSED);
+
+        Mockito.when(requestRepository.findById(eq(objectId))).thenReturn(Optional.of(requestEntity));
+        Mockito.when(requestValidationServiceImpl.validateProductsRequestUpdateDTO(eq(requestEntity), eq(requestUpdateDTO)))
+                .thenReturn(productRequestList);
+        Mockito.when(requestValidationServiceImpl.validateShippingPriceRequestUpdateDTO(eq(requestEntity), eq(requestUpdateDTO)))
+                .thenReturn(5.99);
+        Mockito.when(requestMapper.toEntity(eq(requestEntity), eq(productRequestList), eq(5.99), eq(Status.PROCESSED)))
+                .thenReturn(requestUpdateEntity);
+        Mockito.when(requestRepository.save(eq(requestUpdateEntity))).thenReturn(requestUpdateEntity);
+
+        ResponseEntity<?> response = requestServiceImpl.updateRequest(objectId.toString(), Status.PROCESSED, requestUpdateDTO);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.OK);
+        Mockito.verify(requestExpiryService).cancelRequest(eq(requestEntity.getId()));
+    }
+
     @Test
     public void shouldNotFindRequestToUpdate() {
         ObjectId objectId = new ObjectId();
@@ -487,26 +906,126 @@ public class RequestServiceTest extends UnitTest {
     }
 
     @Test
-    public void shouldUpdateStatusRequestWithSuccess() {
+    public void shouldResponseBadRequestWithoutStockOnRequestUpdate() throws Exception {
         ObjectId objectId = new ObjectId();
 
         Mockito.when(requestRepository.findById(eq(objectId))).thenReturn(Optional.of(requestEntity));
-        Mockito.when(requestMapper.toEntity(eq(requestEntity), eq(Status.PROCESSED))).thenReturn(requestEntity);
-        Mockito.when(requestRepository.save(eq(requestEntity))).thenReturn(requestEntity);
+        Mockito.when(requestValidationServiceImpl.validateProductsRequestUpdateDTO(eq(requestEntity), eq(requestUpdateDTO)))
+                .thenReturn(productRequestList);
+        Mockito.when(requestValidationServiceImpl.validateShippingPriceRequestUpdateDTO(eq(requestEntity), eq(requestUpdateDTO)))
+                .thenReturn(5.99);
+        Mockito.when(requestMapper.toEntity(eq(requestEntity), eq(productRequestList), eq(5.99), eq(Status.PROCESSED)))
+                .thenReturn(requestEntity);
+        Mockito.when(productService.adjustStockProductFromRequest(Mockito.anyList(), Mockito.anyList()))
+                .thenReturn(List.of(firstProductRequest));
+
+        ResponseEntity<?> response = requestServiceImpl.updateRequest(objectId.toString(), Status.PROCESSED, requestUpdateDTO);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.BAD_REQUEST);
+        Assertions.assertEquals(response.getBody(), "Produto(s) sem estoque necessário para atualização do pedido: [" +
+                firstProductRequest.getTitle() + "]");
+        Mockito.verify(requestRepository, Mockito.never()).save(Mockito.any(RequestEntity.class));
+    }
+
+    @Test
+    public void shouldUndoStockAdjustOnDataBaseErrorRequestUpdate() throws Exception {
+        ObjectId objectId = new ObjectId();
+        RequestEntity requestUpdateEntity = EnhancedRandom.random(RequestEntity.class);
+        requestEntity.setStatus(Status.CREATED);
+        requestUpdateEntity.setStatus(Status.PROCESSED);
+
+        Mockito.when(requestRepository.findById(eq(objectId))).thenReturn(Optional.of(requestEntity));
+        Mockito.when(requestValidationServiceImpl.validateProductsRequestUpdateDTO(eq(requestEntity), eq(requestUpdateDTO)))
+                .thenReturn(productRequestList);
+        Mockito.when(requestValidationServiceImpl.validateShippingPriceRequestUpdateDTO(eq(requestEntity), eq(requestUpdateDTO)))
+                .thenReturn(5.99);
+        Mockito.when(requestMapper.toEntity(eq(requestEntity), eq(productRequestList), eq(5.99), eq(Status.PROCESSED)))
+                .thenReturn(requestUpdateEntity);
+        Mockito.when(requestRepository.save(eq(requestUpdateEntity))).thenThrow(new DataIntegrityViolationException(""));
+
+        ResponseEntity<?> response = requestServiceImpl.updateRequest(objectId.toString(), Status.PROCESSED, requestUpdateDTO);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.INTERNAL_SERVER_ERROR);
+        Mockito.verify(productService).adjustStockProductFromRequest(eq(requestEntity.getProducts()), eq(requestUpdateEntity.getProducts()));
+        Mockito.verify(productService).revertStockProductFromRequest(eq(requestEntity.getProducts()), eq(requestUpdateEntity.getProducts()));
+    }
+
+    @Test
+    public void shouldResponseErrorWhenStockRevertFailsOnRequestUpdate() throws Exception {
+        ObjectId objectId = new ObjectId();
+        RequestEntity requestUpdateEntity = EnhancedRandom.random(RequestEntity.class);
+
+        Mockito.when(requestRepository.findById(eq(objectId))).thenReturn(Optional.of(requestEntity));
+        Mockito.when(requestValidationServiceImpl.validateProductsRequestUpdateDTO(eq(requestEntity), eq(requestUpdateDTO)))
+                .thenReturn(productRequestList);
+        Mockito.when(requestValidationServiceImpl.validateShippingPriceRequestUpdateDTO(eq(requestEntity), eq(requestUpdateDTO)))
+                .thenReturn(5.99);
+        Mockito.when(requestMapper.toEntity(eq(requestEntity), eq(productRequestList), eq(5.99), eq(Status.PROCESSED)))
+                .thenReturn(requestUpdateEntity);
+        Mockito.when(requestRepository.save(eq(requestUpdateEntity))).thenThrow(new DataIntegrityViolationException(""));
+        Mockito.doThrow(new DataIntegrityViolationException("")).when(productService)
+                .revertStockProductFromRequest(Mockito.anyList(), Mockito.anyList());
+
+        ResponseEntity<?> response = requestServiceImpl.updateRequest(objectId.toString(), Status.PROCESSED, requestUpdateDTO);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.INTERNAL_SERVER_ERROR);
+        Assertions.assertEquals(response.getBody(), "Erro ao atualizar pedido na base de dados: ");
+    }
+
+    @Test
+    public void shouldResponseConflictOnVersionConflictRequestUpdate() throws Exception {
+        ObjectId objectId = new ObjectId();
+
+        Mockito.when(requestRepository.findById(eq(objectId))).thenReturn(Optional.of(requestEntity));
+        Mockito.when(requestValidationServiceImpl.validateProductsRequestUpdateDTO(eq(requestEntity), eq(requestUpdateDTO)))
+                .thenReturn(productRequestList);
+        Mockito.when(requestValidationServiceImpl.validateShippingPriceRequestUpdateDTO(eq(requestEntity), eq(requestUpdateDTO)))
+                .thenReturn(5.99);
+        Mockito.when(requestMapper.toEntity(eq(requestEntity), eq(productRequestList), eq(5.99), eq(Status.PROCESSED)))
+                .thenReturn(requestEntity);
+        Mockito.when(requestRepository.save(eq(requestEntity))).thenThrow(new OptimisticLockingFailureException(""));
+
+        ResponseEntity<?> response = requestServiceImpl.updateRequest(objectId.toString(), Status.PROCESSED, requestUpdateDTO);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.CONFLICT);
+        Assertions.assertEquals(response.getBody(), "Pedido alterado concorrentemente, tente novamente.");
+    }
+
+    @Test
+    public void shouldUpdateStatusRequestWithSuccess() {
+        ObjectId objectId = new ObjectId();
+
+        Mockito.when(requestRepository.updateStatusById(eq(objectId), eq(List.of(Status.CREATED)), eq(Status.PROCESSED),
+                Mockito.any(DateTime.class))).thenReturn(Optional.of(requestEntity));
 
         ResponseEntity<?> response = requestServiceImpl.updateStatusRequest(objectId.toString(), Status.PROCESSED);
 
         Assertions.assertEquals(response.getStatusCode(), HttpStatus.OK);
         Assertions.assertEquals(response.getBody(), "Status do pedido atualizado com sucesso.");
-        Mockito.verify(productService, Mockito.never())
-                .updateStockProductFromRequest(eq(requestEntity.getProducts().get(0).getTitle()), eq(requestEntity.getSellerName()),
-                        eq(requestEntity.getProducts().get(0).getQuantity()));
+        Mockito.verify(requestExpiryService).cancelRequest(eq(requestEntity.getId()));
+        Mockito.verify(productService, Mockito.never()).releaseStockProductFromRequest(eq(requestEntity.getProducts()));
+    }
+
+    @Test
+    public void shouldUpdateStatusRequestToCanceledWithSuccess() {
+        ObjectId objectId = new ObjectId();
+
+        Mockito.when(requestRepository.updateStatusById(eq(objectId), eq(List.of(Status.CREATED, Status.PROCESSED)),
+                eq(Status.CANCELED), Mockito.any(DateTime.class))).thenReturn(Optional.of(requestEntity));
+
+        ResponseEntity<?> response = requestServiceImpl.updateStatusRequest(objectId.toString(), Status.CANCELED);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.OK);
+        Assertions.assertEquals(response.getBody(), "Status do pedido atualizado com sucesso.");
+        Mockito.verify(productService).releaseStockProductFromRequest(eq(requestEntity.getProducts()));
     }
 
     @Test
     public void shouldNotFindRequestToUpdateStatus() {
         ObjectId objectId = new ObjectId();
 
+        Mockito.when(requestRepository.updateStatusById(eq(objectId), eq(List.of(Status.CREATED)), eq(Status.PROCESSED),
+                Mockito.any(DateTime.class))).thenReturn(Optional.empty());
         Mockito.when(requestRepository.findById(eq(objectId))).thenReturn(Optional.empty());
 
         ResponseEntity<?> response = requestServiceImpl.updateStatusRequest(objectId.toString(), Status.PROCESSED);
@@ -515,6 +1034,22 @@ public class RequestServiceTest extends UnitTest {
         Assertions.assertEquals(response.getBody(), "Pedido não encontrado com o id de pedido passado.");
     }
 
+    @Test
+    public void shouldResponseBadRequestOnInvalidStatusTransition() {
+        ObjectId objectId = new ObjectId();
+        requestEntity.setStatus(Status.DELIVERED);
+
+        Mockito.when(requestRepository.updateStatusById(eq(objectId), eq(List.of(Status.CREATED)), eq(Status.PROCESSED),
+                Mockito.any(DateTime.class))).thenReturn(Optional.empty());
+        Mockito.when(requestRepository.findById(eq(objectId))).thenReturn(Optional.of(requestEntity));
+
+        ResponseEntity<?> response = requestServiceImpl.updateStatusRequest(objectId.toString(), Status.PROCESSED);
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.BAD_REQUEST);
+        Assertions.assertEquals(response.getBody(), "Transição de status do pedido inválida: de DELIVERED para PROCESSED.");
+        Mockito.verify(requestExpiryService, Mockito.never()).cancelRequest(Mockito.any());
+    }
+
     @Test
     public void shouldResponseBadRequestOnValidateProductsRequestUpdateStatus() {
         ResponseEntity<?> response = requestServiceImpl.updateStatusRequest("1", Status.PROCESSED);
@@ -529,10 +1064,10 @@ public class RequestServiceTest extends UnitTest {
         firstProductRequest.setQuantity(5);
         requestEntity.setProducts(List.of(firstProductRequest));
 
-        Mockito.when(requestRepository.findById(eq(objectId))).thenReturn(Optional.of(requestEntity));
+        Mockito.when(requestRepository.updateStatusById(eq(objectId), eq(List.of(Status.CREATED, Status.PROCESSED)),
+                eq(Status.CANCELED), Mockito.any(DateTime.class))).thenReturn(Optional.of(requestEntity));
         Mockito.doThrow(new DataIntegrityViolationException("")).when(productService)
-                .updateStockProductFromRequest(eq(firstProductRequest.getTitle()), eq(requestEntity.getSellerName()),
-                        eq(firstProductRequest.getQuantity() * -1));
+                .releaseStockProductFromRequest(eq(List.of(firstProductRequest)));
 
         ResponseEntity<?> response = requestServiceImpl.updateStatusRequest(objectId.toString(), Status.CANCELED);
 
@@ -540,26 +1075,12 @@ public class RequestServiceTest extends UnitTest {
         Assertions.assertEquals(response.getBody(), "Erro ao atualizar estoque dos produtos do pedido na base de dados: ");
     }
 
-    @Test
-    public void shouldResponseInternalServerErrorOnMapperRequestUpdateStatus() {
-        ObjectId objectId = new ObjectId();
-
-        Mockito.when(requestRepository.findById(eq(objectId))).thenReturn(Optional.of(requestEntity));
-        Mockito.when(requestMapper.toEntity(eq(requestEntity), eq(Status.PROCESSED))).thenThrow(new NullPointerException());
-
-        ResponseEntity<?> response = requestServiceImpl.updateStatusRequest(objectId.toString(), Status.PROCESSED);
-
-        Assertions.assertEquals(response.getStatusCode(), HttpStatus.INTERNAL_SERVER_ERROR);
-        Assertions.assertEquals(response.getBody(), "Erro no mapeamento para atualização de status do pedido: null");
-    }
-
     @Test
     public void shouldResponseInternalServerErrorOnDataBaseRequestUpdateStatus() {
         ObjectId objectId = new ObjectId();
 
-        Mockito.when(requestRepository.findById(eq(objectId))).thenReturn(Optional.of(requestEntity));
-        Mockito.when(requestMapper.toEntity(eq(requestEntity), eq(Status.PROCESSED))).thenReturn(requestEntity);
-        Mockito.when(requestRepository.save(eq(requestEntity))).thenThrow(new DataIntegrityViolationException(""));
+        Mockito.when(requestRepository.updateStatusById(eq(objectId), eq(List.of(Status.CREATED)), eq(Status.PROCESSED),
+                Mockito.any(DateTime.class))).thenThrow(new DataIntegrityViolationException(""));
 
         ResponseEntity<?> response = requestServiceImpl.updateStatusRequest(objectId.toString(), Status.PROCESSED);
 
@@ -571,9 +1092,7 @@ public class RequestServiceTest extends UnitTest {
     public void shouldRateRequestWithSuccess() {
         ObjectId objectId = new ObjectId();
 
-        Mockito.when(requestRepository.findById(eq(objectId))).thenReturn(Optional.of(requestEntity));
-        Mockito.when(requestMapper.toEntity(eq(requestEntity), eq(10))).thenReturn(requestEntity);
-        Mockito.when(requestRepository.save(eq(requestEntity))).thenReturn(requestEntity);
+        Mockito.when(requestRepository.updateRateById(eq(objectId), eq(10), Mockito.any(DateTime.class))).thenReturn(1L);
 
         ResponseEntity<?> response = requestServiceImpl.rateRequest(objectId.toString(), 10);
 
@@ -585,7 +1104,7 @@ public class RequestServiceTest extends UnitTest {
     public void shouldNotFindRequestToRateRequest() {
         ObjectId objectId = new ObjectId();
 
-        Mockito.when(requestRepository.findById(eq(objectId))).thenReturn(Optional.empty());
+        Mockito.when(requestRepository.updateRateById(eq(objectId), eq(10), Mockito.any(DateTime.class))).thenReturn(0L);
 
         ResponseEntity<?> response = requestServiceImpl.rateRequest(objectId.toString(), 10);
 
@@ -601,26 +1120,12 @@ public class RequestServiceTest extends UnitTest {
         Assertions.assertEquals(response.getBody(), "Id do pedido passado inválido.");
     }
 
-    @Test
-    public void shouldResponseInternalServerErrorOnMapperRateRequest() {
-        ObjectId objectId = new ObjectId();
-
-        Mockito.when(requestRepository.findById(eq(objectId))).thenReturn(Optional.of(requestEntity));
-        Mockito.when(requestMapper.toEntity(eq(requestEntity), eq(10))).thenThrow(new NullPointerException());
-
-        ResponseEntity<?> response = requestServiceImpl.rateRequest(objectId.toString(), 10);
-
-        Assertions.assertEquals(response.getStatusCode(), HttpStatus.INTERNAL_SERVER_ERROR);
-        Assertions.assertEquals(response.getBody(), "Erro no mapeamento para avaliação do pedido: null");
-    }
-
     @Test
     public void shouldResponseInternalServerErrorOnDataBaseRateRequest() {
         ObjectId objectId = new ObjectId();
 
-        Mockito.when(requestRepository.findById(eq(objectId))).thenReturn(Optional.of(requestEntity));
-        Mockito.when(requestMapper.toEntity(eq(requestEntity), eq(10))).thenReturn(requestEntity);
-        Mockito.when(requestRepository.save(eq(requestEntity))).thenThrow(new DataIntegrityViolationException(""));
+        Mockito.when(requestRepository.updateRateById(eq(objectId), eq(10), Mockito.any(DateTime.class)))
+                .thenThrow(new DataIntegrityViolationException(""));
 
         ResponseEntity<?> response = requestServiceImpl.rateRequest(objectId.toString(), 10);
 
@@ -642,12 +1147,8 @@ public class RequestServiceTest extends UnitTest {
 
         Assertions.assertEquals(response.getStatusCode(), HttpStatus.OK);
         Assertions.assertEquals(response.getBody(), "Pedido deletado com sucesso.");
-        Mockito.verify(productService, Mockito.times(1)).updateStockProductFromRequest(
-                eq(firstProductRequest.getTitle()), eq(requestEntity.getSellerName()),
-                eq(firstProductRequest.getQuantity()));
-        Mockito.verify(productService, Mockito.times(1)).updateStockProductFromRequest(
-                eq(secondProductRequest.getTitle()), eq(requestEntity.getSellerName()),
-                eq(secondProductRequest.getQuantity()));
+        Mockito.verify(productService, Mockito.times(1)).releaseStockProductFromRequest(
+                eq(List.of(firstProductRequest, secondProductRequest)));
     }
 
     @Test
@@ -661,9 +1162,7 @@ public class RequestServiceTest extends UnitTest {
 
         Assertions.assertEquals(response.getStatusCode(), HttpStatus.OK);
         Assertions.assertEquals(response.getBody(), "Pedido deletado com sucesso.");
-        Mockito.verify(productService, Mockito.never()).updateStockProductFromRequest(
-                eq(requestEntity.getProducts().get(0).getTitle()), eq(requestEntity.getSellerName()),
-                eq(requestEntity.getProducts().get(0).getQuantity()));
+        Mockito.verify(productService, Mockito.never()).releaseStockProductFromRequest(eq(requestEntity.getProducts()));
     }
 
     @Test
@@ -690,12 +1189,11 @@ public class RequestServiceTest extends UnitTest {
     public void shouldCancelRequestScheduleWithSuccess() {
         requestEntity.setStatus(Status.CREATED);
         PageRequest pageRequest = PageRequest.of(0, 100);
-        ScheduleEntity scheduleEntity = EnhancedRandom.random(ScheduleEntity.class);
 
         Mockito.when(requestRepository.findAllByStatusAndDefaultDateTimeIsBefore(eq(Status.CREATED), Mockito.any(DateTime.class), eq(pageRequest)))
                 .thenReturn(Optional.of(List.of(requestEntity)));
-        Mockito.when(requestRepository.saveAll(List.of(requestEntity))).thenReturn(List.of(requestEntity));
-        Mockito.when(scheduleRepository.save(Mockito.any(ScheduleEntity.class))).thenReturn(scheduleEntity);
+        Mockito.when(requestRepository.updateStatusByIdIn(eq(List.of(requestEntity.getId())), eq(Status.CREATED), eq(Status.CANCELED),
+                Mockito.any(ObjectId.class), Mockito.any(DateTime.class))).thenReturn(1L);
 
         Assertions.assertDoesNotThrow(() -> requestServiceImpl.cancelRequestSchedule(15, 0, 100));
     }
@@ -717,7 +1215,8 @@ public class RequestServiceTest extends UnitTest {
 
         Mockito.when(requestRepository.findAllByStatusAndDefaultDateTimeIsBefore(eq(Status.CREATED), Mockito.any(DateTime.class), eq(pageRequest)))
                 .thenReturn(Optional.of(List.of(requestEntity)));
-        Mockito.when(requestRepository.saveAll(List.of(requestEntity))).thenThrow(new DataIntegrityViolationException(""));
+        Mockito.when(requestRepository.updateStatusByIdIn(eq(List.of(requestEntity.getId())), eq(Status.CREATED), eq(Status.CANCELED),
+                Mockito.any(ObjectId.class), Mockito.any(DateTime.class))).thenThrow(new DataIntegrityViolationException(""));
 
         try {
             requestServiceImpl.cancelRequestSchedule(15, 0, 100);
@@ -725,4 +1224,90 @@ public class RequestServiceTest extends UnitTest {
             Assertions.assertEquals(e.getMessage(), "Erro ao executar schedule para cancelamento de pedidos: null");
         }
     }
+
+    @Test
+    public void shouldDrainRequestScheduleInBatches() throws Exception {
+        RequestEntity secondRequestEntity = EnhancedRandom.random(RequestEntity.class);
+        RequestEntity thirdRequestEntity = EnhancedRandom.random(RequestEntity.class);
+
+        Mockito.when(requestRepository.streamAllByStatusAndDefaultDateTimeIsBefore(eq(Status.CREATED), Mockito.any(DateTime.class)))
+                .thenReturn(Stream.of(requestEntity, secondRequestEntity, thirdRequestEntity));
+        Mockito.when(requestRepository.updateStatusByIdIn(eq(List.of(requestEntity.getId(), secondRequestEntity.getId())), eq(Status.CREATED),
+                eq(Status.CANCELED), Mockito.any(ObjectId.class), Mockito.any(DateTime.class))).thenReturn(2L);
+        Mockito.when(requestRepository.updateStatusByIdIn(eq(List.of(thirdRequestEntity.getId())), eq(Status.CREATED),
+                eq(Status.CANCELED), Mockito.any(ObjectId.class), Mockito.any(DateTime.class))).thenReturn(1L);
+
+        Assertions.assertEquals(3L, requestServiceImpl.drainRequestSchedule(15, 2, 60, 1, 0, () -> true));
+        Mockito.verify(scheduleAuditService, Mockito.times(2)).audit(Mockito.any(ScheduleEntity.class));
+    }
+
+    @Test
+    public void shouldDrainRequestScheduleWithErrorOnDataBase() {
+        Mockito.when(requestRepository.streamAllByStatusAndDefaultDateTimeIsBefore(eq(Status.CREATED), Mockito.any(DateTime.class)))
+                .thenReturn(Stream.of(requestEntity));
+        Mockito.when(requestRepository.updateStatusByIdIn(eq(List.of(requestEntity.getId())), eq(Status.CREATED), eq(Status.CANCELED),
+                Mockito.any(ObjectId.class), Mockito.any(DateTime.class))).thenThrow(new DataIntegrityViolationException(""));
+
+        Exception exception = Assertions.assertThrows(Exception.class, () -> requestServiceImpl.drainRequestSchedule(15, 100, 60, 1, 0, () -> true));
+        Assertions.assertEquals(exception.getMessage(), "Erro ao executar schedule para cancelamento de pedidos: null");
+    }
+
+    @Test
+    public void shouldReleaseStockSummedByProductOnDrainRequestSchedule() throws Exception {
+        ObjectId productId = new ObjectId();
+        RequestEntity secondRequestEntity = EnhancedRandom.random(RequestEntity.class);
+        requestEntity.setProducts(List.of(new ProductRequest(productId, "Ração", 9.99, 9.99, 2)));
+        secondRequestEntity.setProducts(List.of(new ProductRequest(productId, "Ração", 9.99, 9.99, 3)));
+
+        Mockito.when(requestRepository.streamAllByStatusAndDefaultDateTimeIsBefore(eq(Status.CREATED), Mockito.any(DateTime.class)))
+                .thenReturn(Stream.of(requestEntity, secondRequestEntity));
+        Mockito.when(requestRepository.updateStatusByIdIn(eq(List.of(requestEntity.getId(), secondRequestEntity.getId())), eq(Status.CREATED),
+                eq(Status.CANCELED), Mockito.any(ObjectId.class), Mockito.any(DateTime.class))).thenReturn(2L);
+
+        Assertions.assertEquals(2L, requestServiceImpl.drainRequestSchedule(15, 100, 60, 1, 0, () -> true));
+        Mockito.verify(productService).releaseStockProductFromRequest(eq(List.of(new ProductRequest(productId, "Ração", null, null, 5))));
+    }
+
+    @Test
+    public void shouldReleaseStockOnlyForCanceledRequestsOnDrainRequestSchedule() throws Exception {
+        ObjectId productId = new ObjectId();
+        RequestEntity secondRequestEntity = EnhancedRandom.random(RequestEntity.class);
+        requestEntity.setProducts(List.of(new ProductRequest(productId, "Ração", 9.99, 9.99, 2)));
+        secondRequestEntity.setProducts(List.of(new ProductRequest(productId, "Ração", 9.99, 9.99, 3)));
+        List<ObjectId> ids = List.of(requestEntity.getId(), secondRequestEntity.getId());
+
+        Mockito.when(requestRepository.streamAllByStatusAndDefaultDateTimeIsBefore(eq(Status.CREATED), Mockito.any(DateTime.class)))
+                .thenReturn(Stream.of(requestEntity, secondRequestEntity));
+        Mockito.when(requestRepository.updateStatusByIdIn(eq(ids), eq(Status.CREATED), eq(Status.CANCELED), Mockito.any(ObjectId.class),
+                Mockito.any(DateTime.class))).thenReturn(1L);
+        Mockito.when(requestRepository.findAllByIdInAndCancelBatchId(eq(ids), Mockito.any(ObjectId.class)))
+                .thenReturn(Optional.of(List.of(secondRequestEntity)));
+
+        Assertions.assertEquals(1L, requestServiceImpl.drainRequestSchedule(15, 100, 60, 1, 0, () -> true));
+        Mockito.verify(productService).releaseStockProductFromRequest(eq(List.of(new ProductRequest(productId, "Ração", null, null, 3))));
+    }
+
+    @Test
+    public void shouldCancelOnlyExpiredRequestsStillCreated() throws Exception {
+        RequestEntity secondRequestEntity = EnhancedRandom.random(RequestEntity.class);
+        List<ObjectId> ids = List.of(requestEntity.getId(), secondRequestEntity.getId());
+
+        Mockito.when(requestRepository.findAllByIdInAndStatus(eq(ids), eq(Status.CREATED))).thenReturn(Optional.of(List.of(requestEntity)));
+        Mockito.when(requestRepository.updateStatusByIdIn(eq(List.of(requestEntity.getId())), eq(Status.CREATED), eq(Status.CANCELED),
+                Mockito.any(ObjectId.class), Mockito.any(DateTime.class))).thenReturn(1L);
+
+        Assertions.assertEquals(1L, requestServiceImpl.cancelExpiredRequests(ids));
+        Mockito.verify(productService).releaseStockProductFromRequest(Mockito.anyList());
+        Mockito.verify(scheduleAuditService).audit(Mockito.any(ScheduleEntity.class));
+    }
+
+    @Test
+    public void shouldNotCancelExpiredRequestsAlreadyUpdated() throws Exception {
+        List<ObjectId> ids = List.of(requestEntity.getId());
+
+        Mockito.when(requestRepository.findAllByIdInAndStatus(eq(ids), eq(Status.CREATED))).thenReturn(Optional.of(List.of()));
+
+        Assertions.assertEquals(0L, requestServiceImpl.cancelExpiredRequests(ids));
+        Mockito.verifyNoInteractions(productService, scheduleAuditService);
+    }
 }
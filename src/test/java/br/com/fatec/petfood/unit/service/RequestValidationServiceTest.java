@@ -1,11 +1,14 @@
 package br.com.fatec.petfood.unit.service;
 
+import br.com.fatec.petfood.exception.ValidationException;
 import br.com.fatec.petfood.model.dto.ProductRequestDTO;
+import br.com.fatec.petfood.model.dto.RequestDTO;
 import br.com.fatec.petfood.model.dto.RequestUpdateDTO;
 import br.com.fatec.petfood.model.entity.mongo.ProductEntity;
 import br.com.fatec.petfood.model.entity.mongo.RequestEntity;
 import br.com.fatec.petfood.model.entity.mongo.SellerEntity;
 import br.com.fatec.petfood.model.entity.mongo.UserEntity;
+import br.com.fatec.petfood.model.enums.Status;
 import br.com.fatec.petfood.model.generic.ProductRequest;
 import br.com.fatec.petfood.model.mapper.ProductMapper;
 import br.com.fatec.petfood.repository.mongo.ProductRepository;
@@ -17,13 +20,18 @@ import br.com.fatec.petfood.utils.ValidateUtils;
 import io.github.benas.randombeans.api.EnhancedRandom;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.eq;
 
@@ -57,12 +65,47 @@ public class RequestValidationServiceTest extends UnitTest {
     private final ProductRequestDTO secondProductRequestDTO = EnhancedRandom.random(ProductRequestDTO.class);
     private final ProductRequestDTO invalidProductRequestDTO = EnhancedRandom.random(ProductRequestDTO.class, "quantity");
     private final List<ProductRequestDTO> productsRequestDTO = List.of(firstProductRequestDTO, secondProductRequestDTO);
+    private static final Logger logger = LoggerFactory.getLogger(RequestValidationServiceTest.class);
 
     @Test
     public void shouldValidateShippingPriceRequestDTOWithSuccess() {
         Assertions.assertDoesNotThrow(() -> requestValidationServiceImpl.validateShippingPrice(9.99));
     }
 
+    @Test
+    public void shouldValidateRequestDTOShapeWithSuccess() {
+        RequestDTO requestDTO = new RequestDTO(sellerEntity.getName(), userEntity.getName(), productsRequestDTO, 9.99);
+
+        Mockito.when(validateUtils.isNotNullAndNotEmpty(Mockito.anyString())).thenReturn(true);
+
+        Assertions.assertDoesNotThrow(() -> requestValidationServiceImpl.validateRequestDTO(requestDTO));
+    }
+
+    @Test
+    public void shouldValidateRequestDTOShapeWithoutProducts() {
+        RequestDTO requestDTO = new RequestDTO(sellerEntity.getName(), userEntity.getName(), List.of(), 9.99);
+
+        Mockito.when(validateUtils.isNotNullAndNotEmpty(Mockito.anyString())).thenReturn(true);
+
+        ValidationException exception = Assertions.assertThrows(ValidationException.class, () -> requestValidationServiceImpl.validateRequestDTO(requestDTO));
+        Assertions.assertEquals("Pedido passado inválido.", exception.getMessage());
+        Assertions.assertEquals(List.of("Lista de produtos atrelados ao pedido passada inválida(vazia ou nula)."),
+                exception.getValidationResult().getErrors());
+        Mockito.verifyNoInteractions(productRepository, sellerRepository, userRepository);
+    }
+
+    @Test
+    public void shouldValidateRequestDTOShapeAndCollectAllErrors() {
+        RequestDTO requestDTO = new RequestDTO("", "", null, -9.99);
+
+        Mockito.when(validateUtils.isNotNullAndNotEmpty(Mockito.anyString())).thenReturn(false);
+
+        ValidationException exception = Assertions.assertThrows(ValidationException.class, () -> requestValidationServiceImpl.validateRequestDTO(requestDTO));
+        Assertions.assertEquals(List.of("Valor de frete passado inválido(menor que zero).", "Nome do lojista passado inválido(vazio ou nulo).",
+                "Nome do usuário passado inválido(vazio ou nulo).", "Lista de produtos atrelados ao pedido passada inválida(vazia ou nula)."),
+                exception.getValidationResult().getErrors());
+    }
+
     @Test
     public void shouldValidateRequestDTOWithInvalidShippingPrice() {
         try {
@@ -143,12 +186,38 @@ public class RequestValidationServiceTest extends UnitTest {
     @Test
     public void shouldValidateProductsRequestDTOWithSuccess() {
         productEntity.setStock(10);
-        productsRequestDTO.forEach(productRequest -> productRequest.setQuantity(5));
+        productsRequestDTO.forEach(productRequest -> {
+            productRequest.setTitle(productEntity.getTitle());
+            productRequest.setQuantity(5);
+        });
 
-        Mockito.when(productRepository.findByTitleAndSellerName(Mockito.anyString(), eq(sellerEntity.getName()))).thenReturn(Optional.of(productEntity));
+        Mockito.when(productRepository.findAllBySellerNameAndTitleIn(eq(sellerEntity.getName()), eq(Set.of(productEntity.getTitle()))))
+                .thenReturn(Optional.of(List.of(productEntity)));
         Mockito.when(productMapper.toProductRequest(productEntity, 5)).thenReturn(productRequest);
 
         Assertions.assertDoesNotThrow(() -> requestValidationServiceImpl.validateProductsRequestDTO(productsRequestDTO, sellerEntity.getName()));
+        Mockito.verify(productRepository, Mockito.times(1)).findAllBySellerNameAndTitleIn(Mockito.anyString(), Mockito.anyCollection());
+    }
+
+    @Test
+    public void shouldValidateProductsRequestDTOWithOneQueryAndKeepErrorsPerLine() {
+        productEntity.setStock(10);
+        firstProductRequestDTO.setTitle(productEntity.getTitle());
+        firstProductRequestDTO.setQuantity(5);
+        secondProductRequestDTO.setQuantity(5);
+
+        Mockito.when(productRepository.findAllBySellerNameAndTitleIn(eq(sellerEntity.getName()),
+                eq(Set.of(productEntity.getTitle(), secondProductRequestDTO.getTitle())))).thenReturn(Optional.of(List.of(productEntity)));
+        Mockito.when(productMapper.toProductRequest(productEntity, 5)).thenReturn(productRequest);
+
+        try {
+            requestValidationServiceImpl.validateProductsRequestDTO(productsRequestDTO, sellerEntity.getName());
+        } catch (Exception e) {
+            Assertions.assertEquals("Produto(s) inválido(s).", e.getMessage());
+            Assertions.assertEquals(List.of("Produto com o título: {" + secondProductRequestDTO.getTitle() +
+                    "} não encontrado para o lojista passado."),
+                    ((ValidationException) e).getValidationResult().getErrors());
+        }
     }
 
     @Test
@@ -171,8 +240,10 @@ public class RequestValidationServiceTest extends UnitTest {
         try {
             requestValidationServiceImpl.validateProductsRequestDTO(List.of(invalidProductRequestDTO), sellerEntity.getName());
         } catch (Exception e) {
-            Assertions.assertEquals("Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido):  [Produto com o título: {"
-                    + invalidProductRequestDTO.getTitle() + "} passado com estoque inválido(vazio ou nulo).] ", e.getMessage());
+            Assertions.assertEquals("Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido).", e.getMessage());
+            Assertions.assertEquals(List.of("Produto com o título: {"
+                    + invalidProductRequestDTO.getTitle() + "} passado com estoque inválido(vazio ou nulo)."),
+                    ((ValidationException) e).getValidationResult().getErrors());
         }
     }
 
@@ -183,37 +254,46 @@ public class RequestValidationServiceTest extends UnitTest {
         try {
             requestValidationServiceImpl.validateProductsRequestDTO(List.of(firstProductRequestDTO), sellerEntity.getName());
         } catch (Exception e) {
-            Assertions.assertEquals("Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido):  [Produto com o título: {"
-                    + firstProductRequestDTO.getTitle() + "} passado com estoque inválido(menor ou igual a 0).] ", e.getMessage());
+            Assertions.assertEquals("Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido).", e.getMessage());
+            Assertions.assertEquals(List.of("Produto com o título: {"
+                    + firstProductRequestDTO.getTitle() + "} passado com estoque inválido(menor ou igual a 0)."),
+                    ((ValidationException) e).getValidationResult().getErrors());
         }
     }
 
     @Test
     public void shouldValidateProductsRequestDTOWithInvalidExistsStock() {
         productEntity.setStock(5);
+        firstProductRequestDTO.setTitle(productEntity.getTitle());
         firstProductRequestDTO.setQuantity(10);
 
-        Mockito.when(productRepository.findByTitleAndSellerName(Mockito.anyString(), eq(sellerEntity.getName()))).thenReturn(Optional.of(productEntity));
+        Mockito.when(productRepository.findAllBySellerNameAndTitleIn(eq(sellerEntity.getName()), Mockito.anyCollection()))
+                .thenReturn(Optional.of(List.of(productEntity)));
 
         try {
             requestValidationServiceImpl.validateProductsRequestDTO(List.of(firstProductRequestDTO), sellerEntity.getName());
         } catch (Exception e) {
-            Assertions.assertEquals("Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido):  [Produto com o título: {"
+            Assertions.assertEquals("Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido).", e.getMessage());
+            Assertions.assertEquals(List.of("Produto com o título: {"
                     + firstProductRequestDTO.getTitle() + "} não tem estoque necessário. Estoque solicitado: {" + firstProductRequestDTO.getQuantity() +
-                    "}, estoque atual: {" + productEntity.getStock() + "}] ", e.getMessage());
+                    "}, estoque atual: {" + productEntity.getStock() + "}."),
+                    ((ValidationException) e).getValidationResult().getErrors());
         }
     }
 
     @Test
     public void shouldValidateProductsRequestDTOAndNotExistsProduct() {
         firstProductRequestDTO.setQuantity(10);
-        Mockito.when(productRepository.findByTitleAndSellerName(Mockito.anyString(), eq(sellerEntity.getName()))).thenReturn(Optional.empty());
+        Mockito.when(productRepository.findAllBySellerNameAndTitleIn(eq(sellerEntity.getName()), Mockito.anyCollection()))
+                .thenReturn(Optional.empty());
 
         try {
             requestValidationServiceImpl.validateProductsRequestDTO(List.of(firstProductRequestDTO), sellerEntity.getName());
         } catch (Exception e) {
-            Assertions.assertEquals("Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido):  [Produto com o título: {"
-                    + firstProductRequestDTO.getTitle() + "} não encontrado para o lojista passado.] ", e.getMessage());
+            Assertions.assertEquals("Lista de produtos atrelados ao pedido passada inválida(nenhum produto válido para realização do pedido).", e.getMessage());
+            Assertions.assertEquals(List.of("Produto com o título: {"
+                    + firstProductRequestDTO.getTitle() + "} não encontrado para o lojista passado."),
+                    ((ValidationException) e).getValidationResult().getErrors());
         }
     }
 
@@ -296,13 +376,92 @@ public class RequestValidationServiceTest extends UnitTest {
     public void shouldValidateNonNullAndNonEmptyProductsRequestUpdateDTO() {
         productEntity.setStock(10);
         requestEntity.setSellerName(sellerEntity.getName());
-        requestUpdateDTO.getProducts().forEach(productRequest -> productRequest.setQuantity(5));
+        requestUpdateDTO.getProducts().forEach(productRequest -> {
+            productRequest.setTitle(productEntity.getTitle());
+            productRequest.setQuantity(5);
+        });
 
-        Mockito.when(productRepository.findByTitleAndSellerName(Mockito.anyString(), eq(sellerEntity.getName())))
-                .thenReturn(Optional.of(productEntity));
+        Mockito.when(productRepository.findAllBySellerNameAndTitleIn(eq(sellerEntity.getName()), Mockito.anyCollection()))
+                .thenReturn(Optional.of(List.of(productEntity)));
         Mockito.when(productMapper.toProductRequest(productEntity, 5)).thenReturn(productRequest);
 
         Assertions.assertDoesNotThrow(() ->
                 requestValidationServiceImpl.validateProductsRequestUpdateDTO(requestEntity, requestUpdateDTO));
     }
+
+    @Test
+    public void shouldCreditReservedQuantitiesOnProductsRequestUpdateDTO() {
+        productEntity.setStock(2);
+        requestEntity.setStatus(Status.CREATED);
+        requestEntity.setSellerName(sellerEntity.getName());
+        requestEntity.setProducts(List.of(new ProductRequest(productEntity.getId(), productEntity.getTitle(), 9.99, 9.99, 3)));
+        requestUpdateDTO.setProducts(List.of(new ProductRequestDTO(productEntity.getTitle(), 5)));
+
+        Mockito.when(productRepository.findAllBySellerNameAndTitleIn(eq(sellerEntity.getName()), Mockito.anyCollection()))
+                .thenReturn(Optional.of(List.of(productEntity)));
+        Mockito.when(productMapper.toProductRequest(productEntity, 5)).thenReturn(productRequest);
+
+        Assertions.assertDoesNotThrow(() ->
+                requestValidationServiceImpl.validateProductsRequestUpdateDTO(requestEntity, requestUpdateDTO));
+    }
+
+    @Test
+    public void shouldNotCreditQuantitiesOfCanceledRequestOnProductsRequestUpdateDTO() {
+        productEntity.setStock(2);
+        requestEntity.setStatus(Status.CANCELED);
+        requestEntity.setSellerName(sellerEntity.getName());
+        requestEntity.setProducts(List.of(new ProductRequest(productEntity.getId(), productEntity.getTitle(), 9.99, 9.99, 3)));
+        requestUpdateDTO.setProducts(List.of(new ProductRequestDTO(productEntity.getTitle(), 5)));
+
+        Mockito.when(productRepository.findAllBySellerNameAndTitleIn(eq(sellerEntity.getName()), Mockito.anyCollection()))
+                .thenReturn(Optional.of(List.of(productEntity)));
+
+        Assertions.assertThrows(Exception.class, () ->
+                requestValidationServiceImpl.validateProductsRequestUpdateDTO(requestEntity, requestUpdateDTO));
+    }
+
+    @Test
+    public void shouldValidateWithStacklessValidationException() {
+        ValidationException exception = Assertions.assertThrows(ValidationException.class, () ->
+                requestValidationServiceImpl.validateShippingPrice(null));
+
+        Assertions.assertEquals("Valor de frete passado inválido(vazio ou nulo).", exception.getMessage());
+        Assertions.assertEquals(0, exception.getStackTrace().length);
+    }
+
+    /*
+     * Comparativo do custo de recusar pedidos sem estoque com a falha sem stack trace e com uma Exception comum no mesmo
+     * ponto, executado apenas com -Dbenchmark=true.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    public void benchmarkRejectedRequestsWithStacklessValidationException() {
+        int rejections = 200000;
+        productEntity.setStock(0);
+        firstProductRequestDTO.setTitle(productEntity.getTitle());
+        firstProductRequestDTO.setQuantity(1);
+        List<ProductRequestDTO> products = List.of(firstProductRequestDTO);
+        Map<String, ProductEntity> productEntities = Map.of(productEntity.getTitle(), productEntity);
+
+        for (Boolean stackless : List.of(true, false, true, false)) {
+            long start = System.nanoTime();
+            int rejected = 0;
+            Exception lastFailure = null;
+
+            for (int i = 0; i < rejections; i++) {
+                try {
+                    requestValidationServiceImpl.validateProductsRequestDTO(products, productEntities, Map.of());
+                } catch (Exception e) {
+                    lastFailure = stackless ? e : new Exception(e.getMessage());
+                    rejected++;
+                }
+            }
+
+            long elapsedNanos = System.nanoTime() - start;
+            Assertions.assertEquals(rejections, rejected);
+            Assertions.assertNotNull(lastFailure);
+            logger.info("Rejected requests stackless=" + stackless + ": " + rejections + " rejection(s) in " +
+                    elapsedNanos / 1000000L + " ms (" + String.format("%.0f", (double) elapsedNanos / rejections) + " ns/rejection).");
+        }
+    }
 }
@@ -0,0 +1,109 @@
+package br.com.fatec.petfood.unit.service;
+
+import br.com.fatec.petfood.config.RetryConfig;
+import br.com.fatec.petfood.model.dto.ConflictMetricDTO;
+import br.com.fatec.petfood.service.impl.RetryServiceImpl;
+import br.com.fatec.petfood.unit.UnitTest;
+import com.mongodb.MongoException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RetryServiceTest extends UnitTest {
+
+    private RetryServiceImpl retryServiceImpl;
+
+    @BeforeEach
+    public void setup() {
+        RetryConfig retryConfig = new RetryConfig();
+        retryConfig.setMaxAttempts(3);
+        retryConfig.setBackoffMillis(1L);
+        retryConfig.setMaxBackoffMillis(2L);
+        retryServiceImpl = new RetryServiceImpl(retryConfig);
+    }
+
+    @Test
+    public void shouldRetryUntilConflictIsResolved() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retryServiceImpl.retryOnConflict("operation", () -> {
+            if (attempts.incrementAndGet() < 3)
+                throw new OptimisticLockingFailureException("");
+
+            return "ok";
+        });
+
+        Assertions.assertEquals("ok", result);
+        Assertions.assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void shouldThrowWhenConflictRetriesAreExhausted() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Assertions.assertThrows(OptimisticLockingFailureException.class, () ->
+                retryServiceImpl.retryOnConflict("operation", () -> {
+                    attempts.incrementAndGet();
+                    throw new OptimisticLockingFailureException("");
+                }));
+        Assertions.assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void shouldRetryTransientTransactionErrors() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retryServiceImpl.retryOnConflict("operation", () -> {
+            if (attempts.incrementAndGet() < 2) {
+                MongoException mongoException = new MongoException(112, "WriteConflict");
+                mongoException.addLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+                throw new UncategorizedMongoDbException(mongoException.getMessage(), mongoException);
+            }
+
+            return "ok";
+        });
+
+        Assertions.assertEquals("ok", result);
+        Assertions.assertEquals(2, attempts.get());
+    }
+
+    @Test
+    public void shouldNotRetryOtherExceptions() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Assertions.assertThrows(IllegalStateException.class, () ->
+                retryServiceImpl.retryOnConflict("operation", () -> {
+                    attempts.incrementAndGet();
+                    throw new IllegalStateException();
+                }));
+        Assertions.assertEquals(1, attempts.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldCountConflictsByOperation() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        retryServiceImpl.retryOnConflict("operation", () -> {
+            if (attempts.incrementAndGet() < 2)
+                throw new OptimisticLockingFailureException("");
+
+            return "ok";
+        });
+
+        ResponseEntity<?> response = retryServiceImpl.getConflictMetrics();
+        List<ConflictMetricDTO> conflictMetricDTOList = (List<ConflictMetricDTO>) response.getBody();
+
+        Assertions.assertEquals(response.getStatusCode(), HttpStatus.OK);
+        Assertions.assertNotNull(conflictMetricDTOList);
+        Assertions.assertEquals(1, conflictMetricDTOList.size());
+        Assertions.assertEquals(new ConflictMetricDTO("operation", 2L, 1L, 0L, 0.5), conflictMetricDTOList.get(0));
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.fatec.petfood.unit.service;
+
+import br.com.fatec.petfood.config.AuditConfig;
+import br.com.fatec.petfood.model.entity.mongo.ScheduleEntity;
+import br.com.fatec.petfood.model.enums.Status;
+import br.com.fatec.petfood.repository.mongo.ScheduleRepository;
+import br.com.fatec.petfood.service.impl.ScheduleAuditServiceImpl;
+import br.com.fatec.petfood.unit.UnitTest;
+import org.bson.types.ObjectId;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.eq;
+
+public class ScheduleAuditServiceTest extends UnitTest {
+
+    @Mock
+    private ScheduleRepository scheduleRepository;
+
+    private ScheduleAuditServiceImpl scheduleAuditServiceImpl;
+
+    private final ScheduleEntity firstScheduleEntity = new ScheduleEntity(List.of(new ObjectId()), 1, 1,
+            Status.CREATED, Status.CANCELED, DateTime.now(), DateTime.now());
+    private final ScheduleEntity secondScheduleEntity = new ScheduleEntity(List.of(new ObjectId()), 1, 1,
+            Status.CREATED, Status.CANCELED, DateTime.now(), DateTime.now());
+    private final ScheduleEntity thirdScheduleEntity = new ScheduleEntity(List.of(new ObjectId()), 1, 1,
+            Status.CREATED, Status.CANCELED, DateTime.now(), DateTime.now());
+
+    @BeforeEach
+    public void setup() {
+        AuditConfig auditConfig = new AuditConfig();
+        auditConfig.setQueueSize(2);
+        auditConfig.setFlushSize(10);
+        scheduleAuditServiceImpl = new ScheduleAuditServiceImpl(scheduleRepository, auditConfig);
+    }
+
+    @Test
+    public void shouldFlushAuditsInOneInsert() {
+        scheduleAuditServiceImpl.audit(firstScheduleEntity);
+        scheduleAuditServiceImpl.audit(secondScheduleEntity);
+        scheduleAuditServiceImpl.flush();
+
+        Mockito.verify(scheduleRepository).insert(eq(List.of(firstScheduleEntity, secondScheduleEntity)));
+    }
+
+    @Test
+    public void shouldDiscardAuditsWhenQueueIsFull() {
+        scheduleAuditServiceImpl.audit(firstScheduleEntity);
+        scheduleAuditServiceImpl.audit(secondScheduleEntity);
+        scheduleAuditServiceImpl.audit(thirdScheduleEntity);
+        scheduleAuditServiceImpl.flush();
+
+        Mockito.verify(scheduleRepository).insert(eq(List.of(firstScheduleEntity, secondScheduleEntity)));
+    }
+
+    @Test
+    public void shouldNotInsertWithoutAudits() {
+        scheduleAuditServiceImpl.flush();
+
+        Mockito.verifyNoInteractions(scheduleRepository);
+    }
+}
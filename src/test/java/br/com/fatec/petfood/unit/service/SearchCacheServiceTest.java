@@ -0,0 +1,138 @@
+package br.com.fatec.petfood.unit.service;
+
+import br.com.fatec.petfood.config.SearchConfig;
+import br.com.fatec.petfood.model.dto.SearchCacheMetricDTO;
+import br.com.fatec.petfood.model.entity.mongo.SellerEntity;
+import br.com.fatec.petfood.model.enums.Category;
+import br.com.fatec.petfood.model.enums.CityZone;
+import br.com.fatec.petfood.model.generic.SearchCacheKey;
+import br.com.fatec.petfood.service.impl.SearchCacheServiceImpl;
+import br.com.fatec.petfood.unit.UnitTest;
+import io.github.benas.randombeans.api.EnhancedRandom;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class SearchCacheServiceTest extends UnitTest {
+
+    private SearchCacheServiceImpl searchCacheServiceImpl;
+
+    private final AtomicInteger searches = new AtomicInteger();
+
+    private final SellerEntity sellerEntity = EnhancedRandom.random(SellerEntity.class);
+
+    private final SearchCacheKey productSearch = new SearchCacheKey("raç", null, CityZone.EAST, Boolean.TRUE, 840, 0, 100, null);
+
+    private final SearchCacheKey categorySearch = new SearchCacheKey(null, Category.FOOD, CityZone.EAST, Boolean.TRUE, 840, 0, 100, null);
+
+    private final Supplier<ResponseEntity<?>> search = () -> {
+        searches.incrementAndGet();
+        return new ResponseEntity<>(List.of(), HttpStatus.OK);
+    };
+
+    @BeforeEach
+    public void setup() {
+        searchCacheServiceImpl = new SearchCacheServiceImpl(this.searchConfig(10, 60));
+    }
+
+    @Test
+    public void shouldReturnCachedSearch() {
+        searchCacheServiceImpl.getOrSearch(productSearch, search);
+        searchCacheServiceImpl.getOrSearch(new SearchCacheKey("raç", null, CityZone.EAST, Boolean.TRUE, 840, 0, 100, null), search);
+
+        SearchCacheMetricDTO searchCacheMetricDTO = (SearchCacheMetricDTO) searchCacheServiceImpl.getMetrics().getBody();
+
+        Assertions.assertEquals(1, searches.get());
+        Assertions.assertNotNull(searchCacheMetricDTO);
+        Assertions.assertEquals(1L, searchCacheMetricDTO.getHits());
+        Assertions.assertEquals(1L, searchCacheMetricDTO.getMisses());
+        Assertions.assertEquals(0.5, searchCacheMetricDTO.getHitRate());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedAndExpiredSearches() {
+        searchCacheServiceImpl = new SearchCacheServiceImpl(this.searchConfig(1, 60));
+
+        searchCacheServiceImpl.getOrSearch(productSearch, search);
+        searchCacheServiceImpl.getOrSearch(categorySearch, search);
+        searchCacheServiceImpl.getOrSearch(productSearch, search);
+
+        Assertions.assertEquals(3, searches.get());
+
+        searchCacheServiceImpl = new SearchCacheServiceImpl(this.searchConfig(10, 0));
+
+        searchCacheServiceImpl.getOrSearch(productSearch, search);
+        searchCacheServiceImpl.getOrSearch(productSearch, search);
+
+        SearchCacheMetricDTO searchCacheMetricDTO = (SearchCacheMetricDTO) searchCacheServiceImpl.getMetrics().getBody();
+
+        Assertions.assertEquals(5, searches.get());
+        Assertions.assertNotNull(searchCacheMetricDTO);
+        Assertions.assertEquals(1L, searchCacheMetricDTO.getEvictions());
+    }
+
+    @Test
+    public void shouldNotCacheServerErrorSearches() {
+        Supplier<ResponseEntity<?>> failedSearch = () -> {
+            searches.incrementAndGet();
+            return new ResponseEntity<>("Erro no mapeamento para retorno do lojista: ", HttpStatus.INTERNAL_SERVER_ERROR);
+        };
+
+        searchCacheServiceImpl.getOrSearch(productSearch, failedSearch);
+        searchCacheServiceImpl.getOrSearch(productSearch, failedSearch);
+
+        Assertions.assertEquals(2, searches.get());
+    }
+
+    @Test
+    public void shouldInvalidateOnlySearchesMatchingProductTitle() {
+        searchCacheServiceImpl.getOrSearch(productSearch, search);
+        searchCacheServiceImpl.getOrSearch(categorySearch, search);
+
+        searchCacheServiceImpl.invalidateProduct("Areia higiênica");
+        searchCacheServiceImpl.getOrSearch(productSearch, search);
+        searchCacheServiceImpl.getOrSearch(categorySearch, search);
+
+        Assertions.assertEquals(2, searches.get());
+
+        searchCacheServiceImpl.invalidateProduct("Ração Premium");
+        searchCacheServiceImpl.getOrSearch(productSearch, search);
+        searchCacheServiceImpl.getOrSearch(categorySearch, search);
+
+        Assertions.assertEquals(3, searches.get());
+    }
+
+    @Test
+    public void shouldInvalidateOnlySearchesOfSellerCityZoneAndCategories() {
+        searchCacheServiceImpl.getOrSearch(productSearch, search);
+        searchCacheServiceImpl.getOrSearch(categorySearch, search);
+
+        sellerEntity.setCityZone(CityZone.WEST);
+        searchCacheServiceImpl.invalidateSeller(sellerEntity);
+        searchCacheServiceImpl.getOrSearch(productSearch, search);
+        searchCacheServiceImpl.getOrSearch(categorySearch, search);
+
+        Assertions.assertEquals(2, searches.get());
+
+        sellerEntity.setCityZone(CityZone.EAST);
+        sellerEntity.setCategories(List.of(Category.OTHERS));
+        searchCacheServiceImpl.invalidateSeller(sellerEntity);
+        searchCacheServiceImpl.getOrSearch(productSearch, search);
+        searchCacheServiceImpl.getOrSearch(categorySearch, search);
+
+        Assertions.assertEquals(3, searches.get());
+    }
+
+    private SearchConfig searchConfig(Integer cacheMaxEntries, Integer cacheTtlSeconds) {
+        SearchConfig searchConfig = new SearchConfig();
+        searchConfig.setCacheMaxEntries(cacheMaxEntries);
+        searchConfig.setCacheTtlSeconds(cacheTtlSeconds);
+        return searchConfig;
+    }
+}
@@ -10,6 +10,8 @@ import br.com.fatec.petfood.model.mapper.ProductMapper;
 import br.com.fatec.petfood.model.mapper.SellerMapper;
 import br.com.fatec.petfood.repository.mongo.ProductRepository;
 import br.com.fatec.petfood.repository.mongo.SellerRepository;
+import br.com.fatec.petfood.service.SearchCacheService;
+import br.com.fatec.petfood.service.SellerDirectoryService;
 import br.com.fatec.petfood.service.impl.SearchServiceImpl;
 import br.com.fatec.petfood.service.impl.ValidationServiceImpl;
 import br.com.fatec.petfood.unit.UnitTest;
@@ -28,6 +30,7 @@ import org.springframework.http.ResponseEntity;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.eq;
 
@@ -51,6 +54,12 @@ public class SearchServiceTest extends UnitTest {
     @Mock
     private ValidationServiceImpl validationService;
 
+    @Mock
+    private SearchCacheService searchCacheService;
+
+    @Mock
+    private SellerDirectoryService sellerDirectoryService;
+
     @InjectMocks
     private SearchServiceImpl searchServiceImpl;
 
@@ -67,6 +76,9 @@ public class SearchServiceTest extends UnitTest {
         sellerEntity.setWeekFinalTimeOperation(LocalTime.parse("16:00"));
         sellerEntity.setCityZone(CityZone.EAST);
         sellerEntityList = List.of(sellerEntity);
+
+        Mockito.lenient().when(searchCacheService.getOrSearch(Mockito.any(), Mockito.any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
     }
 
     @Test
@@ -75,9 +87,7 @@ public class SearchServiceTest extends UnitTest {
         SellerReturnDTO sellerReturnDTO = sellerReturnDTOList.get(0);
         ProductEntity productEntity = productEntityList.get(0);
 
-        Mockito.when(productRepository.findAllByTitleRegex(eq(productEntity.getTitle())))
-                .thenReturn(Optional.of(productEntityList));
-        Mockito.when(sellerRepository.findAllByNameInAndCityZone(eq(List.of(productEntity.getSellerName())), eq(CityZone.EAST), eq(PageRequest.of(0, 100))))
+        Mockito.when(sellerRepository.findAllOpenByProductTitleAndCityZone(eq(productEntity.getTitle()), eq(CityZone.EAST), eq(Boolean.TRUE), eq(840), eq(PageRequest.of(0, 100))))
                 .thenReturn(Optional.of(sellerEntityList));
         Mockito.when(sellerMapper.toReturnDTO(eq(sellerEntity))).thenReturn(sellerReturnDTO);
 
@@ -94,9 +104,7 @@ public class SearchServiceTest extends UnitTest {
         sellerReturnDTO = sellerReturnDTOList.get(0);
         productEntity = productEntityList.get(0);
 
-        Mockito.when(productRepository.findAllByTitleRegex(eq(productEntity.getTitle())))
-                .thenReturn(Optional.of(productEntityList));
-        Mockito.when(sellerRepository.findAllByNameInAndCityZone(eq(List.of(productEntity.getSellerName())), eq(CityZone.EAST), eq(PageRequest.of(0, 100))))
+        Mockito.when(sellerRepository.findAllOpenByProductTitleAndCityZone(eq(productEntity.getTitle()), eq(CityZone.EAST), eq(Boolean.TRUE), eq(1320), eq(PageRequest.of(0, 100))))
                 .thenReturn(Optional.of(sellerEntityList));
         Mockito.when(sellerMapper.toReturnDTO(eq(sellerEntity))).thenReturn(sellerReturnDTO);
 
@@ -122,8 +130,9 @@ public class SearchServiceTest extends UnitTest {
 
     @Test
     public void shouldNotFindProductsInSearchSeller() {
-        Mockito.when(productRepository.findAllByTitleRegex(eq(productEntityList.get(0).getTitle())))
-                .thenReturn(Optional.empty());
+        Mockito.when(sellerRepository.findAllOpenByProductTitleAndCityZone(eq(productEntityList.get(0).getTitle()), eq(CityZone.EAST), eq(Boolean.TRUE), eq(840),
+                eq(PageRequest.of(0, 100))))
+                .thenReturn(Optional.of(List.of()));
 
         ResponseEntity<?> response = searchServiceImpl.searchSeller(productEntityList.get(0).getTitle(), CityZone.EAST, Boolean.TRUE, localTime, 0, 100);
 
@@ -133,9 +142,8 @@ public class SearchServiceTest extends UnitTest {
 
     @Test
     public void shouldNotFindSellersInSearchSeller() {
-        Mockito.when(productRepository.findAllByTitleRegex(eq(productEntityList.get(0).getTitle())))
-                .thenReturn(Optional.of(productEntityList));
-        Mockito.when(sellerRepository.findAllByNameInAndCityZone(eq(List.of(productEntityList.get(0).getSellerName())), eq(CityZone.EAST), eq(PageRequest.of(0, 100))))
+        Mockito.when(sellerRepository.findAllOpenByProductTitleAndCityZone(eq(productEntityList.get(0).getTitle()), eq(CityZone.EAST), eq(Boolean.TRUE), eq(840),
+                eq(PageRequest.of(0, 100))))
                 .thenReturn(Optional.empty());
 
         ResponseEntity<?> response = searchServiceImpl.searchSeller(productEntityList.get(0).getTitle(), CityZone.EAST, Boolean.TRUE, localTime, 0, 100);
@@ -146,9 +154,8 @@ public class SearchServiceTest extends UnitTest {
 
     @Test
     public void shouldResponseInternalServerErrorOnSearchSeller() {
-        Mockito.when(productRepository.findAllByTitleRegex(eq(productEntityList.get(0).getTitle())))
-                .thenReturn(Optional.of(productEntityList));
-        Mockito.when(sellerRepository.findAllByNameInAndCityZone(eq(List.of(productEntityList.get(0).getSellerName())), eq(CityZone.EAST), eq(PageRequest.of(0, 100))))
+        Mockito.when(sellerRepository.findAllOpenByProductTitleAndCityZone(eq(productEntityList.get(0).getTitle()), eq(CityZone.EAST), eq(Boolean.TRUE), eq(840),
+                eq(PageRequest.of(0, 100))))
                 .thenReturn(Optional.of(sellerEntityList));
         Mockito.when(sellerMapper.toReturnDTO(eq(sellerEntityList.get(0)))).thenThrow(new NullPointerException(""));
 
@@ -282,7 +289,8 @@ public class SearchServiceTest extends UnitTest {
         SellerEntity sellerEntity = sellerEntityList.get(0);
         SellerReturnDTO sellerReturnDTO = sellerReturnDTOList.get(0);
 
-        Mockito.when(sellerRepository.findAllByCategoryAndCityZone(eq(Category.FOOD), eq(CityZone.EAST), eq(PageRequest.of(0, 100)))).thenReturn(Optional.of(sellerEntityList));
+        Mockito.when(sellerDirectoryService.findAllOpenByCategoryAndCityZone(eq(Category.FOOD), eq(CityZone.EAST), eq(Boolean.TRUE), eq(840), eq(PageRequest.of(0, 100))))
+                .thenReturn(Optional.of(sellerEntityList));
         Mockito.when(sellerMapper.toReturnDTO(eq(sellerEntity))).thenReturn(sellerReturnDTO);
 
         ResponseEntity<?> firstResponse = searchServiceImpl.searchSellerByCategory(Category.FOOD, CityZone.EAST, Boolean.TRUE, localTime, 0, 100);
@@ -297,7 +305,8 @@ public class SearchServiceTest extends UnitTest {
         sellerEntity = sellerEntityList.get(0);
         sellerReturnDTO = sellerReturnDTOList.get(0);
 
-        Mockito.when(sellerRepository.findAllByCategoryAndCityZone(eq(Category.FOOD), eq(CityZone.EAST), eq(PageRequest.of(0, 100)))).thenReturn(Optional.of(sellerEntityList));
+        Mockito.when(sellerDirectoryService.findAllOpenByCategoryAndCityZone(eq(Category.FOOD), eq(CityZone.EAST), eq(Boolean.TRUE), eq(1320), eq(PageRequest.of(0, 100))))
+                .thenReturn(Optional.of(sellerEntityList));
         Mockito.when(sellerMapper.toReturnDTO(eq(sellerEntity))).thenReturn(sellerReturnDTO);
 
         ResponseEntity<?> secondResponse = searchServiceImpl.searchSellerByCategory(Category.FOOD, CityZone.EAST, Boolean.TRUE, localTime, 0, 100);
@@ -321,7 +330,8 @@ public class SearchServiceTest extends UnitTest {
 
     @Test
     public void shouldNotFindSearchSellerByCategory() {
-        Mockito.when(sellerRepository.findAllByCategoryAndCityZone(eq(Category.FOOD), eq(CityZone.EAST), eq(PageRequest.of(0, 100)))).thenReturn(Optional.empty());
+        Mockito.when(sellerDirectoryService.findAllOpenByCategoryAndCityZone(eq(Category.FOOD), eq(CityZone.EAST), eq(Boolean.TRUE), eq(840), eq(PageRequest.of(0, 100))))
+                .thenReturn(Optional.empty());
 
         ResponseEntity<?> response = searchServiceImpl.searchSellerByCategory(Category.FOOD, CityZone.EAST, Boolean.TRUE, localTime, 0, 100);
 
@@ -333,7 +343,8 @@ public class SearchServiceTest extends UnitTest {
     public void shouldResponseInternalServerErrorOnSearchSellerByCategory() {
         SellerEntity sellerEntity = sellerEntityList.get(0);
 
-        Mockito.when(sellerRepository.findAllByCategoryAndCityZone(eq(Category.FOOD), eq(CityZone.EAST), eq(PageRequest.of(0, 100)))).thenReturn(Optional.of(sellerEntityList));
+        Mockito.when(sellerDirectoryService.findAllOpenByCategoryAndCityZone(eq(Category.FOOD), eq(CityZone.EAST), eq(Boolean.TRUE), eq(840), eq(PageRequest.of(0, 100))))
+                .thenReturn(Optional.of(sellerEntityList));
         Mockito.when(sellerMapper.toReturnDTO(eq(sellerEntity))).thenThrow(new NullPointerException(""));
 
         ResponseEntity<?> response = searchServiceImpl.searchSellerByCategory(Category.FOOD, CityZone.EAST, Boolean.TRUE, localTime, 0, 100);
@@ -0,0 +1,148 @@
+package br.com.fatec.petfood.unit.service;
+
+import br.com.fatec.petfood.model.dto.SellerDirectoryCheckDTO;
+import br.com.fatec.petfood.model.entity.mongo.SellerEntity;
+import br.com.fatec.petfood.model.enums.Category;
+import br.com.fatec.petfood.model.enums.CityZone;
+import br.com.fatec.petfood.model.generic.PageCursor;
+import br.com.fatec.petfood.model.generic.TimeOperation;
+import br.com.fatec.petfood.repository.mongo.SellerRepository;
+import br.com.fatec.petfood.service.impl.SellerDirectoryServiceImpl;
+import br.com.fatec.petfood.unit.UnitTest;
+import io.github.benas.randombeans.api.EnhancedRandom;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+public class SellerDirectoryServiceTest extends UnitTest {
+
+    @Mock
+    private SellerRepository sellerRepository;
+
+    @InjectMocks
+    private SellerDirectoryServiceImpl sellerDirectoryServiceImpl;
+
+    private final SellerEntity firstSellerEntity = EnhancedRandom.random(SellerEntity.class);
+    private final SellerEntity secondSellerEntity = EnhancedRandom.random(SellerEntity.class);
+    private final SellerEntity thirdSellerEntity = EnhancedRandom.random(SellerEntity.class);
+
+    @BeforeEach
+    public void setup() {
+        this.setupSeller(firstSellerEntity, "A", CityZone.EAST, List.of(Category.FOOD, Category.OTHERS), new TimeOperation(600, 960));
+        this.setupSeller(secondSellerEntity, "B", CityZone.EAST, List.of(Category.FOOD), new TimeOperation(600, 960));
+        this.setupSeller(thirdSellerEntity, "C", CityZone.EAST, List.of(Category.FOOD), new TimeOperation(1200, 1440));
+
+        Mockito.when(sellerRepository.findAll()).thenReturn(List.of(secondSellerEntity, thirdSellerEntity, firstSellerEntity));
+        sellerDirectoryServiceImpl.load();
+    }
+
+    @Test
+    public void shouldFindOpenSellersByCategoryAndCityZone() {
+        Assertions.assertEquals(List.of(firstSellerEntity, secondSellerEntity), sellerDirectoryServiceImpl
+                .findAllOpenByCategoryAndCityZone(Category.FOOD, CityZone.EAST, Boolean.TRUE, 840, PageRequest.of(0, 100)).orElseThrow());
+        Assertions.assertEquals(List.of(secondSellerEntity), sellerDirectoryServiceImpl
+                .findAllOpenByCategoryAndCityZone(Category.FOOD, CityZone.EAST, Boolean.TRUE, 840, PageRequest.of(1, 1)).orElseThrow());
+        Assertions.assertEquals(List.of(thirdSellerEntity), sellerDirectoryServiceImpl
+                .findAllOpenByCategoryAndCityZone(Category.FOOD, CityZone.EAST, Boolean.TRUE, 1320, PageRequest.of(0, 100)).orElseThrow());
+        Assertions.assertEquals(List.of(), sellerDirectoryServiceImpl
+                .findAllOpenByCategoryAndCityZone(Category.FOOD, CityZone.WEST, Boolean.TRUE, 840, PageRequest.of(0, 100)).orElseThrow());
+        Mockito.verify(sellerRepository, Mockito.times(1)).findAll();
+    }
+
+    @Test
+    public void shouldFindOpenSellersByCategoryAndCityZoneAfterCursor() {
+        Assertions.assertEquals(List.of(firstSellerEntity, secondSellerEntity), sellerDirectoryServiceImpl
+                .findAllOpenByCategoryAndCityZoneAfter(Category.FOOD, CityZone.EAST, Boolean.TRUE, 840, null, 2).orElseThrow());
+        Assertions.assertEquals(List.of(secondSellerEntity), sellerDirectoryServiceImpl
+                .findAllOpenByCategoryAndCityZoneAfter(Category.FOOD, CityZone.EAST, Boolean.TRUE, 840,
+                        new PageCursor(firstSellerEntity.getName(), firstSellerEntity.getId()), 2).orElseThrow());
+        Assertions.assertEquals(List.of(), sellerDirectoryServiceImpl
+                .findAllOpenByCategoryAndCityZoneAfter(Category.FOOD, CityZone.EAST, Boolean.TRUE, 840,
+                        new PageCursor(secondSellerEntity.getName(), secondSellerEntity.getId()), 2).orElseThrow());
+    }
+
+    @Test
+    public void shouldFindOpenSellersByMinuteBitsetsAcrossMidnightAndWeekend() {
+        thirdSellerEntity.setWeekendTimeOperations(List.of(new TimeOperation(1200, 1440), new TimeOperation(0, 360)));
+        sellerDirectoryServiceImpl.put(thirdSellerEntity);
+
+        Assertions.assertEquals(List.of(thirdSellerEntity), sellerDirectoryServiceImpl
+                .findAllOpenByCategoryAndCityZone(Category.FOOD, CityZone.EAST, Boolean.FALSE, 1439, PageRequest.of(0, 100)).orElseThrow());
+        Assertions.assertEquals(List.of(thirdSellerEntity), sellerDirectoryServiceImpl
+                .findAllOpenByCategoryAndCityZone(Category.FOOD, CityZone.EAST, Boolean.FALSE, 0, PageRequest.of(0, 100)).orElseThrow());
+        Assertions.assertEquals(List.of(), sellerDirectoryServiceImpl
+                .findAllOpenByCategoryAndCityZone(Category.FOOD, CityZone.EAST, Boolean.FALSE, 360, PageRequest.of(0, 100)).orElseThrow());
+        Assertions.assertEquals(List.of(), sellerDirectoryServiceImpl
+                .findAllOpenByCategoryAndCityZone(Category.FOOD, CityZone.EAST, Boolean.TRUE, 60, PageRequest.of(0, 100)).orElseThrow());
+        Assertions.assertEquals(List.of(firstSellerEntity, secondSellerEntity), sellerDirectoryServiceImpl
+                .findAllOpenByCategoryAndCityZone(Category.FOOD, CityZone.EAST, Boolean.TRUE, 600, PageRequest.of(0, 100)).orElseThrow());
+        Assertions.assertEquals(List.of(), sellerDirectoryServiceImpl
+                .findAllOpenByCategoryAndCityZone(Category.FOOD, CityZone.EAST, Boolean.TRUE, 960, PageRequest.of(0, 100)).orElseThrow());
+    }
+
+    @Test
+    public void shouldKeepDirectoryCurrentOnPutAndRemove() {
+        firstSellerEntity.setCityZone(CityZone.WEST);
+        sellerDirectoryServiceImpl.put(firstSellerEntity);
+        sellerDirectoryServiceImpl.remove(secondSellerEntity.getId());
+
+        Assertions.assertEquals(List.of(), sellerDirectoryServiceImpl
+                .findAllOpenByCategoryAndCityZone(Category.FOOD, CityZone.EAST, Boolean.TRUE, 840, PageRequest.of(0, 100)).orElseThrow());
+        Assertions.assertEquals(List.of(firstSellerEntity), sellerDirectoryServiceImpl
+                .findAllOpenByCategoryAndCityZone(Category.OTHERS, CityZone.WEST, Boolean.TRUE, 840, PageRequest.of(0, 100)).orElseThrow());
+    }
+
+    @Test
+    public void shouldKeepChangesReceivedWhileLoading() {
+        SellerEntity newSellerEntity = EnhancedRandom.random(SellerEntity.class);
+        this.setupSeller(newSellerEntity, "D", CityZone.EAST, List.of(Category.FOOD), new TimeOperation(600, 960));
+
+        Mockito.when(sellerRepository.findAll()).thenAnswer(invocation -> {
+            sellerDirectoryServiceImpl.put(newSellerEntity);
+            sellerDirectoryServiceImpl.remove(secondSellerEntity.getId());
+            return List.of(secondSellerEntity, thirdSellerEntity, firstSellerEntity);
+        });
+
+        sellerDirectoryServiceImpl.load();
+
+        Assertions.assertEquals(List.of(firstSellerEntity, newSellerEntity), sellerDirectoryServiceImpl
+                .findAllOpenByCategoryAndCityZone(Category.FOOD, CityZone.EAST, Boolean.TRUE, 840, PageRequest.of(0, 100)).orElseThrow());
+    }
+
+    @Test
+    public void shouldCheckDirectoryConsistencyWithCollection() {
+        SellerEntity newSellerEntity = EnhancedRandom.random(SellerEntity.class);
+        SellerEntity updatedSellerEntity = EnhancedRandom.random(SellerEntity.class);
+        this.setupSeller(updatedSellerEntity, "A", CityZone.WEST, firstSellerEntity.getCategories(), new TimeOperation(600, 960));
+        updatedSellerEntity.setId(firstSellerEntity.getId());
+        updatedSellerEntity.setName(firstSellerEntity.getName());
+
+        Mockito.when(sellerRepository.findAll()).thenReturn(List.of(updatedSellerEntity, secondSellerEntity, newSellerEntity));
+
+        SellerDirectoryCheckDTO sellerDirectoryCheckDTO = sellerDirectoryServiceImpl.checkConsistency();
+
+        Assertions.assertTrue(sellerDirectoryCheckDTO.hasDivergences());
+        Assertions.assertEquals(3, sellerDirectoryCheckDTO.getSellers());
+        Assertions.assertEquals(3, sellerDirectoryCheckDTO.getIndexedSellers());
+        Assertions.assertEquals(List.of(newSellerEntity.getName()), sellerDirectoryCheckDTO.getMissingSellers());
+        Assertions.assertEquals(List.of(thirdSellerEntity.getName()), sellerDirectoryCheckDTO.getStaleSellers());
+        Assertions.assertEquals(List.of(firstSellerEntity.getName()), sellerDirectoryCheckDTO.getOutdatedSellers());
+    }
+
+    private void setupSeller(SellerEntity sellerEntity, String namePrefix, CityZone cityZone, List<Category> categories,
+                             TimeOperation weekTimeOperation) {
+        sellerEntity.setId(new ObjectId());
+        sellerEntity.setName(namePrefix + sellerEntity.getName());
+        sellerEntity.setCityZone(cityZone);
+        sellerEntity.setCategories(categories);
+        sellerEntity.setWeekTimeOperations(List.of(weekTimeOperation));
+        sellerEntity.setWeekendTimeOperations(List.of());
+    }
+}
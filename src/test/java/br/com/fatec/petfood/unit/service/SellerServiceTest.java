@@ -8,6 +8,7 @@ import br.com.fatec.petfood.model.enums.Category;
 import br.com.fatec.petfood.model.generic.RegistrationInfos;
 import br.com.fatec.petfood.model.mapper.SellerMapper;
 import br.com.fatec.petfood.repository.mongo.SellerRepository;
+import br.com.fatec.petfood.service.SearchCacheService;
 import br.com.fatec.petfood.service.impl.SellerServiceImpl;
 import br.com.fatec.petfood.service.impl.ValidationServiceImpl;
 import br.com.fatec.petfood.unit.UnitTest;
@@ -39,6 +40,9 @@ public class SellerServiceTest extends UnitTest {
     @Mock
     private ValidationServiceImpl validationService;
 
+    @Mock
+    private SearchCacheService searchCacheService;
+
     @InjectMocks
     private SellerServiceImpl sellerServiceImpl;
 
@@ -60,6 +64,7 @@ public class SellerServiceTest extends UnitTest {
 
         Assertions.assertEquals(response.getStatusCode(), HttpStatus.CREATED);
         Assertions.assertEquals(response.getBody(), "Lojista cadastrado com sucesso.");
+        Mockito.verify(searchCacheService, Mockito.times(1)).invalidateSeller(sellerEntity);
     }
 
     @Test
@@ -0,0 +1,64 @@
+package br.com.fatec.petfood.unit.utils;
+
+import br.com.fatec.petfood.model.generic.ProductRequest;
+import br.com.fatec.petfood.utils.ProductRequestDiff;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class ProductRequestDiffTest {
+
+    private final ObjectId firstProductId = new ObjectId();
+    private final ObjectId secondProductId = new ObjectId();
+    private final ObjectId thirdProductId = new ObjectId();
+
+    @Test
+    public void shouldReturnNetDeltaPerProduct() {
+        List<ProductRequest> oldProducts = List.of(
+                new ProductRequest(firstProductId, "first", 9.99, 9.99, 3),
+                new ProductRequest(secondProductId, "second", 9.99, 9.99, 2));
+        List<ProductRequest> newProducts = List.of(
+                new ProductRequest(firstProductId, "first", 9.99, 9.99, 5),
+                new ProductRequest(thirdProductId, "third", 9.99, 9.99, 1));
+
+        List<ProductRequest> deltas = ProductRequestDiff.delta(oldProducts, newProducts);
+
+        Assertions.assertEquals(List.of(
+                new ProductRequest(firstProductId, "first", null, null, 2),
+                new ProductRequest(thirdProductId, "third", null, null, 1),
+                new ProductRequest(secondProductId, "second", null, null, -2)), deltas);
+    }
+
+    @Test
+    public void shouldIgnoreUnchangedProducts() {
+        List<ProductRequest> oldProducts = List.of(
+                new ProductRequest(firstProductId, "first", 9.99, 9.99, 3),
+                new ProductRequest(secondProductId, "second", 9.99, 9.99, 2));
+        List<ProductRequest> newProducts = List.of(
+                new ProductRequest(secondProductId, "second", 9.99, 9.99, 2),
+                new ProductRequest(firstProductId, "first", 6.99, 9.99, 3));
+
+        Assertions.assertTrue(ProductRequestDiff.delta(oldProducts, newProducts).isEmpty());
+    }
+
+    @Test
+    public void shouldSumRepeatedLinesOfSameProduct() {
+        List<ProductRequest> oldProducts = List.of(new ProductRequest(firstProductId, "first", 9.99, 9.99, 4));
+        List<ProductRequest> newProducts = List.of(
+                new ProductRequest(firstProductId, "first", 9.99, 9.99, 1),
+                new ProductRequest(firstProductId, "first", 9.99, 9.99, 1));
+
+        Assertions.assertEquals(List.of(new ProductRequest(firstProductId, "first", null, null, -2)),
+                ProductRequestDiff.delta(oldProducts, newProducts));
+    }
+
+    @Test
+    public void shouldNegateProductsWhenNewProductsAreEmpty() {
+        List<ProductRequest> oldProducts = List.of(new ProductRequest(firstProductId, "first", 9.99, 9.99, 4));
+
+        Assertions.assertEquals(List.of(new ProductRequest(firstProductId, "first", null, null, -4)),
+                ProductRequestDiff.delta(oldProducts, List.of()));
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.fatec.petfood.unit.utils;
+
+import br.com.fatec.petfood.utils.TimerWheel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class TimerWheelTest {
+
+    private final long start = 1_000_000L;
+    private final TimerWheel<String> timerWheel = new TimerWheel<>(1000L, 4, start);
+
+    @Test
+    public void shouldExpireOnlyAfterDeadline() {
+        timerWheel.schedule("request", start + 5_000L);
+
+        Assertions.assertTrue(timerWheel.advance(start + 4_000L).isEmpty());
+        Assertions.assertEquals(List.of("request"), timerWheel.advance(start + 5_000L));
+        Assertions.assertEquals(0, timerWheel.size());
+    }
+
+    @Test
+    public void shouldExpireDeadlinesOnUpperLevelsWithinOneTick() {
+        long deadline = start + 15 * 60 * 1000L;
+        timerWheel.schedule("request", deadline);
+
+        Assertions.assertTrue(timerWheel.advance(deadline - 1000L).isEmpty());
+        Assertions.assertEquals(List.of("request"), timerWheel.advance(deadline + 999L));
+    }
+
+    @Test
+    public void shouldExpireDeadlinesBeyondWheelRange() {
+        long deadline = start + 400L * 24 * 60 * 60 * 1000L;
+        timerWheel.schedule("request", deadline);
+
+        Assertions.assertTrue(timerWheel.advance(deadline - 1000L).isEmpty());
+        Assertions.assertEquals(List.of("request"), timerWheel.advance(deadline));
+    }
+
+    @Test
+    public void shouldNotExpireCanceledDeadline() {
+        timerWheel.schedule("request", start + 5_000L);
+        timerWheel.cancel("request");
+
+        Assertions.assertTrue(timerWheel.advance(start + 10_000L).isEmpty());
+        Assertions.assertEquals(0, timerWheel.size());
+    }
+
+    @Test
+    public void shouldRescheduleDeadline() {
+        timerWheel.schedule("request", start + 5_000L);
+        timerWheel.schedule("request", start + 70_000L);
+
+        Assertions.assertTrue(timerWheel.advance(start + 69_000L).isEmpty());
+        Assertions.assertEquals(List.of("request"), timerWheel.advance(start + 70_000L));
+    }
+
+    @Test
+    public void shouldExpirePastDeadlineOnNextAdvance() {
+        timerWheel.schedule("request", start - 1_000L);
+
+        Assertions.assertEquals(List.of("request"), timerWheel.advance(start));
+    }
+}